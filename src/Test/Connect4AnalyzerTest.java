@@ -0,0 +1,159 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4Analyzer class and the per-column scores of Connect4Analysis.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4Analysis;
+import core.Connect4Analyzer;
+import core.Connect4BitBoard;
+import core.Connect4Logic;
+import core.Connect4Search;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4AnalyzerTest {
+    /** Connect4Logic object used as a "board" for positions to analyse. **/
+    private Connect4Logic testBoard;
+    /** Connect4Analyzer object used to analyse positions. **/
+    private Connect4Analyzer testAnalyzer;
+
+    /** Before testing occurs, this method initializes the test objects.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testBoard = new Connect4Logic();
+        testAnalyzer = new Connect4Analyzer(3);
+    }
+
+    /** After testing occurs, stops the analyzer and sets test object
+     * references to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testAnalyzer.close();
+        testAnalyzer = null;
+        testBoard = null;
+    }
+
+    /** Places pucks in the given columns, alternating players starting with X.
+     *
+     * @param columns columns 0-6 to play, in order.
+     */
+    private void playMoves(int... columns) {
+        for (int column : columns) {
+            testBoard.placePuck(column, testBoard.getPlayerTurn());
+            testBoard.nextTurn();
+        }
+    }
+
+    /** Method used to retrieve the player to move on the test board.
+     *
+     * @return Connect4BitBoard.PLAYER_X or PLAYER_O.
+     */
+    private int playerToMove() {
+        return Connect4BitBoard.playerIndex(testBoard.getPlayerTurn());
+    }
+
+    /** Tests that every column's score matches a separate search of the
+     * position after it, and that the best score matches a search of the
+     * whole position.
+     */
+    @Test
+    public void testExactScores() throws Exception {
+        playMoves(3, 3, 2, 4);
+        Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+        int player = playerToMove();
+        int depth = 7;
+
+        Connect4Analysis analysis = testAnalyzer.analyze(position, player, depth);
+        Connect4Search search = new Connect4Search();
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            assertTrue(analysis.isLegal(column));
+            assertTrue(analysis.isExact(column));
+
+            Connect4BitBoard child = new Connect4BitBoard();
+            child.copyFrom(position);
+            child.play(column, player);
+            int expected = -search.search(child, 1 - player, depth - 1).getScore();
+            assertEquals("column " + (column + 1), expected, analysis.getScore(column));
+            assertTrue(analysis.getNodes(column) > 0);
+        }
+
+        int rootScore = search.search(position, player, depth).getScore();
+        assertEquals(rootScore, analysis.getScore(analysis.getBestMove()));
+        assertEquals(4, position.getMoveCount());
+        assertTrue(analysis.getElapsedNanos() > 0);
+    }
+
+    /** Tests that analysing for the best move only finds the same best
+     * score, and that every column it only bounds is no better.
+     */
+    @Test
+    public void testBestMoveOnly() throws Exception {
+        playMoves(3, 3, 3, 2, 4);
+        Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+        Connect4Analysis exact = testAnalyzer.analyze(position, playerToMove(), 8);
+        Connect4Analysis best = testAnalyzer.analyze(position, playerToMove(), 8, false);
+
+        int bestScore = exact.getScore(exact.getBestMove());
+        assertEquals(bestScore, best.getScore(best.getBestMove()));
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            if (best.isExact(column))
+                assertEquals(exact.getScore(column), best.getScore(column));
+            else
+                assertTrue(exact.getScore(column) <= best.getScore(column) && best.getScore(column) <= bestScore);
+        }
+    }
+
+    /** Tests that a position that is its own mirror image searches only
+     * the centre and left columns, and copies their scores to the right.
+     */
+    @Test
+    public void testSymmetricPosition() throws Exception {
+        playMoves(3, 3);
+        Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+        Connect4Analysis analysis = testAnalyzer.analyze(position, playerToMove(), 6);
+
+        Connect4Search search = new Connect4Search();
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            int mirror = Connect4BitBoard.mirrorColumn(column);
+            assertEquals(analysis.getScore(mirror), analysis.getScore(column));
+            assertEquals(column > mirror, analysis.getNodes(column) == 0);
+
+            Connect4BitBoard child = new Connect4BitBoard();
+            child.copyFrom(position);
+            child.play(column, playerToMove());
+            assertEquals(-search.search(child, 1 - playerToMove(), 5).getScore(), analysis.getScore(column));
+        }
+    }
+
+    /** Tests that an immediate win and a full column are reported for
+     * the right columns.
+     */
+    @Test
+    public void testWinsAndFullColumns() throws Exception {
+        //column 7 is full and X has three in column 1
+        playMoves(6, 6, 6, 6, 6, 6, 0, 1, 0, 1, 0, 5);
+        Connect4Analysis analysis = testAnalyzer.analyze(testBoard.getGameState().getBitBoard(), playerToMove(), 4);
+
+        assertFalse(analysis.isLegal(6));
+        assertEquals(0, analysis.getBestMove());
+        assertEquals("win@13", Connect4Search.scoreToString(analysis.getScore(0)));
+        for (int column = 1; column < 6; column++)
+            assertTrue(analysis.getScore(column) < analysis.getScore(0));
+        assertTrue(analysis.toString().contains("7:full"));
+    }
+}
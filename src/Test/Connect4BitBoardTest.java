@@ -0,0 +1,161 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4BitBoard class, including puck placement, undoing moves,
+ * four-in-a-row detection and building the String view of the board.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4BitBoardTest {
+    /** Connect4BitBoard object used to test methods. **/
+    private Connect4BitBoard testBoard;
+
+    /** Before testing occurs, this method initializes the testBoard object.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testBoard = new Connect4BitBoard();
+    }
+
+    /** After testing occurs, sets testBoard object reference to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testBoard = null;
+    }
+
+    /** Tests that pucks stack from the bottom of a column, that a full
+     * column rejects further pucks, and that undo() removes the top puck.
+     */
+    @Test
+    public void testPlayAndUndo() {
+        for (int i = 0; i < Connect4BitBoard.ROWS; i++)
+            assertEquals(i, testBoard.play(2, i % 2));
+
+        assertFalse(testBoard.canPlay(2));
+        assertEquals(-1, testBoard.play(2, Connect4BitBoard.PLAYER_X));
+        assertEquals(6, testBoard.height(2));
+        assertEquals(1, testBoard.fullColumnCount());
+        assertEquals(Connect4BitBoard.PLAYER_O, testBoard.getCell(2, 5));
+
+        testBoard.undo(2);
+        assertTrue(testBoard.canPlay(2));
+        assertEquals(5, testBoard.height(2));
+        assertEquals(Connect4BitBoard.EMPTY, testBoard.getCell(2, 5));
+        assertEquals(5, testBoard.getMoveCount());
+    }
+
+    /** Tests four in a row in every direction, including lines that do
+     * not start in the first column or the bottom rows, and that pucks
+     * in neighbouring columns do not wrap into a false four in a row.
+     */
+    @Test
+    public void testIsWin() {
+        //horizontal, ending in the last column
+        for (int column = 3; column < 7; column++)
+            testBoard.play(column, Connect4BitBoard.PLAYER_X);
+        assertTrue(testBoard.isWin(Connect4BitBoard.PLAYER_X));
+        assertFalse(testBoard.isWin(Connect4BitBoard.PLAYER_O));
+
+        //vertical, top of column
+        testBoard.reset();
+        testBoard.play(0, Connect4BitBoard.PLAYER_X);
+        testBoard.play(0, Connect4BitBoard.PLAYER_X);
+        for (int i = 0; i < 4; i++)
+            testBoard.play(0, Connect4BitBoard.PLAYER_O);
+        assertTrue(testBoard.isWin(Connect4BitBoard.PLAYER_O));
+
+        //top of one column and bottom of the next must not connect
+        testBoard.reset();
+        testBoard.play(0, Connect4BitBoard.PLAYER_O);
+        testBoard.play(0, Connect4BitBoard.PLAYER_O);
+        testBoard.play(0, Connect4BitBoard.PLAYER_O);
+        testBoard.play(0, Connect4BitBoard.PLAYER_O);
+        testBoard.undo(0);
+        testBoard.play(0, Connect4BitBoard.PLAYER_X);
+        testBoard.play(0, Connect4BitBoard.PLAYER_O);
+        testBoard.play(0, Connect4BitBoard.PLAYER_O);
+        testBoard.play(1, Connect4BitBoard.PLAYER_O);
+        testBoard.play(1, Connect4BitBoard.PLAYER_O);
+        assertFalse(testBoard.isWin(Connect4BitBoard.PLAYER_O));
+
+        //diagonal, up and to the left, starting above the bottom rows
+        testBoard.reset();
+        int[] heights = {0, 0, 0, 4, 3, 2, 1};
+        for (int column = 3; column < 7; column++) {
+            for (int i = 0; i < heights[column]; i++)
+                testBoard.play(column, Connect4BitBoard.PLAYER_O);
+        }
+        for (int column = 3; column < 7; column++)
+            testBoard.play(column, Connect4BitBoard.PLAYER_X);
+        assertTrue(testBoard.isWin(Connect4BitBoard.PLAYER_X));
+    }
+
+    /** Tests that the String view matches the pucks placed and that
+     * equal positions reached in different orders have equal keys.
+     */
+    @Test
+    public void testColumnArrayAndKey() {
+        String[][] columnArray = new String[7][6];
+        testBoard.play(3, Connect4BitBoard.PLAYER_X);
+        testBoard.play(3, Connect4BitBoard.PLAYER_O);
+        testBoard.fillColumnArray(columnArray);
+        assertEquals("X", columnArray[3][0]);
+        assertEquals("O", columnArray[3][1]);
+        assertEquals(" ", columnArray[3][2]);
+
+        Connect4BitBoard otherBoard = new Connect4BitBoard();
+        testBoard.play(4, Connect4BitBoard.PLAYER_X);
+        otherBoard.play(3, Connect4BitBoard.PLAYER_O);
+        otherBoard.play(3, Connect4BitBoard.PLAYER_X);
+        otherBoard.play(4, Connect4BitBoard.PLAYER_X);
+        assertNotEquals(testBoard.key(), otherBoard.key());
+
+        otherBoard.reset();
+        otherBoard.play(3, Connect4BitBoard.PLAYER_X);
+        otherBoard.play(4, Connect4BitBoard.PLAYER_X);
+        otherBoard.play(3, Connect4BitBoard.PLAYER_O);
+        assertEquals(testBoard.key(), otherBoard.key());
+    }
+
+    /** Tests that a position and its mirror image share a canonical key,
+     * which is one of their two keys, and that mirroring twice gives the
+     * key back.
+     */
+    @Test
+    public void testCanonicalKey() {
+        Connect4BitBoard mirrorBoard = new Connect4BitBoard();
+        int[] columns = {0, 1, 1, 3, 5, 6, 6, 6, 2};
+        for (int i = 0; i < columns.length; i++) {
+            int player = (i % 2 == 0) ? Connect4BitBoard.PLAYER_X : Connect4BitBoard.PLAYER_O;
+            testBoard.play(columns[i], player);
+            mirrorBoard.play(Connect4BitBoard.mirrorColumn(columns[i]), player);
+
+            assertEquals(mirrorBoard.key(), Connect4BitBoard.mirrorKey(testBoard.key()));
+            assertEquals(testBoard.key(), Connect4BitBoard.mirrorKey(mirrorBoard.key()));
+            assertEquals(testBoard.canonicalKey(), mirrorBoard.canonicalKey());
+            assertEquals(Math.min(testBoard.key(), mirrorBoard.key()), testBoard.canonicalKey());
+        }
+
+        //the centre column is its own mirror image
+        testBoard.reset();
+        testBoard.play(3, Connect4BitBoard.PLAYER_X);
+        assertEquals(testBoard.key(), Connect4BitBoard.mirrorKey(testBoard.key()));
+        assertEquals(6, Connect4BitBoard.mirrorColumn(0));
+    }
+}
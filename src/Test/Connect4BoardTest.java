@@ -0,0 +1,186 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * board geometries: Connect4Geometry parsing and the Connect4LongBoard and
+ * Connect4WideBoard implementations of Connect4Board, checked against
+ * Connect4BitBoard on the standard board and on their own on larger ones.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4Board;
+import core.Connect4Geometry;
+import core.Connect4Logic;
+import core.Connect4GameState;
+import core.Connect4LongBoard;
+import core.Connect4WideBoard;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4BoardTest {
+    /** Random object used to play random games, seeded so that failures repeat. **/
+    private Random rand;
+
+    /** Before testing occurs, this method initializes the rand object.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        rand = new Random(18);
+    }
+
+    /** After testing occurs, sets rand object reference to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        rand = null;
+    }
+
+    /** Tests parsing and validation of geometries, and that create() picks
+     * the board implementation that fits.
+     */
+    @Test
+    public void testGeometry() {
+        assertSame(Connect4Geometry.STANDARD, Connect4Geometry.parse("7x6"));
+        assertSame(Connect4Geometry.STANDARD, Connect4Geometry.of(7, 6, 4));
+        assertEquals(Connect4Geometry.of(9, 7, 5), Connect4Geometry.parse("9x7x5"));
+        assertEquals("8x7x4", Connect4Geometry.parse("8X7").toString());
+
+        assertTrue(Connect4Board.create(Connect4Geometry.STANDARD) instanceof Connect4BitBoard);
+        assertTrue(Connect4Board.create(Connect4Geometry.of(8, 7, 4)) instanceof Connect4LongBoard);
+        assertTrue(Connect4Board.create(Connect4Geometry.of(9, 7, 5)) instanceof Connect4WideBoard);
+
+        String[] invalid = {"7", "7x6x4x1", "ax6", "0x6", "7x63", "7x6x1", "7x6x8"};
+        for (String text : invalid) {
+            try {
+                Connect4Geometry.parse(text);
+                fail("Parsed " + text);
+            }
+            catch (IllegalArgumentException e) {
+                //expected
+            }
+        }
+    }
+
+    /** Tests that on the standard board, Connect4LongBoard and Connect4WideBoard
+     * agree with Connect4BitBoard on every move of many random games: landing
+     * row, cell owners, wins through the last cell, wins anywhere, full columns
+     * and undo.
+     */
+    @Test
+    public void testMatchesBitBoard() {
+        Connect4Board[] boards = {new Connect4BitBoard(), new Connect4LongBoard(Connect4Geometry.STANDARD),
+                new Connect4WideBoard(Connect4Geometry.STANDARD)};
+
+        for (int game = 0; game < 200; game++) {
+            for (Connect4Board board : boards)
+                board.reset();
+
+            boolean over = false;
+            while (!over) {
+                int column = rand.nextInt(Connect4BitBoard.COLUMNS);
+                if (!boards[0].canPlay(column))
+                    continue;
+                int player = boards[0].getPlayerToMove();
+                int row = boards[0].play(column, player);
+                boolean win = boards[0].isWinAt(player, column, row);
+
+                for (int i = 1; i < boards.length; i++) {
+                    assertEquals(row, boards[i].play(column, player));
+                    assertEquals(win, boards[i].isWinAt(player, column, row));
+                    assertEquals(win, boards[i].isWin(player));
+                    assertEquals(boards[0].fullColumnCount(), boards[i].fullColumnCount());
+                    assertEquals(boards[0].isFull(), boards[i].isFull());
+                    for (int c = 0; c < Connect4BitBoard.COLUMNS; c++) {
+                        assertEquals(boards[0].height(c), boards[i].height(c));
+                        for (int r = 0; r < Connect4BitBoard.ROWS; r++)
+                            assertEquals(boards[0].getCell(c, r), boards[i].getCell(c, r));
+                    }
+                }
+                over = win || boards[0].isFull();
+            }
+
+            //undo the last move, which must clear the win
+            int last = -1;
+            for (int c = 0; c < Connect4BitBoard.COLUMNS && last < 0; c++) {
+                if (boards[0].height(c) > 0)
+                    last = c;
+            }
+            for (Connect4Board board : boards) {
+                int moves = board.getMoveCount();
+                board.undo(last);
+                assertEquals(moves - 1, board.getMoveCount());
+            }
+        }
+    }
+
+    /** Tests that the long and multi-word boards find lines of every direction
+     * on larger geometries, including lines touching the top row and the last
+     * column, and only of the geometry's connect length.
+     */
+    @Test
+    public void testLargerBoards() {
+        Connect4Geometry[] geometries = {Connect4Geometry.of(8, 7, 4), Connect4Geometry.of(9, 7, 5),
+                Connect4Geometry.of(12, 10, 6)};
+
+        for (Connect4Geometry geometry : geometries) {
+            int columns = geometry.getColumns();
+            int rows = geometry.getRows();
+            int connect = geometry.getConnect();
+            //column and row steps of the four directions: vertical, horizontal, up-right, down-right
+            int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+            for (int[] direction : directions) {
+                //a line ending in the top-right-most cell it can reach
+                int startColumn = columns - 1 - direction[0] * (connect - 1);
+                int startRow = (direction[1] == -1) ? connect - 1 : rows - 1 - direction[1] * (connect - 1);
+                Connect4Board board = Connect4Board.create(geometry);
+                for (int i = 0; i < connect; i++) {
+                    int column = startColumn + direction[0] * i;
+                    int row = startRow + direction[1] * i;
+                    //fill the column with the other player's pucks up to the row
+                    while (board.height(column) < row)
+                        board.play(column, Connect4BitBoard.PLAYER_O);
+                    assertFalse(geometry + " early win", board.isWin(Connect4BitBoard.PLAYER_X));
+                    assertEquals(row, board.play(column, Connect4BitBoard.PLAYER_X));
+                    assertEquals(i == connect - 1, board.isWinAt(Connect4BitBoard.PLAYER_X, column, row));
+                }
+                assertTrue(geometry + " " + direction[0] + "," + direction[1],
+                        board.isWin(Connect4BitBoard.PLAYER_X));
+            }
+        }
+    }
+
+    /** Tests that Connect4Logic plays and ends a game on a board other than the
+     * standard one, with the column array sized by the geometry.
+     */
+    @Test
+    public void testLogicOnLargerBoard() {
+        Connect4Logic logic = new Connect4Logic(new Connect4GameState(Connect4Geometry.of(9, 7, 5)));
+        assertEquals(9, logic.getColumnArray().length);
+        assertEquals(7, logic.getColumnArray()[0].length);
+
+        for (int column = 4; column < 9; column++) {
+            logic.placePuck(column, 1);
+            logic.checkPucks(column);
+            if (column < 8) {
+                assertFalse(logic.hasWinner());
+                logic.placePuck(column, 2);
+                logic.checkPucks(column);
+            }
+        }
+        assertTrue(logic.hasWinner());
+        assertEquals(5, logic.puckCount);
+    }
+}
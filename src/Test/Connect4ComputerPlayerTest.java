@@ -36,7 +36,7 @@ public class Connect4ComputerPlayerTest {
     public void setUp() throws Exception {
         testBoard = new Connect4Logic();
         testBoard.resetBoard();
-        testCPU = new Connect4ComputerPlayer();
+        testCPU = new Connect4ComputerPlayer(testBoard.getGameState());
     }
 
     /** After testing occurs, sets tested objects reference to null.
@@ -65,4 +65,39 @@ public class Connect4ComputerPlayerTest {
 
         assertEquals(false, boundsTestFailed);
     }
-}
\ No newline at end of file
+
+    /** Test method that checks that shutdown() releases the helper
+     * threads a multi-threaded search starts, and that the player can
+     * still move afterwards.
+     */
+    @Test
+    public void testShutdown() throws Exception {
+        int before = helperThreads();
+        testCPU.configure("search:4:0:3");
+        testColumnNum = testCPU.makeMove();
+        assertTrue(testColumnNum >= 0 && testColumnNum <= 6);
+        assertEquals(before + 2, helperThreads());
+
+        testCPU.shutdown();
+        for (int wait = 0; wait < 100 && helperThreads() > before; wait++)
+            Thread.sleep(50);
+        assertEquals(before, helperThreads());
+
+        testColumnNum = testCPU.makeMove();
+        assertTrue(testColumnNum >= 0 && testColumnNum <= 6);
+        testCPU.shutdown();
+    }
+
+    /** Counts the live helper threads of parallel searches.
+     *
+     * @return number of threads named like Connect4ParallelSearch helpers.
+     */
+    static int helperThreads() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().equals("connect4-search-helper"))
+                count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,157 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4Evaluator class: each term of the evaluation, its symmetry
+ * between the players, parsing of weights, and its use by Connect4Search
+ * and Connect4ComputerPlayer at the depth limit.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4ComputerPlayer;
+import core.Connect4Evaluator;
+import core.Connect4GameState;
+import core.Connect4Search;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4EvaluatorTest {
+    /** Connect4BitBoard object the tested positions are played on. **/
+    private Connect4BitBoard testBoard;
+
+    /** Before testing occurs, this method initializes the testBoard object.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testBoard = new Connect4BitBoard();
+    }
+
+    /** After testing occurs, sets testBoard object reference to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testBoard = null;
+    }
+
+    /** Tests each term on its own by giving only that term a weight, and
+     * that the score for Player O is the negated score for Player X.
+     */
+    @Test
+    public void testTerms() {
+        Connect4Evaluator twos = new Connect4Evaluator(1, 0, 0, 0);
+        Connect4Evaluator threes = new Connect4Evaluator(0, 1, 0, 0);
+        Connect4Evaluator parity = new Connect4Evaluator(0, 0, 1, 0);
+        Connect4Evaluator centre = new Connect4Evaluator(0, 0, 0, 1);
+        assertEquals(0, Connect4Evaluator.DEFAULT.evaluate(testBoard, Connect4BitBoard.PLAYER_X));
+
+        //X on the bottom row in columns 0 and 1: only the line of columns 0-3 holds both
+        testBoard.play(0, Connect4BitBoard.PLAYER_X);
+        testBoard.play(1, Connect4BitBoard.PLAYER_X);
+        assertEquals(1, twos.evaluate(testBoard, Connect4BitBoard.PLAYER_X));
+        assertEquals(-1, twos.evaluate(testBoard, Connect4BitBoard.PLAYER_O));
+        assertEquals(0, centre.evaluate(testBoard, Connect4BitBoard.PLAYER_X));
+
+        //a third puck in column 2 makes columns 0-3 an open three and columns 1-4 an open two
+        testBoard.play(2, Connect4BitBoard.PLAYER_X);
+        assertEquals(1, threes.evaluate(testBoard, Connect4BitBoard.PLAYER_X));
+        assertEquals(1, twos.evaluate(testBoard, Connect4BitBoard.PLAYER_X));
+        //the threat at column 3, row index 0, is on an odd row counted from 1, which favours X
+        assertEquals(1, parity.evaluate(testBoard, Connect4BitBoard.PLAYER_X));
+
+        //O in the centre blocks the three and scores the centre
+        testBoard.play(3, Connect4BitBoard.PLAYER_O);
+        assertEquals(0, threes.evaluate(testBoard, Connect4BitBoard.PLAYER_X));
+        assertEquals(0, parity.evaluate(testBoard, Connect4BitBoard.PLAYER_X));
+        assertEquals(1, centre.evaluate(testBoard, Connect4BitBoard.PLAYER_O));
+
+        //an O threat on row index 1 (row 2 counted from 1) favours O; one on row index 2 does not count, while
+        //X's threat on row index 0 below it does
+        Connect4BitBoard board = new Connect4BitBoard();
+        for (int column = 0; column < 3; column++) {
+            board.play(column, Connect4BitBoard.PLAYER_X);
+            board.play(column, Connect4BitBoard.PLAYER_O);
+        }
+        board.play(3, Connect4BitBoard.PLAYER_O);
+        assertEquals(1, parity.evaluate(board, Connect4BitBoard.PLAYER_O));
+        board.reset();
+        for (int column = 0; column < 3; column++) {
+            board.play(column, Connect4BitBoard.PLAYER_X);
+            board.play(column, Connect4BitBoard.PLAYER_X);
+            board.play(column, Connect4BitBoard.PLAYER_O);
+        }
+        assertEquals(-1, parity.evaluate(board, Connect4BitBoard.PLAYER_O));
+    }
+
+    /** Tests that weights are parsed and written back, and that weights out
+     * of range or in the wrong form are rejected.
+     */
+    @Test
+    public void testParse() {
+        Connect4Evaluator evaluator = Connect4Evaluator.parse(" 1, 5,10 ,2");
+        assertEquals(1, evaluator.getTwoWeight());
+        assertEquals(5, evaluator.getThreeWeight());
+        assertEquals(10, evaluator.getParityWeight());
+        assertEquals(2, evaluator.getCentreWeight());
+        assertEquals("1,5,10,2", evaluator.toString());
+        assertEquals(Connect4Evaluator.DEFAULT.toString(), Connect4Evaluator.parse("2,8,24,3").toString());
+
+        for (String text : new String[] {"1,2,3", "1,2,3,x", "1,2,3,-1", "1,2,3,1001"}) {
+            try {
+                Connect4Evaluator.parse(text);
+                fail("Parsed " + text);
+            }
+            catch (IllegalArgumentException e) {
+                //expected
+            }
+        }
+    }
+
+    /** Tests that a search with an evaluator scores the depth limit with
+     * it, below any win score, and still finds the same forced wins as a
+     * search without one; and that a computer player configured with
+     * evaluation weights uses them.
+     */
+    @Test
+    public void testSearch() {
+        testBoard.play(3, Connect4BitBoard.PLAYER_X);
+        testBoard.play(3, Connect4BitBoard.PLAYER_O);
+        Connect4Search plain = new Connect4Search();
+        Connect4Search evaluated = new Connect4Search();
+        evaluated.setEvaluator(Connect4Evaluator.DEFAULT);
+
+        assertEquals(0, plain.search(testBoard, Connect4BitBoard.PLAYER_X, 1).getScore());
+        int score = evaluated.search(testBoard, Connect4BitBoard.PLAYER_X, 1).getScore();
+        assertTrue(score != 0);
+        assertFalse(Connect4Search.isWinScore(score));
+
+        //X to move with three on the bottom row wins at once either way
+        testBoard.reset();
+        for (int column = 0; column < 3; column++) {
+            testBoard.play(column, Connect4BitBoard.PLAYER_X);
+            testBoard.play(column, Connect4BitBoard.PLAYER_O);
+        }
+        assertEquals(plain.search(testBoard, Connect4BitBoard.PLAYER_X, 6).getScore(),
+                evaluated.search(testBoard, Connect4BitBoard.PLAYER_X, 6).getScore());
+
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(new Connect4GameState());
+        testCPU.configure("search:4:0:1:eval");
+        assertSame(Connect4Evaluator.DEFAULT, testCPU.getEvaluator());
+        testCPU.configure("search:4:0:2:1,5,10,2");
+        assertEquals("1,5,10,2", testCPU.getEvaluator().toString());
+        testCPU.makeMove();
+        assertFalse(Connect4Search.isWinScore(testCPU.getLastResult().getScore()));
+        testCPU.configure("search:4");
+        assertNull(testCPU.getEvaluator());
+    }
+}
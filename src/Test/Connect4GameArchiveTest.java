@@ -0,0 +1,313 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * game archive written by Connect4ArchiveWriter and read by
+ * Connect4GameArchive, including recovery after a crash.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4ArchiveWriter;
+import core.Connect4BitBoard;
+import core.Connect4GameArchive;
+import core.Connect4GameRecord;
+import core.Connect4Logic;
+import core.Connect4RecordWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4GameArchiveTest {
+    /** Temporary archive directory. **/
+    private Path archiveDirectory;
+    /** Connect4Logic object used to play and replay games. **/
+    private Connect4Logic testBoard;
+
+    /** Before testing occurs, this method creates the test objects.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        archiveDirectory = Files.createTempDirectory("connect4archive");
+        testBoard = new Connect4Logic();
+    }
+
+    /** After testing occurs, deletes the archive directory.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testBoard = null;
+        try (Stream<Path> files = Files.walk(archiveDirectory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.delete(file);
+        }
+    }
+
+    /** Plays a game of random moves to the end and stores it in a record.
+     *
+     * @param record record to fill.
+     * @param rand random number generator choosing the moves.
+     */
+    private void playRandomGame(Connect4GameRecord record, Random rand) {
+        record.clear();
+        testBoard.resetBoard();
+        while (true) {
+            int column = rand.nextInt(7);
+            if (testBoard.isColumnFull(column))
+                continue;
+
+            int playerTurn = testBoard.getPlayerTurn();
+            testBoard.placePuck(column, playerTurn);
+            record.addMove(column);
+            testBoard.checkPucks(column);
+            if (testBoard.puckCount == 4) {
+                record.setResult((playerTurn % 2 != 0) ? Connect4GameRecord.RESULT_X_WINS
+                        : Connect4GameRecord.RESULT_O_WINS);
+                return;
+            }
+            if (testBoard.fullColumnCount() == 7) {
+                record.setResult(Connect4GameRecord.RESULT_DRAW);
+                return;
+            }
+            testBoard.nextTurn();
+        }
+    }
+
+    /** Appends random games to the archive, numbering each by its
+     * player X ID.
+     *
+     * @param writer archive writer.
+     * @param rand random number generator choosing the moves.
+     * @param games number of games to append.
+     */
+    private void appendGames(Connect4ArchiveWriter writer, Random rand, int games) throws Exception {
+        Connect4GameRecord record = new Connect4GameRecord();
+        for (int i = 0; i < games; i++) {
+            playRandomGame(record, rand);
+            record.setPlayerIds(writer.getGameCount(), 7);
+            assertEquals(record.getPlayerXId(), writer.append(record));
+        }
+    }
+
+    /** Checks that a game can be read by number and is found through
+     * every position it passes, and that the games found for one of its
+     * positions really pass through it or its mirror image.
+     *
+     * @param archive archive to read.
+     * @param gameId game to check.
+     */
+    private void checkGame(Connect4GameArchive archive, int gameId) throws Exception {
+        Connect4GameRecord record = new Connect4GameRecord();
+        archive.readGame(gameId, record);
+        assertEquals(gameId, record.getPlayerXId());
+
+        long[] keys = new long[record.getMoveCount()];
+        record.replay(testBoard, keys);
+        for (long key : keys) {
+            int[] found = archive.findGames(key, Integer.MAX_VALUE);
+            assertEquals(archive.countGames(key), found.length);
+            int previous = -1;
+            boolean foundGame = false;
+            for (int id : found) {
+                assertTrue(id > previous);
+                previous = id;
+                foundGame |= id == gameId;
+            }
+            assertTrue(foundGame);
+        }
+
+        int middle = keys.length / 2;
+        long[] otherKeys = new long[Connect4GameRecord.MAX_MOVES];
+        for (int id : archive.findGames(keys[middle], 20)) {
+            archive.readGame(id, record);
+            record.replay(testBoard, otherKeys);
+            assertEquals(Connect4BitBoard.canonicalKey(keys[middle]),
+                    Connect4BitBoard.canonicalKey(otherKeys[middle]));
+        }
+    }
+
+    /** Tests reading games by number and finding them by position, and
+     * that committed segments are merged into a few.
+     */
+    @Test
+    public void testAppendAndLookup() throws Exception {
+        Random rand = new Random(21);
+        int[] firstMoves = new int[7];
+        try (Connect4ArchiveWriter writer = new Connect4ArchiveWriter(archiveDirectory)) {
+            writer.setCommitInterval(250);
+            appendGames(writer, rand, 4000);
+            assertTrue("segments " + writer.getSegmentCount(), writer.getSegmentCount() <= 6);
+        }
+
+        Connect4GameArchive archive = new Connect4GameArchive(archiveDirectory);
+        assertEquals(4000, archive.getGameCount());
+        assertEquals(4000, archive.getIndexedGameCount());
+        Connect4GameRecord record = new Connect4GameRecord();
+        for (int i = 0; i < 4000; i++) {
+            archive.readGame(i, record);
+            firstMoves[record.getMove(0)]++;
+        }
+        for (int gameId : new int[] {0, 1, 249, 250, 1234, 3999})
+            checkGame(archive, gameId);
+
+        testBoard.resetBoard();
+        testBoard.placePuck(3, testBoard.getPlayerTurn());
+        assertEquals(firstMoves[3], archive.countGames(testBoard.getGameState().getBitBoard().key()));
+        assertEquals(5, archive.findGames(testBoard.getGameState().getBitBoard(), 5).length);
+
+        //a position is found together with its mirror image
+        testBoard.resetBoard();
+        testBoard.placePuck(0, testBoard.getPlayerTurn());
+        assertEquals(firstMoves[0] + firstMoves[6], archive.countGames(testBoard.getGameState().getBitBoard().key()));
+
+        try {
+            archive.readGame(4000, record);
+            fail("Expected IndexOutOfBoundsException");
+        }
+        catch (IndexOutOfBoundsException e) {
+            assertTrue(e.getMessage().contains("4000"));
+        }
+    }
+
+    /** Tests that an archive opened while a writer is appending sees the
+     * committed games only.
+     */
+    @Test
+    public void testSnapshot() throws Exception {
+        Random rand = new Random(5);
+        try (Connect4ArchiveWriter writer = new Connect4ArchiveWriter(archiveDirectory)) {
+            appendGames(writer, rand, 100);
+            writer.commit();
+            appendGames(writer, rand, 50);
+
+            Connect4GameArchive archive = new Connect4GameArchive(archiveDirectory);
+            assertEquals(100, archive.getGameCount());
+            assertEquals(100, archive.getIndexedGameCount());
+            checkGame(archive, 99);
+        }
+        assertEquals(150, new Connect4GameArchive(archiveDirectory).getGameCount());
+    }
+
+    /** Tests that games stored but not indexed before a crash, and a
+     * partial last game, are repaired when the writer is opened again,
+     * reading only the tail of the archive.
+     */
+    @Test
+    public void testRecoverUnindexedGames() throws Exception {
+        Random rand = new Random(8);
+        try (Connect4ArchiveWriter writer = new Connect4ArchiveWriter(archiveDirectory)) {
+            appendGames(writer, rand, 1000);
+        }
+
+        //a crash after games reached games.dat but before games.idx: 200
+        //whole games, half of an index entry and a partial last game
+        Path gamesFile = archiveDirectory.resolve(Connect4GameArchive.GAMES_FILE);
+        Connect4GameRecord record = new Connect4GameRecord();
+        try (Connect4RecordWriter games = new Connect4RecordWriter(gamesFile)) {
+            for (int i = 0; i < 201; i++) {
+                playRandomGame(record, rand);
+                record.setPlayerIds(1000 + i, 7);
+                games.append(record);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(gamesFile, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+        try (FileChannel channel = FileChannel.open(archiveDirectory.resolve(Connect4GameArchive.INDEX_FILE),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 9}));
+        }
+        Path orphan = archiveDirectory.resolve("positions-0000001000-0000001100.seg.tmp");
+        Files.write(orphan, new byte[] {1, 2, 3});
+
+        try (Connect4ArchiveWriter writer = new Connect4ArchiveWriter(archiveDirectory)) {
+            assertEquals(200, writer.getRecoveredGames());
+            assertEquals(1200, writer.getGameCount());
+            appendGames(writer, rand, 1);
+        }
+        assertFalse(Files.exists(orphan));
+
+        Connect4GameArchive archive = new Connect4GameArchive(archiveDirectory);
+        assertEquals(1201, archive.getGameCount());
+        assertEquals(1201, archive.getIndexedGameCount());
+        for (int gameId : new int[] {999, 1000, 1199, 1200})
+            checkGame(archive, gameId);
+    }
+
+    /** Tests that segments are merged while an archive opened earlier
+     * still has them mapped, that the earlier archive keeps reading its
+     * snapshot, and that a merged segment which could not be deleted
+     * (as on Windows while mapped) is removed by the next writer.
+     */
+    @Test
+    public void testMergeWhileOpen() throws Exception {
+        Random rand = new Random(13);
+        Connect4GameArchive snapshot;
+        try (Connect4ArchiveWriter writer = new Connect4ArchiveWriter(archiveDirectory)) {
+            writer.setCommitInterval(50);
+            appendGames(writer, rand, 100);
+            snapshot = new Connect4GameArchive(archiveDirectory);
+            appendGames(writer, rand, 400);
+            assertTrue("segments " + writer.getSegmentCount(), writer.getSegmentCount() <= 4);
+        }
+        assertEquals(100, snapshot.getIndexedGameCount());
+        checkGame(snapshot, 75);
+
+        //only the listed segments are left once the merges are done
+        List<String> listed = Files.readAllLines(archiveDirectory.resolve(Connect4GameArchive.MANIFEST_FILE));
+        try (Stream<Path> files = Files.list(archiveDirectory)) {
+            assertEquals(listed.size(), files.filter(file -> file.getFileName().toString().startsWith("positions-"))
+                    .count());
+        }
+
+        Path retired = archiveDirectory.resolve("positions-0000000000-0000000050.seg");
+        Files.copy(archiveDirectory.resolve(listed.get(0)), retired);
+        try (Connect4ArchiveWriter writer = new Connect4ArchiveWriter(archiveDirectory)) {
+            assertEquals(0, writer.getRecoveredGames());
+        }
+        assertFalse(Files.exists(retired));
+        Connect4GameArchive archive = new Connect4GameArchive(archiveDirectory);
+        assertEquals(500, archive.getIndexedGameCount());
+        for (int gameId : new int[] {0, 75, 260, 499})
+            checkGame(archive, gameId);
+    }
+
+    /** Tests that games indexed by offset but missing from the position
+     * index (here, with the manifest lost) are indexed again on opening.
+     */
+    @Test
+    public void testRecoverPositionIndex() throws Exception {
+        Random rand = new Random(9);
+        try (Connect4ArchiveWriter writer = new Connect4ArchiveWriter(archiveDirectory)) {
+            appendGames(writer, rand, 300);
+        }
+        Files.delete(archiveDirectory.resolve(Connect4GameArchive.MANIFEST_FILE));
+        assertEquals(0, new Connect4GameArchive(archiveDirectory).getIndexedGameCount());
+
+        try (Connect4ArchiveWriter writer = new Connect4ArchiveWriter(archiveDirectory)) {
+            assertEquals(300, writer.getRecoveredGames());
+            assertEquals(1, writer.getSegmentCount());
+        }
+        Connect4GameArchive archive = new Connect4GameArchive(archiveDirectory);
+        assertEquals(300, archive.getIndexedGameCount());
+        checkGame(archive, 150);
+    }
+}
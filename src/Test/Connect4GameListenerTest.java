@@ -0,0 +1,205 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * game listeners: that Connect4GameState, Connect4Logic and
+ * Connect4ComputerPlayer report their events, that Connect4ConsoleListener
+ * prints them and that Connect4LogListener writes every event of games
+ * played on several threads.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4ComputerPlayer;
+import core.Connect4ConsoleListener;
+import core.Connect4GameListener;
+import core.Connect4GameState;
+import core.Connect4LogListener;
+import core.Connect4Logic;
+import core.Connect4SearchResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4GameListenerTest {
+    /** Connect4GameState object whose events are tested. **/
+    private Connect4GameState testState;
+    /** Connect4Logic object used to play moves on testState. **/
+    private Connect4Logic testBoard;
+
+    /** Before testing occurs, this method initializes the test objects.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testState = new Connect4GameState();
+        testBoard = new Connect4Logic(testState);
+    }
+
+    /** After testing occurs, sets test object references to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testState = null;
+        testBoard = null;
+    }
+
+    /** Plays a column for the player whose turn it is, checks for a win and
+     * passes the turn unless the game was won.
+     *
+     * @param logic game to play in.
+     * @param column column to play.
+     */
+    private static void play(Connect4Logic logic, int column) {
+        logic.placePuck(column, logic.getPlayerTurn());
+        logic.checkPucks(column);
+        if (!logic.hasWinner())
+            logic.nextTurn();
+    }
+
+    /** Tests that moves, a win and computer moves are reported, with the
+     * search result for a searching player and null for a random one.
+     */
+    @Test
+    public void testEvents() {
+        List<String> events = new ArrayList<>();
+        testState.setListener(new Connect4GameListener() {
+            @Override
+            public void movePlayed(Connect4GameState gameState, int player, int column, int row) {
+                events.add("move " + player + " " + column + " " + row);
+            }
+
+            @Override
+            public void gameWon(Connect4GameState gameState, int player) {
+                events.add("win " + player);
+            }
+
+            @Override
+            public void moveChosen(Connect4GameState gameState, int player, int column,
+                                   Connect4SearchResult result) {
+                events.add("chose " + player + " " + column + " " + (result != null));
+            }
+        });
+
+        for (int column : new int[] {0, 1, 0, 1, 0, 1})
+            play(testBoard, column);
+        assertEquals(6, events.size());
+        assertEquals("move 0 0 0", events.get(0));
+        assertEquals("move 1 1 2", events.get(5));
+
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(testState, Connect4ComputerPlayer.Strategy.SEARCH, 4);
+        int column = testCPU.makeMove();
+        assertEquals(0, column);
+        assertEquals("chose 0 0 true", events.get(6));
+
+        play(testBoard, column);
+        assertEquals("move 0 0 3", events.get(7));
+        assertEquals("win 0", events.get(8));
+
+        testState.reset();
+        testCPU.setStrategy(Connect4ComputerPlayer.Strategy.RANDOM);
+        column = testCPU.makeMove();
+        assertEquals("chose 0 " + column + " false", events.get(9));
+    }
+
+    /** Tests that the console listener prints the board, computer moves and
+     * the result with the player names given, and that a full board without a
+     * win is reported as a draw.
+     */
+    @Test
+    public void testConsoleListener() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Connect4ConsoleListener console = new Connect4ConsoleListener(new PrintStream(output, true));
+        console.setPlayerName(Connect4BitBoard.PLAYER_O, "Computer");
+        testState.setListener(console);
+
+        play(testBoard, 3);
+        String[] lines = output.toString().split("\n");
+        assertEquals(6, lines.length);
+        assertEquals("|   |   |   | X |   |   |   |", lines[5]);
+
+        console.setShowBoard(false);
+        output.reset();
+        for (int column : new int[] {4, 3, 4, 3, 4, 2, 4})
+            play(testBoard, column);
+        assertEquals("Computer won the game.\n", output.toString());
+
+        //a game that fills the board without four in a row for either player
+        output.reset();
+        testBoard.resetBoard();
+        int[] drawnGame = {3, 4, 0, 4, 5, 2, 2, 4, 2, 6, 3, 5, 5, 0, 5, 3, 0, 0, 6, 5, 3,
+                3, 6, 6, 4, 4, 1, 1, 6, 2, 4, 6, 2, 2, 3, 5, 0, 0, 1, 1, 1, 1};
+        for (int column : drawnGame)
+            play(testBoard, column);
+        assertFalse(testBoard.hasWinner());
+        assertEquals("Draw/tie game. Nobody wins.\n", output.toString());
+    }
+
+    /** Tests that the log listener writes every event of games played on
+     * several threads at once, one line each, by the time it is closed.
+     *
+     * @throws Exception if a thread fails or the log cannot be written.
+     */
+    @Test
+    public void testLogListener() throws Exception {
+        StringWriter log = new StringWriter();
+        Connect4LogListener listener = new Connect4LogListener(log);
+        int threads = 4;
+        int games = 50;
+        long[] movesPlayed = new long[threads];
+
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            int worker = i;
+            workers[i] = new Thread(() -> {
+                Connect4GameState gameState = new Connect4GameState();
+                gameState.setListener(listener);
+                Connect4Logic logic = new Connect4Logic(gameState);
+                Connect4ComputerPlayer computer = new Connect4ComputerPlayer(gameState);
+                computer.setSeed(worker);
+                for (int game = 0; game < games; game++) {
+                    logic.resetBoard();
+                    while (!logic.hasWinner() && logic.fullColumnCount() < Connect4BitBoard.COLUMNS) {
+                        play(logic, computer.makeMove());
+                        movesPlayed[worker]++;
+                    }
+                }
+            });
+            workers[i].start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+        listener.close();
+
+        long moves = 0;
+        for (long count : movesPlayed)
+            moves += count;
+        String[] lines = log.toString().split("\n");
+        //every move is chosen and played, and every game ends in a win or a draw
+        assertEquals(2 * moves + threads * games, lines.length);
+        assertEquals(lines.length, listener.getEventsWritten());
+
+        int ends = 0;
+        for (String line : lines) {
+            if (line.matches("[0-9a-f]{8} (win [XO]|draw)"))
+                ends++;
+            else
+                assertTrue(line, line.matches("[0-9a-f]{8} (move [XO] [1-7] [1-6]|chose [XO] [1-7] random)"));
+        }
+        assertEquals(threads * games, ends);
+    }
+}
@@ -0,0 +1,210 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4GameRecord class and the binary record file written by
+ * Connect4RecordWriter and read by Connect4RecordReader.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4GameRecord;
+import core.Connect4Logic;
+import core.Connect4RecordReader;
+import core.Connect4RecordWriter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4GameRecordTest {
+    /** Temporary file the test records are written to. **/
+    private Path recordFile;
+    /** Connect4Logic object used to play and replay games. **/
+    private Connect4Logic testBoard;
+
+    /** Before testing occurs, this method creates the test objects.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        recordFile = Files.createTempFile("connect4", ".games");
+        Files.delete(recordFile);
+        testBoard = new Connect4Logic();
+    }
+
+    /** After testing occurs, deletes the record file.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testBoard = null;
+        Files.deleteIfExists(recordFile);
+    }
+
+    /** Plays a game of random moves to the end and stores it in a record.
+     *
+     * @param record record to fill.
+     * @param rand random number generator choosing the moves.
+     */
+    private void playRandomGame(Connect4GameRecord record, Random rand) {
+        record.clear();
+        testBoard.resetBoard();
+        while (true) {
+            int column = rand.nextInt(7);
+            if (testBoard.isColumnFull(column))
+                continue;
+
+            int playerTurn = testBoard.getPlayerTurn();
+            testBoard.placePuck(column, playerTurn);
+            record.addMove(column);
+            testBoard.checkPucks(column);
+            if (testBoard.puckCount == 4) {
+                record.setResult((playerTurn % 2 != 0) ? Connect4GameRecord.RESULT_X_WINS
+                        : Connect4GameRecord.RESULT_O_WINS);
+                return;
+            }
+            if (testBoard.fullColumnCount() == 7) {
+                record.setResult(Connect4GameRecord.RESULT_DRAW);
+                return;
+            }
+            testBoard.nextTurn();
+        }
+    }
+
+    /** Tests that games written to a file are read back unchanged, that
+     * a typical game takes only a few bytes, and that append() returns
+     * offsets seek() can return to.
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        Random rand = new Random(12);
+        Connect4GameRecord record = new Connect4GameRecord();
+        long[] offsets = new long[5000];
+        long moves = 0;
+        try (Connect4RecordWriter writer = new Connect4RecordWriter(recordFile)) {
+            for (int i = 0; i < offsets.length; i++) {
+                playRandomGame(record, rand);
+                record.setPlayerIds(i % 3, (i % 2 == 0) ? 5 : 300_000);
+                moves += record.getMoveCount();
+                offsets[i] = writer.append(record);
+            }
+        }
+        long bytesPerGame = (Files.size(recordFile) - Connect4RecordWriter.HEADER_BYTES) / offsets.length;
+        assertTrue("bytes per game " + bytesPerGame, bytesPerGame <= 3 + (moves / offsets.length * 3 + 7) / 8 + 2);
+
+        rand = new Random(12);
+        Connect4GameRecord expected = new Connect4GameRecord();
+        try (Connect4RecordReader reader = new Connect4RecordReader(recordFile)) {
+            for (int i = 0; i < offsets.length; i++) {
+                playRandomGame(expected, rand);
+                assertEquals(offsets[i], reader.getPosition());
+                assertTrue(reader.next(record));
+                assertEquals(expected.getResult(), record.getResult());
+                assertEquals(i % 3, record.getPlayerXId());
+                assertEquals((i % 2 == 0) ? 5 : 300_000, record.getPlayerOId());
+                assertEquals(expected.getMoveCount(), record.getMoveCount());
+                for (int j = 0; j < record.getMoveCount(); j++)
+                    assertEquals(expected.getMove(j), record.getMove(j));
+                record.replay(testBoard);
+            }
+            assertFalse(reader.next(record));
+            assertFalse(reader.hasTrailingBytes());
+
+            reader.seek(offsets[1234]);
+            assertTrue(reader.next(record));
+            assertEquals(1234 % 3, record.getPlayerXId());
+        }
+    }
+
+    /** Tests that replaying rejects a move into a full column, a move
+     * after the game ended, and a result the moves do not give, and that
+     * the writer refuses such records without writing anything.
+     */
+    @Test
+    public void testReplayRejectsIllegalGames() throws Exception {
+        Connect4GameRecord record = new Connect4GameRecord();
+        for (int i = 0; i < 7; i++)
+            record.addMove(0);
+        try {
+            record.replay(testBoard);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("full column"));
+        }
+
+        record.clear();
+        for (int column : new int[] {0, 1, 0, 1, 0, 1, 0, 1})
+            record.addMove(column);
+        record.setResult(Connect4GameRecord.RESULT_X_WINS);
+        try {
+            record.replay(testBoard);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("after the game ended"));
+        }
+
+        record.clear();
+        for (int column : new int[] {0, 1, 0, 1, 0, 1, 0})
+            record.addMove(column);
+        record.setResult(Connect4GameRecord.RESULT_O_WINS);
+        try (Connect4RecordWriter writer = new Connect4RecordWriter(recordFile)) {
+            writer.append(record);
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("does not match"));
+        }
+        assertEquals(Connect4RecordWriter.HEADER_BYTES, Files.size(recordFile));
+
+        record.setResult(Connect4GameRecord.RESULT_X_WINS);
+        record.replay(testBoard);
+        assertEquals(Connect4BitBoard.PLAYER_O, testBoard.getGameState().getBitBoard().getPlayerToMove());
+    }
+
+    /** Tests that a file cut off part-way through its last record reads
+     * as the complete records before it, and that appending continues
+     * an existing file.
+     */
+    @Test
+    public void testPartialLastRecord() throws Exception {
+        Random rand = new Random(3);
+        Connect4GameRecord record = new Connect4GameRecord();
+        try (Connect4RecordWriter writer = new Connect4RecordWriter(recordFile)) {
+            for (int i = 0; i < 2; i++) {
+                playRandomGame(record, rand);
+                writer.append(record);
+            }
+        }
+        long twoRecords = Files.size(recordFile);
+        try (Connect4RecordWriter writer = new Connect4RecordWriter(recordFile)) {
+            playRandomGame(record, rand);
+            assertEquals(twoRecords, writer.append(record));
+        }
+        try (FileChannel channel = FileChannel.open(recordFile, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(recordFile) - 2);
+        }
+
+        try (Connect4RecordReader reader = new Connect4RecordReader(recordFile)) {
+            assertTrue(reader.next(record));
+            assertTrue(reader.next(record));
+            assertFalse(reader.next(record));
+            assertTrue(reader.hasTrailingBytes());
+            assertEquals(twoRecords, reader.getPosition());
+        }
+    }
+}
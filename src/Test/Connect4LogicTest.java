@@ -55,16 +55,16 @@ public class Connect4LogicTest {
     public void testPlacePuck() {
         testBoard.placePuck(0, 1);
         assertEquals("X", testBoard.puckInput);
-        assertEquals("X", testBoard.columnArray[0][0]);
+        assertEquals("X", testBoard.getColumnArray()[0][0]);
 
         testBoard.placePuck(1, 2);
         assertEquals("O", testBoard.puckInput);
-        assertEquals("O", testBoard.columnArray[1][0]);
+        assertEquals("O", testBoard.getColumnArray()[1][0]);
         testBoard.placePuck(1, 1);
-        assertEquals("X", testBoard.columnArray[1][1]);
+        assertEquals("X", testBoard.getColumnArray()[1][1]);
 
         testBoard.placePuck(0, 2);
-        assertEquals("O", testBoard.columnArray[0][1]);
+        assertEquals("O", testBoard.getColumnArray()[0][1]);
 
         //fill rest of column 0
         testBoard.placePuck(0, 1);
@@ -74,7 +74,7 @@ public class Connect4LogicTest {
 
         //try to place puck in full column
         testBoard.placePuck(0, 2);
-        assertEquals("X", testBoard.columnArray[0][5]);
+        assertEquals("X", testBoard.getColumnArray()[0][5]);
 
     }
 
@@ -128,7 +128,7 @@ public class Connect4LogicTest {
         testBoard.placePuck(3, 2);
         testBoard.placePuck(3, 1);
         testBoard.setPuckInput("X");
-        testBoard.checkPucks(0);
+        testBoard.checkPucks(3);
         assertEquals(4, testBoard.puckCount);
         testBoard.resetBoard();
 
@@ -143,7 +143,7 @@ public class Connect4LogicTest {
         testBoard.placePuck(3, 2);
         testBoard.placePuck(3, 2);
         testBoard.placePuck(3, 1);
-        testBoard.checkPucks(0);
+        testBoard.checkPucks(3);
         assertEquals(4, testBoard.puckCount);
         testBoard.resetBoard();
 
@@ -151,6 +151,46 @@ public class Connect4LogicTest {
         assertEquals(0, testBoard.puckCount);
     }
 
+    /** Tests four in a row that the previous full-board scan missed:
+     * 1. Horizontally, not starting in column 0.
+     * 2. Vertically, in the top rows of a column.
+     * 3. Diagonally, starting above row 2.
+     * Also tests that a line through a different column's top puck
+     *      is not counted.
+     */
+    @Test
+    public void testCheckPucksAnywhere() {
+        //horizontal in columns 2-5, after an O in column 0
+        testBoard.placePuck(0, 2);
+        for (int column = 2; column < 6; column++)
+            testBoard.placePuck(column, 1);
+        testBoard.checkPucks(5);
+        assertEquals(4, testBoard.puckCount);
+        testBoard.checkPucks(0);
+        assertEquals(0, testBoard.puckCount);
+
+        //vertical in rows 2-5
+        testBoard.resetBoard();
+        testBoard.placePuck(6, 1);
+        testBoard.placePuck(6, 1);
+        for (int i = 0; i < 4; i++)
+            testBoard.placePuck(6, 2);
+        testBoard.checkPucks(6);
+        assertEquals(4, testBoard.puckCount);
+
+        //diagonal up-right from (1, 2) to (4, 5)
+        testBoard.resetBoard();
+        int[] heights = {0, 2, 3, 4, 5};
+        for (int column = 1; column < 5; column++) {
+            for (int i = 0; i < heights[column]; i++)
+                testBoard.placePuck(column, 2);
+        }
+        for (int column = 1; column < 5; column++)
+            testBoard.placePuck(column, 1);
+        testBoard.checkPucks(2);
+        assertEquals(4, testBoard.puckCount);
+    }
+
     /** Tests setPuckInput() method by using method and checking
      *      puckInput String.
      */
@@ -184,18 +224,40 @@ public class Connect4LogicTest {
 
         testBoard.resetBoard();
         //assert that each column is filled with " " as should be
-        assertArrayEquals(emptyBoard[0], testBoard.columnArray[0]);
-        assertArrayEquals(emptyBoard[1], testBoard.columnArray[1]);
-        assertArrayEquals(emptyBoard[2], testBoard.columnArray[2]);
-        assertArrayEquals(emptyBoard[3], testBoard.columnArray[3]);
-        assertArrayEquals(emptyBoard[4], testBoard.columnArray[4]);
-        assertArrayEquals(emptyBoard[5], testBoard.columnArray[5]);
-        assertArrayEquals(emptyBoard[6], testBoard.columnArray[6]);
-
-        assertEquals(1, testBoard.playerTurn);
+        assertArrayEquals(emptyBoard[0], testBoard.getColumnArray()[0]);
+        assertArrayEquals(emptyBoard[1], testBoard.getColumnArray()[1]);
+        assertArrayEquals(emptyBoard[2], testBoard.getColumnArray()[2]);
+        assertArrayEquals(emptyBoard[3], testBoard.getColumnArray()[3]);
+        assertArrayEquals(emptyBoard[4], testBoard.getColumnArray()[4]);
+        assertArrayEquals(emptyBoard[5], testBoard.getColumnArray()[5]);
+        assertArrayEquals(emptyBoard[6], testBoard.getColumnArray()[6]);
+
+        assertEquals(1, testBoard.getPlayerTurn());
         assertEquals("X", testBoard.puckInput);
         assertEquals(0, testBoard.puckCount);
         assertEquals(0, testBoard.row);
 
     }
-}
\ No newline at end of file
+
+    /** Tests that two Connect4Logic objects created without a shared
+     * Connect4GameState play on separate boards with separate turns,
+     * and that objects sharing a state see each other's moves.
+     */
+    @Test
+    public void testSeparateGameStates() {
+        Connect4Logic otherBoard = new Connect4Logic();
+        testBoard.placePuck(0, 1);
+        testBoard.nextTurn();
+
+        assertEquals("X", testBoard.getColumnArray()[0][0]);
+        assertEquals(" ", otherBoard.getColumnArray()[0][0]);
+        assertEquals(2, testBoard.getPlayerTurn());
+        assertEquals(1, otherBoard.getPlayerTurn());
+
+        Connect4Logic sharedBoard = new Connect4Logic(testBoard.getGameState());
+        sharedBoard.placePuck(0, sharedBoard.getPlayerTurn());
+        assertEquals("O", testBoard.getColumnArray()[0][1]);
+        assertEquals(0, testBoard.getGameState().getLastColumn());
+        assertEquals(1, testBoard.getGameState().getLastRow());
+    }
+}
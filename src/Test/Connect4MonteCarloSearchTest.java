@@ -0,0 +1,126 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4MonteCarloSearch class in single-tree and root-parallel modes,
+ * and the MCTS strategy of Connect4ComputerPlayer.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4ComputerPlayer;
+import core.Connect4Logic;
+import core.Connect4MonteCarloSearch;
+import core.Connect4SearchResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4MonteCarloSearchTest {
+    /** Connect4Logic object used as a "board" for positions to search. **/
+    private Connect4Logic testBoard;
+
+    /** Before testing occurs, this method initializes the testBoard object.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testBoard = new Connect4Logic();
+    }
+
+    /** After testing occurs, sets testBoard object reference to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testBoard = null;
+    }
+
+    /** Places pucks in the given columns, alternating players starting with X.
+     *
+     * @param columns columns 0-6 to play, in order.
+     */
+    private void playMoves(int... columns) {
+        for (int column : columns) {
+            testBoard.placePuck(column, testBoard.getPlayerTurn());
+            testBoard.nextTurn();
+        }
+    }
+
+    /** Tests that a single tree finds an immediate win and uses exactly
+     * its playout budget.
+     */
+    @Test
+    public void testFindsWin() {
+        playMoves(0, 6, 1, 6, 2, 5);
+        Connect4MonteCarloSearch testSearch = new Connect4MonteCarloSearch(1, 1 << 14, 42L);
+        Connect4SearchResult result = testSearch.search(testBoard.getGameState().getBitBoard(),
+                Connect4BitBoard.PLAYER_X, 5000, 0);
+
+        assertEquals(3, result.getBestMove());
+        assertEquals(5000, result.getNodes());
+        assertTrue(result.getScore() > 500);
+    }
+
+    /** Tests that root-parallel trees merged together block a threat,
+     * and that a small node pool does not stop the search.
+     */
+    @Test
+    public void testParallelBlocksThreat() {
+        playMoves(0, 6, 1, 6, 2);
+        Connect4MonteCarloSearch testSearch = new Connect4MonteCarloSearch(4, 64, 7L);
+        Connect4SearchResult result = testSearch.search(testBoard.getGameState().getBitBoard(),
+                Connect4BitBoard.PLAYER_O, 20000, 0);
+        testSearch.shutdown();
+
+        assertEquals(3, result.getBestMove());
+        assertEquals(20000, result.getNodes());
+    }
+
+    /** Tests that a computer player using the MCTS strategy returns a
+     * legal column within a time budget.
+     */
+    @Test
+    public void testComputerPlayerMonteCarlo() {
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(testBoard.getGameState(),
+                Connect4ComputerPlayer.Strategy.MCTS, 1);
+        testCPU.setMonteCarloBudget(0, 50);
+        int column = testCPU.makeMove();
+
+        assertTrue(column >= 0 && column <= 6);
+        assertTrue(testCPU.getLastResult().getNodes() > 0);
+    }
+
+    /** Tests that stop() ends a search with no playout or time limit
+     * worth waiting for, returning a legal move.
+     */
+    @Test
+    public void testStop() throws Exception {
+        Connect4MonteCarloSearch search = new Connect4MonteCarloSearch(2, 1 << 16, 3L);
+        try {
+            Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+            Connect4SearchResult[] result = new Connect4SearchResult[1];
+            Thread searcher = new Thread(() -> result[0] = search.search(position, Connect4BitBoard.PLAYER_X,
+                    Long.MAX_VALUE, 0));
+            searcher.start();
+
+            long startTime = System.nanoTime();
+            while (searcher.isAlive() && System.nanoTime() - startTime < 5_000_000_000L) {
+                search.stop();
+                searcher.join(50);
+            }
+            assertFalse(searcher.isAlive());
+            assertTrue(result[0].getBestMove() >= 0 && result[0].getBestMove() < 7);
+        }
+        finally {
+            search.shutdown();
+        }
+    }
+}
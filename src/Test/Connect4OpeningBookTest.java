@@ -0,0 +1,176 @@
+/** Description: JUnit4 Test class that generates a small opening book with
+ * Connect4OpeningBookGenerator and tests lookups through Connect4OpeningBook
+ * and Connect4ComputerPlayer.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4ComputerPlayer;
+import core.Connect4GameState;
+import core.Connect4OpeningBook;
+import core.Connect4OpeningBookGenerator;
+import core.Connect4Search;
+import core.Connect4SearchResult;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4OpeningBookTest {
+    /** Temporary file the test book is written to. **/
+    private Path bookFile;
+    /** Connect4OpeningBook object mapping bookFile. **/
+    private Connect4OpeningBook testBook;
+
+    /** Before testing occurs, this method generates a book of every
+     * position up to 3 pucks, searched 6 plies deep.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        bookFile = Files.createTempFile("connect4", ".book");
+        new Connect4OpeningBookGenerator().generate(bookFile, 3, 6, 2);
+        testBook = new Connect4OpeningBook(bookFile);
+    }
+
+    /** After testing occurs, deletes the book file.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testBook = null;
+        Files.deleteIfExists(bookFile);
+    }
+
+    /** Tests that the book holds every distinct position up to 3 pucks,
+     * counting a position and its mirror image once (1 + 4 + 25 + 121
+     * of 1 + 7 + 49 + 238), that stored moves and scores match a search
+     * of the same depth, and that the mirror image finds the same entry
+     * with the mirrored move.
+     */
+    @Test
+    public void testLookup() {
+        assertEquals(151, testBook.size());
+        assertEquals(3, testBook.getMaxPly());
+
+        Connect4BitBoard position = new Connect4BitBoard();
+        position.play(3, Connect4BitBoard.PLAYER_X);
+        position.play(2, Connect4BitBoard.PLAYER_O);
+        int index = testBook.find(position.key());
+        assertTrue(index >= 0);
+
+        Connect4SearchResult result = new Connect4Search().search(position, Connect4BitBoard.PLAYER_X, 6);
+        assertEquals(result.getScore(), testBook.getScore(index));
+        assertEquals(6, testBook.getDepth(index));
+        assertEquals(result.getBestMove(), testBook.findMove(position));
+
+        Connect4BitBoard mirror = new Connect4BitBoard();
+        mirror.play(3, Connect4BitBoard.PLAYER_X);
+        mirror.play(4, Connect4BitBoard.PLAYER_O);
+        assertEquals(index, testBook.find(mirror.key()));
+        assertEquals(Connect4BitBoard.mirrorColumn(result.getBestMove()), testBook.findMove(mirror));
+
+        //too deep for the book
+        position.play(2, Connect4BitBoard.PLAYER_X);
+        position.play(2, Connect4BitBoard.PLAYER_O);
+        assertEquals(-1, testBook.findMove(position));
+    }
+
+    /** Tests that open() shares one book per file, and that a computer
+     * player with a book answers from it without searching.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSharedBook() throws Exception {
+        Connect4OpeningBook sharedBook = Connect4OpeningBook.open(bookFile);
+        assertSame(sharedBook, Connect4OpeningBook.open(bookFile));
+
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(new Connect4GameState(),
+                Connect4ComputerPlayer.Strategy.SEARCH, 6);
+        testCPU.setOpeningBook(sharedBook);
+        int column = testCPU.makeMove();
+
+        assertEquals(sharedBook.findMove(new Connect4BitBoard()), column);
+        assertEquals(0, testCPU.getLastResult().getNodes());
+    }
+
+    /** Tests the enumeration behind generate(): up to 7 pucks it must
+     * match a plain walk of every move sequence, and past ply 10, where
+     * the move sequences run to billions, it must finish with one sorted
+     * canonical key per position, each reached from a position of the
+     * ply before it.
+     */
+    @Test
+    public void testPositions() {
+        Connect4OpeningBookGenerator generator = new Connect4OpeningBookGenerator();
+        Set<Long> walked = new HashSet<>();
+        walkPositions(new Connect4BitBoard(), 7, walked);
+        long[] expected = walked.stream().mapToLong(Long::longValue).sorted().toArray();
+        assertArrayEquals(expected, generator.positions(7));
+
+        long[] keys = generator.positions(11);
+        int[] perPly = new int[12];
+        Connect4BitBoard board = new Connect4BitBoard();
+        for (int i = 0; i < keys.length; i++) {
+            assertTrue(i == 0 || keys[i] > keys[i - 1]);
+            assertEquals(keys[i], Connect4BitBoard.canonicalKey(keys[i]));
+            board.setFromKey(keys[i]);
+            int ply = board.getMoveCount();
+            perPly[ply]++;
+            if (ply == 0)
+                continue;
+
+            //some top puck of the player who moved last can be taken back to reach a listed position
+            boolean hasParent = false;
+            for (int column = 0; column < Connect4BitBoard.COLUMNS && !hasParent; column++) {
+                int height = board.height(column);
+                if (height == 0 || board.getCell(column, height - 1) != ((ply - 1) & 1))
+                    continue;
+                board.undo(column);
+                hasParent = Arrays.binarySearch(keys, board.canonicalKey()) >= 0;
+                board.play(column, (ply - 1) & 1);
+            }
+            assertTrue(hasParent);
+        }
+        assertArrayEquals(new int[] {1, 4, 25, 121, 568, 2144, 8231, 27109, 91295, 269531, 809464, 2148087},
+                perPly);
+    }
+
+    /** Adds the canonical key of every position up to a ply where the
+     * game is not over, walking every move sequence.
+     *
+     * @param board position to start from; restored before returning.
+     * @param pliesLeft number of further pucks to place.
+     * @param keys set receiving the keys.
+     */
+    private void walkPositions(Connect4BitBoard board, int pliesLeft, Set<Long> keys) {
+        keys.add(board.canonicalKey());
+        if (pliesLeft == 0)
+            return;
+        int player = board.getPlayerToMove();
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            if (!board.canPlay(column))
+                continue;
+            int row = board.play(column, player);
+            if (!board.isWinAt(player, column, row))
+                walkPositions(board, pliesLeft - 1, keys);
+            board.undo(column);
+        }
+    }
+}
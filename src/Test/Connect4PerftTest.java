@@ -0,0 +1,107 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4Perft class: move sequence and distinct position counts on the
+ * standard board against the known values, the parallel mode against the
+ * serial one, and the depth and geometry checks.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4Geometry;
+import core.Connect4Perft;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4PerftTest {
+    /** Connect4Perft object on the standard board. **/
+    private Connect4Perft testPerft;
+
+    /** Before testing occurs, this method initializes the testPerft object.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testPerft = new Connect4Perft(Connect4Geometry.STANDARD);
+    }
+
+    /** After testing occurs, sets testPerft object reference to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testPerft = null;
+    }
+
+    /** Tests the move sequence counts of the standard board, where the
+     * first wins, at ply 7, leave 823536 sequences instead of 7^7.
+     */
+    @Test
+    public void testPerft() {
+        long[] expected = {1, 7, 49, 343, 2401, 16807, 117649, 823536, 5673234};
+        assertArrayEquals(expected, testPerft.perft(8));
+        assertArrayEquals(new long[] {1}, testPerft.perft(0));
+    }
+
+    /** Tests that the parallel mode gives the serial counts, with the
+     * depth above, at and below the plies it splits at.
+     */
+    @Test
+    public void testPerftParallel() {
+        for (int depth : new int[] {1, Connect4Perft.SPLIT_PLIES, 8})
+            assertArrayEquals(testPerft.perft(depth), testPerft.perftParallel(depth, 4));
+
+        Connect4Perft longPerft = new Connect4Perft(Connect4Geometry.of(8, 7, 4));
+        assertArrayEquals(longPerft.perft(6), longPerft.perftParallel(6, 3));
+    }
+
+    /** Tests the distinct position counts of the standard board, and that
+     * they match the sequence counts until transpositions appear at ply 3.
+     */
+    @Test
+    public void testDistinct() {
+        long[] expected = {1, 7, 49, 238, 1120, 4263, 16422, 54859, 184275, 558186};
+        assertArrayEquals(expected, testPerft.distinct(9));
+
+        Connect4Perft longPerft = new Connect4Perft(Connect4Geometry.of(8, 7, 4));
+        long[] counts = longPerft.distinct(4);
+        assertEquals(64, counts[2]);
+        assertTrue(counts[3] < 8 * 8 * 8);
+    }
+
+    /** Tests that depths beyond the board, distinct counts on boards that
+     * do not fit in a long and parallel runs without threads are rejected.
+     */
+    @Test
+    public void testInvalidArguments() {
+        try {
+            testPerft.perft(43);
+            fail("depth beyond a full board accepted");
+        }
+        catch (IllegalArgumentException e) {
+            //expected
+        }
+        try {
+            new Connect4Perft(Connect4Geometry.of(10, 8, 4)).distinct(2);
+            fail("distinct accepted on a board that does not fit in a long");
+        }
+        catch (IllegalArgumentException e) {
+            //expected
+        }
+        try {
+            testPerft.perftParallel(4, 0);
+            fail("parallel run without threads accepted");
+        }
+        catch (IllegalArgumentException e) {
+            //expected
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4Search class and the SEARCH strategy of Connect4ComputerPlayer.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4ComputerPlayer;
+import core.Connect4Logic;
+import core.Connect4ParallelSearch;
+import core.Connect4Search;
+import core.Connect4SearchResult;
+import core.Connect4TranspositionTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4SearchTest {
+    /** Connect4Logic object used as a "board" for positions to search. **/
+    private Connect4Logic testBoard;
+    /** Connect4Search object used to search positions. **/
+    private Connect4Search testSearch;
+
+    /** Before testing occurs, this method initializes the test objects.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testBoard = new Connect4Logic();
+        testSearch = new Connect4Search();
+    }
+
+    /** After testing occurs, sets test object references to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testBoard = null;
+        testSearch = null;
+    }
+
+    /** Places pucks in the given columns, alternating players starting with X.
+     *
+     * @param columns columns 0-6 to play, in order.
+     */
+    private void playMoves(int... columns) {
+        for (int column : columns) {
+            testBoard.placePuck(column, testBoard.getPlayerTurn());
+            testBoard.nextTurn();
+        }
+    }
+
+    /** Tests that the search takes an immediate win, and that the
+     * score and principal variation report a win on the next puck.
+     */
+    @Test
+    public void testFindsWin() {
+        playMoves(0, 6, 1, 6, 2, 5);
+        Connect4SearchResult result = testSearch.search(testBoard.getGameState().getBitBoard(),
+                Connect4BitBoard.PLAYER_X, 4);
+
+        assertEquals(3, result.getBestMove());
+        assertTrue(Connect4Search.isWinScore(result.getScore()));
+        assertTrue(result.getScore() > 0);
+        assertEquals(1, Connect4Search.pliesToEnd(result.getScore(), 6));
+        assertArrayEquals(new int[] {3}, result.getPrincipalVariation());
+        assertTrue(result.getNodes() > 0);
+    }
+
+    /** Tests that the search blocks an open three it cannot otherwise
+     * answer, and that the caller's board is left untouched.
+     */
+    @Test
+    public void testBlocksThreat() {
+        playMoves(0, 6, 1, 6, 2);
+        Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+        long keyBefore = position.key();
+
+        Connect4SearchResult result = testSearch.search(position, Connect4BitBoard.PLAYER_O, 2);
+
+        assertEquals(3, result.getBestMove());
+        assertEquals(keyBefore, position.key());
+    }
+
+    /** Tests that a forced win two moves deep is found: X with three
+     * in a row on the bottom and both ends open wins on move three.
+     */
+    @Test
+    public void testForcedWin() {
+        playMoves(2, 2, 3, 3);
+        Connect4SearchResult result = testSearch.search(testBoard.getGameState().getBitBoard(),
+                Connect4BitBoard.PLAYER_X, 3);
+
+        assertTrue(result.getScore() >= Connect4Search.WIN_SCORE);
+        assertTrue(result.getBestMove() == 1 || result.getBestMove() == 4);
+        assertEquals(3, result.getPrincipalVariation().length);
+    }
+
+    /** Tests that a computer player using the SEARCH strategy returns
+     * a legal column and records its search result.
+     */
+    @Test
+    public void testComputerPlayerSearch() {
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(testBoard.getGameState(),
+                Connect4ComputerPlayer.Strategy.SEARCH, 4);
+        playMoves(0, 6, 1, 6, 2, 5);
+
+        assertEquals(3, testCPU.makeMove());
+        assertNotNull(testCPU.getLastResult());
+    }
+
+    /** Tests that move ordering finds the same scores as the unordered
+     * search, with and without a transposition table, in fewer nodes.
+     */
+    @Test
+    public void testMoveOrdering() {
+        int[][] openings = {{}, {3, 3, 2, 4}, {3, 3, 4, 2, 2}, {3, 2, 3, 2, 4, 4, 1}};
+        long orderedNodes = 0;
+        long unorderedNodes = 0;
+        for (int[] opening : openings) {
+            testBoard.resetBoard();
+            playMoves(opening);
+            Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+            int player = Connect4BitBoard.playerIndex(testBoard.getPlayerTurn());
+
+            for (boolean useTable : new boolean[] {false, true}) {
+                Connect4Search ordered = new Connect4Search(useTable ? new Connect4TranspositionTable(4,
+                        Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED) : null);
+                Connect4Search unordered = new Connect4Search(useTable ? new Connect4TranspositionTable(4,
+                        Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED) : null);
+                unordered.setMoveOrdering(false);
+                assertTrue(ordered.isMoveOrdering());
+
+                Connect4SearchResult orderedResult = ordered.search(position, player, 8);
+                Connect4SearchResult unorderedResult = unordered.search(position, player, 8);
+                assertEquals(unorderedResult.getScore(), orderedResult.getScore());
+                assertTrue(position.canPlay(orderedResult.getBestMove()));
+                orderedNodes += orderedResult.getNodes();
+                unorderedNodes += unorderedResult.getNodes();
+            }
+        }
+        assertTrue(orderedNodes + " vs " + unorderedNodes, orderedNodes * 2 < unorderedNodes);
+    }
+
+    /** Tests that iterative deepening without a time limit reaches the
+     * same score as a fixed-depth search, and that it stops deepening
+     * once the forced win it found cannot change.
+     */
+    @Test
+    public void testIterativeDeepening() {
+        playMoves(3, 3, 4, 2, 2);
+        Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+        int fixedScore = new Connect4Search().search(position, Connect4BitBoard.PLAYER_O, 7).getScore();
+        Connect4SearchResult result = testSearch.searchIterative(position, Connect4BitBoard.PLAYER_O, 7, 0);
+
+        assertEquals(fixedScore, result.getScore());
+        assertEquals(7, result.getDepth());
+        assertEquals(result.getBestMove(), testSearch.getCurrentResult().getBestMove());
+
+        testBoard.resetBoard();
+        playMoves(0, 6, 1, 6, 2, 5);
+        result = testSearch.searchIterative(testBoard.getGameState().getBitBoard(),
+                Connect4BitBoard.PLAYER_X, Connect4Search.MAX_DEPTH, 0);
+        assertEquals(3, result.getBestMove());
+        assertEquals(1, result.getDepth());
+    }
+
+    /** Tests that iterative deepening on the empty board returns a legal
+     * move within its time budget instead of solving the game.
+     */
+    @Test
+    public void testIterativeTimeLimit() {
+        long startTime = System.nanoTime();
+        Connect4SearchResult result = testSearch.searchIterative(testBoard.getGameState().getBitBoard(),
+                Connect4BitBoard.PLAYER_X, Connect4Search.MAX_DEPTH, 50);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        assertTrue(result.getBestMove() >= 0 && result.getBestMove() < 7);
+        assertTrue(result.getDepth() >= 1 && result.getDepth() < Connect4Search.MAX_DEPTH);
+        assertTrue("took " + elapsedMillis + " ms", elapsedMillis < 1000);
+    }
+
+    /** Tests that stop() ends a fixed-depth search far too deep to
+     * finish, returning a legal move of a depth 1 search.
+     */
+    @Test
+    public void testStopFixedDepth() throws Exception {
+        Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+        Connect4SearchResult[] result = new Connect4SearchResult[1];
+        Thread searcher = new Thread(() -> result[0] = testSearch.search(position, Connect4BitBoard.PLAYER_X, 30));
+        searcher.start();
+
+        long startTime = System.nanoTime();
+        while (searcher.isAlive() && System.nanoTime() - startTime < 5_000_000_000L) {
+            testSearch.stop();
+            searcher.join(50);
+        }
+        assertFalse(searcher.isAlive());
+        assertEquals(1, result[0].getDepth());
+        assertTrue(result[0].getBestMove() >= 0 && result[0].getBestMove() < 7);
+    }
+
+    /** Tests that a computer player's stopSearch() made before the move
+     * starts searching is kept, with or without a move time, so the
+     * move returns at once, and that clearStop() lets the next move
+     * search in full.
+     */
+    @Test
+    public void testComputerPlayerEarlyStop() {
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(testBoard.getGameState());
+        for (String engine : new String[] {"search:30", "search:30:60000", "search:30:60000:2", "mcts:1000000000"}) {
+            testCPU.configure(engine);
+            testCPU.clearStop();
+            testCPU.stopSearch();
+            long startTime = System.nanoTime();
+            int column = testCPU.makeMove();
+            long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+            assertTrue(column >= 0 && column < 7);
+            assertTrue(engine + " took " + elapsedMillis + " ms", elapsedMillis < 2000);
+        }
+
+        testCPU.configure("search:5");
+        testCPU.clearStop();
+        testCPU.makeMove();
+        assertEquals(5, testCPU.getLastResult().getDepth());
+        testCPU.shutdown();
+    }
+
+    /** Tests that a computer player with a move time returns a legal
+     * column and that its best move can be polled afterwards.
+     */
+    @Test
+    public void testComputerPlayerMoveTime() {
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(testBoard.getGameState(),
+                Connect4ComputerPlayer.Strategy.SEARCH, Connect4Search.MAX_DEPTH);
+        testCPU.setMoveTime(30);
+        assertEquals(-1, testCPU.getCurrentBestMove());
+
+        int column = testCPU.makeMove();
+        assertTrue(column >= 0 && column < 7);
+        assertEquals(column, testCPU.getCurrentBestMove());
+    }
+
+    /** Tests that a parallel search finds the same forced win as a
+     * single-threaded one, counts the nodes of every thread, and that a
+     * computer player with several search threads returns the winning
+     * column.
+     */
+    @Test
+    public void testParallelSearch() {
+        playMoves(3, 3, 4, 2, 2);
+        Connect4BitBoard position = testBoard.getGameState().getBitBoard();
+        Connect4SearchResult single = testSearch.search(position, Connect4BitBoard.PLAYER_O, 9);
+
+        Connect4ParallelSearch parallel = new Connect4ParallelSearch(3, 4);
+        try {
+            Connect4SearchResult result = parallel.search(position, Connect4BitBoard.PLAYER_O, 9);
+            assertEquals(Connect4Search.isWinScore(single.getScore()), Connect4Search.isWinScore(result.getScore()));
+            assertTrue(result.getDepth() >= 9);
+            assertTrue(result.getNodes() >= parallel.getNodes() && result.getNodes() > 0);
+            assertTrue(parallel.getTable().isShared());
+
+            result = parallel.searchIterative(position, Connect4BitBoard.PLAYER_O, Connect4Search.MAX_DEPTH, 50);
+            assertTrue(result.getBestMove() >= 0 && position.canPlay(result.getBestMove()));
+        }
+        finally {
+            parallel.shutdown();
+        }
+
+        testBoard.resetBoard();
+        playMoves(0, 6, 1, 6, 2, 5);
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(testBoard.getGameState());
+        testCPU.configure("search:6:0:2");
+        assertEquals(2, testCPU.getSearchThreads());
+        assertEquals(3, testCPU.makeMove());
+        assertEquals(3, testCPU.getCurrentBestMove());
+        testCPU.setSearchThreads(1);
+    }
+}
@@ -0,0 +1,255 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4Server class over real sockets, and the Connect4LoadClient
+ * load generator against it.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4Evaluator;
+import core.Connect4Search;
+import core.Connect4TranspositionTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import server.Connect4LoadClient;
+import server.Connect4Server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4ServerTest {
+    /** Connect4Server object listening on a free port. **/
+    private Connect4Server testServer;
+    /** Thread running the server's selector loop. **/
+    private Thread serverThread;
+
+    /** Before testing occurs, this method starts the test server.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        startServer("random");
+    }
+
+    /** Starts testServer with the given computer settings on its own thread.
+     *
+     * @param computerEngine settings of the computer player.
+     * @throws Exception
+     */
+    private void startServer(String computerEngine) throws Exception {
+        testServer = new Connect4Server(0, computerEngine, 1);
+        serverThread = new Thread(() -> {
+            try {
+                testServer.run();
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serverThread.start();
+    }
+
+    /** After testing occurs, stops the test server.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testServer.stop();
+        serverThread.join(5000);
+        testServer = null;
+    }
+
+    /** Simple blocking client used to talk to the server line by line. */
+    private class TestClient implements AutoCloseable {
+        /** Socket to the server. */
+        private final Socket socket;
+        /** Lines from the server. */
+        private final BufferedReader in;
+        /** Lines to the server. */
+        private final PrintWriter out;
+
+        /** Constructor which connects to the test server.
+         *
+         * @throws Exception
+         */
+        TestClient() throws Exception {
+            socket = new Socket("localhost", testServer.getPort());
+            socket.setSoTimeout(5000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        /** Sends a line and returns the next line received.
+         *
+         * @param line line to send.
+         * @return reply.
+         * @throws Exception
+         */
+        String ask(String line) throws Exception {
+            out.println(line);
+            return in.readLine();
+        }
+
+        /** Reads the next line received.
+         *
+         * @return line.
+         * @throws Exception
+         */
+        String next() throws Exception {
+            return in.readLine();
+        }
+
+        /** Closes the connection to the server.
+         *
+         * @throws IOException
+         */
+        void disconnect() throws IOException {
+            socket.close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            disconnect();
+        }
+    }
+
+    /** Tests a PvC session: the move is acknowledged, the computer
+     * answers with a legal column, and wrong moves are refused.
+     */
+    @Test
+    public void testComputerSession() throws Exception {
+        try (TestClient client = new TestClient()) {
+            assertTrue(client.ask("NEW PVC").matches("SESSION \\d+ X"));
+            assertEquals("START", client.next());
+
+            assertEquals("OK 4", client.ask("MOVE 4"));
+            assertTrue(client.next().matches("MOVE [1-7]"));
+            assertTrue(client.ask("MOVE 9").startsWith("ERROR"));
+            assertTrue(client.ask("DANCE").startsWith("ERROR"));
+            assertEquals("PONG", client.ask("PING"));
+            assertEquals("BYE", client.ask("QUIT"));
+        }
+    }
+
+    /** Tests a PvP session: joining by number, turn order, relaying of
+     * moves, and a vertical win reported to both players.
+     */
+    @Test
+    public void testPlayerSession() throws Exception {
+        try (TestClient playerX = new TestClient(); TestClient playerO = new TestClient()) {
+            String session = playerX.ask("NEW PVP");
+            assertTrue(session.matches("SESSION \\d+ X"));
+            assertEquals("WAITING", playerX.next());
+            String id = session.split(" ")[1];
+
+            assertTrue(playerO.ask("JOIN 999999").startsWith("ERROR"));
+            assertEquals("SESSION " + id + " O", playerO.ask("JOIN " + id));
+            assertEquals("START", playerO.next());
+            assertEquals("START", playerX.next());
+
+            assertEquals("ERROR not your turn", playerO.ask("MOVE 2"));
+            for (int i = 0; i < 3; i++) {
+                assertEquals("OK 1", playerX.ask("MOVE 1"));
+                assertEquals("MOVE 1", playerO.next());
+                assertEquals("OK 2", playerO.ask("MOVE 2"));
+                assertEquals("MOVE 2", playerX.next());
+            }
+            assertEquals("OK 1", playerX.ask("MOVE 1"));
+            assertEquals("WIN X", playerX.next());
+            assertEquals("MOVE 1", playerO.next());
+            assertEquals("WIN X", playerO.next());
+            assertTrue(playerO.ask("MOVE 3").startsWith("ERROR"));
+        }
+    }
+
+    /** Tests that a player leaving mid-game is reported to the opponent. */
+    @Test
+    public void testOpponentLeaves() throws Exception {
+        try (TestClient playerX = new TestClient(); TestClient playerO = new TestClient()) {
+            String id = playerX.ask("NEW PVP").split(" ")[1];
+            playerX.next();
+            playerO.ask("JOIN " + id);
+            playerO.next();
+            playerX.next();
+
+            playerO.disconnect();
+            assertEquals("LEFT", playerX.next());
+        }
+    }
+
+    /** Tests that the load client plays games against the server and
+     * measures the requested number of move latencies.
+     */
+    @Test
+    public void testLoadClient() throws Exception {
+        Connect4LoadClient loadClient = new Connect4LoadClient(500, 50, 0);
+        long elapsedNanos = loadClient.run(new InetSocketAddress("localhost", testServer.getPort()), 20);
+
+        assertEquals(500, loadClient.getLatencies().length);
+        assertTrue(elapsedNanos > 0);
+        assertTrue(loadClient.report(20, elapsedNanos).contains("p99"));
+    }
+
+    /** Tests that a server configured with an evaluator searches with
+     * it: every computer move must be the one a search of the same
+     * depth, table size and evaluator chooses, and some of them must
+     * differ from a search that scores the depth limit 0.
+     */
+    @Test
+    public void testEvaluatorEngine() throws Exception {
+        testServer.stop();
+        serverThread.join(5000);
+        startServer("search:4:0:1:eval");
+
+        Connect4Search evalSearch = new Connect4Search(
+                new Connect4TranspositionTable(16, Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+        evalSearch.setEvaluator(Connect4Evaluator.DEFAULT);
+        Connect4Search plainSearch = new Connect4Search(
+                new Connect4TranspositionTable(16, Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+        Connect4BitBoard board = new Connect4BitBoard();
+        int differences = 0;
+
+        try (TestClient client = new TestClient()) {
+            assertTrue(client.ask("NEW PVC O").matches("SESSION \\d+ O"));
+            assertEquals("START", client.next());
+
+            for (int turn = 0; turn < 10; turn++) {
+                String line = client.next();
+                if (line.startsWith("WIN") || line.startsWith("DRAW"))
+                    break;
+                int expected = evalSearch.search(board, Connect4BitBoard.PLAYER_X, 4).getBestMove();
+                if (plainSearch.search(board, Connect4BitBoard.PLAYER_X, 4).getBestMove() != expected)
+                    differences++;
+                assertEquals("MOVE " + (expected + 1), line);
+                board.play(expected, Connect4BitBoard.PLAYER_X);
+                if (board.isWin(Connect4BitBoard.PLAYER_X))
+                    break;
+
+                //the human side fills the columns from the left
+                int column = 0;
+                while (!board.canPlay(column))
+                    column++;
+                assertEquals("OK " + (column + 1), client.ask("MOVE " + (column + 1)));
+                board.play(column, Connect4BitBoard.PLAYER_O);
+                if (board.isWin(Connect4BitBoard.PLAYER_O))
+                    break;
+            }
+        }
+        assertTrue(differences > 0);
+    }
+}
@@ -0,0 +1,116 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4Simulator class.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4Simulator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4SimulatorTest {
+    /** Connect4Simulator object playing random engines against each other. **/
+    private Connect4Simulator testSimulator;
+
+    /** Before testing occurs, this method initializes the testSimulator object.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testSimulator = new Connect4Simulator("random", "random");
+    }
+
+    /** After testing occurs, sets testSimulator object reference to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testSimulator = null;
+    }
+
+    /** Tests that every game is counted once, as a first player win,
+     * a second player win or a draw, and that game lengths are legal.
+     */
+    @Test
+    public void testResultsAddUp() throws Exception {
+        Connect4Simulator.Results results = testSimulator.run(1001, Connect4Simulator.workerSeeds(5L, 3));
+
+        assertEquals(1001, results.getGames());
+        assertEquals(results.getGames(), results.getFirstPlayerWins() + results.getSecondPlayerWins()
+                + results.getDraws());
+        assertEquals(results.getFirstPlayerWins() + results.getSecondPlayerWins(),
+                results.getEngineAWins() + results.getEngineBWins());
+        assertTrue(results.getAverageGameLength() >= 7 && results.getAverageGameLength() <= 42);
+        assertTrue(results.getGamesPerSecond() > 0);
+    }
+
+    /** Tests that the same worker seeds play the same games, and that
+     * different seeds play different ones.
+     */
+    @Test
+    public void testSeedsReproduce() throws Exception {
+        long[] seeds = {1L, 2L, 3L, 4L};
+        Connect4Simulator.Results first = testSimulator.run(400, seeds);
+        Connect4Simulator.Results second = testSimulator.run(400, seeds);
+        Connect4Simulator.Results other = testSimulator.run(400, new long[] {5L, 6L, 7L, 8L});
+
+        assertEquals(first.getTotalMoves(), second.getTotalMoves());
+        assertEquals(first.getFirstPlayerWins(), second.getFirstPlayerWins());
+        assertEquals(first.getEngineAWins(), second.getEngineAWins());
+        assertNotEquals(first.getTotalMoves(), other.getTotalMoves());
+    }
+
+    /** Tests that a searching engine beats a random one, and that an
+     * unknown engine setting is rejected.
+     */
+    @Test
+    public void testEngines() throws Exception {
+        Connect4Simulator.Results results = new Connect4Simulator("search:4", "random")
+                .run(20, new long[] {9L});
+        assertTrue(results.getEngineAWins() > results.getEngineBWins());
+
+        try {
+            new Connect4Simulator("search", "random");
+            fail("Expected IllegalArgumentException");
+        }
+        catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("search"));
+        }
+    }
+
+    /** Tests which engine settings replay exactly from their seeds:
+     * fixed-depth single-threaded ones do, timed or multi-threaded
+     * searches do not.
+     */
+    @Test
+    public void testReproducibleEngines() {
+        for (String engine : new String[] {"random", "search:6", "search:6:0:1", "search:6:0:1:eval", "mcts:500"})
+            assertTrue(engine, Connect4Simulator.isReproducible(engine));
+        for (String engine : new String[] {"search:6:100", "search:6:0:2", "search:6:50:4:eval"})
+            assertFalse(engine, Connect4Simulator.isReproducible(engine));
+    }
+
+    /** Tests that a run with multi-threaded engines leaves none of
+     * their helper threads behind.
+     */
+    @Test
+    public void testReleasesSearchThreads() throws Exception {
+        int before = Connect4ComputerPlayerTest.helperThreads();
+        Connect4Simulator.Results results = new Connect4Simulator("search:3:0:3", "search:2:0:2")
+                .run(4, new long[] {1L, 2L});
+        assertEquals(4, results.getGames());
+        for (int wait = 0; wait < 100 && Connect4ComputerPlayerTest.helperThreads() > before; wait++)
+            Thread.sleep(50);
+        assertEquals(before, Connect4ComputerPlayerTest.helperThreads());
+    }
+}
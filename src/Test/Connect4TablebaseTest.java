@@ -0,0 +1,203 @@
+/** Description: JUnit4 Test class that generates a small endgame tablebase
+ * with Connect4TablebaseGenerator and tests its lookups through
+ * Connect4Tablebase and Connect4ComputerPlayer against full-depth searches.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4ComputerPlayer;
+import core.Connect4GameState;
+import core.Connect4Search;
+import core.Connect4Tablebase;
+import core.Connect4TablebaseGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4TablebaseTest {
+    /** Number of empty cells of the test roots. **/
+    private static final int MAX_EMPTY = 8;
+    /** Temporary file the test tablebase is written to. **/
+    private Path tablebaseFile;
+    /** Columns played from the empty board to the first root. **/
+    private int[] rootMoves;
+    /** Number of distinct roots up to mirror image. **/
+    private long rootCount;
+    /** Connect4Tablebase object mapping tablebaseFile. **/
+    private Connect4Tablebase testTablebase;
+
+    /** Before testing occurs, this method generates a tablebase of the
+     * positions reachable from one root reached by rootMoves and the
+     * roots of 200 random games.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        Random rand = new Random(7);
+        Connect4BitBoard root;
+        do {
+            root = new Connect4BitBoard();
+            rootMoves = new int[Connect4BitBoard.CELLS - MAX_EMPTY];
+            for (int i = 0; i < rootMoves.length && !root.isWin(Connect4BitBoard.PLAYER_X)
+                    && !root.isWin(Connect4BitBoard.PLAYER_O); i++) {
+                do {
+                    rootMoves[i] = rand.nextInt(Connect4BitBoard.COLUMNS);
+                } while (!root.canPlay(rootMoves[i]));
+                root.play(rootMoves[i], root.getPlayerToMove());
+            }
+        } while (root.getMoveCount() < rootMoves.length || root.isWin(Connect4BitBoard.PLAYER_X)
+                || root.isWin(Connect4BitBoard.PLAYER_O));
+
+        long[] roots = Connect4TablebaseGenerator.randomRoots(MAX_EMPTY, 200, 3);
+        roots = Arrays.copyOf(roots, roots.length + 1);
+        roots[roots.length - 1] = root.key();
+        rootCount = Arrays.stream(roots).map(Connect4BitBoard::canonicalKey).distinct().count();
+
+        tablebaseFile = Files.createTempFile("connect4", ".tb");
+        long positions = new Connect4TablebaseGenerator().generate(tablebaseFile, MAX_EMPTY, roots, 2);
+        assertTrue(positions > roots.length);
+        testTablebase = new Connect4Tablebase(tablebaseFile);
+    }
+
+    /** After testing occurs, deletes the tablebase file.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testTablebase = null;
+        Files.deleteIfExists(tablebaseFile);
+    }
+
+    /** Plays the root moves on a new board.
+     *
+     * @return board holding the first root.
+     */
+    private Connect4BitBoard rootPosition() {
+        Connect4BitBoard board = new Connect4BitBoard();
+        for (int column : rootMoves)
+            board.play(column, board.getPlayerToMove());
+        return board;
+    }
+
+    /** Tests that the scores and moves of the root and of positions on
+     * random paths below it match full-depth searches, and that their mirror
+     * images give the same scores and mirrored moves.
+     */
+    @Test
+    public void testLookup() {
+        assertEquals(MAX_EMPTY, testTablebase.getMaxEmpty());
+        assertEquals(rootCount, testTablebase.size());
+
+        Connect4Search search = new Connect4Search();
+        Random rand = new Random(11);
+        for (int path = 0; path < 10; path++) {
+            Connect4BitBoard board = rootPosition();
+            while (!board.isFull() && !board.isWin(1 - board.getPlayerToMove())) {
+                int player = board.getPlayerToMove();
+                int expected = search.search(board, player, Connect4Search.MAX_DEPTH).getScore();
+                assertEquals(expected, testTablebase.probe(board));
+
+                int move = testTablebase.findMove(board);
+                board.play(move, player);
+                int moveScore = board.isWin(player) ? Connect4Search.WIN_SCORE + Connect4BitBoard.CELLS
+                        - board.getMoveCount() : (board.isFull() ? 0 : -testTablebase.probe(board));
+                board.undo(move);
+                assertEquals(expected, moveScore);
+
+                Connect4BitBoard mirror = new Connect4BitBoard();
+                mirror.setFromKey(Connect4BitBoard.mirrorKey(board.key()));
+                assertEquals(expected, testTablebase.probe(mirror));
+                assertEquals(Connect4BitBoard.mirrorColumn(move), testTablebase.findMove(mirror));
+
+                int column;
+                do {
+                    column = rand.nextInt(Connect4BitBoard.COLUMNS);
+                } while (!board.canPlay(column));
+                board.play(column, player);
+            }
+        }
+    }
+
+    /** Tests that positions with too many empty cells, or not reachable
+     * from any root, are not found.
+     */
+    @Test
+    public void testNotFound() {
+        assertEquals(Connect4Tablebase.NOT_FOUND, testTablebase.probe(new Connect4BitBoard()));
+        assertEquals(-1, testTablebase.findMove(new Connect4BitBoard()));
+
+        Connect4BitBoard board = rootPosition();
+        board.undo(rootMoves[rootMoves.length - 1]);
+        assertEquals(Connect4Tablebase.NOT_FOUND, testTablebase.probe(board));
+
+        //the root with its last two pucks swapped is a different position with as many empty cells
+        board = rootPosition();
+        board.undo(rootMoves[rootMoves.length - 1]);
+        board.undo(rootMoves[rootMoves.length - 2]);
+        if (rootMoves[rootMoves.length - 1] != rootMoves[rootMoves.length - 2]) {
+            board.play(rootMoves[rootMoves.length - 1], board.getPlayerToMove());
+            board.play(rootMoves[rootMoves.length - 2], board.getPlayerToMove());
+            if (testTablebase.probe(board) != Connect4Tablebase.NOT_FOUND) {
+                int expected = new Connect4Search().search(board, board.getPlayerToMove(),
+                        Connect4Search.MAX_DEPTH).getScore();
+                assertEquals(expected, testTablebase.probe(board));
+            }
+        }
+    }
+
+    /** Tests that open() shares one tablebase per file, that a computer
+     * player with a tablebase answers from it without searching, and that
+     * a file that is not a tablebase is rejected.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testComputerPlayer() throws Exception {
+        Connect4Tablebase sharedTablebase = Connect4Tablebase.open(tablebaseFile);
+        assertSame(sharedTablebase, Connect4Tablebase.open(tablebaseFile));
+
+        Connect4GameState gameState = new Connect4GameState();
+        for (int column : rootMoves) {
+            gameState.play(column, Connect4BitBoard.playerIndex(gameState.getPlayerTurn()));
+            gameState.nextTurn();
+        }
+        Connect4ComputerPlayer testCPU = new Connect4ComputerPlayer(gameState,
+                Connect4ComputerPlayer.Strategy.SEARCH, 1);
+        testCPU.setTablebase(sharedTablebase);
+        int column = testCPU.makeMove();
+
+        assertEquals(sharedTablebase.findMove(rootPosition()), column);
+        assertEquals(sharedTablebase.probe(rootPosition()), testCPU.getLastResult().getScore());
+        assertEquals(MAX_EMPTY, testCPU.getLastResult().getDepth());
+        assertEquals(0, testCPU.getLastResult().getNodes());
+
+        Path notTablebase = Files.createTempFile("connect4", ".tb");
+        try {
+            Files.write(notTablebase, new byte[64]);
+            new Connect4Tablebase(notTablebase);
+            fail("Expected IOException");
+        }
+        catch (IOException e) {
+            //expected
+        }
+        finally {
+            Files.deleteIfExists(notTablebase);
+        }
+    }
+}
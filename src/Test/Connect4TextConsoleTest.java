@@ -0,0 +1,120 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * batch mode of the Connect4TextConsole class: reading move sequences,
+ * detecting wins, draws and unfinished games, and reporting invalid ones.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4Geometry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ui.Connect4TextConsole;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4TextConsoleTest {
+    /** StringWriter object collecting the result lines. **/
+    private StringWriter output;
+
+    /** Before testing occurs, this method initializes the output object.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        output = new StringWriter();
+    }
+
+    /** After testing occurs, sets output object reference to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        output = null;
+    }
+
+    /** Runs batch games on a board and returns the result lines.
+     *
+     * @param games game lines.
+     * @param geometry board to play on.
+     * @return result lines written.
+     * @throws Exception if the batch fails.
+     */
+    private String[] runBatch(String games, Connect4Geometry geometry) throws Exception {
+        long count = Connect4TextConsole.runBatch(new BufferedReader(new StringReader(games)), output, geometry);
+        String[] lines = output.toString().split("\n");
+        assertEquals(count, lines.length);
+        return lines;
+    }
+
+    /** Tests wins for each player in both column formats, a draw, an
+     * unfinished game, and that blank and comment lines are skipped but
+     * still counted for line numbers.
+     *
+     * @throws Exception if the batch fails.
+     */
+    @Test
+    public void testResults() throws Exception {
+        String[] lines = runBatch("1212121\n"
+                + "# comment\n"
+                + "\n"
+                + "7 1 2 1 3 1 6 1\n"
+                + "12121\n"
+                + "1,4,2,5,1,6,2,7\n"
+                + "4455663\n"
+                + "40\n"
+                + "4,5,1,5,6,3,3,5,3,7,4,6,6,1,6,4,1,1,7,6,4,4,7,7,5,5,2,2,7,3,5,7,3,3,4,6,1,1,2,2,2,2\n",
+                Connect4Geometry.STANDARD);
+
+        assertEquals("1 X 7", lines[0]);
+        assertEquals("4 O 8", lines[1]);
+        assertEquals("5 open 5", lines[2]);
+        assertEquals("6 O 8", lines[3]);
+        assertEquals("7 X 7", lines[4]);
+        assertEquals("8 invalid 1 column 0 is not on the board", lines[5]);
+        assertEquals("9 draw 42", lines[6]);
+    }
+
+    /** Tests that full columns, columns off the board, characters that are
+     * not columns and moves after the end of the game are reported as
+     * invalid with the number of valid moves before them.
+     *
+     * @throws Exception if the batch fails.
+     */
+    @Test
+    public void testInvalidGames() throws Exception {
+        String[] lines = runBatch("1111111\n8\n12a\n12121212\n1 2 x\n", Connect4Geometry.STANDARD);
+
+        assertEquals("1 invalid 6 column 1 is full", lines[0]);
+        assertEquals("2 invalid 0 column 8 is not on the board", lines[1]);
+        assertEquals("3 invalid 2 'a' is not a column", lines[2]);
+        assertEquals("4 invalid 7 move after the game ended", lines[3]);
+        assertEquals("5 invalid 2 'x' is not a column", lines[4]);
+    }
+
+    /** Tests batch games on a larger board, where columns above 9 need
+     * separators and the geometry's connect length decides wins.
+     *
+     * @throws Exception if the batch fails.
+     */
+    @Test
+    public void testOtherGeometry() throws Exception {
+        String[] lines = runBatch("10 1 10 1 10 1 10 1 10\n1 2 1 2 1 2 1 2\n11,1\n",
+                Connect4Geometry.of(10, 8, 5));
+
+        assertEquals("1 X 9", lines[0]);
+        assertEquals("2 open 8", lines[1]);
+        assertEquals("3 invalid 0 column 11 is not on the board", lines[2]);
+    }
+}
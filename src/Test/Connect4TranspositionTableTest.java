@@ -0,0 +1,199 @@
+/** Description: JUnit4 Test class that creates test objects to test the
+ * Connect4TranspositionTable class, including packing of entry fields,
+ * replacement policies and counters, and searching with a table.
+ *
+ * Author: Stephen Arel
+ * Version: 1.0 10/18/2026
+ */
+package Test;
+
+import core.Connect4BitBoard;
+import core.Connect4Search;
+import core.Connect4SearchResult;
+import core.Connect4TranspositionTable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/** Test class made to initialize test objects and run test methods,
+ * including setUp() and tearDown().
+ */
+public class Connect4TranspositionTableTest {
+    /** Connect4TranspositionTable object used to test methods. **/
+    private Connect4TranspositionTable testTable;
+
+    /** Before testing occurs, this method initializes the testTable object.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        testTable = new Connect4TranspositionTable(1, Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+    }
+
+    /** After testing occurs, sets testTable object reference to null.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        testTable = null;
+    }
+
+    /** Tests that sizes outside 1-MAX_SIZE_MB are rejected with an
+     * IllegalArgumentException before any allocation, including
+     * 16384 MB, whose slot array would be too large for one array.
+     */
+    @Test
+    public void testSizeLimits() {
+        for (int sizeMb : new int[] {0, -1, Connect4TranspositionTable.MAX_SIZE_MB + 1, 16384, Integer.MAX_VALUE}) {
+            try {
+                new Connect4TranspositionTable(sizeMb, Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+                fail("Accepted " + sizeMb + " MB");
+            }
+            catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage().contains("1-" + Connect4TranspositionTable.MAX_SIZE_MB));
+            }
+        }
+
+        //the largest size must still fit one array: 2 words per slot
+        long slots = Connect4TranspositionTable.MAX_SIZE_MB * 1024L * 1024L / Connect4TranspositionTable.ENTRY_BYTES;
+        assertTrue(slots * 2 <= Integer.MAX_VALUE - 8);
+    }
+
+    /** Tests that stored fields, including negative scores and a
+     * missing move, come back unchanged, and that counters are kept.
+     */
+    @Test
+    public void testStoreAndProbe() {
+        assertEquals(65536, testTable.getCapacity());
+        assertEquals(0L, testTable.probe(12345L));
+
+        testTable.store(12345L, -10037, Connect4TranspositionTable.UPPER_BOUND, 17, 6);
+        long entry = testTable.probe(12345L);
+        assertEquals(-10037, Connect4TranspositionTable.scoreOf(entry));
+        assertEquals(Connect4TranspositionTable.UPPER_BOUND, Connect4TranspositionTable.boundOf(entry));
+        assertEquals(17, Connect4TranspositionTable.depthOf(entry));
+        assertEquals(6, Connect4TranspositionTable.moveOf(entry));
+
+        testTable.store(12345L, 0, Connect4TranspositionTable.EXACT, 0, -1);
+        assertEquals(-1, Connect4TranspositionTable.moveOf(testTable.probe(12345L)));
+
+        assertEquals(2, testTable.getHits());
+        assertEquals(1, testTable.getMisses());
+        assertEquals(2, testTable.getStores());
+    }
+
+    /** Tests that depth-preferred replacement keeps the deeper entry of
+     * the current search but not of an earlier one, and that
+     * always-replace keeps the newest entry.
+     */
+    @Test
+    public void testReplacementPolicies() {
+        long firstKey = 1L;
+        long secondKey = findCollidingKey(firstKey);
+
+        testTable.store(firstKey, 5, Connect4TranspositionTable.EXACT, 10, 3);
+        testTable.store(secondKey, 7, Connect4TranspositionTable.EXACT, 2, 4);
+        assertNotEquals(0L, testTable.probe(firstKey));
+        assertEquals(0L, testTable.probe(secondKey));
+        assertEquals(1, testTable.getCollisions());
+
+        testTable.newSearch();
+        testTable.store(secondKey, 7, Connect4TranspositionTable.EXACT, 2, 4);
+        assertNotEquals(0L, testTable.probe(secondKey));
+
+        Connect4TranspositionTable alwaysTable =
+                new Connect4TranspositionTable(1, Connect4TranspositionTable.ReplacementPolicy.ALWAYS_REPLACE);
+        alwaysTable.store(firstKey, 5, Connect4TranspositionTable.EXACT, 10, 3);
+        alwaysTable.store(secondKey, 7, Connect4TranspositionTable.EXACT, 2, 4);
+        assertEquals(0L, alwaysTable.probe(firstKey));
+        assertNotEquals(0L, alwaysTable.probe(secondKey));
+    }
+
+    /** Tests that searching with a table gives the same score as
+     * searching without one, while visiting fewer positions.
+     */
+    @Test
+    public void testSearchWithTable() {
+        Connect4BitBoard position = new Connect4BitBoard();
+        position.play(3, Connect4BitBoard.PLAYER_X);
+        position.play(3, Connect4BitBoard.PLAYER_O);
+
+        Connect4SearchResult plainResult = new Connect4Search().search(position, Connect4BitBoard.PLAYER_X, 9);
+        Connect4SearchResult tableResult = new Connect4Search(testTable).search(position, Connect4BitBoard.PLAYER_X, 9);
+
+        assertEquals(plainResult.getScore(), tableResult.getScore());
+        assertTrue(tableResult.getNodes() < plainResult.getNodes());
+        assertTrue(testTable.getHits() > 0);
+    }
+
+    /** Finds a key other than key that maps to the same slot of a 1 MB
+     * table, by storing candidates until one evicts key.
+     *
+     * @param key key to collide with.
+     * @return colliding key.
+     */
+    private long findCollidingKey(long key) {
+        Connect4TranspositionTable probeTable =
+                new Connect4TranspositionTable(1, Connect4TranspositionTable.ReplacementPolicy.ALWAYS_REPLACE);
+        probeTable.store(key, 0, Connect4TranspositionTable.EXACT, 0, -1);
+        for (long candidate = key + 1; ; candidate++) {
+            probeTable.store(candidate, 0, Connect4TranspositionTable.EXACT, 0, -1);
+            if (probeTable.probe(key) == 0L)
+                return candidate;
+            probeTable.store(key, 0, Connect4TranspositionTable.EXACT, 0, -1);
+        }
+    }
+
+    /** Tests that threads storing and probing the same slots at once
+     * never get back an entry stored for a different position, and that
+     * a shared table keeps no counters.
+     */
+    @Test
+    public void testSharedTable() throws Exception {
+        Connect4TranspositionTable sharedTable = new Connect4TranspositionTable(1,
+                Connect4TranspositionTable.ReplacementPolicy.ALWAYS_REPLACE, true);
+        long[] badHits = new long[1];
+        long[] goodHits = new long[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            long seed = t;
+            threads[t] = new Thread(() -> {
+                Random rand = new Random(seed);
+                long bad = 0;
+                long good = 0;
+                for (int i = 0; i < 2_000_000; i++) {
+                    //few keys, many threads: slots are overwritten constantly
+                    long key = 1 + rand.nextInt(1 << 17);
+                    long entry = sharedTable.probe(key);
+                    if (entry != 0) {
+                        if (Connect4TranspositionTable.scoreOf(entry) == (int) (key * 31))
+                            good++;
+                        else
+                            bad++;
+                    }
+                    sharedTable.store(key, (int) (key * 31), Connect4TranspositionTable.EXACT, (int) (key & 63),
+                            (int) (key % 7));
+                }
+                synchronized (badHits) {
+                    badHits[0] += bad;
+                    goodHits[0] += good;
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(0, badHits[0]);
+        assertTrue(goodHits[0] > 0);
+        assertEquals(0, sharedTable.getHits());
+        assertEquals(0, sharedTable.getStores());
+        assertTrue(sharedTable.isShared());
+    }
+}
@@ -0,0 +1,466 @@
+/** Description: Benchmark suite for the game core. Runs each benchmark for a number of timed warmup
+ * iterations (to let the JIT compile the hot paths) followed by timed measurement iterations, and reports
+ * throughput, time per operation, bytes allocated per operation and garbage collections during measurement.
+ * Allocation is read from the per-thread allocation counter of com.sun.management.ThreadMXBean and garbage
+ * collections from the GarbageCollectorMXBeans, so both profilers are always on.
+ *
+ * Results can be written to a CSV file and compared against a CSV from an earlier run; any benchmark whose
+ * throughput dropped by more than the allowed percentage is flagged and the run exits with status 1.
+ *
+ * After the timed benchmarks, a node count table shows how many positions Connect4Search visits for a few
+ * fixed searches with and without move ordering, which unlike timings does not vary from run to run.
+ *
+ * Usage: java bench.Connect4Benchmark [-wi warmupIterations] [-i iterations] [-t millisPerIteration]
+ *                                      [-o results.csv] [-baseline old.csv] [-threshold percent] [filter]
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package bench;
+
+import core.Connect4BitBoard;
+import core.Connect4ComputerPlayer;
+import core.Connect4ConsoleListener;
+import core.Connect4Evaluator;
+import core.Connect4GameState;
+import core.Connect4Geometry;
+import core.Connect4Logic;
+import core.Connect4LogListener;
+import core.Connect4Perft;
+import core.Connect4Search;
+import core.Connect4TranspositionTable;
+import ui.Connect4TextConsole;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Class which features the benchmark definitions, the measurement loop and the report. */
+public class Connect4Benchmark {
+
+    //------ Benchmark Definition ------
+    /** One benchmark: performs a batch of operations and returns a value derived from them, which is
+     * accumulated into a sink so the JIT cannot remove the work as dead code.
+     */
+    interface Operation {
+        /** Performs one operation.
+         *
+         * @return value derived from the operation.
+         */
+        long run();
+    }
+
+    /** Name, setup and operation of one benchmark. */
+    static class Benchmark {
+        /** Name shown in the report and used for filtering. */
+        final String name;
+        /** Operation measured. */
+        final Operation operation;
+
+        /** Constructor which stores the name and operation.
+         *
+         * @param name benchmark name.
+         * @param operation operation measured.
+         */
+        Benchmark(String name, Operation operation) {
+            this.name = name;
+            this.operation = operation;
+        }
+    }
+
+    /** One fixed search whose node counts are reported with and without move ordering. */
+    static class NodeCount {
+        /** Name shown in the report and used for filtering. */
+        final String name;
+        /** Position searched. */
+        final Connect4BitBoard position;
+        /** Player to move. */
+        final int player;
+        /** Depth searched. */
+        final int depth;
+        /** Transposition table size in megabytes, or 0 to search without one. */
+        final int hashMb;
+
+        /** Constructor which stores the search to count.
+         *
+         * @param name node count name.
+         * @param position position searched.
+         * @param player player to move.
+         * @param depth depth searched.
+         * @param hashMb transposition table size in megabytes, or 0 for none.
+         */
+        NodeCount(String name, Connect4BitBoard position, int player, int depth, int hashMb) {
+            this.name = name;
+            this.position = position;
+            this.player = player;
+            this.depth = depth;
+            this.hashMb = hashMb;
+        }
+
+        /** Searches the position once.
+         *
+         * @param moveOrdering whether to order moves.
+         * @return nodes visited.
+         */
+        long count(boolean moveOrdering) {
+            Connect4Search search = new Connect4Search((hashMb == 0) ? null : new Connect4TranspositionTable(hashMb,
+                    Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+            search.setMoveOrdering(moveOrdering);
+            return search.search(position, player, depth).getNodes();
+        }
+    }
+
+    //------ Variables ------
+    /** Number of warmup iterations per benchmark. */
+    private int warmupIterations = 3;
+    /** Number of measurement iterations per benchmark. */
+    private int measurementIterations = 5;
+    /** Length of one iteration in milliseconds. */
+    private long iterationMillis = 1000;
+
+    /** Sink accumulating the values returned by operations. */
+    private long sink;
+
+    /** Allocation counter of the running thread. */
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Benchmarks in the order they are run. */
+    private final List<Benchmark> benchmarks = new ArrayList<>();
+
+    /** Searches whose node counts are reported. */
+    private final List<NodeCount> nodeCounts = new ArrayList<>();
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. Defines every benchmark. */
+    public Connect4Benchmark() {
+        defineBenchmarks();
+    }
+
+    //------ Main ------
+
+    /** Main method which parses options, runs the selected benchmarks and prints the report.
+     *
+     * @param args command line options, see the class description.
+     * @throws IOException if a results or baseline file cannot be read or written.
+     */
+    public static void main(String args[]) throws IOException {
+        Connect4Benchmark suite = new Connect4Benchmark();
+        String filter = "";
+        Path output = null;
+        Path baseline = null;
+        double thresholdPercent = 10.0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi": suite.warmupIterations = Integer.parseInt(args[++i]); break;
+                case "-i": suite.measurementIterations = Integer.parseInt(args[++i]); break;
+                case "-t": suite.iterationMillis = Long.parseLong(args[++i]); break;
+                case "-o": output = Paths.get(args[++i]); break;
+                case "-baseline": baseline = Paths.get(args[++i]); break;
+                case "-threshold": thresholdPercent = Double.parseDouble(args[++i]); break;
+                default: filter = args[i];
+            }
+        }
+
+        Map<String, Double> baselineScores = (baseline != null) ? readResults(baseline) : new HashMap<>();
+        Map<String, Double> scores = new LinkedHashMap<>();
+        boolean regressed = false;
+
+        System.out.println(String.format("%-32s %16s %12s %12s %8s %8s", "Benchmark", "ops/s", "ns/op", "B/op", "GCs", "GC ms"));
+        for (Benchmark benchmark : suite.benchmarks) {
+            if (!benchmark.name.contains(filter))
+                continue;
+
+            double[] result = suite.measure(benchmark);
+            scores.put(benchmark.name, result[0]);
+
+            String line = String.format("%-32s %16.0f %12.1f %12.1f %8.0f %8.0f", benchmark.name,
+                    result[0], result[1], result[2], result[3], result[4]);
+            Double oldScore = baselineScores.get(benchmark.name);
+            if (oldScore != null) {
+                double changePercent = (result[0] - oldScore) * 100.0 / oldScore;
+                line += String.format("  %+.1f%%", changePercent);
+                if (changePercent < -thresholdPercent) {
+                    line += "  REGRESSION";
+                    regressed = true;
+                }
+            }
+            System.out.println(line);
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-32s %16s %12s %12s", "Node count", "ordered", "unordered", "saved"));
+        for (NodeCount nodeCount : suite.nodeCounts) {
+            if (!nodeCount.name.contains(filter))
+                continue;
+            long ordered = nodeCount.count(true);
+            long unordered = nodeCount.count(false);
+            System.out.println(String.format("%-32s %16d %12d %11.1f%%", nodeCount.name, ordered, unordered,
+                    (unordered - ordered) * 100.0 / unordered));
+        }
+
+        if (output != null)
+            writeResults(output, scores);
+        if (regressed)
+            System.exit(1);
+    }
+
+    //------ Measurement ------
+
+    /** Runs the warmup and measurement iterations of one benchmark.
+     *
+     * @param benchmark benchmark to run.
+     * @return ops/s, ns/op, bytes/op, GC count and GC milliseconds over the measurement iterations.
+     */
+    double[] measure(Benchmark benchmark) {
+        //front ends print; keep that out of the measurement
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int i = 0; i < warmupIterations; i++)
+                runIteration(benchmark.operation);
+
+            long threadId = Thread.currentThread().getId();
+            long gcCountBefore = gcCount();
+            long gcTimeBefore = gcTime();
+            long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            long operations = 0;
+            long elapsedNanos = 0;
+
+            for (int i = 0; i < measurementIterations; i++) {
+                long startTime = System.nanoTime();
+                operations += runIteration(benchmark.operation);
+                elapsedNanos += System.nanoTime() - startTime;
+            }
+
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            return new double[] {
+                    operations * 1e9 / elapsedNanos,
+                    (double) elapsedNanos / operations,
+                    (double) allocated / operations,
+                    gcCount() - gcCountBefore,
+                    gcTime() - gcTimeBefore
+            };
+        }
+        finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    /** Calls an operation repeatedly for iterationMillis, checking the clock every 64 calls.
+     *
+     * @param operation operation to call.
+     * @return number of calls made.
+     */
+    private long runIteration(Operation operation) {
+        long deadline = System.nanoTime() + iterationMillis * 1_000_000L;
+        long operations = 0;
+        do {
+            for (int i = 0; i < 64; i++)
+                sink += operation.run();
+            operations += 64;
+        } while (System.nanoTime() < deadline);
+        return operations;
+    }
+
+    /** Sums the collection counts of every garbage collector.
+     *
+     * @return total collections so far.
+     */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            count += Math.max(0, gc.getCollectionCount());
+        return count;
+    }
+
+    /** Sums the collection times of every garbage collector.
+     *
+     * @return total collection time so far in milliseconds.
+     */
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            time += Math.max(0, gc.getCollectionTime());
+        return time;
+    }
+
+    //------ Results Files ------
+
+    /** Writes benchmark throughputs as "name,ops/s" lines.
+     *
+     * @param path file to write.
+     * @param scores throughput per benchmark name.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void writeResults(Path path, Map<String, Double> scores) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            for (Map.Entry<String, Double> score : scores.entrySet()) {
+                writer.write(score.getKey() + "," + score.getValue());
+                writer.newLine();
+            }
+        }
+    }
+
+    /** Reads a file written by writeResults().
+     *
+     * @param path file to read.
+     * @return throughput per benchmark name.
+     * @throws IOException if the file cannot be read.
+     */
+    private static Map<String, Double> readResults(Path path) throws IOException {
+        Map<String, Double> scores = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comma = line.lastIndexOf(',');
+                if (comma > 0)
+                    scores.put(line.substring(0, comma), Double.parseDouble(line.substring(comma + 1)));
+            }
+        }
+        return scores;
+    }
+
+    //------ Benchmarks ------
+
+    /** Plays the given columns on a board, alternating players starting with X.
+     *
+     * @param board board to play on.
+     * @param columns columns 0-6.
+     */
+    private static void playMoves(Connect4Logic board, int... columns) {
+        for (int column : columns) {
+            board.placePuck(column, board.getPlayerTurn());
+            board.nextTurn();
+        }
+    }
+
+    /** Void method which adds every benchmark to the benchmarks list. */
+    private void defineBenchmarks() {
+        //placePuck: fill the board column by column, then start over
+        Connect4Logic placeBoard = new Connect4Logic();
+        int[] placeCount = new int[1];
+        benchmarks.add(new Benchmark("placePuck", () -> {
+            if (placeCount[0] == Connect4BitBoard.CELLS) {
+                placeBoard.resetBoard();
+                placeCount[0] = 0;
+            }
+            placeBoard.placePuck(placeCount[0] % Connect4BitBoard.COLUMNS, placeCount[0]++);
+            return placeBoard.row;
+        }));
+
+        //checkPucks on boards with 0, about 21 and 40 pucks and no four in a row
+        Connect4Logic emptyBoard = new Connect4Logic();
+        emptyBoard.setPuckInput("X");
+        benchmarks.add(new Benchmark("checkPucks.empty", () -> {
+            emptyBoard.checkPucks(3);
+            return emptyBoard.puckCount;
+        }));
+
+        Connect4Logic midgameBoard = new Connect4Logic();
+        playMoves(midgameBoard, 3, 3, 2, 4, 4, 2, 5, 1, 1, 5, 0, 0, 6, 6, 3, 3, 2, 4, 4, 2, 6);
+        benchmarks.add(new Benchmark("checkPucks.midgame", () -> {
+            midgameBoard.checkPucks(6);
+            return midgameBoard.puckCount;
+        }));
+
+        Connect4Logic nearFullBoard = new Connect4Logic();
+        playMoves(nearFullBoard, 0, 1, 0, 1, 0, 1, 1, 0, 1, 0, 1, 0, 2, 3, 2, 3, 2, 3, 3, 2, 3, 2, 3, 2,
+                4, 5, 4, 5, 4, 5, 5, 4, 5, 4, 5, 4, 6, 6, 6, 6);
+        benchmarks.add(new Benchmark("checkPucks.nearFull", () -> {
+            nearFullBoard.checkPucks(6);
+            return nearFullBoard.puckCount;
+        }));
+
+        //draw check of the console front end (on the console's own game)
+        benchmarks.add(new Benchmark("gameDraw", Connect4TextConsole::gameDraw));
+
+        //computer moves on a midgame position
+        Connect4GameState moveState = new Connect4GameState();
+        playMoves(new Connect4Logic(moveState), 3, 3, 2, 4, 4, 2);
+        Connect4ComputerPlayer randomPlayer = new Connect4ComputerPlayer(moveState);
+        benchmarks.add(new Benchmark("makeMove.random", randomPlayer::makeMove));
+
+        //the same with the move reported to a console listener (printing to nowhere) and to a log listener
+        Connect4GameState consoleState = new Connect4GameState();
+        playMoves(new Connect4Logic(consoleState), 3, 3, 2, 4, 4, 2);
+        consoleState.setListener(new Connect4ConsoleListener(new PrintStream(OutputStream.nullOutputStream())));
+        Connect4ComputerPlayer consolePlayer = new Connect4ComputerPlayer(consoleState);
+        benchmarks.add(new Benchmark("makeMove.random.console", consolePlayer::makeMove));
+
+        Connect4GameState logState = new Connect4GameState();
+        playMoves(new Connect4Logic(logState), 3, 3, 2, 4, 4, 2);
+        logState.setListener(new Connect4LogListener(Writer.nullWriter()));
+        Connect4ComputerPlayer logPlayer = new Connect4ComputerPlayer(logState);
+        benchmarks.add(new Benchmark("makeMove.random.log", logPlayer::makeMove));
+
+        //repeated searches of one position mostly hit the transposition table filled by the first one
+        Connect4ComputerPlayer searchPlayer = new Connect4ComputerPlayer(moveState,
+                Connect4ComputerPlayer.Strategy.SEARCH, 8);
+        benchmarks.add(new Benchmark("makeMove.search8.warmTable", searchPlayer::makeMove));
+
+        Connect4Search plainSearch = new Connect4Search();
+        benchmarks.add(new Benchmark("search8.noTable", () ->
+                plainSearch.search(moveState.getBitBoard(), Connect4BitBoard.PLAYER_X, 8).getNodes()));
+
+        Connect4Search unorderedSearch = new Connect4Search();
+        unorderedSearch.setMoveOrdering(false);
+        benchmarks.add(new Benchmark("search8.noTable.unordered", () ->
+                unorderedSearch.search(moveState.getBitBoard(), Connect4BitBoard.PLAYER_X, 8).getNodes()));
+
+        Connect4Search evaluatedSearch = new Connect4Search();
+        evaluatedSearch.setEvaluator(Connect4Evaluator.DEFAULT);
+        benchmarks.add(new Benchmark("search8.noTable.eval", () ->
+                evaluatedSearch.search(moveState.getBitBoard(), Connect4BitBoard.PLAYER_X, 8).getNodes()));
+        benchmarks.add(new Benchmark("evaluate.midgame", () ->
+                Connect4Evaluator.DEFAULT.evaluate(moveState.getBitBoard(), Connect4BitBoard.PLAYER_X)));
+
+        //node counts of the same searches with and without move ordering
+        Connect4BitBoard emptyPosition = new Connect4BitBoard();
+        Connect4BitBoard midgamePosition = moveState.getBitBoard();
+        nodeCounts.add(new NodeCount("nodes.empty.search12.noTable", emptyPosition, Connect4BitBoard.PLAYER_X, 12, 0));
+        nodeCounts.add(new NodeCount("nodes.empty.search12.table", emptyPosition, Connect4BitBoard.PLAYER_X, 12, 16));
+        nodeCounts.add(new NodeCount("nodes.midgame.search12.noTable", midgamePosition, Connect4BitBoard.PLAYER_X,
+                12, 0));
+        nodeCounts.add(new NodeCount("nodes.midgame.search12.table", midgamePosition, Connect4BitBoard.PLAYER_X,
+                12, 16));
+
+        //enumeration of the game tree, the raw speed of the board's move generation and win detection
+        Connect4Perft perft = new Connect4Perft(Connect4Geometry.STANDARD);
+        benchmarks.add(new Benchmark("perft6", () -> perft.perft(6)[6]));
+        benchmarks.add(new Benchmark("perft6.distinct", () -> perft.distinct(6)[6]));
+
+        //complete random games through Connect4Logic and the random computer player
+        Connect4GameState gameState = new Connect4GameState();
+        Connect4Logic gameBoard = new Connect4Logic(gameState);
+        Connect4ComputerPlayer gamePlayer = new Connect4ComputerPlayer(gameState);
+        benchmarks.add(new Benchmark("randomGame", () -> {
+            gameBoard.resetBoard();
+            int moves = 0;
+            while (true) {
+                int column = gamePlayer.makeMove();
+                gameBoard.placePuck(column, gameBoard.getPlayerTurn());
+                gameBoard.checkPucks(column);
+                moves++;
+                if (gameBoard.puckCount == 4 || gameBoard.fullColumnCount() == Connect4BitBoard.COLUMNS)
+                    return moves;
+                gameBoard.nextTurn();
+            }
+        }));
+    }
+}
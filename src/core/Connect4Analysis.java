@@ -0,0 +1,172 @@
+/** Description: Result of one Connect4Analyzer run: a score for every column of a position, whether each score is
+ * exact or only an upper bound, and node/timing statistics per column and in total. Scores are those of
+ * Connect4Search, for the player to move: win and loss scores give when the game ends, and Connect4Search.
+ * scoreToString() shows them as "win@N" or "loss@N".
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+/** Class which holds the per-column scores of an analysed position. Objects are immutable once created. */
+public class Connect4Analysis {
+
+    //------ Variables ------
+    /** Score of each column for the player to move; meaningless for full columns. */
+    private final int[] scores;
+
+    /** Whether each column could be played. */
+    private final boolean[] legal;
+
+    /** Whether each score is exact rather than an upper bound. */
+    private final boolean[] exact;
+
+    /** Positions visited while scoring each column. */
+    private final long[] nodes;
+
+    /** Time spent scoring each column, in nanoseconds. */
+    private final long[] columnNanos;
+
+    /** Depth in plies each column was searched to, counting the column's own move. */
+    private final int depth;
+
+    /** Wall-clock time of the whole analysis, in nanoseconds. */
+    private final long elapsedNanos;
+
+    //------ Constructor ------
+
+    /** Constructor which stores every field of the analysis. Arrays are copied.
+     *
+     * @param scores score of each column.
+     * @param legal whether each column could be played.
+     * @param exact whether each score is exact.
+     * @param nodes positions visited for each column.
+     * @param columnNanos time spent on each column in nanoseconds.
+     * @param depth depth in plies searched.
+     * @param elapsedNanos wall-clock time of the analysis in nanoseconds.
+     */
+    public Connect4Analysis(int[] scores, boolean[] legal, boolean[] exact, long[] nodes, long[] columnNanos,
+                            int depth, long elapsedNanos) {
+        this.scores = scores.clone();
+        this.legal = legal.clone();
+        this.exact = exact.clone();
+        this.nodes = nodes.clone();
+        this.columnNanos = columnNanos.clone();
+        this.depth = depth;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve the score of a column.
+     *
+     * @param column column index 0-6.
+     * @return score for the player to move, if the column is legal.
+     */
+    public int getScore(int column) {
+        return scores[column];
+    }
+
+    /** Method used to retrieve a copy of every score.
+     *
+     * @return score of each column, indexed 0-6; meaningless for full columns.
+     */
+    public int[] getScores() {
+        return scores.clone();
+    }
+
+    /** Checks whether a column could be played.
+     *
+     * @param column column index 0-6.
+     * @return true if the column was not full.
+     */
+    public boolean isLegal(int column) {
+        return legal[column];
+    }
+
+    /** Checks whether a column's score is exact. Only an analysis made for the best move alone has bounds.
+     *
+     * @param column column index 0-6.
+     * @return true if exact, false if the column's true score is at most getScore(column).
+     */
+    public boolean isExact(int column) {
+        return exact[column];
+    }
+
+    /** Method which finds the best column, preferring the centre among equal exact scores.
+     *
+     * @return column index 0-6, or -1 if every column is full.
+     */
+    public int getBestMove() {
+        int best = -1;
+        for (int i = 0; i < Connect4BitBoard.COLUMNS; i++) {
+            //centre-out order, so ties go to the more central column
+            int column = Connect4BitBoard.COLUMNS / 2 + ((i % 2 == 0) ? i / 2 : -(i + 1) / 2);
+            if (legal[column] && exact[column] && (best < 0 || scores[column] > scores[best]))
+                best = column;
+        }
+        return best;
+    }
+
+    /** Method used to retrieve the positions visited for a column.
+     *
+     * @param column column index 0-6.
+     * @return nodes visited while scoring the column.
+     */
+    public long getNodes(int column) {
+        return nodes[column];
+    }
+
+    /** Method used to retrieve the positions visited for every column together.
+     *
+     * @return total nodes visited.
+     */
+    public long getNodes() {
+        long total = 0;
+        for (long columnNodes : nodes)
+            total += columnNodes;
+        return total;
+    }
+
+    /** Method used to retrieve the time spent scoring a column.
+     *
+     * @param column column index 0-6.
+     * @return time in nanoseconds.
+     */
+    public long getColumnNanos(int column) {
+        return columnNanos[column];
+    }
+
+    /** Method used to retrieve depth value.
+     *
+     * @return depth in plies searched.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Method used to retrieve elapsedNanos value.
+     *
+     * @return wall-clock time of the analysis in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** Method which builds a one-line summary of the analysis, with columns shown as 1-7 and bounds as "<=".
+     *
+     * @return summary String.
+     */
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder("depth " + depth);
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            summary.append(' ').append(column + 1).append(':');
+            if (!legal[column])
+                summary.append("full");
+            else
+                summary.append(exact[column] ? "" : "<=").append(Connect4Search.scoreToString(scores[column]));
+        }
+        return summary.append(String.format(" nodes %d in %.1f ms", getNodes(), elapsedNanos / 1e6)).toString();
+    }
+}
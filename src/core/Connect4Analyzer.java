@@ -0,0 +1,231 @@
+/** Description: Scores every column of a position at once, for analysis features that need more than the single
+ * best move Connect4ComputerPlayer.makeMove() returns. Each legal column is one task, searched by
+ * Connect4Search.searchMove() on a pool of worker threads, centre columns first, so with seven or more cores
+ * the analysis takes about as long as its slowest column rather than the sum of all seven.
+ *
+ * Each worker keeps its own Connect4Search between analyses, and all of them share one lock-free
+ * transposition table, so positions reached through several columns are searched once. When only the best move
+ * is wanted (exactScores false), the workers share the best exact score found so far; every search reads it
+ * between the moves of its subtree, so a column that turns out no better than one already finished is cut off
+ * early and reported as an upper bound.
+ *
+ * A position that is its own mirror image (such as the empty board) has the same score in column c as in its
+ * mirror column, so only the centre and the columns left of it are searched, and the right-hand columns are
+ * copied from them with no nodes or time of their own.
+ *
+ * Usage: java core.Connect4Analyzer [-depth D] [-threads T] [-best] [moves]
+ * moves are the columns 1-7 played so far, e.g. 4453.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Class which features parallel per-column analysis of positions. Analyses may be run from several threads
+ * at once; they share the worker pool. Call close() to stop the workers.
+ */
+public class Connect4Analyzer implements AutoCloseable {
+
+    //------ Constants ------
+    /** Size of the shared transposition table in megabytes. */
+    private static final int HASH_MB = 64;
+
+    /** Columns in the order they are submitted: centre first, as central moves are usually best. */
+    private static final int[] COLUMN_ORDER = {3, 2, 4, 1, 5, 0, 6};
+
+    //------ Variables ------
+    /** Workers scoring columns. */
+    private final ExecutorService pool;
+
+    /** Number of workers. */
+    private final int threads;
+
+    /** Transposition table shared by every worker. */
+    private final Connect4TranspositionTable table = new Connect4TranspositionTable(HASH_MB,
+            Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED, true);
+
+    /** Search engine of each worker thread, kept between analyses. */
+    private final ThreadLocal<Connect4Search> workerSearch = ThreadLocal.withInitial(() -> new Connect4Search(table));
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. Uses one worker per core, up to one per column. */
+    public Connect4Analyzer() {
+        this(Math.min(Runtime.getRuntime().availableProcessors(), Connect4BitBoard.COLUMNS));
+    }
+
+    /** Constructor which starts a number of workers.
+     *
+     * @param threads number of worker threads, 1 or more; more than 7 are never busy at once.
+     * @throws IllegalArgumentException if threads is less than 1.
+     */
+    public Connect4Analyzer(int threads) throws IllegalArgumentException {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1.");
+        this.threads = threads;
+        this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "connect4-analyzer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //------ Main ------
+
+    /** Main method which analyses the position after the given moves and prints every column's score.
+     *
+     * @param args command line options, see the class description.
+     * @throws InterruptedException if interrupted while waiting for the analysis.
+     */
+    public static void main(String args[]) throws InterruptedException {
+        int depth = 12;
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), Connect4BitBoard.COLUMNS);
+        boolean exactScores = true;
+        String moves = "";
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-depth": depth = Integer.parseInt(args[++i]); break;
+                case "-threads": threads = Integer.parseInt(args[++i]); break;
+                case "-best": exactScores = false; break;
+                default:
+                    if (args[i].startsWith("-")) {
+                        System.out.println("Usage: java core.Connect4Analyzer [-depth D] [-threads T] [-best] [moves]");
+                        return;
+                    }
+                    moves = args[i];
+            }
+        }
+
+        Connect4BitBoard position = new Connect4BitBoard();
+        int player = Connect4BitBoard.PLAYER_X;
+        for (char move : moves.toCharArray()) {
+            int column = move - '1';
+            if (column < 0 || column >= Connect4BitBoard.COLUMNS || !position.canPlay(column)) {
+                System.out.println("Illegal move: " + move);
+                return;
+            }
+            position.play(column, player);
+            player = 1 - player;
+        }
+
+        try (Connect4Analyzer analyzer = new Connect4Analyzer(threads)) {
+            Connect4Analysis analysis = analyzer.analyze(position, player, depth, exactScores);
+            System.out.println(analysis);
+            for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+                if (analysis.isLegal(column))
+                    System.out.println(String.format("  column %d: %10d nodes %8.1f ms", column + 1,
+                            analysis.getNodes(column), analysis.getColumnNanos(column) / 1e6));
+            }
+            System.out.println("Best move: " + (analysis.getBestMove() + 1) + " (" + threads + " threads)");
+        }
+    }
+
+    //------ Methods ------
+
+    /** Scores every legal column of a position exactly.
+     *
+     * @param position board to analyse; not modified, and must not be modified until the analysis returns.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O, whichever is to move.
+     * @param depth number of plies to search, counting each column's own move, 1 or more.
+     * @return score of every column.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     * @throws IllegalArgumentException if depth is less than 1.
+     */
+    public Connect4Analysis analyze(Connect4BitBoard position, int player, int depth)
+            throws InterruptedException, IllegalArgumentException {
+        return analyze(position, player, depth, true);
+    }
+
+    /** Scores every legal column of a position, each on its own worker.
+     *
+     * @param position board to analyse; not modified, and must not be modified until the analysis returns.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O, whichever is to move.
+     * @param depth number of plies to search, counting each column's own move, 1 or more.
+     * @param exactScores true to score every column exactly; false to find the best column only, sharing the
+     *                    best score between workers, so that worse columns may only get an upper bound.
+     * @return score of every column.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     * @throws IllegalArgumentException if depth is less than 1.
+     */
+    public Connect4Analysis analyze(Connect4BitBoard position, int player, int depth, boolean exactScores)
+            throws InterruptedException, IllegalArgumentException {
+        if (depth < 1)
+            throw new IllegalArgumentException("Search depth must be at least 1.");
+
+        long startTime = System.nanoTime();
+        int[] scores = new int[Connect4BitBoard.COLUMNS];
+        boolean[] legal = new boolean[Connect4BitBoard.COLUMNS];
+        boolean[] exact = new boolean[Connect4BitBoard.COLUMNS];
+        long[] nodes = new long[Connect4BitBoard.COLUMNS];
+        long[] columnNanos = new long[Connect4BitBoard.COLUMNS];
+        AtomicInteger sharedAlpha = exactScores ? null : new AtomicInteger(-Connect4Search.INFINITY);
+        boolean symmetric = Connect4BitBoard.mirrorKey(position.key()) == position.key();
+        table.newSearch();
+
+        //each task writes only its own column's slots, and Future.get() publishes them to this thread
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int column : COLUMN_ORDER) {
+            if (!position.canPlay(column))
+                continue;
+            legal[column] = true;
+            if (symmetric && column > Connect4BitBoard.mirrorColumn(column))
+                continue;
+            tasks.add(pool.submit(() -> {
+                long columnStart = System.nanoTime();
+                Connect4Search search = workerSearch.get();
+                int score = search.searchMove(position, player, column, depth, sharedAlpha);
+                scores[column] = score;
+                exact[column] = search.isLastScoreExact();
+                nodes[column] = search.getNodes();
+                columnNanos[column] = System.nanoTime() - columnStart;
+                if (sharedAlpha != null && exact[column])
+                    sharedAlpha.accumulateAndGet(score, Math::max);
+            }));
+        }
+
+        try {
+            for (Future<?> task : tasks)
+                task.get();
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Analysis failed.", e.getCause());
+        }
+        finally {
+            for (Future<?> task : tasks)
+                task.cancel(true);
+        }
+
+        if (symmetric) {
+            for (int column = Connect4BitBoard.COLUMNS / 2 + 1; column < Connect4BitBoard.COLUMNS; column++) {
+                int mirror = Connect4BitBoard.mirrorColumn(column);
+                scores[column] = scores[mirror];
+                exact[column] = exact[mirror];
+            }
+        }
+
+        return new Connect4Analysis(scores, legal, exact, nodes, columnNanos, depth, System.nanoTime() - startTime);
+    }
+
+    /** Method used to retrieve threads value.
+     *
+     * @return number of worker threads.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /** Stops the workers once any running analysis is done. */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,628 @@
+/** Description: Builds a game archive (see Connect4GameArchive for the layout) incrementally as games are
+ * appended. Games go straight to games.dat through a Connect4RecordWriter, which replays each one through
+ * Connect4Logic and hands back the key of every position it passes through. Offsets and postings are buffered
+ * in memory and written out by commit(), every few games and on close(), in this order:
+ * <pre>
+ *  1. games.dat is forced to storage
+ *  2. the offsets of the new games are appended to games.idx, which is forced
+ *  3. the postings, sorted, become a new segment, written to a temporary file and renamed into place
+ *  4. the manifest is rewritten (temporary file and rename) to list the new segment
+ *  5. the two newest segments are merged while the older is no more than four times the size of the newer, so
+ *     the number of segments grows with the logarithm of the number of games
+ * </pre>
+ * Each step only appends or atomically replaces, so a crash at any point leaves the files readable, at worst
+ * with games that are stored but not yet indexed. Opening the writer repairs that from the tail alone: games.idx
+ * is completed from the last indexed game on, a partial game at the end of games.dat is cut off, segments not in
+ * the manifest are deleted (where the file system allows; a merged segment still open elsewhere is left for the
+ * next writer to delete), and the positions of the games after the last segment are indexed into a new one.
+ * Nothing before the tail is read again.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/** Class which features appending games to an archive and keeping its offset and position indexes. Not
+ * thread-safe, and only one writer may have an archive open at a time. */
+public class Connect4ArchiveWriter implements Closeable {
+
+    //------ Constants ------
+    /** Default number of games appended between automatic commits. */
+    public static final int DEFAULT_COMMIT_INTERVAL = 100000;
+
+    /** Two segments are merged while the older holds at most this many times the postings of the newer. */
+    private static final int MERGE_RATIO = 4;
+
+    /** Suffix of files being written, which are renamed into place once complete. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    //------ Segments ------
+    /** Description of one segment listed in the manifest. */
+    private static final class SegmentInfo {
+        /** File name. */
+        final String name;
+        /** First game covered. */
+        final int firstGame;
+        /** Game after the last one covered. */
+        final int endGame;
+        /** Number of postings. */
+        final long count;
+
+        /** Constructor which describes a segment.
+         *
+         * @param firstGame first game covered.
+         * @param endGame game after the last one covered.
+         * @param count number of postings.
+         */
+        SegmentInfo(int firstGame, int endGame, long count) {
+            this.name = Connect4GameArchive.segmentName(firstGame, endGame);
+            this.firstGame = firstGame;
+            this.endGame = endGame;
+            this.count = count;
+        }
+    }
+
+    //------ Variables ------
+    /** Archive directory. */
+    private final Path directory;
+
+    /** Writer appending to games.dat. */
+    private final Connect4RecordWriter games;
+
+    /** Open games.idx. */
+    private final FileChannel index;
+
+    /** Segments listed in the manifest, oldest games first. */
+    private final List<SegmentInfo> segments = new ArrayList<>();
+
+    /** Number of games in the archive, committed or not. */
+    private int gameCount;
+
+    /** Number of games whose offsets and positions are committed. */
+    private int committedGames;
+
+    /** Number of games whose offsets or positions were indexed again when the writer was opened. */
+    private int recoveredGames;
+
+    /** games.dat offsets of the games not yet committed. */
+    private long[] pendingOffsets = new long[1024];
+
+    /** Position keys of the postings not yet committed. */
+    private long[] postingKeys = new long[16 * 1024];
+
+    /** Game numbers of the postings not yet committed. */
+    private int[] postingGames = new int[16 * 1024];
+
+    /** Number of postings not yet committed. */
+    private int postingCount;
+
+    /** Keys of the positions of the game being appended. */
+    private final long[] positionKeys = new long[Connect4GameRecord.MAX_MOVES];
+
+    /** Games appended between automatic commits. */
+    private int commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+    //------ Constructor ------
+
+    /** Constructor which opens an archive for appending, creating the directory and files if they are new, and
+     * recovering the tail of an archive whose last writer did not close it.
+     *
+     * @param directory archive directory.
+     * @throws IOException if the archive cannot be opened or repaired.
+     */
+    public Connect4ArchiveWriter(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+        Path gamesPath = directory.resolve(Connect4GameArchive.GAMES_FILE);
+
+        index = FileChannel.open(directory.resolve(Connect4GameArchive.INDEX_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            recoverIndex(gamesPath);
+            recoverSegments();
+            games = new Connect4RecordWriter(gamesPath);
+        }
+        catch (IOException | RuntimeException e) {
+            index.close();
+            throw e;
+        }
+    }
+
+    //------ Recovery ------
+
+    /** Makes games.idx cover exactly the complete, valid games in games.dat, reading only the games after the
+     * last indexed one, and cuts off anything after them.
+     *
+     * @param gamesPath games.dat.
+     * @throws IOException if the files cannot be read or repaired.
+     */
+    private void recoverIndex(Path gamesPath) throws IOException {
+        long indexed = index.size() / 8;
+        if (index.size() != indexed * 8)
+            index.truncate(indexed * 8);
+        if (indexed > Integer.MAX_VALUE)
+            throw new IOException("Offset index holds more than " + Integer.MAX_VALUE + " games.");
+        gameCount = (int) indexed;
+        committedGames = gameCount;
+
+        if (!Files.exists(gamesPath) || Files.size(gamesPath) == 0) {
+            if (indexed > 0)
+                throw new IOException(Connect4GameArchive.GAMES_FILE + " is missing but its index is not.");
+            return;
+        }
+
+        Connect4GameRecord record = new Connect4GameRecord();
+        Connect4Logic logic = new Connect4Logic();
+        long validEnd;
+        try (Connect4RecordReader reader = new Connect4RecordReader(gamesPath)) {
+            if (indexed > 0) {
+                reader.seek(readOffset(gameCount - 1));
+                if (!reader.next(record))
+                    throw new IOException("The last indexed game lies past the end of "
+                            + Connect4GameArchive.GAMES_FILE + ".");
+            }
+
+            validEnd = reader.getPosition();
+            while (gameCount < Integer.MAX_VALUE) {
+                try {
+                    if (!reader.next(record))
+                        break;
+                    record.replay(logic);
+                }
+                catch (IOException | IllegalArgumentException e) {
+                    break;
+                }
+                addPendingOffset(validEnd);
+                validEnd = reader.getPosition();
+            }
+        }
+
+        if (Files.size(gamesPath) > validEnd) {
+            try (FileChannel channel = FileChannel.open(gamesPath, StandardOpenOption.WRITE)) {
+                channel.truncate(validEnd);
+                channel.force(false);
+            }
+        }
+        writePendingOffsets();
+        recoveredGames = gameCount - committedGames;
+        committedGames = gameCount;
+    }
+
+    /** Loads the manifest, deletes segments it does not list, and indexes the positions of the games after the
+     * last segment, reading only those games.
+     *
+     * @throws IOException if the files cannot be read or repaired.
+     */
+    private void recoverSegments() throws IOException {
+        Set<String> listed = new HashSet<>();
+        for (String name : Connect4GameArchive.readManifest(directory)) {
+            ByteBuffer header = Connect4GameArchive.readHeader(directory.resolve(name));
+            segments.add(new SegmentInfo(header.getInt(8), header.getInt(12), header.getLong(16)));
+            listed.add(name);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "positions-*")) {
+            for (Path file : files) {
+                if (!listed.contains(file.getFileName().toString()))
+                    deleteRetired(file);
+            }
+        }
+        Files.deleteIfExists(directory.resolve(Connect4GameArchive.MANIFEST_FILE + TEMP_SUFFIX));
+
+        int segmentEnd = segments.isEmpty() ? 0 : segments.get(segments.size() - 1).endGame;
+        if (segmentEnd > gameCount)
+            throw new IOException("The position index covers " + segmentEnd + " games but only " + gameCount
+                    + " are stored.");
+        recoveredGames = Math.max(recoveredGames, gameCount - segmentEnd);
+        if (segmentEnd == gameCount)
+            return;
+
+        Connect4GameRecord record = new Connect4GameRecord();
+        Connect4Logic logic = new Connect4Logic();
+        try (Connect4RecordReader reader = new Connect4RecordReader(directory.resolve(Connect4GameArchive.GAMES_FILE))) {
+            reader.seek(readOffset(segmentEnd));
+            for (int gameId = segmentEnd; gameId < gameCount; gameId++) {
+                if (!reader.next(record))
+                    throw new IOException("Indexed game " + gameId + " is missing from "
+                            + Connect4GameArchive.GAMES_FILE + ".");
+                record.replay(logic, positionKeys);
+                addPostings(gameId, record.getMoveCount());
+            }
+        }
+        writeSegment(segmentEnd, gameCount);
+        mergeSegments();
+    }
+
+    //------ Methods ------
+
+    /** Appends a game. It can be read by number once committed (or once the writer is closed), and found by
+     * position from then on too.
+     *
+     * @param record game to append; not modified.
+     * @return number of the game in the archive.
+     * @throws IOException if the archive cannot be written.
+     * @throws IllegalArgumentException if the record's moves are illegal or do not give its result; nothing is
+     *                                  written.
+     * @throws IllegalStateException if the archive already holds Integer.MAX_VALUE games.
+     */
+    public int append(Connect4GameRecord record) throws IOException, IllegalArgumentException, IllegalStateException {
+        if (gameCount == Integer.MAX_VALUE)
+            throw new IllegalStateException("The archive is full.");
+
+        long offset = games.append(record, positionKeys);
+        addPendingOffset(offset);
+        addPostings(gameCount - 1, record.getMoveCount());
+
+        if (gameCount - committedGames >= commitInterval)
+            commit();
+        return gameCount - 1;
+    }
+
+    /** Makes every appended game durable and visible to archives opened from now on, by number and by position.
+     *
+     * @throws IOException if the archive cannot be written.
+     */
+    public void commit() throws IOException {
+        if (committedGames == gameCount)
+            return;
+
+        games.force();
+        writePendingOffsets();
+        writeSegment(committedGames, gameCount);
+        committedGames = gameCount;
+        mergeSegments();
+    }
+
+    /** Void method used to set how many games are appended between automatic commits.
+     *
+     * @param commitInterval games per commit, 1 or more.
+     * @throws IllegalArgumentException if commitInterval is below 1.
+     */
+    public void setCommitInterval(int commitInterval) throws IllegalArgumentException {
+        if (commitInterval < 1)
+            throw new IllegalArgumentException("Commit interval must be at least 1.");
+        this.commitInterval = commitInterval;
+    }
+
+    /** Method used to retrieve gameCount value.
+     *
+     * @return number of games appended, committed or not.
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /** Method used to retrieve recoveredGames value.
+     *
+     * @return number of games whose offsets or positions were indexed again when the writer was opened.
+     */
+    public int getRecoveredGames() {
+        return recoveredGames;
+    }
+
+    /** Method used to retrieve the number of segments in the position index.
+     *
+     * @return number of segments listed in the manifest.
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /** Commits every appended game and closes the archive.
+     *
+     * @throws IOException if the archive cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        }
+        finally {
+            try {
+                games.close();
+            }
+            finally {
+                index.close();
+            }
+        }
+    }
+
+    //------ Offsets ------
+
+    /** Reads one offset from games.idx.
+     *
+     * @param gameId game number.
+     * @return games.dat offset of the game.
+     * @throws IOException if the index cannot be read.
+     */
+    private long readOffset(int gameId) throws IOException {
+        ByteBuffer offset = ByteBuffer.allocate(8);
+        while (offset.hasRemaining()) {
+            if (index.read(offset, 8L * gameId + offset.position()) < 0)
+                throw new IOException("Offset index ends before game " + gameId + ".");
+        }
+        return offset.getLong(0);
+    }
+
+    /** Void method which buffers the offset of a new game and counts it.
+     *
+     * @param offset games.dat offset of the game.
+     */
+    private void addPendingOffset(long offset) {
+        int pending = gameCount - committedGames;
+        if (pending == pendingOffsets.length)
+            pendingOffsets = Arrays.copyOf(pendingOffsets, pending * 2);
+        pendingOffsets[pending] = offset;
+        gameCount++;
+    }
+
+    /** Appends the buffered offsets to games.idx and forces it to storage.
+     *
+     * @throws IOException if the index cannot be written.
+     */
+    private void writePendingOffsets() throws IOException {
+        int pending = gameCount - committedGames;
+        if (pending == 0)
+            return;
+
+        ByteBuffer buffer = ByteBuffer.allocate(pending * 8);
+        for (int i = 0; i < pending; i++)
+            buffer.putLong(pendingOffsets[i]);
+        buffer.flip();
+        long position = 8L * committedGames;
+        while (buffer.hasRemaining())
+            position += index.write(buffer, position);
+        index.force(false);
+    }
+
+    //------ Postings ------
+
+    /** Void method which buffers a posting for every position of a game, from positionKeys, under the canonical
+     * key of each position. A game never passes through both sides of a position that is not its own mirror
+     * image, as both sides have the same number of pucks, so a game has at most one posting per key.
+     *
+     * @param gameId game number.
+     * @param moveCount number of positions.
+     */
+    private void addPostings(int gameId, int moveCount) {
+        if (postingCount + moveCount > postingKeys.length) {
+            int capacity = Math.max(postingKeys.length * 2, postingCount + moveCount);
+            postingKeys = Arrays.copyOf(postingKeys, capacity);
+            postingGames = Arrays.copyOf(postingGames, capacity);
+        }
+        for (int i = 0; i < moveCount; i++) {
+            postingKeys[postingCount] = Connect4BitBoard.canonicalKey(positionKeys[i]);
+            postingGames[postingCount++] = gameId;
+        }
+    }
+
+    /** Sorts the buffered postings by key, keeping game order within a key, and writes them as the segment for a
+     * range of games, then lists it in the manifest.
+     *
+     * @param firstGame first game covered.
+     * @param endGame game after the last one covered.
+     * @throws IOException if the segment or manifest cannot be written.
+     */
+    private void writeSegment(int firstGame, int endGame) throws IOException {
+        sortPostings(postingKeys, postingGames, postingCount);
+
+        SegmentInfo segment = new SegmentInfo(firstGame, endGame, postingCount);
+        try (DataOutputStream out = openSegment(segment)) {
+            for (int i = 0; i < postingCount; i++) {
+                out.writeLong(postingKeys[i]);
+                out.writeInt(postingGames[i]);
+            }
+        }
+        installSegment(segment);
+        segments.add(segment);
+        postingCount = 0;
+        writeManifest();
+    }
+
+    /** Stable bottom-up merge sort of postings by key. Postings are buffered in game order, so the games of each
+     * key come out in ascending order.
+     *
+     * @param keys position keys.
+     * @param gameIds game numbers, moved along with their keys.
+     * @param count number of postings.
+     */
+    static void sortPostings(long[] keys, int[] gameIds, int count) {
+        long[] keyBuffer = new long[count];
+        int[] gameBuffer = new int[count];
+        long[] fromKeys = keys;
+        int[] fromGames = gameIds;
+        long[] toKeys = keyBuffer;
+        int[] toGames = gameBuffer;
+
+        for (int width = 1; width < count; width *= 2) {
+            for (int low = 0; low < count; low += 2 * width) {
+                int middle = Math.min(low + width, count);
+                int high = Math.min(low + 2 * width, count);
+                int left = low;
+                int right = middle;
+                for (int i = low; i < high; i++) {
+                    if (left < middle && (right >= high || fromKeys[left] <= fromKeys[right])) {
+                        toKeys[i] = fromKeys[left];
+                        toGames[i] = fromGames[left++];
+                    }
+                    else {
+                        toKeys[i] = fromKeys[right];
+                        toGames[i] = fromGames[right++];
+                    }
+                }
+            }
+            long[] swapKeys = fromKeys;
+            fromKeys = toKeys;
+            toKeys = swapKeys;
+            int[] swapGames = fromGames;
+            fromGames = toGames;
+            toGames = swapGames;
+        }
+
+        if (fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, 0, count);
+            System.arraycopy(fromGames, 0, gameIds, 0, count);
+        }
+    }
+
+    /** Merges the two newest segments while the older holds at most MERGE_RATIO times the postings of the newer.
+     * Both are read through buffered streams rather than mapped, so that nothing keeps them open once merged.
+     * Merged segments are deleted only after the manifest stops listing them.
+     *
+     * @throws IOException if a segment or the manifest cannot be written.
+     */
+    private void mergeSegments() throws IOException {
+        while (segments.size() >= 2) {
+            SegmentInfo older = segments.get(segments.size() - 2);
+            SegmentInfo newer = segments.get(segments.size() - 1);
+            if (older.count > MERGE_RATIO * newer.count)
+                return;
+
+            //every game of the older segment precedes every game of the newer one, so taking the older posting
+            //on equal keys keeps games in ascending order
+            SegmentInfo merged = new SegmentInfo(older.firstGame, newer.endGame, older.count + newer.count);
+            try (DataInputStream olderIn = readSegment(older); DataInputStream newerIn = readSegment(newer);
+                 DataOutputStream out = openSegment(merged)) {
+                long o = 0;
+                long n = 0;
+                long olderKey = (older.count > 0) ? olderIn.readLong() : 0;
+                long newerKey = (newer.count > 0) ? newerIn.readLong() : 0;
+                while (o < older.count || n < newer.count) {
+                    if (n == newer.count || (o < older.count && olderKey <= newerKey)) {
+                        out.writeLong(olderKey);
+                        out.writeInt(olderIn.readInt());
+                        if (++o < older.count)
+                            olderKey = olderIn.readLong();
+                    }
+                    else {
+                        out.writeLong(newerKey);
+                        out.writeInt(newerIn.readInt());
+                        if (++n < newer.count)
+                            newerKey = newerIn.readLong();
+                    }
+                }
+            }
+            installSegment(merged);
+
+            segments.remove(segments.size() - 1);
+            segments.set(segments.size() - 1, merged);
+            writeManifest();
+            deleteRetired(directory.resolve(older.name));
+            deleteRetired(directory.resolve(newer.name));
+        }
+    }
+
+    /** Opens a segment for reading its postings in order, past the header.
+     *
+     * @param segment segment listed in the manifest.
+     * @return stream positioned at the first posting.
+     * @throws IOException if the file cannot be read.
+     */
+    private DataInputStream readSegment(SegmentInfo segment) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(directory.resolve(segment.name)), 64 * 1024));
+        try {
+            in.readFully(new byte[Connect4GameArchive.SEGMENT_HEADER_BYTES]);
+        }
+        catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return in;
+    }
+
+    /** Deletes a segment the manifest no longer lists, if the file system allows it. A segment still open
+     * elsewhere, e.g. mapped by a Connect4GameArchive on Windows, cannot be deleted; it is left in place and
+     * removed with the other unlisted segments the next time a writer opens the archive.
+     *
+     * @param file segment file.
+     */
+    private static void deleteRetired(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+            //swept up by recoverSegments()
+        }
+    }
+
+    /** Opens the temporary file of a new segment and writes its header. Closing the stream forces it to storage.
+     *
+     * @param segment segment to write.
+     * @return stream to write the postings to.
+     * @throws IOException if the file cannot be created.
+     */
+    private DataOutputStream openSegment(SegmentInfo segment) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(segment.name + TEMP_SUFFIX), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    flush();
+                    channel.force(false);
+                }
+                finally {
+                    super.close();
+                }
+            }
+        });
+        out.writeInt(Connect4GameArchive.SEGMENT_MAGIC);
+        out.writeInt(Connect4GameArchive.SEGMENT_VERSION);
+        out.writeInt(segment.firstGame);
+        out.writeInt(segment.endGame);
+        out.writeLong(segment.count);
+        return out;
+    }
+
+    /** Renames a completely written segment into place.
+     *
+     * @param segment segment written by openSegment().
+     * @throws IOException if the file cannot be renamed.
+     */
+    private void installSegment(SegmentInfo segment) throws IOException {
+        Files.move(directory.resolve(segment.name + TEMP_SUFFIX), directory.resolve(segment.name),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /** Replaces the manifest with one listing the current segments.
+     *
+     * @throws IOException if the manifest cannot be written.
+     */
+    private void writeManifest() throws IOException {
+        StringBuilder names = new StringBuilder();
+        for (SegmentInfo segment : segments)
+            names.append(segment.name).append('\n');
+
+        Path temp = directory.resolve(Connect4GameArchive.MANIFEST_FILE + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(names.toString().getBytes(StandardCharsets.US_ASCII));
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(false);
+        }
+        Files.move(temp, directory.resolve(Connect4GameArchive.MANIFEST_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,528 @@
+/** Description: Compact bitboard representation of the Connect4 board. Each player's pucks are kept
+ * in one long mask laid out column by column, 7 bits per column: 6 playable rows plus one always-empty
+ * sentinel row on top. The sentinel row keeps shifted masks from wrapping from the top of one column into
+ * the bottom of the next, which lets placement, full-column checks and four-in-a-row checks be done with
+ * a handful of additions, shifts and ANDs instead of walking a String array.
+ *
+ * Bit layout (bit index = column * 7 + row, row 0 is the bottom of the board):
+ * <pre>
+ *  .  .  .  .  .  .  .     sentinel row
+ *  5 12 19 26 33 40 47
+ *  4 11 18 25 32 39 46
+ *  3 10 17 24 31 38 45
+ *  2  9 16 23 30 37 44
+ *  1  8 15 22 29 36 43
+ *  0  7 14 21 28 35 42
+ * </pre>
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.Arrays;
+
+/** Class holding two long masks (one for Player X, one for Player O) and the methods used to place,
+ * remove and check pucks on them. The standard-geometry Connect4Board; every size is a compile-time constant.
+ */
+public final class Connect4BitBoard implements Connect4Board {
+
+    //------ Constants ------
+    /** Number of columns on the board. */
+    public static final int COLUMNS = 7;
+    /** Number of playable rows on the board. */
+    public static final int ROWS = 6;
+    /** Number of bits used per column: playable rows plus the sentinel row. */
+    public static final int COLUMN_HEIGHT = ROWS + 1;
+    /** Number of playable cells on the board. */
+    public static final int CELLS = COLUMNS * ROWS;
+
+    /** Index used for Player X's mask (odd playerTurn values). */
+    public static final int PLAYER_X = 0;
+    /** Index used for Player O's mask (even playerTurn values). */
+    public static final int PLAYER_O = 1;
+    /** Value returned by getCell() for a cell holding no puck. */
+    public static final int EMPTY = -1;
+
+    /** Mask with the bottom cell of every column set. */
+    public static final long BOTTOM_MASK = bottomMask();
+    /** Mask with every playable cell set (sentinel row excluded). */
+    public static final long BOARD_MASK = BOTTOM_MASK * ((1L << ROWS) - 1);
+    /** Mask with the top playable cell of every column set. */
+    public static final long TOP_ROW_MASK = BOTTOM_MASK << (ROWS - 1);
+
+    /** Number of pucks in a row needed to win. */
+    public static final int CONNECT = 4;
+
+    /** Masks of every possible four-in-a-row on the board (69 on a 7x6 board). */
+    private static final long[] WIN_LINES = buildWinLines();
+
+    /** For each bit index, the masks of the four-in-a-rows that include that cell. */
+    private static final long[][] LINES_THROUGH_CELL = buildLinesThroughCell();
+
+    //------ Variables ------
+    /** Puck masks indexed by PLAYER_X / PLAYER_O. */
+    private final long[] playerMasks = new long[2];
+
+    /** Mask of every occupied cell (union of both player masks). */
+    private long occupied;
+
+    /** Integer variable counting how many pucks have been placed on the board. */
+    private int moveCount;
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. Creates an empty board. */
+    public Connect4BitBoard() {
+    }
+
+    //------ Static Helpers ------
+
+    /** Builds the mask with the bottom cell of every column set.
+     *
+     * @return mask with one bit per column at row 0.
+     */
+    private static long bottomMask() {
+        long mask = 0L;
+        for (int column = 0; column < COLUMNS; column++)
+            mask |= 1L << (column * COLUMN_HEIGHT);
+        return mask;
+    }
+
+    /** Builds the mask of every four-in-a-row on the board: vertical, horizontal and both diagonals.
+     *
+     * @return array of line masks.
+     */
+    private static long[] buildWinLines() {
+        //column and row steps of the four directions: vertical, horizontal, up-right, down-right
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        long[] lines = new long[COLUMNS * ROWS * directions.length];
+        int lineCount = 0;
+
+        for (int[] direction : directions) {
+            for (int column = 0; column < COLUMNS; column++) {
+                for (int row = 0; row < ROWS; row++) {
+                    int lastColumn = column + direction[0] * (CONNECT - 1);
+                    int lastRow = row + direction[1] * (CONNECT - 1);
+                    if (lastColumn >= COLUMNS || lastRow < 0 || lastRow >= ROWS)
+                        continue;
+
+                    long line = 0L;
+                    for (int i = 0; i < CONNECT; i++)
+                        line |= 1L << cellIndex(column + direction[0] * i, row + direction[1] * i);
+                    lines[lineCount++] = line;
+                }
+            }
+        }
+        return Arrays.copyOf(lines, lineCount);
+    }
+
+    /** Groups WIN_LINES by the cells they include.
+     *
+     * @return for each bit index, the lines that include the cell (empty for sentinel bits).
+     */
+    private static long[][] buildLinesThroughCell() {
+        long[][] linesThroughCell = new long[COLUMNS * COLUMN_HEIGHT][];
+        for (int cell = 0; cell < linesThroughCell.length; cell++) {
+            int count = 0;
+            for (long line : WIN_LINES) {
+                if ((line & (1L << cell)) != 0)
+                    count++;
+            }
+
+            linesThroughCell[cell] = new long[count];
+            count = 0;
+            for (long line : WIN_LINES) {
+                if ((line & (1L << cell)) != 0)
+                    linesThroughCell[cell][count++] = line;
+            }
+        }
+        return linesThroughCell;
+    }
+
+    /** Returns a copy of the masks of every four-in-a-row on the board.
+     *
+     * @return array of line masks.
+     */
+    public static long[] getWinLines() {
+        return WIN_LINES.clone();
+    }
+
+    /** Returns the mask with every playable cell of one column set.
+     *
+     * @param column column index 0-6.
+     * @return mask of the playable cells of the column.
+     */
+    public static long columnMask(int column) {
+        return ((1L << ROWS) - 1) << (column * COLUMN_HEIGHT);
+    }
+
+    /** Returns the mask with only the bottom cell of one column set.
+     *
+     * @param column column index 0-6.
+     * @return mask of the bottom cell of the column.
+     */
+    public static long bottomCellMask(int column) {
+        return 1L << (column * COLUMN_HEIGHT);
+    }
+
+    /** Returns the mask with only the top playable cell of one column set.
+     *
+     * @param column column index 0-6.
+     * @return mask of the top playable cell of the column.
+     */
+    public static long topCellMask(int column) {
+        return 1L << (ROWS - 1 + column * COLUMN_HEIGHT);
+    }
+
+    /** Returns the column a column lands on when the board is mirrored left to right.
+     *
+     * @param column column index 0-6.
+     * @return mirrored column index 0-6.
+     */
+    public static int mirrorColumn(int column) {
+        return COLUMNS - 1 - column;
+    }
+
+    /** Mirrors a position key left to right, giving the key() of the mirror image of the position. Each
+     * column's seven key bits (pucks and marker) move to the mirrored column as one block: the three left
+     * columns and the three right ones swap places and the centre column stays.
+     *
+     * @param key position key from key().
+     * @return key of the mirrored position.
+     */
+    public static long mirrorKey(long key) {
+        long columnBits = (1L << COLUMN_HEIGHT) - 1;
+        long mirrored = key & (columnBits << (COLUMNS / 2 * COLUMN_HEIGHT));
+        for (int column = 0; column < COLUMNS / 2; column++) {
+            long block = columnBits << (column * COLUMN_HEIGHT);
+            int shift = (COLUMNS - 1 - 2 * column) * COLUMN_HEIGHT;
+            mirrored |= (key & block) << shift;
+            mirrored |= (key >>> shift) & block;
+        }
+        return mirrored;
+    }
+
+    /** Returns the canonical key of a position: the smaller of its key and its mirror image's key, so that a
+     * position and its mirror image share one key. Like key(), never 0.
+     *
+     * @param key position key from key().
+     * @return canonical key; equal to key exactly when key is not larger than its mirror's.
+     */
+    public static long canonicalKey(long key) {
+        return Math.min(key, mirrorKey(key));
+    }
+
+    /** Returns the bit index of a cell.
+     *
+     * @param column column index 0-6.
+     * @param row row index 0-5, 0 being the bottom row.
+     * @return bit index of the cell in a player mask.
+     */
+    public static int cellIndex(int column, int row) {
+        return column * COLUMN_HEIGHT + row;
+    }
+
+    /** Converts the playerTurn counter used by Connect4Logic into a mask index.
+     *
+     * @param playerTurn odd for Player X, even for Player O.
+     * @return PLAYER_X or PLAYER_O.
+     */
+    public static int playerIndex(int playerTurn) {
+        return (playerTurn % 2 != 0) ? PLAYER_X : PLAYER_O;
+    }
+
+    /** Checks a single player mask for four pucks in a row in any direction. Each direction is checked
+     * by AND-ing the mask with itself shifted by one step, then AND-ing that result with itself shifted
+     * by two steps; any bit left over marks the start of a four-in-a-row.
+     *
+     * @param mask player mask to check.
+     * @return true if the mask contains four in a row.
+     */
+    public static boolean hasFour(long mask) {
+        //horizontal
+        long pairs = mask & (mask >>> COLUMN_HEIGHT);
+        if ((pairs & (pairs >>> (2 * COLUMN_HEIGHT))) != 0)
+            return true;
+
+        //diagonal, down and to the right
+        pairs = mask & (mask >>> (COLUMN_HEIGHT - 1));
+        if ((pairs & (pairs >>> (2 * (COLUMN_HEIGHT - 1)))) != 0)
+            return true;
+
+        //diagonal, up and to the right
+        pairs = mask & (mask >>> (COLUMN_HEIGHT + 1));
+        if ((pairs & (pairs >>> (2 * (COLUMN_HEIGHT + 1)))) != 0)
+            return true;
+
+        //vertical
+        pairs = mask & (mask >>> 1);
+        return (pairs & (pairs >>> 2)) != 0;
+    }
+
+    /** Finds the cells that would complete four in a row for a player mask: for each direction, cells with
+     * three of the mask's pucks in a line behind them, in front of them, or on both sides of them. Whether
+     * the cells are empty or reachable is left to the caller.
+     *
+     * @param mask player mask.
+     * @return mask of playable-area cells that would complete a four-in-a-row.
+     */
+    public static long winningCells(long mask) {
+        //vertical: only three below can complete a column
+        long cells = (mask << 1) & (mask << 2) & (mask << 3);
+
+        for (int step = COLUMN_HEIGHT - 1; step <= COLUMN_HEIGHT + 1; step++) {
+            //horizontal (step 7) and the two diagonals (steps 6 and 8)
+            long pair = (mask << step) & (mask << (2 * step));
+            cells |= pair & (mask << (3 * step));
+            cells |= pair & (mask >>> step);
+            pair = (mask >>> step) & (mask >>> (2 * step));
+            cells |= pair & (mask << step);
+            cells |= pair & (mask >>> (3 * step));
+        }
+        return cells & BOARD_MASK;
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve the geometry of the board.
+     *
+     * @return Connect4Geometry.STANDARD.
+     */
+    @Override
+    public Connect4Geometry getGeometry() {
+        return Connect4Geometry.STANDARD;
+    }
+
+    /** Returns the cells a puck can be placed in next: the lowest empty cell of every column with room.
+     *
+     * @return mask of playable cells.
+     */
+    public long playableCells() {
+        return (occupied + BOTTOM_MASK) & BOARD_MASK;
+    }
+
+    /** Returns the empty cells that would give a player four in a row, playable now or not.
+     *
+     * @param player PLAYER_X or PLAYER_O.
+     * @return mask of empty winning cells.
+     */
+    public long winningCells(int player) {
+        return winningCells(playerMasks[player]) & ~occupied;
+    }
+
+    /** Checks whether a column still has room for a puck.
+     *
+     * @param column column index 0-6.
+     * @return true if the top cell of the column is empty.
+     */
+    public boolean canPlay(int column) {
+        return (occupied & topCellMask(column)) == 0;
+    }
+
+    /** Places a puck for the given player in the lowest empty cell of a column. Adding the column's
+     * bottom bit to the occupied mask carries up through the filled cells and lands on the first empty one.
+     *
+     * @param column column index 0-6.
+     * @param player PLAYER_X or PLAYER_O.
+     * @return row the puck landed in, or -1 if the column was full.
+     */
+    public int play(int column, int player) {
+        if (!canPlay(column))
+            return -1;
+
+        long cell = (occupied + bottomCellMask(column)) & columnMask(column);
+        playerMasks[player] |= cell;
+        occupied |= cell;
+        moveCount++;
+
+        return Long.numberOfTrailingZeros(cell) - column * COLUMN_HEIGHT;
+    }
+
+    /** Removes the top puck of a column, whichever player it belongs to. Used by search code to take back moves.
+     *
+     * @param column column index 0-6 of a non-empty column.
+     */
+    public void undo(int column) {
+        long cell = Long.highestOneBit(occupied & columnMask(column));
+        playerMasks[PLAYER_X] &= ~cell;
+        playerMasks[PLAYER_O] &= ~cell;
+        occupied &= ~cell;
+        moveCount--;
+    }
+
+    /** Returns how many pucks a column holds (which is also the row the next puck will land in).
+     *
+     * @param column column index 0-6.
+     * @return number of pucks in the column 0-6.
+     */
+    public int height(int column) {
+        return Long.bitCount(occupied & columnMask(column));
+    }
+
+    /** Returns the owner of a cell.
+     *
+     * @param column column index 0-6.
+     * @param row row index 0-5.
+     * @return PLAYER_X, PLAYER_O or EMPTY.
+     */
+    public int getCell(int column, int row) {
+        long cell = 1L << cellIndex(column, row);
+        if ((playerMasks[PLAYER_X] & cell) != 0)
+            return PLAYER_X;
+        if ((playerMasks[PLAYER_O] & cell) != 0)
+            return PLAYER_O;
+        return EMPTY;
+    }
+
+    /** Checks whether a player has four in a row through one cell, normally the cell just filled. Only the
+     * precomputed lines through that cell are examined (at most 16), so the cost does not depend on how full
+     * the board is.
+     *
+     * @param player PLAYER_X or PLAYER_O.
+     * @param column column index 0-6 of the cell.
+     * @param row row index 0-5 of the cell.
+     * @return true if the player has four in a row including the cell.
+     */
+    public boolean isWinAt(int player, int column, int row) {
+        long mask = playerMasks[player];
+        for (long line : LINES_THROUGH_CELL[cellIndex(column, row)]) {
+            if ((mask & line) == line)
+                return true;
+        }
+        return false;
+    }
+
+    /** Checks whether a player has four in a row anywhere on the board.
+     *
+     * @param player PLAYER_X or PLAYER_O.
+     * @return true if the player has four in a row.
+     */
+    public boolean isWin(int player) {
+        return hasFour(playerMasks[player]);
+    }
+
+    /** Returns how many columns have no room left. Used for draw checks.
+     *
+     * @return number of full columns 0-7.
+     */
+    public int fullColumnCount() {
+        return Long.bitCount(occupied & TOP_ROW_MASK);
+    }
+
+    /** Checks whether every cell of the board is filled.
+     *
+     * @return true if no column has room left.
+     */
+    public boolean isFull() {
+        return (occupied & TOP_ROW_MASK) == TOP_ROW_MASK;
+    }
+
+    /** Returns the mask of one player's pucks.
+     *
+     * @param player PLAYER_X or PLAYER_O.
+     * @return player mask.
+     */
+    public long getPlayerMask(int player) {
+        return playerMasks[player];
+    }
+
+    /** Returns the mask of every occupied cell.
+     *
+     * @return occupied mask.
+     */
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /** Returns how many pucks have been placed.
+     *
+     * @return number of pucks on the board 0-42.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /** Returns a 64-bit key uniquely identifying the position. Adding the bottom mask to the occupied mask
+     * sets a marker bit just above the top puck of each column, and adding Player X's mask on top of that
+     * distinguishes who owns each puck below the marker.
+     *
+     * @return unique position key.
+     */
+    public long key() {
+        return playerMasks[PLAYER_X] + occupied + BOTTOM_MASK;
+    }
+
+    /** Returns the canonical key of the position, shared with its mirror image. See canonicalKey(long).
+     *
+     * @return canonical position key.
+     */
+    public long canonicalKey() {
+        return canonicalKey(key());
+    }
+
+    /** Sets the board to the position a key was made from. Inverse of key(): in each column, the highest
+     * set bit of the key is the marker just above the top puck, and the bits below it are Player X's pucks.
+     *
+     * @param key position key from key().
+     */
+    public void setFromKey(long key) {
+        long occupiedCells = 0L;
+        for (int column = 0; column < COLUMNS; column++) {
+            long columnBits = (key >>> (column * COLUMN_HEIGHT)) & ((1L << COLUMN_HEIGHT) - 1);
+            int columnHeight = 63 - Long.numberOfLeadingZeros(columnBits);
+            occupiedCells |= ((1L << columnHeight) - 1) << (column * COLUMN_HEIGHT);
+        }
+
+        occupied = occupiedCells;
+        playerMasks[PLAYER_X] = key - occupiedCells - BOTTOM_MASK;
+        playerMasks[PLAYER_O] = occupiedCells & ~playerMasks[PLAYER_X];
+        moveCount = Long.bitCount(occupiedCells);
+    }
+
+    /** Returns the player to move, assuming the players have alternated starting with Player X.
+     *
+     * @return PLAYER_X after an even number of pucks, PLAYER_O after an odd number.
+     */
+    public int getPlayerToMove() {
+        return moveCount & 1;
+    }
+
+    /** Empties the board. */
+    public void reset() {
+        playerMasks[PLAYER_X] = 0L;
+        playerMasks[PLAYER_O] = 0L;
+        occupied = 0L;
+        moveCount = 0;
+    }
+
+    /** Copies another board's contents into this one without allocating.
+     *
+     * @param other board to copy from.
+     */
+    public void copyFrom(Connect4BitBoard other) {
+        playerMasks[PLAYER_X] = other.playerMasks[PLAYER_X];
+        playerMasks[PLAYER_O] = other.playerMasks[PLAYER_O];
+        occupied = other.occupied;
+        moveCount = other.moveCount;
+    }
+
+    /** Fills a 7x6 array of arrays with " ", "X" or "O" for each cell. Used by front ends that render
+     * the board as text.
+     *
+     * @param columnArray array to fill, indexed [column][row].
+     */
+    public void fillColumnArray(String[][] columnArray) {
+        for (int i = 0; i < COLUMNS; i++) {
+            for (int j = 0; j < ROWS; j++) {
+                int owner = getCell(i, j);
+                if (owner == PLAYER_X)
+                    columnArray[i][j] = "X";
+                else if (owner == PLAYER_O)
+                    columnArray[i][j] = "O";
+                else
+                    columnArray[i][j] = " ";
+            }
+        }
+    }
+}
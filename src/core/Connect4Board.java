@@ -0,0 +1,130 @@
+/** Description: Board operations shared by every board geometry, used by Connect4Logic, Connect4GameState and
+ * the random computer player so that they can play variants as well as the standard game. Three
+ * implementations are picked by create() from the geometry:
+ * <pre>
+ *  Connect4BitBoard   the standard 7x6 board, one long per player, layout and win lines fixed at compile time
+ *  Connect4LongBoard  any other board whose columns (each with a spare bit) fit in one long per player
+ *  Connect4WideBoard  larger boards, one long per column per player
+ * </pre>
+ * Players are Connect4BitBoard.PLAYER_X and PLAYER_O, and cells hold those or Connect4BitBoard.EMPTY, whatever
+ * the implementation. The search engines, the opening book and the game archive only work on the standard
+ * board and take Connect4BitBoard directly.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+/** Interface which features placing, removing and checking pucks on a board of any geometry. */
+public interface Connect4Board {
+
+    //------ Static Helpers ------
+
+    /** Creates an empty board of a geometry, using the fastest implementation that can hold it.
+     *
+     * @param geometry board dimensions and win length.
+     * @return empty board.
+     */
+    static Connect4Board create(Connect4Geometry geometry) {
+        if (geometry.isStandard())
+            return new Connect4BitBoard();
+        else if (geometry.fitsInLong())
+            return new Connect4LongBoard(geometry);
+        else
+            return new Connect4WideBoard(geometry);
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve the geometry of the board.
+     *
+     * @return board dimensions and win length.
+     */
+    Connect4Geometry getGeometry();
+
+    /** Checks whether a column still has room for a puck.
+     *
+     * @param column column index, 0 to columns - 1.
+     * @return true if the top cell of the column is empty.
+     */
+    boolean canPlay(int column);
+
+    /** Places a puck for the given player in the lowest empty cell of a column.
+     *
+     * @param column column index, 0 to columns - 1.
+     * @param player PLAYER_X or PLAYER_O.
+     * @return row the puck landed in, or -1 if the column was full.
+     */
+    int play(int column, int player);
+
+    /** Removes the top puck of a column, whichever player it belongs to.
+     *
+     * @param column column index of a non-empty column.
+     */
+    void undo(int column);
+
+    /** Returns how many pucks a column holds (which is also the row the next puck will land in).
+     *
+     * @param column column index, 0 to columns - 1.
+     * @return number of pucks in the column.
+     */
+    int height(int column);
+
+    /** Returns the owner of a cell.
+     *
+     * @param column column index, 0 to columns - 1.
+     * @param row row index, 0 to rows - 1, 0 being the bottom row.
+     * @return PLAYER_X, PLAYER_O or EMPTY.
+     */
+    int getCell(int column, int row);
+
+    /** Checks whether a player has a winning line through one cell, normally the cell just filled.
+     *
+     * @param player PLAYER_X or PLAYER_O.
+     * @param column column index of the cell.
+     * @param row row index of the cell.
+     * @return true if the player has connect pucks in a row including the cell.
+     */
+    boolean isWinAt(int player, int column, int row);
+
+    /** Checks whether a player has a winning line anywhere on the board.
+     *
+     * @param player PLAYER_X or PLAYER_O.
+     * @return true if the player has connect pucks in a row.
+     */
+    boolean isWin(int player);
+
+    /** Returns how many columns have no room left. Used for draw checks.
+     *
+     * @return number of full columns.
+     */
+    int fullColumnCount();
+
+    /** Checks whether every cell of the board is filled.
+     *
+     * @return true if no column has room left.
+     */
+    boolean isFull();
+
+    /** Returns how many pucks have been placed.
+     *
+     * @return number of pucks on the board.
+     */
+    int getMoveCount();
+
+    /** Returns the player to move, assuming the players have alternated starting with Player X.
+     *
+     * @return PLAYER_X after an even number of pucks, PLAYER_O after an odd number.
+     */
+    int getPlayerToMove();
+
+    /** Empties the board. */
+    void reset();
+
+    /** Fills an array of arrays with " ", "X" or "O" for each cell. Used by front ends that render the board
+     * as text.
+     *
+     * @param columnArray array to fill, indexed [column][row], at least columns by rows.
+     */
+    void fillColumnArray(String[][] columnArray);
+}
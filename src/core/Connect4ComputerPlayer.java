@@ -1,8 +1,16 @@
 /** Description: Back-end logic used to simulate function of computer to play against player in
- * Connect4 game. Uses java.util.Random to randomly choose a column to place puck in.
+ * Connect4 game. By default uses java.util.Random to randomly choose a column to place puck in;
+ * can instead be switched to Connect4Search to choose the best column found by an alpha-beta search.
+ * With a move time set, the search deepens one ply at a time and returns the best column found when
+ * the time runs out; getCurrentBestMove() can be polled from another thread meanwhile. With more than one
+ * search thread, the search is a Connect4ParallelSearch whose threads share one transposition table.
+ * On boards other than the standard 7x6 one only the RANDOM strategy is available. Every chosen column is
+ * reported, with the search result it came from, to the game's Connect4GameListener rather than printed.
+ * With a Connect4Tablebase set, the SEARCH and MCTS strategies play late positions found in it at once and
+ * exactly, without searching.
  *
  * @author Stephen Arel
- * @version 1.0 3/29/2023
+ * @version 1.1 10/18/2026
  *
  */
 package core;
@@ -11,42 +19,589 @@ import java.util.Arrays;
 import java.util.Random;
 
 /** Class which features random number generation using Random class and makeMove() method
- * to randomly choose columns.
+ * to randomly choose columns, or a Connect4Search to choose them by searching.
  */
 public class Connect4ComputerPlayer {
 
+    //------ Strategies ------
+    /** Ways the computer player can choose a column. */
+    public enum Strategy {
+        /** Choose a random non-full column. */
+        RANDOM,
+        /** Choose the best column found by a depth-limited alpha-beta search. */
+        SEARCH,
+        /** Choose the most visited column of a Monte Carlo Tree Search. */
+        MCTS
+    }
+
     //------ Variables ------
-    /** Integer variable used to hold number of randomly chosen column 0-6. */
+    /** Integer variable used to hold number of randomly chosen column (0-6 on the standard board). */
     int columnNumber;
     /** Declaration of Random object to allow access to random number generation methods. */
     private Random rand = new Random();
 
-    /** Reference variable pointing to Connect4Logic.columnArray to allow reading of "emptiness"
-     * of chosen columns (i.e. if there is a space available on the board to place a puck
-     * at some column).
+    /** Reference variable pointing to the bitboard of the game being played, searched by the SEARCH and MCTS
+     * strategies; null if the board does not have the standard geometry.
      * */
-    String[][] gameBoard = Connect4Logic.columnArray;
+    Connect4BitBoard gameBoard;
+
+    /** Board of the game being played, of any geometry, to allow reading of "emptiness" of chosen columns (i.e. if
+     * there is a space available on the board to place a puck at some column).
+     */
+    private final Connect4Board board;
+
+    /** State of the game being played, used to find out which player the computer is moving for. */
+    private final Connect4GameState gameState;
+
+    /** Strategy used by makeMove(). */
+    private Strategy strategy = Strategy.RANDOM;
+
+    /** Number of plies searched when strategy is SEARCH. */
+    private int searchDepth = 8;
+
+    /** Size in megabytes of the transposition table used when strategy is SEARCH. */
+    private int hashSizeMb = 16;
+
+    /** Milliseconds per move when strategy is SEARCH, or 0 to always search to searchDepth. */
+    private long moveTimeMillis = 0;
+
+    /** Search engine used when strategy is SEARCH. Created with its transposition table on first use.
+     * Volatile so that getCurrentBestMove() can read it from another thread.
+     */
+    private volatile Connect4Search search;
+
+    /** Number of threads searching each SEARCH move. */
+    private int searchThreads = 1;
+
+    /** Search engine used when strategy is SEARCH with more than one thread. Created on first use.
+     * Volatile so that getCurrentBestMove() can read it from another thread.
+     */
+    private volatile Connect4ParallelSearch parallelSearch;
+
+    /** Number of independent trees searched in parallel when strategy is MCTS. */
+    private int monteCarloThreads = 1;
+
+    /** Total playouts per move when strategy is MCTS, or 0 for no playout limit. */
+    private long monteCarloPlayouts = 50_000;
+
+    /** Milliseconds per move when strategy is MCTS, or 0 for no time limit. */
+    private long monteCarloMillis = 0;
+
+    /** Monte Carlo search used when strategy is MCTS. Created on first use. Volatile so that stopSearch() and
+     * shutdown() can reach it from another thread.
+     */
+    private volatile Connect4MonteCarloSearch monteCarloSearch;
+
+    /** Evaluator scoring the positions at the depth limit of SEARCH moves, or null to score them 0. */
+    private Connect4Evaluator evaluator;
+
+    /** Opening book consulted before searching, or null to always search. */
+    private Connect4OpeningBook openingBook;
+
+    /** Endgame tablebase consulted before searching, or null to always search. */
+    private Connect4Tablebase tablebase;
+
+    /** Set by stopSearch() and cleared by clearStop(); stops searches makeMove() creates in between too. */
+    private volatile boolean stopRequested;
+
+    /** Result of the last search made by makeMove(), or null if no search has been made. */
+    private Connect4SearchResult lastResult;
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. Plays on a new game of its own. */
+    public Connect4ComputerPlayer() {
+        this(new Connect4GameState());
+    }
+
+    /** Constructor which makes the computer player choose moves for an existing game.
+     *
+     * @param gameState state of the game to choose moves for.
+     */
+    public Connect4ComputerPlayer(Connect4GameState gameState) {
+        this.gameState = gameState;
+        this.board = gameState.getBoard();
+        this.gameBoard = gameState.getGeometry().isStandard() ? gameState.getBitBoard() : null;
+    }
+
+    /** Constructor which makes the computer player choose moves for an existing game with a given strategy.
+     *
+     * @param gameState state of the game to choose moves for.
+     * @param strategy RANDOM or SEARCH.
+     * @param searchDepth number of plies searched when strategy is SEARCH.
+     */
+    public Connect4ComputerPlayer(Connect4GameState gameState, Strategy strategy, int searchDepth) {
+        this(gameState);
+        setStrategy(strategy);
+        setSearchDepth(searchDepth);
+    }
 
     //------ Methods ------
 
-    /** Method using Random rand object to randomly choose a column number in range 0 (inclusive) to
-     * 7 (exclusive). while() loop used to check if chosen column has space to place a puck;
-     * if not, a new column is chosen.
+    /** Method which chooses a column for the player whose turn it is in the game state, using the
+     * current strategy. With RANDOM, uses Random rand object to randomly choose a column number in
+     * range 0 (inclusive) to 7 (the number of columns, exclusive); while() loop used to check if chosen column has space to
+     * place a puck; if not, a new column is chosen. With SEARCH or MCTS, returns the tablebase move if the
+     * position is in the endgame tablebase. Otherwise, with SEARCH, returns the opening book move if the
+     * position is in the book, and otherwise runs Connect4Search to searchDepth and returns the best
+     * column found; with a move time set, it deepens until the time runs out instead, up to searchDepth
+     * plies. With MCTS, runs Connect4MonteCarloSearch within its playout and time budget and
+     * returns the most visited column. The column is reported to the game state's listener before returning.
      *
      * @return columnNumber: used in Connect4TextConsole to assign columnNum (target column)
-     *                      randomly assigned number of non-full column.
+     *                      number of non-full column.
      *
      */
     public int makeMove() {
-        columnNumber = rand.nextInt(7);
-        //if randomly chosen column is full, then continue to randomly choose one until that column is not full.
-        while (!(gameBoard[columnNumber][5].equals(" "))) {
-            columnNumber = rand.nextInt(7);
+        if (strategy != Strategy.RANDOM && !gameBoard.isFull() && lookUpTablebaseMove()) {
+            columnNumber = lastResult.getBestMove();
+        }
+        else if (strategy == Strategy.SEARCH && !gameBoard.isFull() && lookUpBookMove()) {
+            columnNumber = lastResult.getBestMove();
+        }
+        else if (strategy == Strategy.SEARCH && !gameBoard.isFull() && searchThreads > 1) {
+            //read once, as shutdown() may discard the engine from another thread
+            Connect4ParallelSearch engine = parallelSearch;
+            if (engine == null) {
+                engine = new Connect4ParallelSearch(searchThreads, hashSizeMb);
+                engine.setEvaluator(evaluator);
+                parallelSearch = engine;
+            }
+            if (stopRequested)
+                engine.stop();
+
+            int player = Connect4BitBoard.playerIndex(gameState.getPlayerTurn());
+            lastResult = engine.searchIterative(gameBoard, player, searchDepth, moveTimeMillis);
+            columnNumber = lastResult.getBestMove();
+        }
+        else if (strategy == Strategy.SEARCH && !gameBoard.isFull()) {
+            Connect4Search engine = search;
+            if (engine == null) {
+                engine = new Connect4Search(new Connect4TranspositionTable(hashSizeMb,
+                        Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+                engine.setEvaluator(evaluator);
+                search = engine;
+            }
+            if (stopRequested)
+                engine.stop();
+
+            int player = Connect4BitBoard.playerIndex(gameState.getPlayerTurn());
+            if (moveTimeMillis > 0)
+                lastResult = engine.searchIterative(gameBoard, player, searchDepth, moveTimeMillis);
+            else
+                lastResult = engine.search(gameBoard, player, searchDepth);
+            columnNumber = lastResult.getBestMove();
+        }
+        else if (strategy == Strategy.MCTS && !gameBoard.isFull()) {
+            Connect4MonteCarloSearch engine = monteCarloSearch;
+            if (engine == null) {
+                engine = new Connect4MonteCarloSearch(monteCarloThreads, 1 << 20, rand.nextLong());
+                monteCarloSearch = engine;
+            }
+            if (stopRequested)
+                engine.stop();
+
+            lastResult = engine.search(gameBoard, Connect4BitBoard.playerIndex(gameState.getPlayerTurn()),
+                    monteCarloPlayouts, monteCarloMillis);
+            columnNumber = lastResult.getBestMove();
+        }
+        else {
+            int columns = board.getGeometry().getColumns();
+            columnNumber = rand.nextInt(columns);
+            //if randomly chosen column is full, then continue to randomly choose one until that column is not full.
+            while (!board.canPlay(columnNumber)) {
+                columnNumber = rand.nextInt(columns);
+            }
         }
 
-        System.out.println("The computer is choosing column " + (columnNumber + 1) + "\n");
+        Connect4SearchResult result = (strategy != Strategy.RANDOM && !gameBoard.isFull()) ? lastResult : null;
+        gameState.getListener().moveChosen(gameState, Connect4BitBoard.playerIndex(gameState.getPlayerTurn()),
+                columnNumber, result);
         return columnNumber;
     }
 
+    /** Looks the current position up in the endgame tablebase and, if found, stores its best move and exact
+     * score as lastResult, with the number of empty cells as the depth.
+     *
+     * @return true if the position was found in the tablebase.
+     */
+    private boolean lookUpTablebaseMove() {
+        int emptyCells = Connect4BitBoard.CELLS - gameBoard.getMoveCount();
+        if (tablebase == null || emptyCells > tablebase.getMaxEmpty()
+                || Connect4BitBoard.playerIndex(gameState.getPlayerTurn()) != gameBoard.getPlayerToMove())
+            return false;
+
+        long startTime = System.nanoTime();
+        int move = tablebase.findMove(gameBoard);
+        if (move < 0)
+            return false;
+
+        lastResult = new Connect4SearchResult(move, tablebase.probe(gameBoard), emptyCells, 0,
+                System.nanoTime() - startTime, new int[] {move});
+        return true;
+    }
+
+    /** Looks the current position up in the opening book and, if found, stores the book move and score
+     * as lastResult.
+     *
+     * @return true if the position was found in the book.
+     */
+    private boolean lookUpBookMove() {
+        if (openingBook == null || gameBoard.getMoveCount() > openingBook.getMaxPly())
+            return false;
+
+        long startTime = System.nanoTime();
+        long key = gameBoard.key();
+        int index = openingBook.find(key);
+        if (index < 0 || !gameBoard.canPlay(openingBook.getMove(index, key)))
+            return false;
+
+        int move = openingBook.getMove(index, key);
+        lastResult = new Connect4SearchResult(move, openingBook.getScore(index), openingBook.getDepth(index), 0,
+                System.nanoTime() - startTime, new int[] {move});
+        return true;
+    }
+
+    /** Void method used to set the strategy and its settings from a short text form, as used on command lines:
+     * "random", "search:DEPTH", "search:DEPTH:MILLIS" (iterative deepening within MILLIS per move, up to DEPTH
+     * plies, or to DEPTH alone if MILLIS is 0), "search:DEPTH:MILLIS:THREADS" (the same with THREADS search
+     * threads), "search:DEPTH:MILLIS:THREADS:WEIGHTS" (the same scoring the positions at the depth limit with a
+     * Connect4Evaluator, WEIGHTS being "eval" for the default weights or TWO,THREE,PARITY,CENTRE) or
+     * "mcts:PLAYOUTS".
+     *
+     * @param engine settings in text form.
+     * @throws IllegalArgumentException if the settings are not understood.
+     */
+    public void configure(String engine) throws IllegalArgumentException {
+        String[] parts = engine.toLowerCase().split(":");
+        try {
+            if (parts[0].equals("random") && parts.length == 1) {
+                setStrategy(Strategy.RANDOM);
+            }
+            else if (parts[0].equals("search") && parts.length >= 2 && parts.length <= 5) {
+                setStrategy(Strategy.SEARCH);
+                setSearchDepth(Integer.parseInt(parts[1]));
+                setMoveTime((parts.length >= 3) ? Long.parseLong(parts[2]) : 0);
+                setSearchThreads((parts.length >= 4) ? Integer.parseInt(parts[3]) : 1);
+                if (parts.length < 5)
+                    setEvaluator(null);
+                else if (parts[4].equals("eval"))
+                    setEvaluator(Connect4Evaluator.DEFAULT);
+                else
+                    setEvaluator(Connect4Evaluator.parse(parts[4]));
+            }
+            else if (parts[0].equals("mcts") && parts.length == 2) {
+                setStrategy(Strategy.MCTS);
+                setMonteCarloBudget(Long.parseLong(parts[1]), 0);
+            }
+            else {
+                throw new IllegalArgumentException("Unknown engine: " + engine);
+            }
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown engine: " + engine, e);
+        }
+    }
+
+    /** Void method used to make SEARCH moves with a search engine owned by the caller instead of one created
+     * by this player, so that many games (e.g. the sessions of Connect4Server) can share a few engines and
+     * their transposition tables. The engine must not be used by two threads at once.
+     *
+     * @param search search engine to use, or null to create one of hashSizeMb on the next SEARCH move.
+     */
+    public void setSearch(Connect4Search search) {
+        this.search = search;
+    }
+
+    /** Void method used to seed the random number generator used by the RANDOM strategy and by the MCTS
+     * playouts, so that a series of games can be replayed exactly. Takes effect for MCTS the next time
+     * makeMove() creates its search, i.e. before the first MCTS move or after the thread count changes.
+     *
+     * @param seed seed of the random number generator.
+     */
+    public void setSeed(long seed) {
+        rand = new Random(seed);
+    }
+
+    /** Method used to retrieve strategy value.
+     *
+     * @return strategy used by makeMove().
+     */
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /** Void method used to set the strategy used by makeMove().
+     *
+     * @param strategy RANDOM, SEARCH or MCTS.
+     * @throws IllegalStateException if strategy is not RANDOM and the board does not have the standard geometry.
+     */
+    public void setStrategy(Strategy strategy) throws IllegalStateException {
+        if (strategy != Strategy.RANDOM && gameBoard == null)
+            throw new IllegalStateException("Only random moves can be made on a " + board.getGeometry() + " board.");
+        this.strategy = strategy;
+    }
+
+    /** Method used to retrieve searchDepth value.
+     *
+     * @return number of plies searched when strategy is SEARCH.
+     */
+    public int getSearchDepth() {
+        return searchDepth;
+    }
+
+    /** Void method used to set the number of plies searched when strategy is SEARCH.
+     *
+     * @param searchDepth number of plies, 1 or more.
+     * @throws IllegalArgumentException if searchDepth is less than 1.
+     */
+    public void setSearchDepth(int searchDepth) throws IllegalArgumentException {
+        if (searchDepth < 1)
+            throw new IllegalArgumentException("Search depth must be at least 1.");
+        this.searchDepth = searchDepth;
+    }
 
-}
\ No newline at end of file
+    /** Method used to retrieve moveTimeMillis value.
+     *
+     * @return milliseconds per move when strategy is SEARCH, or 0 if every move searches to searchDepth.
+     */
+    public long getMoveTime() {
+        return moveTimeMillis;
+    }
+
+    /** Void method used to set a time budget per move when strategy is SEARCH. With a budget, makeMove()
+     * searches depth 1, 2, 3 and so on up to searchDepth and returns the best column of the deepest depth
+     * finished in time, so set searchDepth to Connect4Search.MAX_DEPTH to let the clock alone decide.
+     *
+     * @param millis milliseconds per move, or 0 to always search to searchDepth.
+     * @throws IllegalArgumentException if millis is negative.
+     */
+    public void setMoveTime(long millis) throws IllegalArgumentException {
+        if (millis < 0)
+            throw new IllegalArgumentException("Move time must not be negative.");
+        this.moveTimeMillis = millis;
+    }
+
+    /** Method used to poll the best column found so far by a SEARCH move in progress. Safe to call from
+     * another thread while makeMove() runs.
+     *
+     * @return column 0-6 of the deepest depth completed so far, or -1 if no depth has completed yet.
+     */
+    public int getCurrentBestMove() {
+        Connect4SearchResult result = null;
+        Connect4ParallelSearch currentParallelSearch = parallelSearch;
+        Connect4Search currentSearch = search;
+        if (searchThreads > 1 && currentParallelSearch != null)
+            result = currentParallelSearch.getCurrentResult();
+        else if (currentSearch != null)
+            result = currentSearch.getCurrentResult();
+        return (result == null) ? -1 : result.getBestMove();
+    }
+
+    /** Void method used to make a SEARCH or MCTS move in progress return as soon as possible with the best column
+     * found so far, with or without a move time. Safe to call from another thread while makeMove() runs, or
+     * before it starts searching: the stop holds, for searches created meanwhile too, until clearStop().
+     */
+    public void stopSearch() {
+        stopRequested = true;
+        Connect4Search currentSearch = search;
+        if (currentSearch != null)
+            currentSearch.stop();
+        Connect4ParallelSearch currentParallelSearch = parallelSearch;
+        if (currentParallelSearch != null)
+            currentParallelSearch.stop();
+        Connect4MonteCarloSearch currentMonteCarloSearch = monteCarloSearch;
+        if (currentMonteCarloSearch != null)
+            currentMonteCarloSearch.stop();
+    }
+
+    /** Void method which forgets any earlier stopSearch(). Call it once per move before handing makeMove() to
+     * another thread, so that a stopSearch() made after that, even before the search starts, is not lost.
+     */
+    public void clearStop() {
+        stopRequested = false;
+        Connect4Search currentSearch = search;
+        if (currentSearch != null)
+            currentSearch.clearStop();
+        Connect4ParallelSearch currentParallelSearch = parallelSearch;
+        if (currentParallelSearch != null)
+            currentParallelSearch.clearStop();
+        Connect4MonteCarloSearch currentMonteCarloSearch = monteCarloSearch;
+        if (currentMonteCarloSearch != null)
+            currentMonteCarloSearch.clearStop();
+    }
+
+    /** Method used to retrieve searchThreads value.
+     *
+     * @return number of threads searching each SEARCH move.
+     */
+    public int getSearchThreads() {
+        return searchThreads;
+    }
+
+    /** Void method used to set the number of threads searching each SEARCH move. With more than one, the
+     * threads search the same position and share one transposition table of hashSizeMb (Lazy SMP), so the
+     * search reaches a given depth sooner on an otherwise idle multi-core machine. Takes effect the next time
+     * makeMove() searches.
+     *
+     * @param threads number of threads, 1 or more.
+     * @throws IllegalArgumentException if threads is less than 1.
+     */
+    public void setSearchThreads(int threads) throws IllegalArgumentException {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1.");
+        if (threads != searchThreads)
+            discardParallelSearch();
+        this.searchThreads = threads;
+    }
+
+    /** Method used to retrieve the evaluator of SEARCH moves.
+     *
+     * @return evaluator scoring the positions at the depth limit, or null if they score 0.
+     */
+    public Connect4Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /** Void method used to set how SEARCH moves score the positions at their depth limit. Changing it discards
+     * the search engines made by this player, and their transposition tables, as the stored scores no longer
+     * apply; an engine given to setSearch() is discarded too. Takes effect the next time makeMove() searches.
+     *
+     * @param evaluator evaluator of positions at the depth limit, or null to score them 0.
+     */
+    public void setEvaluator(Connect4Evaluator evaluator) {
+        if (evaluator != this.evaluator) {
+            search = null;
+            discardParallelSearch();
+        }
+        this.evaluator = evaluator;
+    }
+
+    /** Void method which stops the threads of the parallel and Monte Carlo searches, if any, so that a player
+     * that is no longer needed leaves no idle threads behind. The player can still move afterwards, creating
+     * the searches again. Safe to call from another thread while makeMove() runs, though a search started
+     * by that move may then fail; call it again once makeMove() has returned to release anything it created.
+     */
+    public void shutdown() {
+        discardParallelSearch();
+        Connect4MonteCarloSearch currentMonteCarloSearch = monteCarloSearch;
+        if (currentMonteCarloSearch != null) {
+            monteCarloSearch = null;
+            currentMonteCarloSearch.shutdown();
+        }
+    }
+
+    /** Void method which stops the threads of the parallel search, if any; a new one is created when needed. */
+    private void discardParallelSearch() {
+        Connect4ParallelSearch currentParallelSearch = parallelSearch;
+        if (currentParallelSearch != null) {
+            parallelSearch = null;
+            currentParallelSearch.shutdown();
+        }
+    }
+
+    /** Method used to retrieve hashSizeMb value.
+     *
+     * @return size in megabytes of the transposition table used when strategy is SEARCH.
+     */
+    public int getHashSizeMb() {
+        return hashSizeMb;
+    }
+
+    /** Void method used to set the size of the transposition table used when strategy is SEARCH.
+     * Takes effect the next time makeMove() searches.
+     *
+     * @param hashSizeMb size in megabytes, 1 or more.
+     * @throws IllegalArgumentException if hashSizeMb is less than 1.
+     */
+    public void setHashSizeMb(int hashSizeMb) throws IllegalArgumentException {
+        if (hashSizeMb < 1)
+            throw new IllegalArgumentException("Transposition table size must be at least 1 MB.");
+        if (hashSizeMb != this.hashSizeMb) {
+            search = null;
+            discardParallelSearch();
+        }
+        this.hashSizeMb = hashSizeMb;
+    }
+
+    /** Void method used to set how long a move may take when strategy is MCTS. The search stops at
+     * whichever limit is reached first.
+     *
+     * @param playouts total playouts per move, or 0 for no playout limit.
+     * @param millis milliseconds per move, or 0 for no time limit.
+     * @throws IllegalArgumentException if both limits are 0 or either is negative.
+     */
+    public void setMonteCarloBudget(long playouts, long millis) throws IllegalArgumentException {
+        if (playouts < 0 || millis < 0 || (playouts == 0 && millis == 0))
+            throw new IllegalArgumentException("A playout budget or a time budget is required.");
+        this.monteCarloPlayouts = playouts;
+        this.monteCarloMillis = millis;
+    }
+
+    /** Method used to retrieve monteCarloThreads value.
+     *
+     * @return number of trees searched in parallel when strategy is MCTS.
+     */
+    public int getMonteCarloThreads() {
+        return monteCarloThreads;
+    }
+
+    /** Void method used to set the number of trees searched in parallel when strategy is MCTS.
+     * Takes effect the next time makeMove() searches.
+     *
+     * @param threads number of trees, 1 or more.
+     * @throws IllegalArgumentException if threads is less than 1.
+     */
+    public void setMonteCarloThreads(int threads) throws IllegalArgumentException {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1.");
+        if (threads != monteCarloThreads && monteCarloSearch != null) {
+            monteCarloSearch.shutdown();
+            monteCarloSearch = null;
+        }
+        this.monteCarloThreads = threads;
+    }
+
+    /** Method used to retrieve the opening book consulted before searching.
+     *
+     * @return opening book, or null if none is used.
+     */
+    public Connect4OpeningBook getOpeningBook() {
+        return openingBook;
+    }
+
+    /** Void method used to set the opening book consulted before searching. Books opened with
+     * Connect4OpeningBook.open() can be shared by every computer player in the process.
+     *
+     * @param openingBook opening book, or null to always search.
+     */
+    public void setOpeningBook(Connect4OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /** Method used to retrieve the endgame tablebase consulted before searching.
+     *
+     * @return tablebase, or null if none is used.
+     */
+    public Connect4Tablebase getTablebase() {
+        return tablebase;
+    }
+
+    /** Void method used to set the endgame tablebase consulted before searching with SEARCH or MCTS.
+     * Tablebases opened with Connect4Tablebase.open() can be shared by every computer player in the process.
+     *
+     * @param tablebase tablebase, or null to always search.
+     */
+    public void setTablebase(Connect4Tablebase tablebase) {
+        this.tablebase = tablebase;
+    }
+
+    /** Method used to retrieve the result of the last search, including score, principal variation and
+     * nodes per second.
+     *
+     * @return last search result, or null if makeMove() has not searched yet.
+     */
+    public Connect4SearchResult getLastResult() {
+        return lastResult;
+    }
+}
@@ -0,0 +1,106 @@
+/** Description: Connect4GameListener which prints a game to a PrintStream (System.out by default) the way the
+ * text console always has: the board after every puck, "The computer is choosing column N" for computer moves,
+ * and who won or that the game was drawn. Board printing can be turned off, as the GUI does, and the names used
+ * for the winner can be changed, e.g. "Computer" for Player O in a game against the computer.
+ *
+ * Printing is synchronous and holds the stream's lock, so this listener is meant for interactive games. Bulk
+ * games should use Connect4GameListener.NONE or Connect4LogListener.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.PrintStream;
+
+/** Class which features printing the events of a game as text. */
+public class Connect4ConsoleListener implements Connect4GameListener {
+
+    //------ Variables ------
+    /** Stream printed to. */
+    private final PrintStream out;
+
+    /** Whether movePlayed() prints the board. */
+    private boolean showBoard = true;
+
+    /** Names printed for the winner, indexed by PLAYER_X / PLAYER_O. */
+    private final String[] playerNames = {"Player X", "Player O"};
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. Prints to System.out. */
+    public Connect4ConsoleListener() {
+        this(System.out);
+    }
+
+    /** Constructor which prints to a given stream.
+     *
+     * @param out stream to print to.
+     */
+    public Connect4ConsoleListener(PrintStream out) {
+        this.out = out;
+    }
+
+    //------ Methods ------
+
+    /** Void method which prints a board, top row first, as "| X | O |   |" lines.
+     *
+     * @param columnArray board contents indexed [column][row], as returned by Connect4GameState.getColumnArray().
+     */
+    public void printBoard(String[][] columnArray) {
+        StringBuilder text = new StringBuilder();
+        for (int printingRow = columnArray[0].length - 1; printingRow >= 0; printingRow--) {
+            text.append('|');
+            for (int i = 0; i < columnArray.length; i++)
+                text.append(' ').append(columnArray[i][printingRow]).append(" |");
+            text.append('\n');
+        }
+        out.print(text);
+    }
+
+    @Override
+    public void movePlayed(Connect4GameState gameState, int player, int column, int row) {
+        if (showBoard)
+            printBoard(gameState.getColumnArray());
+    }
+
+    @Override
+    public void gameWon(Connect4GameState gameState, int player) {
+        out.println(playerNames[player] + " won the game.");
+    }
+
+    @Override
+    public void gameDrawn(Connect4GameState gameState) {
+        out.println("Draw/tie game. Nobody wins.");
+    }
+
+    @Override
+    public void moveChosen(Connect4GameState gameState, int player, int column, Connect4SearchResult result) {
+        out.println("The computer is choosing column " + (column + 1) + "\n");
+    }
+
+    /** Method used to retrieve showBoard value.
+     *
+     * @return true if the board is printed after every puck.
+     */
+    public boolean isShowingBoard() {
+        return showBoard;
+    }
+
+    /** Void method used to turn printing the board after every puck on or off.
+     *
+     * @param showBoard true to print the board.
+     */
+    public void setShowBoard(boolean showBoard) {
+        this.showBoard = showBoard;
+    }
+
+    /** Void method used to set the name printed when a player wins.
+     *
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O.
+     * @param name name to print, e.g. "Computer".
+     */
+    public void setPlayerName(int player, String name) {
+        playerNames[player] = name;
+    }
+}
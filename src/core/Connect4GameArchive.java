@@ -0,0 +1,320 @@
+/** Description: Read-only view of a game archive written by Connect4ArchiveWriter, for random access to archived
+ * games: game number N, and every game that passed through a given position. An archive is a directory of files:
+ * <pre>
+ *  games.dat              every game, in the record format of Connect4RecordWriter
+ *  games.idx              offset index: the games.dat offset of game N as a long at byte 8 * N
+ *  positions.manifest     names of the position index segments in use, one per line, oldest games first
+ *  positions-F-E.seg      position index segment for games F (inclusive) to E (exclusive):
+ *                           header, 24 bytes: int SEGMENT_MAGIC, int SEGMENT_VERSION, int F, int E, long count
+ *                           postings, 12 bytes each, sorted by key then game: long position key, int game number
+ * </pre>
+ * Position keys are Connect4BitBoard.canonicalKey() of the position after each move of a game, found by
+ * replaying the game through Connect4Logic, so the key is an exact (collision-free) hash of the position up to
+ * mirror image: a lookup finds every game that passed through the position or its mirror image, and replaying
+ * a game tells the two apart.
+ *
+ * Every file is memory-mapped read-only when the archive is opened and only read with absolute reads, so one
+ * object can serve any number of threads, and any number of processes may open the same archive while a writer
+ * appends to it. Each view is a snapshot: games appended later are seen by opening the archive again. Games not
+ * yet committed to a segment by the writer can be read by number but are not found by position.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Class which features lookups of games by number and by position in a memory-mapped game archive. */
+public class Connect4GameArchive {
+
+    //------ Constants ------
+    /** Name of the file holding the games. */
+    public static final String GAMES_FILE = "games.dat";
+    /** Name of the offset index file. */
+    public static final String INDEX_FILE = "games.idx";
+    /** Name of the file listing the position index segments. */
+    public static final String MANIFEST_FILE = "positions.manifest";
+
+    /** First int of every position index segment ("C4PI"). */
+    public static final int SEGMENT_MAGIC = 0x43345049;
+    /** Version of the segment layout. Version 1 segments, keyed by Connect4BitBoard.key(), are not read. */
+    public static final int SEGMENT_VERSION = 2;
+    /** Size of a segment header in bytes. */
+    public static final int SEGMENT_HEADER_BYTES = 24;
+    /** Size of one posting in bytes. */
+    public static final int POSTING_BYTES = 12;
+
+    /** Times opening is retried when a writer replaces segments while they are being opened. */
+    private static final int OPEN_ATTEMPTS = 5;
+
+    //------ Segments ------
+    /** One mapped position index segment. */
+    private static final class Segment {
+        /** Mapped segment file. */
+        final Connect4MappedFile file;
+        /** First game covered. */
+        final int firstGame;
+        /** Game after the last one covered. */
+        final int endGame;
+        /** Number of postings. */
+        final long count;
+
+        /** Constructor which maps a segment file and checks its header.
+         *
+         * @param path segment file.
+         * @throws IOException if the file cannot be mapped or is not a segment.
+         */
+        Segment(Path path) throws IOException {
+            ByteBuffer header = readHeader(path);
+            firstGame = header.getInt(8);
+            endGame = header.getInt(12);
+            count = header.getLong(16);
+            if (Files.size(path) != SEGMENT_HEADER_BYTES + count * POSTING_BYTES)
+                throw new IOException("Position index segment is truncated: " + path);
+            file = new Connect4MappedFile(path, SEGMENT_HEADER_BYTES + count * POSTING_BYTES);
+        }
+
+        /** Method used to retrieve the key of a posting.
+         *
+         * @param index posting number.
+         * @return position key.
+         */
+        long keyAt(long index) {
+            return file.getLong(SEGMENT_HEADER_BYTES + index * POSTING_BYTES);
+        }
+
+        /** Method used to retrieve the game number of a posting.
+         *
+         * @param index posting number.
+         * @return game number.
+         */
+        int gameAt(long index) {
+            return file.getInt(SEGMENT_HEADER_BYTES + index * POSTING_BYTES + 8);
+        }
+
+        /** Binary-searches for the first posting of a key.
+         *
+         * @param key position key.
+         * @return number of the first posting with a key at or above key.
+         */
+        long lowerBound(long key) {
+            long low = 0;
+            long high = count;
+            while (low < high) {
+                long middle = (low + high) >>> 1;
+                if (keyAt(middle) < key)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+            return low;
+        }
+    }
+
+    //------ Variables ------
+    /** Mapped offset index. */
+    private final Connect4MappedFile index;
+
+    /** Mapped games file. */
+    private final Connect4MappedFile games;
+
+    /** Number of games that can be read. */
+    private final int gameCount;
+
+    /** Position index segments, oldest games first. */
+    private final Segment[] segments;
+
+    //------ Constructor ------
+
+    /** Constructor which opens and maps an archive directory. The index is mapped before the games it points
+     * into, so every indexed game is complete in the mapping.
+     *
+     * @param directory archive directory written by Connect4ArchiveWriter.
+     * @throws IOException if the archive cannot be read.
+     */
+    public Connect4GameArchive(Path directory) throws IOException {
+        Path indexPath = directory.resolve(INDEX_FILE);
+        Path gamesPath = directory.resolve(GAMES_FILE);
+
+        long indexBytes = Files.size(indexPath) & ~7L;
+        index = new Connect4MappedFile(indexPath, indexBytes);
+        games = new Connect4MappedFile(gamesPath, Files.size(gamesPath));
+        gameCount = (int) Math.min(indexBytes / 8, Integer.MAX_VALUE);
+        segments = openSegments(directory);
+    }
+
+    //------ Static Helpers ------
+
+    /** Maps the segments listed in the manifest. A writer deletes segments only after writing a manifest
+     * without them, so a segment found missing means the manifest just changed, and it is read again.
+     *
+     * @param directory archive directory.
+     * @return mapped segments, oldest games first.
+     * @throws IOException if the segments cannot be read.
+     */
+    private static Segment[] openSegments(Path directory) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                List<String> names = readManifest(directory);
+                Segment[] segments = new Segment[names.size()];
+                for (int i = 0; i < segments.length; i++)
+                    segments[i] = new Segment(directory.resolve(names.get(i)));
+                return segments;
+            }
+            catch (NoSuchFileException e) {
+                if (attempt == OPEN_ATTEMPTS)
+                    throw e;
+            }
+        }
+    }
+
+    /** Reads the names of the segments in use.
+     *
+     * @param directory archive directory.
+     * @return segment file names, oldest games first; empty if there is no manifest yet.
+     * @throws IOException if the manifest cannot be read.
+     */
+    static List<String> readManifest(Path directory) throws IOException {
+        Path manifest = directory.resolve(MANIFEST_FILE);
+        List<String> names = new ArrayList<>();
+        if (Files.exists(manifest)) {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.US_ASCII)) {
+                if (!line.isBlank())
+                    names.add(line.trim());
+            }
+        }
+        return names;
+    }
+
+    /** Reads and checks the header of a segment file.
+     *
+     * @param path segment file.
+     * @return header bytes.
+     * @throws IOException if the file cannot be read or is not a segment.
+     */
+    static ByteBuffer readHeader(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                //keep reading until the header is complete or the file ends
+            }
+        }
+        if (header.hasRemaining() || header.getInt(0) != SEGMENT_MAGIC || header.getInt(4) != SEGMENT_VERSION)
+            throw new IOException("Not a position index segment, or an unsupported version: " + path);
+        return header;
+    }
+
+    /** Builds the file name of the segment covering a range of games.
+     *
+     * @param firstGame first game covered.
+     * @param endGame game after the last one covered.
+     * @return file name.
+     */
+    static String segmentName(int firstGame, int endGame) {
+        return String.format("positions-%010d-%010d.seg", firstGame, endGame);
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve gameCount value.
+     *
+     * @return number of games that can be read by number, 0 to getGameCount() - 1.
+     */
+    public int getGameCount() {
+        return gameCount;
+    }
+
+    /** Method used to retrieve the number of games covered by the position index.
+     *
+     * @return games 0 to getIndexedGameCount() - 1 can be found by position.
+     */
+    public int getIndexedGameCount() {
+        return (segments.length == 0) ? 0 : segments[segments.length - 1].endGame;
+    }
+
+    /** Method used to retrieve the file offset of a game.
+     *
+     * @param gameId game number.
+     * @return offset of the game in games.dat.
+     * @throws IndexOutOfBoundsException if there is no such game.
+     */
+    public long getOffset(int gameId) throws IndexOutOfBoundsException {
+        if (gameId < 0 || gameId >= gameCount)
+            throw new IndexOutOfBoundsException("No game " + gameId + " in an archive of " + gameCount + " games.");
+        return index.getLong(8L * gameId);
+    }
+
+    /** Reads one game.
+     *
+     * @param gameId game number.
+     * @param record record to fill.
+     * @throws IOException if the game cannot be decoded.
+     * @throws IndexOutOfBoundsException if there is no such game.
+     */
+    public void readGame(int gameId, Connect4GameRecord record) throws IOException, IndexOutOfBoundsException {
+        long offset = getOffset(gameId);
+        if (offset >= games.size())
+            throw new IOException("Game " + gameId + " lies past the end of " + GAMES_FILE + ".");
+
+        MappedByteBuffer chunk = games.chunk(offset);
+        int start = Connect4MappedFile.offset(offset);
+        if (Connect4RecordReader.decode(chunk, start, chunk.limit(), record, offset) < 0)
+            throw new IOException("Game " + gameId + " is truncated.");
+    }
+
+    /** Counts the indexed games that passed through a position or its mirror image.
+     *
+     * @param positionKey Connect4BitBoard.key() or canonicalKey() of the position.
+     * @return number of games.
+     */
+    public long countGames(long positionKey) {
+        positionKey = Connect4BitBoard.canonicalKey(positionKey);
+        long total = 0;
+        for (Segment segment : segments) {
+            long first = segment.lowerBound(positionKey);
+            long end = segment.lowerBound(positionKey + 1);
+            total += end - first;
+        }
+        return total;
+    }
+
+    /** Finds the indexed games that passed through a position or its mirror image.
+     *
+     * @param positionKey Connect4BitBoard.key() or canonicalKey() of the position.
+     * @param maxResults most game numbers to return.
+     * @return game numbers in ascending order, at most maxResults of them.
+     */
+    public int[] findGames(long positionKey, int maxResults) {
+        positionKey = Connect4BitBoard.canonicalKey(positionKey);
+        int[] found = new int[(int) Math.min(maxResults, Math.min(countGames(positionKey), Integer.MAX_VALUE - 8))];
+        int foundCount = 0;
+        for (Segment segment : segments) {
+            for (long i = segment.lowerBound(positionKey); foundCount < found.length && i < segment.count
+                    && segment.keyAt(i) == positionKey; i++)
+                found[foundCount++] = segment.gameAt(i);
+        }
+        return (foundCount == found.length) ? found : Arrays.copyOf(found, foundCount);
+    }
+
+    /** Finds the indexed games that passed through a position or its mirror image.
+     *
+     * @param position board holding the position.
+     * @param maxResults most game numbers to return.
+     * @return game numbers in ascending order, at most maxResults of them.
+     */
+    public int[] findGames(Connect4BitBoard position, int maxResults) {
+        return findGames(position.key(), maxResults);
+    }
+}
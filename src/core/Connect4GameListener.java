@@ -0,0 +1,63 @@
+/** Description: Receiver of the events of a game: pucks placed, the game won or drawn, and the column and
+ * search result of every computer move. The engine reports through this interface instead of printing, so that
+ * headless callers pay nothing for output and each front end decides how to show a game:
+ * <pre>
+ *  NONE                       ignores every event; the default of every Connect4GameState
+ *  Connect4ConsoleListener    prints the board, the computer's moves and the result, as the text console does
+ *  Connect4LogListener        formats events on a background thread and writes them to a file in batches
+ * </pre>
+ * A listener is set on a Connect4GameState. Connect4GameState.play() reports movePlayed(),
+ * Connect4Logic.checkPucks() reports gameWon() and gameDrawn(), and Connect4ComputerPlayer.makeMove() reports
+ * moveChosen(). Events are reported on the thread driving the game, so a listener shared by games on several
+ * threads, as Connect4LogListener may be, must be thread-safe. Every method has an empty default, so a
+ * listener only overrides the events it needs.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+/** Interface which features one method per game event. */
+public interface Connect4GameListener {
+
+    //------ Constants ------
+    /** Listener which ignores every event. */
+    Connect4GameListener NONE = new Connect4GameListener() { };
+
+    //------ Methods ------
+
+    /** Called after a puck has been placed.
+     *
+     * @param gameState game the puck was placed in.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O.
+     * @param column column of the puck.
+     * @param row row the puck landed in.
+     */
+    default void movePlayed(Connect4GameState gameState, int player, int column, int row) {
+    }
+
+    /** Called when a player has connected the geometry's number of pucks.
+     *
+     * @param gameState game that was won.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O.
+     */
+    default void gameWon(Connect4GameState gameState, int player) {
+    }
+
+    /** Called when the board is full and nobody has won.
+     *
+     * @param gameState game that was drawn.
+     */
+    default void gameDrawn(Connect4GameState gameState) {
+    }
+
+    /** Called when a computer player has chosen a column, before it is played.
+     *
+     * @param gameState game the move is for.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O.
+     * @param column chosen column.
+     * @param result search or book result the column came from, or null for a random move.
+     */
+    default void moveChosen(Connect4GameState gameState, int player, int column, Connect4SearchResult result) {
+    }
+}
@@ -0,0 +1,198 @@
+/** Description: One finished (or abandoned) game as stored by Connect4RecordWriter and read back by
+ * Connect4RecordReader: the result, an ID for each side (a player account or an engine setting, as the caller
+ * chooses) and the columns played in order. A record object is meant to be reused from game to game, so that
+ * writing or scanning any number of records allocates nothing per record.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+/** Class which holds the result, side IDs and moves of one game, and replays them through Connect4Logic. */
+public class Connect4GameRecord {
+
+    //------ Constants ------
+    /** Result of a game that ended without a winner before the board was full. */
+    public static final int RESULT_UNFINISHED = 0;
+    /** Result of a game won by Player X. */
+    public static final int RESULT_X_WINS = 1;
+    /** Result of a game won by Player O. */
+    public static final int RESULT_O_WINS = 2;
+    /** Result of a game that filled the board without a winner. */
+    public static final int RESULT_DRAW = 3;
+
+    /** Most moves a game can have. */
+    public static final int MAX_MOVES = Connect4BitBoard.CELLS;
+
+    //------ Variables ------
+    /** One of the RESULT_ constants. */
+    int result = RESULT_UNFINISHED;
+
+    /** ID of the side playing X, 0 or more. */
+    int playerXId;
+
+    /** ID of the side playing O, 0 or more. */
+    int playerOId;
+
+    /** Columns 0-6 played, in order; only the first moveCount are used. */
+    final byte[] moves = new byte[MAX_MOVES];
+
+    /** Number of moves played. */
+    int moveCount;
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. Creates an empty, unfinished record. */
+    public Connect4GameRecord() {
+    }
+
+    //------ Methods ------
+
+    /** Void method which empties the record so it can be reused for another game. */
+    public void clear() {
+        result = RESULT_UNFINISHED;
+        playerXId = 0;
+        playerOId = 0;
+        moveCount = 0;
+    }
+
+    /** Void method which adds the next move of the game.
+     *
+     * @param column column index 0-6.
+     * @throws IllegalArgumentException if the column is out of range or the record already has 42 moves.
+     */
+    public void addMove(int column) throws IllegalArgumentException {
+        if (column < 0 || column >= Connect4BitBoard.COLUMNS)
+            throw new IllegalArgumentException("Column must be 0-6.");
+        if (moveCount == MAX_MOVES)
+            throw new IllegalArgumentException("A game has at most 42 moves.");
+        moves[moveCount++] = (byte) column;
+    }
+
+    /** Method used to retrieve one move.
+     *
+     * @param index move number, 0 for the first move.
+     * @return column index 0-6.
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /** Method used to retrieve moveCount value.
+     *
+     * @return number of moves in the game.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /** Method used to retrieve result value.
+     *
+     * @return one of the RESULT_ constants.
+     */
+    public int getResult() {
+        return result;
+    }
+
+    /** Void method used to set the result of the game.
+     *
+     * @param result one of the RESULT_ constants.
+     * @throws IllegalArgumentException if result is not one of the RESULT_ constants.
+     */
+    public void setResult(int result) throws IllegalArgumentException {
+        if (result < RESULT_UNFINISHED || result > RESULT_DRAW)
+            throw new IllegalArgumentException("Unknown result: " + result);
+        this.result = result;
+    }
+
+    /** Method used to retrieve playerXId value.
+     *
+     * @return ID of the side playing X.
+     */
+    public int getPlayerXId() {
+        return playerXId;
+    }
+
+    /** Method used to retrieve playerOId value.
+     *
+     * @return ID of the side playing O.
+     */
+    public int getPlayerOId() {
+        return playerOId;
+    }
+
+    /** Void method used to set the IDs of both sides. Small IDs take less space on disk.
+     *
+     * @param playerXId ID of the side playing X, 0 or more.
+     * @param playerOId ID of the side playing O, 0 or more.
+     * @throws IllegalArgumentException if either ID is negative.
+     */
+    public void setPlayerIds(int playerXId, int playerOId) throws IllegalArgumentException {
+        if (playerXId < 0 || playerOId < 0)
+            throw new IllegalArgumentException("Player IDs must not be negative.");
+        this.playerXId = playerXId;
+        this.playerOId = playerOId;
+    }
+
+    /** Void method which copies another record into this one.
+     *
+     * @param other record to copy.
+     */
+    public void copyFrom(Connect4GameRecord other) {
+        result = other.result;
+        playerXId = other.playerXId;
+        playerOId = other.playerOId;
+        moveCount = other.moveCount;
+        System.arraycopy(other.moves, 0, moves, 0, moveCount);
+    }
+
+    /** Replays the moves on a Connect4Logic board with placePuck() and checkPucks(), the way a game is played,
+     * and checks that every move is legal and that the stored result is the one the moves produce. The board
+     * is reset first and holds the final position afterwards.
+     *
+     * @param logic board to replay on.
+     * @throws IllegalArgumentException if a move is illegal, a move follows the end of the game, or the result
+     *                                  does not match.
+     */
+    public void replay(Connect4Logic logic) throws IllegalArgumentException {
+        replay(logic, null);
+    }
+
+    /** Replays the moves like replay(Connect4Logic) and also stores the key (Connect4BitBoard.key()) of the
+     * position after each move, e.g. for indexing games by the positions they pass through.
+     *
+     * @param logic board to replay on.
+     * @param positionKeys filled with the key after move i at index i, or null; needs getMoveCount() entries.
+     * @throws IllegalArgumentException if a move is illegal, a move follows the end of the game, or the result
+     *                                  does not match.
+     */
+    public void replay(Connect4Logic logic, long[] positionKeys) throws IllegalArgumentException {
+        logic.resetBoard();
+        Connect4BitBoard board = logic.getGameState().getBitBoard();
+        int actualResult = RESULT_UNFINISHED;
+
+        for (int i = 0; i < moveCount; i++) {
+            if (actualResult != RESULT_UNFINISHED)
+                throw new IllegalArgumentException("Move " + (i + 1) + " is played after the game ended.");
+
+            int column = moves[i];
+            if (logic.isColumnFull(column))
+                throw new IllegalArgumentException("Move " + (i + 1) + " is played in full column " + (column + 1) + ".");
+
+            int playerTurn = logic.getPlayerTurn();
+            logic.placePuck(column, playerTurn);
+            if (positionKeys != null)
+                positionKeys[i] = board.key();
+            logic.checkPucks(column);
+            if (logic.puckCount == 4)
+                actualResult = (playerTurn % 2 != 0) ? RESULT_X_WINS : RESULT_O_WINS;
+            else if (logic.fullColumnCount() == Connect4BitBoard.COLUMNS)
+                actualResult = RESULT_DRAW;
+            logic.nextTurn();
+        }
+
+        if (actualResult != result)
+            throw new IllegalArgumentException("Stored result " + result + " does not match the moves, which give "
+                    + actualResult + ".");
+    }
+}
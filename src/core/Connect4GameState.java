@@ -0,0 +1,193 @@
+/** Description: Per-game state used by Connect4Logic, Connect4ComputerPlayer and the front ends. Owns the
+ * board, the playerTurn counter and the last move made, so that any number of games can run side by side
+ * in one JVM as long as each game has its own Connect4GameState. A state object is not thread-safe; a game
+ * should only be driven from one thread at a time.
+ *
+ * The board has the standard geometry unless another is given to the constructor; its Connect4Board is the
+ * implementation Connect4Board.create() picks for the geometry. getBitBoard(), used by the search engines, is
+ * only available for the standard geometry.
+ *
+ * The game's events are reported to its Connect4GameListener, Connect4GameListener.NONE unless setListener() is
+ * called: play() reports every puck placed, and Connect4Logic and Connect4ComputerPlayer report the rest through
+ * getListener().
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+/** Class which holds everything that describes one game in progress. */
+public class Connect4GameState {
+
+    //------ Variables ------
+    /** Board holding the board contents of this game. */
+    private final Connect4Board board;
+
+    /** The same board as a Connect4BitBoard, or null if the geometry is not standard. */
+    private final Connect4BitBoard bitBoard;
+
+    /** Integer variable used to keep track of which of two player's turn it is. Odd numbers represent Player X's turn
+     * while even numbers represent Player O.
+     */
+    private int playerTurn = 1;
+
+    /** Column index of the last puck placed, or -1 if no puck has been placed. */
+    private int lastColumn = -1;
+
+    /** Row index of the last puck placed, or -1 if no puck has been placed. */
+    private int lastRow = -1;
+
+    /** Array of arrays used to display grid pattern of board, 7 columns by 6 rows on the standard board. Only
+     * created and rebuilt from board when a front end asks for it through getColumnArray(), so headless games
+     * never allocate it.
+     */
+    private String[][] columnArray;
+
+    /** Boolean variable set when board has changed since columnArray was last rebuilt. */
+    private boolean columnArrayStale = true;
+
+    /** Receiver of this game's events. */
+    private Connect4GameListener listener = Connect4GameListener.NONE;
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. Creates an empty standard board with Player X to move. */
+    public Connect4GameState() {
+        this(Connect4Geometry.STANDARD);
+    }
+
+    /** Constructor which creates an empty board of any geometry with Player X to move.
+     *
+     * @param geometry board dimensions and win length.
+     */
+    public Connect4GameState(Connect4Geometry geometry) {
+        this.board = Connect4Board.create(geometry);
+        this.bitBoard = (board instanceof Connect4BitBoard) ? (Connect4BitBoard) board : null;
+    }
+
+    //------ Methods ------
+
+    /** Places a puck for a player in the lowest empty cell of a column, records it as the last move and reports
+     * it to the listener.
+     *
+     * @param column column index, 0-6 on the standard board.
+     * @param player Connect4BitBoard.PLAYER_X or Connect4BitBoard.PLAYER_O.
+     * @return row the puck landed in, or -1 if the column was full (nothing is changed).
+     */
+    public int play(int column, int player) {
+        int placedRow = board.play(column, player);
+        if (placedRow >= 0) {
+            lastColumn = column;
+            lastRow = placedRow;
+            columnArrayStale = true;
+            listener.movePlayed(this, player, column, placedRow);
+        }
+        return placedRow;
+    }
+
+    /** Method which returns the board as a columns x rows array of arrays of " ", "X" and "O", indexed
+     * [column][row]. The array is only rebuilt from the board when the board has changed since the last call.
+     *
+     * @return String view of the board. Callers should treat it as read-only.
+     */
+    public String[][] getColumnArray() {
+        if (columnArray == null) {
+            Connect4Geometry geometry = board.getGeometry();
+            columnArray = new String[geometry.getColumns()][geometry.getRows()];
+        }
+        if (columnArrayStale) {
+            board.fillColumnArray(columnArray);
+            columnArrayStale = false;
+        }
+        return columnArray;
+    }
+
+    /** Method used to retrieve the board of this game.
+     *
+     * @return board holding the board contents.
+     */
+    public Connect4Board getBoard() {
+        return board;
+    }
+
+    /** Method used to retrieve the geometry of this game's board.
+     *
+     * @return board dimensions and win length.
+     */
+    public Connect4Geometry getGeometry() {
+        return board.getGeometry();
+    }
+
+    /** Method used to retrieve the bitboard of this game, for the search engines.
+     *
+     * @return bitboard holding the board contents.
+     * @throws IllegalStateException if the board does not have the standard geometry.
+     */
+    public Connect4BitBoard getBitBoard() throws IllegalStateException {
+        if (bitBoard == null)
+            throw new IllegalStateException("Only the standard board has a Connect4BitBoard, not " + getGeometry());
+        return bitBoard;
+    }
+
+    /** Method used to retrieve listener value.
+     *
+     * @return receiver of this game's events.
+     */
+    public Connect4GameListener getListener() {
+        return listener;
+    }
+
+    /** Void method used to set the receiver of this game's events.
+     *
+     * @param listener receiver of the events, or Connect4GameListener.NONE to ignore them.
+     */
+    public void setListener(Connect4GameListener listener) {
+        this.listener = listener;
+    }
+
+    /** Method used to retrieve playerTurn value.
+     *
+     * @return odd for Player X's turn, even for Player O's turn.
+     */
+    public int getPlayerTurn() {
+        return playerTurn;
+    }
+
+    /** Void method used to set playerTurn value.
+     *
+     * @param playerTurn odd for Player X's turn, even for Player O's turn.
+     */
+    public void setPlayerTurn(int playerTurn) {
+        this.playerTurn = playerTurn;
+    }
+
+    /** Void method which passes the turn to the other player. */
+    public void nextTurn() {
+        playerTurn++;
+    }
+
+    /** Method used to retrieve the column of the last puck placed.
+     *
+     * @return column index, 0-6 on the standard board, or -1 if no puck has been placed.
+     */
+    public int getLastColumn() {
+        return lastColumn;
+    }
+
+    /** Method used to retrieve the row of the last puck placed.
+     *
+     * @return row index, 0-5 on the standard board, or -1 if no puck has been placed.
+     */
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    /** Void method which empties the board and gives the turn back to Player X. */
+    public void reset() {
+        board.reset();
+        playerTurn = 1;
+        lastColumn = -1;
+        lastRow = -1;
+        columnArrayStale = true;
+    }
+}
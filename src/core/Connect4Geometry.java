@@ -0,0 +1,175 @@
+/** Description: Shape of a Connect4 variant: number of columns, number of rows and how many pucks in a row win.
+ * The standard game is 7 columns by 6 rows, four in a row (STANDARD); variants such as 8x7 or five in a row are
+ * made with of() or parsed from text like "8x7x5" with parse().
+ *
+ * A geometry also picks the board used to play it (see Connect4Board.create()): the standard geometry uses
+ * Connect4BitBoard, whose layout is fixed at compile time; any other geometry whose columns, each with one
+ * spare bit on top, fit in one 64-bit long uses Connect4LongBoard, and larger ones use Connect4WideBoard.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+/** Class which holds the dimensions and win length of a board. Objects are immutable. */
+public final class Connect4Geometry {
+
+    //------ Constants ------
+    /** Standard board: 7 columns, 6 rows, four in a row. */
+    public static final Connect4Geometry STANDARD = new Connect4Geometry(Connect4BitBoard.COLUMNS,
+            Connect4BitBoard.ROWS, Connect4BitBoard.CONNECT);
+
+    /** Most rows a board may have: Connect4WideBoard keeps each column in one long with a spare bit on top. */
+    public static final int MAX_ROWS = 62;
+
+    /** Most columns a board may have. */
+    public static final int MAX_COLUMNS = 64;
+
+    //------ Variables ------
+    /** Number of columns. */
+    private final int columns;
+
+    /** Number of rows. */
+    private final int rows;
+
+    /** Number of pucks in a row needed to win. */
+    private final int connect;
+
+    //------ Constructor ------
+
+    /** Constructor which stores the dimensions. Use of() so that the standard geometry is shared.
+     *
+     * @param columns number of columns.
+     * @param rows number of rows.
+     * @param connect number of pucks in a row needed to win.
+     */
+    private Connect4Geometry(int columns, int rows, int connect) {
+        this.columns = columns;
+        this.rows = rows;
+        this.connect = connect;
+    }
+
+    //------ Static Helpers ------
+
+    /** Returns the geometry with the given dimensions.
+     *
+     * @param columns number of columns, 1-64.
+     * @param rows number of rows, 1-62.
+     * @param connect number of pucks in a row needed to win, 2 or more and no more than the larger dimension.
+     * @return geometry; STANDARD for 7x6x4.
+     * @throws IllegalArgumentException if a dimension is out of range.
+     */
+    public static Connect4Geometry of(int columns, int rows, int connect) throws IllegalArgumentException {
+        if (columns < 1 || columns > MAX_COLUMNS)
+            throw new IllegalArgumentException("Columns must be 1-" + MAX_COLUMNS + ".");
+        if (rows < 1 || rows > MAX_ROWS)
+            throw new IllegalArgumentException("Rows must be 1-" + MAX_ROWS + ".");
+        if (connect < 2 || connect > Math.max(columns, rows))
+            throw new IllegalArgumentException("Connect must be 2-" + Math.max(columns, rows) + ".");
+
+        if (columns == STANDARD.columns && rows == STANDARD.rows && connect == STANDARD.connect)
+            return STANDARD;
+        return new Connect4Geometry(columns, rows, connect);
+    }
+
+    /** Parses a geometry written as COLUMNSxROWS or COLUMNSxROWSxCONNECT, e.g. "8x7" or "9x7x5". Connect
+     * defaults to 4.
+     *
+     * @param text geometry in text form.
+     * @return parsed geometry.
+     * @throws IllegalArgumentException if the text is not a valid geometry.
+     */
+    public static Connect4Geometry parse(String text) throws IllegalArgumentException {
+        String[] parts = text.trim().toLowerCase().split("x");
+        if (parts.length < 2 || parts.length > 3)
+            throw new IllegalArgumentException("Board must be COLUMNSxROWS or COLUMNSxROWSxCONNECT: " + text);
+        try {
+            int connect = (parts.length == 3) ? Integer.parseInt(parts[2]) : Connect4BitBoard.CONNECT;
+            return of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), connect);
+        }
+        catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Board must be COLUMNSxROWS or COLUMNSxROWSxCONNECT: " + text, e);
+        }
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve columns value.
+     *
+     * @return number of columns.
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /** Method used to retrieve rows value.
+     *
+     * @return number of rows.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /** Method used to retrieve connect value.
+     *
+     * @return number of pucks in a row needed to win.
+     */
+    public int getConnect() {
+        return connect;
+    }
+
+    /** Method used to retrieve the number of cells.
+     *
+     * @return columns times rows.
+     */
+    public int getCells() {
+        return columns * rows;
+    }
+
+    /** Checks whether a board of this geometry fits in one long per player, each column taking rows + 1 bits.
+     *
+     * @return true if columns * (rows + 1) is at most 64.
+     */
+    public boolean fitsInLong() {
+        return columns * (rows + 1) <= Long.SIZE;
+    }
+
+    /** Checks whether this is the standard 7x6, four-in-a-row geometry.
+     *
+     * @return true if standard.
+     */
+    public boolean isStandard() {
+        return equals(STANDARD);
+    }
+
+    /** Method which compares two geometries by their dimensions.
+     *
+     * @param other object to compare with.
+     * @return true if other is a geometry with the same dimensions.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Connect4Geometry))
+            return false;
+        Connect4Geometry geometry = (Connect4Geometry) other;
+        return columns == geometry.columns && rows == geometry.rows && connect == geometry.connect;
+    }
+
+    /** Method which hashes the dimensions.
+     *
+     * @return hash code consistent with equals().
+     */
+    @Override
+    public int hashCode() {
+        return (columns * 64 + rows) * 64 + connect;
+    }
+
+    /** Method which writes the geometry in the form parse() reads.
+     *
+     * @return e.g. "7x6x4".
+     */
+    @Override
+    public String toString() {
+        return columns + "x" + rows + "x" + connect;
+    }
+}
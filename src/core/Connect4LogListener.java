@@ -0,0 +1,272 @@
+/** Description: Connect4GameListener which logs game events to a file without slowing the games down. Each event
+ * is queued as a small object holding its numbers (and, for computer moves, the immutable Connect4SearchResult),
+ * and a background thread takes the queued events in batches of up to BATCH_EVENTS, formats them and writes each
+ * batch with one write and one flush. The threads playing games never format text or touch the file, so many
+ * games on many threads can share one log; they only contend on the queue.
+ *
+ * Lines look like this, the game being identified by the identity hash of its Connect4GameState, and columns and
+ * rows counted from 1:
+ * <pre>
+ *  1b6d3586 move X 4 1
+ *  1b6d3586 chose O 3 depth 8 score +0 nodes 5321 nps 2130000 pv [3, 4]
+ *  1b6d3586 chose X 5 random
+ *  1b6d3586 win X
+ *  1b6d3586 draw
+ * </pre>
+ * If the queue is full, a game waits for the writer to catch up rather than lose events. close() must only be
+ * called once every game reporting to the listener has finished.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/** Class which features the event queue and the background thread writing it. Thread-safe. */
+public class Connect4LogListener implements Connect4GameListener, Closeable {
+
+    //------ Constants ------
+    /** Number of events that may wait to be written. */
+    public static final int QUEUE_EVENTS = 1 << 16;
+
+    /** Most events formatted and written with one write. */
+    public static final int BATCH_EVENTS = 4096;
+
+    /** Event type of a puck placed. */
+    private static final int MOVE = 0;
+    /** Event type of a game won. */
+    private static final int WIN = 1;
+    /** Event type of a game drawn. */
+    private static final int DRAW = 2;
+    /** Event type of a computer move chosen. */
+    private static final int CHOSEN = 3;
+
+    /** Queued by close() to stop the writer thread. */
+    private static final Event STOP = new Event(-1, 0, 0, 0, 0, null);
+
+    //------ Event ------
+    /** One queued event. */
+    private static final class Event {
+        /** MOVE, WIN, DRAW or CHOSEN. */
+        final int type;
+        /** Identity hash of the game's Connect4GameState. */
+        final int game;
+        /** Player the event is about. */
+        final int player;
+        /** Column of the event, or 0. */
+        final int column;
+        /** Row of the event, or 0. */
+        final int row;
+        /** Result of a CHOSEN event, or null. */
+        final Connect4SearchResult result;
+
+        /** Constructor which stores the numbers of an event.
+         *
+         * @param type MOVE, WIN, DRAW or CHOSEN.
+         * @param game identity hash of the game's state.
+         * @param player player the event is about.
+         * @param column column of the event.
+         * @param row row of the event.
+         * @param result result of a CHOSEN event.
+         */
+        Event(int type, int game, int player, int column, int row, Connect4SearchResult result) {
+            this.type = type;
+            this.game = game;
+            this.player = player;
+            this.column = column;
+            this.row = row;
+            this.result = result;
+        }
+    }
+
+    //------ Variables ------
+    /** Events waiting to be written. */
+    private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_EVENTS);
+
+    /** Destination of the log. */
+    private final Writer writer;
+
+    /** Thread formatting and writing queued events. */
+    private final Thread writerThread;
+
+    /** First error met by the writer thread, rethrown by close(); events after it are discarded. */
+    private volatile IOException failure;
+
+    /** Number of events written so far. */
+    private volatile long eventsWritten;
+
+    /** Whether close() has been called. */
+    private boolean closed;
+
+    //------ Constructor ------
+
+    /** Constructor which creates or truncates a log file and starts the writer thread.
+     *
+     * @param path file to write to.
+     * @throws IOException if the file cannot be opened.
+     */
+    public Connect4LogListener(Path path) throws IOException {
+        this(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+    }
+
+    /** Constructor which logs to a Writer and starts the writer thread. The Writer is closed by close().
+     *
+     * @param writer destination of the log.
+     */
+    public Connect4LogListener(Writer writer) {
+        this.writer = writer;
+        this.writerThread = new Thread(this::writeEvents, "Connect4LogListener");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    //------ Methods ------
+
+    @Override
+    public void movePlayed(Connect4GameState gameState, int player, int column, int row) {
+        enqueue(new Event(MOVE, System.identityHashCode(gameState), player, column, row, null));
+    }
+
+    @Override
+    public void gameWon(Connect4GameState gameState, int player) {
+        enqueue(new Event(WIN, System.identityHashCode(gameState), player, 0, 0, null));
+    }
+
+    @Override
+    public void gameDrawn(Connect4GameState gameState) {
+        enqueue(new Event(DRAW, System.identityHashCode(gameState), 0, 0, 0, null));
+    }
+
+    @Override
+    public void moveChosen(Connect4GameState gameState, int player, int column, Connect4SearchResult result) {
+        enqueue(new Event(CHOSEN, System.identityHashCode(gameState), player, column, 0, result));
+    }
+
+    /** Queues an event, waiting while the queue is full. If the calling thread is interrupted while waiting,
+     * the event is dropped and the interrupt is kept for the caller to see.
+     *
+     * @param event event to queue.
+     */
+    private void enqueue(Event event) {
+        try {
+            queue.put(event);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Writer thread loop: takes the queued events in batches, formats each batch into one String and writes
+     * and flushes it, until STOP is taken.
+     */
+    private void writeEvents() {
+        List<Event> batch = new ArrayList<>(BATCH_EVENTS);
+        StringBuilder text = new StringBuilder();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(queue.take());
+            }
+            catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, BATCH_EVENTS - 1);
+
+            text.setLength(0);
+            int formatted = 0;
+            for (Event event : batch) {
+                if (event == STOP) {
+                    stopping = true;
+                    break;
+                }
+                format(event, text);
+                formatted++;
+            }
+            batch.clear();
+
+            if (failure == null && formatted > 0) {
+                try {
+                    writer.write(text.toString());
+                    writer.flush();
+                    eventsWritten += formatted;
+                }
+                catch (IOException e) {
+                    failure = e;
+                }
+            }
+        }
+    }
+
+    /** Appends the log line of an event.
+     *
+     * @param event event to format.
+     * @param text line is appended here, with its line break.
+     */
+    private static void format(Event event, StringBuilder text) {
+        String game = Integer.toHexString(event.game);
+        for (int i = game.length(); i < 8; i++)
+            text.append('0');
+        text.append(game);
+        String side = (event.player == Connect4BitBoard.PLAYER_X) ? " X" : " O";
+        switch (event.type) {
+            case MOVE:
+                text.append(" move").append(side).append(' ').append(event.column + 1).append(' ')
+                        .append(event.row + 1);
+                break;
+            case WIN:
+                text.append(" win").append(side);
+                break;
+            case DRAW:
+                text.append(" draw");
+                break;
+            default:
+                text.append(" chose").append(side).append(' ').append(event.column + 1).append(' ')
+                        .append((event.result == null) ? "random" : event.result.toString());
+                break;
+        }
+        text.append('\n');
+    }
+
+    /** Method used to retrieve the number of events written so far.
+     *
+     * @return events written to the Writer.
+     */
+    public long getEventsWritten() {
+        return eventsWritten;
+    }
+
+    /** Writes every queued event, stops the writer thread and closes the Writer. Does nothing if already closed.
+     *
+     * @throws IOException if an event could not be written or the Writer could not be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+
+        try {
+            queue.put(STOP);
+            writerThread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writerThread.interrupt();
+        }
+        finally {
+            writer.close();
+        }
+        if (failure != null)
+            throw failure;
+    }
+}
@@ -1,7 +1,8 @@
 /** Description: Backend logic simulating Connect 4 board game. Includes methods that simulate placing a "puck" (or coin, gamepiece, etc.)
  * represented by X or Os for each player respectively, a method for analyzing the board to find pucks placed 4-in-a-row (the condition to win
- * the game) in all relevant directions (downwards, horizontally, diagonally). Board is simulated using a 7x6 array of arrays, and data is
- * placed at index 0 of each column (or index 0 of one of 7 inner arrays). Win condition, four in a row, is kept track of using puckCount variable.
+ * the game) in all relevant directions (downwards, horizontally, diagonally). Board is simulated using a Connect4Board (a Connect4BitBoard, one
+ * long mask per player, on the standard 7x6 board) owned by a Connect4GameState, and an array of arrays view of it is built only when a front end
+ * renders the board. Win condition, four in a row (or the geometry's connect length on other boards), is kept track of using puckCount variable.
  *
  *
  * @author Stephen Arel
@@ -9,51 +10,51 @@
 */
 package core;
 
-import java.util.Arrays;
-
 /** Class which features essential methods and variables to create base function of game. */
 public class Connect4Logic {
 
     //------ Variables ------
-    /** Integer variable used to keep track of "win condition" of puckCount == 4. */
+    /** Integer variable used to keep track of "win condition" of puckCount == 4 (the geometry's connect length). */
     public int puckCount;
 
     /** Integer variable used to keep track of rows in which "pucks" are placed. */
     public int row;
 
-    /** Integer variable used to keep track of which of two player's turn it is. Odd numbers represent Player X's turn
-     * while even numbers represent Player O.
-     */
-    public static int playerTurn = 1;
+    /** Per-game state holding the board, the playerTurn counter and the last move. */
+    private final Connect4GameState gameState;
 
-    /** Array of arrays used to simulate 7x6 grid pattern of board: 7 columns, 6 rows. */
-    //7x6 array of arrays; 7 columns, 6 rows
-    public static String[][] columnArray = new String[7][6];
+    /** Board of gameState, kept in a field to avoid an extra lookup on every move. */
+    private final Connect4Board gameBoard;
 
     /** String variable alternately equal to "X" or "O" used to simulate the insertion of "pucks" in columns. */
     public String puckInput;
 
     //------ Constructor ------
 
-    /** Default constructor for class object. Fills columnArray with String " " in each inner element. */
+    /** Default constructor for class object. Creates a new game with an empty board. */
     public Connect4Logic() {
+        this(new Connect4GameState());
+    }
 
-        //fill array with spaces
-        for (int i = 0; i < columnArray.length; i++) {
-            for (int j = 0; j < columnArray[i].length; j++) {
-                columnArray[i][j] = " ";
-            }
-        }
+    /** Constructor which applies the rules of the game to an existing game state. Several Connect4Logic and
+     * Connect4ComputerPlayer objects may share one state, as long as they are used from the same thread.
+     *
+     * @param gameState state of the game to play on.
+     */
+    public Connect4Logic(Connect4GameState gameState) {
+        this.gameState = gameState;
+        this.gameBoard = gameState.getBoard();
     }
 
 
     //------ Methods ------
 
-    /** Void method which resets row variable to 0 and uses puckInput String to place into an inner array element
-     * to simulate placing of "pucks" falling to bottom of column. Places X or O based on playerTurn modulus function.
+    /** Void method which resets row variable to 0 and places a puck for the player dictated by playerTurn
+     * in the lowest empty cell of a column, simulating "pucks" falling to bottom of column. Sets puckInput
+     * to X or O based on playerTurn modulus function.
      *
-     * @param column Variable stating which inner array is used to fill with puckInput String.
-     * @param playerTurn Variable dictating which player's "puck", represented by puckInput = "X" or "O", is placed in inner arrays.
+     * @param column Variable stating which column the puck is placed in.
+     * @param playerTurn Variable dictating which player's "puck", represented by puckInput = "X" or "O", is placed.
      */
     public void placePuck(int column, int playerTurn) {
 
@@ -67,129 +68,112 @@ public class Connect4Logic {
         else
             puckInput = "O";
 
-        //if column is full, do nothing
-        if (columnArray[column][5] != " ")
+        //place puck; if column is full, do nothing
+        int placedRow = gameState.play(column, Connect4BitBoard.playerIndex(playerTurn));
+        if (placedRow < 0)
             return;
 
-        //starting from bottom, while row is not empty, "point" to the next row above
-        while (columnArray[column][row] != " " && row < 6) {
-            row++;
+        row = placedRow;
+    }
+
+    /** Method used to check for "four in a row" win-condition of game for the player whose puck is held in
+     * puckInput. Only the lines through the top puck of targetColumn (the cell just filled when targetColumn
+     * is the column last played) are examined, vertically, horizontally and in both diagonal directions,
+     * using precomputed line masks of the bitboard. Sets puckCount to 4 (the geometry's connect length) if
+     * four in a row is found and 0 otherwise. A win, or a full board without one, is reported to the game's
+     * Connect4GameListener.
+     *
+     * @param targetColumn Column the last puck was placed in.
+     */
+    public void checkPucks(int targetColumn) {
+        int player = getPuckInputPlayer();
+        int topRow = gameBoard.height(targetColumn) - 1;
+
+        if (player != Connect4BitBoard.EMPTY && topRow >= 0 && gameBoard.isWinAt(player, targetColumn, topRow)) {
+            puckCount = gameBoard.getGeometry().getConnect();
+            gameState.getListener().gameWon(gameState, player);
         }
+        else {
+            puckCount = 0;
+            if (gameBoard.isFull())
+                gameState.getListener().gameDrawn(gameState);
+        }
+    }
 
-        //enter "X" or "O" in spot
-        columnArray[column][row] = puckInput;
+    /** Converts puckInput into the bitboard index of the player it names.
+     *
+     * @return PLAYER_X for "X", PLAYER_O for "O", EMPTY for anything else.
+     */
+    private int getPuckInputPlayer() {
+        if ("X".equals(puckInput))
+            return Connect4BitBoard.PLAYER_X;
+        else if ("O".equals(puckInput))
+            return Connect4BitBoard.PLAYER_O;
+        else
+            return Connect4BitBoard.EMPTY;
+    }
 
+    /** Method which returns the board as a columns x rows array of arrays of " ", "X" and "O", indexed [column][row].
+     * The array is only rebuilt from the bitboard when the board has changed since the last call.
+     *
+     * @return String view of the board. Callers should treat it as read-only.
+     */
+    public String[][] getColumnArray() {
+        return gameState.getColumnArray();
     }
 
-    /** Method used to check for "four in a row" win-condition of game. Iterates through inner arrays with appropriate bounds
-     * to find String inputs of same type (X's or O's) consecutively four times vertically, horizontally, or diagonally.
-     * Diagonal checks are used to check both right to left and left to right, both from "bottom" (index 0) to "top" (index 5)
-     * of inner arrays.
+    /** Method used to retrieve the state of the game this object plays on.
      *
-     * @param targetColumn Variable used in vertical-check as starting point from which to count down from (index of highest element in inner array
-     *                    to 0 or until non-matching String is found).
+     * @return game state holding the board, playerTurn and last move.
      */
-    public void checkPucks(int targetColumn) {
-        //check vertically for 4 in a row
-        //if it is possible for 3 more pucks to be below
-        if (row >= 3) {
-
-            //this doesn't count the placed puck, so 1 is added to account for the most recent puck placed
-            puckCount = 1;
-
-            for (int i = row - 1; i >= 0; i--) {
-                //check each puck below. if it matches, add to the count
-                if (columnArray[targetColumn][i] == puckInput && puckCount < 4) {
-                    puckCount++;
-                }
-
-                //if 4 in a row, stop searching
-                else if (puckCount == 4)
-                    break;
-
-                    //if puck count is not 4 and there are no more matches, reset the count and move on
-                else {
-                    puckCount = 0;
-                    break;
-                }
-            }
-        }
+    public Connect4GameState getGameState() {
+        return gameState;
+    }
 
-        //check horizontally for 4 in a row
-        //if 4 in a row haven't been found yet
-        if (puckCount != 4) {
-            //go through each column to check the same row
-            for (int i = 0; i < columnArray.length; i++) {
-                if (columnArray[i][row] == puckInput && puckCount < 4) {
-                    puckCount++;
-                }
-
-                //if 4 in a row, stop searching
-                else if (puckCount == 4)
-                    break;
-
-                    //if puck count is not 4 and there are no matches, reset the count and move on
-                else {
-                    puckCount = 0;
-                    break;
-                }
-            }
-        }
+    /** Method used to retrieve the geometry of the board.
+     *
+     * @return board dimensions and win length.
+     */
+    public Connect4Geometry getGeometry() {
+        return gameBoard.getGeometry();
+    }
 
-        //check diagonally, up and to the right
-        if (puckCount != 4) {
-
-            //check each diagonal-line
-            for (int i = 0; i <= 3; i++) {
-                for (int j = 0; j < 3; j++) {
-
-                    //if this element and the 3 diagonally up-right to it are equal to the last puck placed, set puckCount to 4
-                    if (columnArray[i][j] == puckInput && puckCount < 4) {
-                        if (columnArray[i + 1][j + 1] == puckInput && columnArray[i + 2][j + 2] == puckInput && columnArray[i + 3][j + 3] == puckInput)
-                            puckCount = 4;
-                    }
-
-                    //if 4 in a row, stop searching
-                    else if (puckCount == 4) {
-                        break;
-                    }
-
-                    //if puck count is not 4 and there are no matches, reset the count and check next line
-                    else {
-                        puckCount = 0;
-                        break;
-                    }
-                }
-            }
-        }
+    /** Checks whether the last checkPucks() found a winning line.
+     *
+     * @return true if puckCount equals the geometry's connect length.
+     */
+    public boolean hasWinner() {
+        return puckCount == gameBoard.getGeometry().getConnect();
+    }
 
-        //check diagonally, up and to the left
-        if (puckCount != 4) {
-
-            //check each diagonal-line
-            //iterate from bottom right of board
-            for (int i = (columnArray.length - 1); i >= 3; i--) {
-                for (int j = 0; j < 3; j++) {
-
-                    //if this element and the 3 diagonally up-right to it are equal to the last puck placed, set puckCount to 4
-                    if (columnArray[i][j] == puckInput && puckCount < 4) {
-                        if (columnArray[i - 1][j + 1] == puckInput && columnArray[i - 2][j + 2] == puckInput && columnArray[i - 3][j + 3] == puckInput)
-                            puckCount = 4;
-                    }
-
-                    //if 4 in a row, stop searching
-                    else if (puckCount == 4) {
-                        break;
-                    }
-
-                    //if puck count is not 4 and there are no matches, reset the count and check next line
-                    else {
-                        puckCount = 0;
-                        break;
-                    }
-                }
-            }
-        }
+    /** Method used to retrieve playerTurn value of the game.
+     *
+     * @return odd for Player X's turn, even for Player O's turn.
+     */
+    public int getPlayerTurn() {
+        return gameState.getPlayerTurn();
+    }
+
+    /** Void method which passes the turn to the other player. */
+    public void nextTurn() {
+        gameState.nextTurn();
+    }
+
+    /** Checks whether a column has no room left.
+     *
+     * @param column column index, 0-6 on the standard board.
+     * @return true if the column is full.
+     */
+    public boolean isColumnFull(int column) {
+        return !gameBoard.canPlay(column);
+    }
+
+    /** Returns how many columns have no room left. A value of 7 (the number of columns) means the game is a draw.
+     *
+     * @return number of full columns, 0-7 on the standard board.
+     */
+    public int fullColumnCount() {
+        return gameBoard.fullColumnCount();
     }
 
     /** Method used for testing to set puckInput variable to specified String value.
@@ -202,12 +186,7 @@ public class Connect4Logic {
 
     /** Method used for testing to set board slots to " " and set each variable to a default value. */
     public void resetBoard() {
-        for (int i = 0; i < columnArray.length; i++) {
-            for (int j = 0; j < columnArray[i].length; j++) {
-                columnArray[i][j] = " ";
-            }
-        }
-        playerTurn = 1;
+        gameState.reset();
         puckInput = "X";
         puckCount = 0;
         row = 0;
@@ -0,0 +1,306 @@
+/** Description: Bitboard for board geometries other than the standard one that still fit in one long per player:
+ * columns * (rows + 1) of at most 64 bits, e.g. 8x7 (64 bits) or 9x6 (63 bits). The layout is that of
+ * Connect4BitBoard with the sizes taken from the geometry: bit index = column * (rows + 1) + row, with an
+ * always-empty sentinel bit on top of each column so that shifted masks never wrap from one column into the
+ * next.
+ *
+ * The win checks are generated from the geometry when the board is created. isWin() ANDs each player mask with
+ * itself shifted connect - 1 times along each direction (1 bit for vertical, rows + 1 for horizontal, rows and
+ * rows + 2 for the diagonals); a direction whose line could not fit on the board is skipped. isWinAt() tests
+ * only the precomputed masks of the lines through the cell, as Connect4BitBoard does.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.Arrays;
+
+/** Class holding two long masks sized by a geometry and the methods used to place, remove and check pucks. */
+public final class Connect4LongBoard implements Connect4Board {
+
+    //------ Variables ------
+    /** Dimensions and win length. */
+    private final Connect4Geometry geometry;
+
+    /** Number of columns. */
+    private final int columns;
+
+    /** Number of bits per column: rows plus the sentinel. */
+    private final int columnHeight;
+
+    /** Number of pucks in a row needed to win. */
+    private final int connect;
+
+    /** Mask with the bottom cell of every column set. */
+    private final long bottomMask;
+
+    /** Mask with the top playable cell of every column set. */
+    private final long topRowMask;
+
+    /** Mask with every playable cell of column 0 set; shifted for the other columns. */
+    private final long firstColumnMask;
+
+    /** Bit steps of the directions with room for a winning line: vertical, horizontal and the diagonals. */
+    private final int[] lineSteps;
+
+    /** For each bit index, the masks of the winning lines that include that cell. */
+    private final long[][] linesThroughCell;
+
+    /** Puck masks indexed by PLAYER_X / PLAYER_O. */
+    private final long[] playerMasks = new long[2];
+
+    /** Mask of every occupied cell. */
+    private long occupied;
+
+    /** Number of pucks on the board. */
+    private int moveCount;
+
+    //------ Constructor ------
+
+    /** Constructor which creates an empty board and generates the win checks of a geometry.
+     *
+     * @param geometry board dimensions and win length.
+     * @throws IllegalArgumentException if the geometry does not fit in a long.
+     */
+    public Connect4LongBoard(Connect4Geometry geometry) throws IllegalArgumentException {
+        if (!geometry.fitsInLong())
+            throw new IllegalArgumentException("Board " + geometry + " does not fit in 64 bits.");
+
+        this.geometry = geometry;
+        this.columns = geometry.getColumns();
+        this.columnHeight = geometry.getRows() + 1;
+        this.connect = geometry.getConnect();
+
+        long bottom = 0L;
+        for (int column = 0; column < columns; column++)
+            bottom |= 1L << (column * columnHeight);
+        this.bottomMask = bottom;
+        this.topRowMask = bottom << (geometry.getRows() - 1);
+        this.firstColumnMask = (1L << geometry.getRows()) - 1;
+
+        //a line of connect pucks spans (connect - 1) steps; a span of 64 bits or more cannot be on the board
+        int[] steps = {1, columnHeight, columnHeight - 1, columnHeight + 1};
+        int stepCount = 0;
+        for (int step : steps) {
+            if ((long) step * (connect - 1) < Long.SIZE)
+                steps[stepCount++] = step;
+        }
+        this.lineSteps = Arrays.copyOf(steps, stepCount);
+        this.linesThroughCell = buildLinesThroughCell(geometry);
+    }
+
+    //------ Static Helpers ------
+
+    /** Builds the masks of every winning line of a geometry, grouped by the cells they include.
+     *
+     * @param geometry board dimensions and win length.
+     * @return for each bit index, the lines that include the cell (empty for sentinel bits).
+     */
+    private static long[][] buildLinesThroughCell(Connect4Geometry geometry) {
+        int columns = geometry.getColumns();
+        int rows = geometry.getRows();
+        int connect = geometry.getConnect();
+        int columnHeight = rows + 1;
+        //column and row steps of the four directions: vertical, horizontal, up-right, down-right
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        long[] lines = new long[columns * rows * directions.length];
+        int lineCount = 0;
+        for (int[] direction : directions) {
+            for (int column = 0; column < columns; column++) {
+                for (int row = 0; row < rows; row++) {
+                    int lastColumn = column + direction[0] * (connect - 1);
+                    int lastRow = row + direction[1] * (connect - 1);
+                    if (lastColumn >= columns || lastRow < 0 || lastRow >= rows)
+                        continue;
+
+                    long line = 0L;
+                    for (int i = 0; i < connect; i++)
+                        line |= 1L << ((column + direction[0] * i) * columnHeight + row + direction[1] * i);
+                    lines[lineCount++] = line;
+                }
+            }
+        }
+
+        long[][] byCell = new long[columns * columnHeight][];
+        long[] cellLines = new long[lineCount];
+        for (int cell = 0; cell < byCell.length; cell++) {
+            int count = 0;
+            for (int i = 0; i < lineCount; i++) {
+                if ((lines[i] & (1L << cell)) != 0)
+                    cellLines[count++] = lines[i];
+            }
+            byCell[cell] = Arrays.copyOf(cellLines, count);
+        }
+        return byCell;
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve the geometry of the board.
+     *
+     * @return board dimensions and win length.
+     */
+    @Override
+    public Connect4Geometry getGeometry() {
+        return geometry;
+    }
+
+    /** Checks whether a mask holds a winning line, shifting it along every direction with room for one.
+     *
+     * @param mask player mask.
+     * @return true if the mask holds connect pucks in a row.
+     */
+    public boolean hasConnect(long mask) {
+        for (int step : lineSteps) {
+            long run = mask;
+            for (int i = 1; i < connect && run != 0; i++)
+                run &= mask >>> (i * step);
+            if (run != 0)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean canPlay(int column) {
+        return (occupied & topRowMask & (firstColumnMask << (column * columnHeight))) == 0;
+    }
+
+    @Override
+    public int play(int column, int player) {
+        if (!canPlay(column))
+            return -1;
+
+        long columnMask = firstColumnMask << (column * columnHeight);
+        long cell = (occupied + (1L << (column * columnHeight))) & columnMask;
+        playerMasks[player] |= cell;
+        occupied |= cell;
+        moveCount++;
+        return Long.numberOfTrailingZeros(cell) - column * columnHeight;
+    }
+
+    @Override
+    public void undo(int column) {
+        long cell = Long.highestOneBit(occupied & (firstColumnMask << (column * columnHeight)));
+        playerMasks[Connect4BitBoard.PLAYER_X] &= ~cell;
+        playerMasks[Connect4BitBoard.PLAYER_O] &= ~cell;
+        occupied &= ~cell;
+        moveCount--;
+    }
+
+    @Override
+    public int height(int column) {
+        return Long.bitCount(occupied & (firstColumnMask << (column * columnHeight)));
+    }
+
+    @Override
+    public int getCell(int column, int row) {
+        long cell = 1L << (column * columnHeight + row);
+        if ((playerMasks[Connect4BitBoard.PLAYER_X] & cell) != 0)
+            return Connect4BitBoard.PLAYER_X;
+        if ((playerMasks[Connect4BitBoard.PLAYER_O] & cell) != 0)
+            return Connect4BitBoard.PLAYER_O;
+        return Connect4BitBoard.EMPTY;
+    }
+
+    @Override
+    public boolean isWinAt(int player, int column, int row) {
+        long mask = playerMasks[player];
+        for (long line : linesThroughCell[column * columnHeight + row]) {
+            if ((mask & line) == line)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isWin(int player) {
+        return hasConnect(playerMasks[player]);
+    }
+
+    @Override
+    public int fullColumnCount() {
+        return Long.bitCount(occupied & topRowMask);
+    }
+
+    @Override
+    public boolean isFull() {
+        return (occupied & topRowMask) == topRowMask;
+    }
+
+    @Override
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    @Override
+    public int getPlayerToMove() {
+        return moveCount & 1;
+    }
+
+    /** Returns the mask of one player's pucks.
+     *
+     * @param player PLAYER_X or PLAYER_O.
+     * @return player mask.
+     */
+    public long getPlayerMask(int player) {
+        return playerMasks[player];
+    }
+
+    /** Returns the mask of every occupied cell.
+     *
+     * @return occupied mask.
+     */
+    public long getOccupied() {
+        return occupied;
+    }
+
+    /** Returns a key uniquely identifying the position among boards of the same geometry, made like
+     * Connect4BitBoard.key(): a marker bit above the top puck of each column, with Player X's pucks below it.
+     * On a board using all 64 bits the key may be negative, but is never 0.
+     *
+     * @return position key.
+     */
+    public long key() {
+        return playerMasks[Connect4BitBoard.PLAYER_X] + occupied + bottomMask;
+    }
+
+    @Override
+    public void reset() {
+        playerMasks[Connect4BitBoard.PLAYER_X] = 0L;
+        playerMasks[Connect4BitBoard.PLAYER_O] = 0L;
+        occupied = 0L;
+        moveCount = 0;
+    }
+
+    /** Copies another board of the same geometry into this one without allocating.
+     *
+     * @param other board to copy from.
+     * @throws IllegalArgumentException if the other board has a different geometry.
+     */
+    public void copyFrom(Connect4LongBoard other) throws IllegalArgumentException {
+        if (!other.geometry.equals(geometry))
+            throw new IllegalArgumentException("Cannot copy a " + other.geometry + " board to a " + geometry
+                    + " board.");
+        playerMasks[Connect4BitBoard.PLAYER_X] = other.playerMasks[Connect4BitBoard.PLAYER_X];
+        playerMasks[Connect4BitBoard.PLAYER_O] = other.playerMasks[Connect4BitBoard.PLAYER_O];
+        occupied = other.occupied;
+        moveCount = other.moveCount;
+    }
+
+    @Override
+    public void fillColumnArray(String[][] columnArray) {
+        for (int i = 0; i < columns; i++) {
+            for (int j = 0; j < geometry.getRows(); j++) {
+                int owner = getCell(i, j);
+                if (owner == Connect4BitBoard.PLAYER_X)
+                    columnArray[i][j] = "X";
+                else if (owner == Connect4BitBoard.PLAYER_O)
+                    columnArray[i][j] = "O";
+                else
+                    columnArray[i][j] = " ";
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/** Description: Read-only memory mapping of a file of any size. A single MappedByteBuffer can map at most 2 GB,
+ * so the file is mapped as a series of 1 GB chunks, each overlapping the next by a few bytes so that any value
+ * or game record that starts in a chunk also ends in it. Only absolute reads are used, so one object can be read
+ * from any number of threads at once.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Class which features chunked read-only mapping of the files of Connect4GameArchive. */
+final class Connect4MappedFile {
+
+    //------ Constants ------
+    /** log2 of the chunk size. */
+    private static final int CHUNK_SHIFT = 30;
+
+    /** Bytes each chunk maps past the start of the next one; at least the largest value read. */
+    static final int OVERLAP_BYTES = 64;
+
+    //------ Variables ------
+    /** Mapped chunks; chunk i starts at file offset i << CHUNK_SHIFT. */
+    private final MappedByteBuffer[] chunks;
+
+    /** Number of bytes mapped. */
+    private final long size;
+
+    //------ Constructor ------
+
+    /** Constructor which maps the start of a file. Bytes appended to the file later are not seen.
+     *
+     * @param path file to map.
+     * @param size number of bytes to map from the start of the file; at most the file's size.
+     * @throws IOException if the file cannot be mapped.
+     */
+    Connect4MappedFile(Path path, long size) throws IOException {
+        this.size = size;
+        int chunkCount = (int) ((size + (1L << CHUNK_SHIFT) - 1) >>> CHUNK_SHIFT);
+        chunks = new MappedByteBuffer[chunkCount];
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int i = 0; i < chunkCount; i++) {
+                long start = (long) i << CHUNK_SHIFT;
+                long length = Math.min(size - start, (1L << CHUNK_SHIFT) + OVERLAP_BYTES);
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+        }
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve the chunk holding a file offset. Use with offset().
+     *
+     * @param position file offset below size().
+     * @return chunk holding at least OVERLAP_BYTES from position on, or up to the end of the mapping.
+     */
+    MappedByteBuffer chunk(long position) {
+        return chunks[(int) (position >>> CHUNK_SHIFT)];
+    }
+
+    /** Converts a file offset to an index into its chunk.
+     *
+     * @param position file offset.
+     * @return index into chunk(position).
+     */
+    static int offset(long position) {
+        return (int) (position & ((1L << CHUNK_SHIFT) - 1));
+    }
+
+    /** Reads a big-endian long.
+     *
+     * @param position file offset of its first byte.
+     * @return value read.
+     */
+    long getLong(long position) {
+        return chunk(position).getLong(offset(position));
+    }
+
+    /** Reads a big-endian int.
+     *
+     * @param position file offset of its first byte.
+     * @return value read.
+     */
+    int getInt(long position) {
+        return chunk(position).getInt(offset(position));
+    }
+
+    /** Method used to retrieve size value.
+     *
+     * @return number of bytes mapped.
+     */
+    long size() {
+        return size;
+    }
+}
@@ -0,0 +1,452 @@
+/** Description: Monte Carlo Tree Search (MCTS) for Connect4. Instead of scoring positions with a fixed-depth
+ * search, MCTS plays many fast random games ("playouts") from the position and grows a tree towards the moves
+ * whose playouts are won most often. Children are chosen with UCT (upper confidence bound applied to trees):
+ * a child's win rate plus an exploration bonus that shrinks the more often the child has been tried.
+ *
+ * Parallel mode is root-parallel: each worker grows its own independent tree from the same position on a
+ * ForkJoinPool, and the visit and win counts of the root's children are summed across trees at the end. Trees
+ * share nothing while searching, so playout throughput grows with the number of cores.
+ *
+ * Every tree is a set of preallocated primitive arrays (a node pool) indexed by node number, reused from one
+ * search to the next, and playouts run on a scratch Connect4BitBoard with a xorshift random number generator,
+ * so a search allocates nothing per playout. When a tree's pool is full it stops growing and keeps refining
+ * the statistics of the nodes it has.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+/** Class which features single-threaded and root-parallel MCTS searches with playout and wall-clock budgets.
+ * A Connect4MonteCarloSearch object must only run one search at a time.
+ */
+public class Connect4MonteCarloSearch {
+
+    //------ Constants ------
+    /** Exploration constant of UCT; larger values try less promising children more often. */
+    public static final double EXPLORATION = 1.41;
+
+    /** Number of playouts run between checks of the wall-clock deadline. */
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    //------ Variables ------
+    /** Independent trees, one per worker. */
+    private final Tree[] trees;
+
+    /** Pool running the trees in parallel, or null when there is only one tree. */
+    private final ForkJoinPool pool;
+
+    //------ Constructor ------
+
+    /** Constructor which allocates the node pools of every tree.
+     *
+     * @param threads number of independent trees searched in parallel, 1 or more.
+     * @param nodesPerTree node pool size of each tree, 8 or more.
+     * @param seed seed of the random number generators; tree i uses a seed derived from seed and i.
+     * @throws IllegalArgumentException if threads or nodesPerTree is too small.
+     */
+    public Connect4MonteCarloSearch(int threads, int nodesPerTree, long seed) throws IllegalArgumentException {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1.");
+        if (nodesPerTree < Connect4BitBoard.COLUMNS + 1)
+            throw new IllegalArgumentException("nodesPerTree must be at least 8.");
+
+        trees = new Tree[threads];
+        for (int i = 0; i < threads; i++)
+            trees[i] = new Tree(nodesPerTree, seed + i * 0x9E3779B97F4A7C15L);
+
+        pool = (threads > 1) ? new ForkJoinPool(threads) : null;
+    }
+
+    //------ Methods ------
+
+    /** Searches a position until the playout budget is used up, the deadline passes or stop() is called,
+     * whichever comes first.
+     * The best move is the root child with the most visits across all trees. The score is the expected result
+     * of the best move for the player to move, in thousandths: 1000 for a sure win, 0 for even, -1000 for a
+     * sure loss. Nodes counts playouts.
+     *
+     * @param position board to search; not modified.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O, whichever is to move.
+     * @param maxPlayouts total playouts across all trees, or 0 for no playout limit.
+     * @param maxMillis wall-clock budget in milliseconds, or 0 for no time limit.
+     * @return result of the search.
+     * @throws IllegalArgumentException if neither budget is given.
+     */
+    public Connect4SearchResult search(Connect4BitBoard position, int player, long maxPlayouts, long maxMillis)
+            throws IllegalArgumentException {
+        if (maxPlayouts <= 0 && maxMillis <= 0)
+            throw new IllegalArgumentException("A playout budget or a time budget is required.");
+
+        long startTime = System.nanoTime();
+        long deadline = (maxMillis > 0) ? startTime + maxMillis * 1_000_000L : Long.MAX_VALUE;
+        long playoutsPerTree = (maxPlayouts > 0) ? Math.max(1, maxPlayouts / trees.length) : Long.MAX_VALUE;
+
+        if (pool == null) {
+            trees[0].run(position, player, playoutsPerTree, deadline);
+        }
+        else {
+            List<Callable<Void>> tasks = new ArrayList<>(trees.length);
+            for (Tree tree : trees) {
+                tasks.add(() -> {
+                    tree.run(position, player, playoutsPerTree, deadline);
+                    return null;
+                });
+            }
+            pool.invokeAll(tasks);
+        }
+
+        //merge the root statistics of every tree
+        long[] visits = new long[Connect4BitBoard.COLUMNS];
+        double[] wins = new double[Connect4BitBoard.COLUMNS];
+        long playouts = 0;
+        for (Tree tree : trees) {
+            playouts += tree.playouts;
+            tree.addRootStatistics(visits, wins);
+        }
+
+        int bestMove = -1;
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            if (visits[column] > 0 && (bestMove < 0 || visits[column] > visits[bestMove]))
+                bestMove = column;
+        }
+
+        int score = 0;
+        if (bestMove >= 0)
+            score = (int) Math.round(2000.0 * wins[bestMove] / visits[bestMove]) - 1000;
+
+        return new Connect4SearchResult(bestMove, score, trees[0].principalVariationLength(), playouts,
+                System.nanoTime() - startTime, trees[0].principalVariation());
+    }
+
+    /** Asks a running search to return as soon as possible with the statistics gathered so far. Each tree still
+     * runs a few hundred playouts, so the move returned is legal. Also cuts short every later search until
+     * clearStop() is called. May be called from any thread.
+     */
+    public void stop() {
+        for (Tree tree : trees)
+            tree.stopRequested = true;
+    }
+
+    /** Void method which forgets any earlier stop(); see Connect4Search.clearStop(). */
+    public void clearStop() {
+        for (Tree tree : trees)
+            tree.stopRequested = false;
+    }
+
+    /** Void method which stops the worker threads of the parallel pool. The object cannot search afterwards. */
+    public void shutdown() {
+        if (pool != null)
+            pool.shutdown();
+    }
+
+    /** Method used to retrieve the number of independent trees.
+     *
+     * @return number of trees searched per call.
+     */
+    public int getThreads() {
+        return trees.length;
+    }
+
+    //------ Tree ------
+
+    /** One MCTS tree stored as parallel primitive arrays. Node 0 is the root; the children of a node are
+     * stored next to each other, starting at firstChild.
+     */
+    private static final class Tree {
+
+        //------ Variables ------
+        /** Parent of each node, -1 for the root. */
+        private final int[] parent;
+        /** Index of the first child of each node, -1 if the node has not been expanded. */
+        private final int[] firstChild;
+        /** Number of children of each node. */
+        private final byte[] childCount;
+        /** Column played to reach each node. */
+        private final byte[] move;
+        /** Player who played the move into each node. */
+        private final byte[] mover;
+        /** Result of the move into each node: 0 game goes on, 1 mover won, 2 board full (draw). */
+        private final byte[] terminal;
+        /** Number of playouts through each node. */
+        private final int[] visits;
+        /** Sum of playout results through each node from the mover's point of view: 1 win, 0.5 draw, 0 loss. */
+        private final double[] wins;
+
+        /** Number of nodes in use. */
+        private int nodeCount;
+
+        /** Scratch board used for selection and playouts. */
+        private final Connect4BitBoard board = new Connect4BitBoard();
+
+        /** State of the xorshift random number generator. */
+        private long rngState;
+
+        /** Number of playouts run by the last search. */
+        private long playouts;
+
+        /** Set by Connect4MonteCarloSearch.stop() from any thread to end the current search early. */
+        private volatile boolean stopRequested;
+
+        //------ Constructor ------
+
+        /** Constructor which allocates the node pool.
+         *
+         * @param capacity number of nodes the tree can hold.
+         * @param seed random number generator seed.
+         */
+        Tree(int capacity, long seed) {
+            parent = new int[capacity];
+            firstChild = new int[capacity];
+            childCount = new byte[capacity];
+            move = new byte[capacity];
+            mover = new byte[capacity];
+            terminal = new byte[capacity];
+            visits = new int[capacity];
+            wins = new double[capacity];
+            rngState = (seed == 0) ? 0x2545F4914F6CDD1DL : seed;
+        }
+
+        //------ Methods ------
+
+        /** Clears the tree and runs playouts until either budget is used up or the search is stopped.
+         *
+         * @param position root position.
+         * @param player player to move at the root.
+         * @param maxPlayouts playout budget.
+         * @param deadline System.nanoTime() value to stop at.
+         */
+        void run(Connect4BitBoard position, int player, long maxPlayouts, long deadline) {
+            nodeCount = 1;
+            parent[0] = -1;
+            firstChild[0] = -1;
+            childCount[0] = 0;
+            move[0] = -1;
+            mover[0] = (byte) (1 - player);
+            terminal[0] = position.isFull() ? (byte) 2 : 0;
+            visits[0] = 0;
+            wins[0] = 0;
+            playouts = 0;
+
+            while (playouts < maxPlayouts) {
+                if ((playouts % DEADLINE_CHECK_INTERVAL) == 0
+                        && (System.nanoTime() >= deadline || (playouts > 0 && stopRequested)))
+                    break;
+
+                board.copyFrom(position);
+                int node = select();
+                int winner = simulate(node);
+                backPropagate(node, winner);
+                playouts++;
+            }
+        }
+
+        /** Walks down from the root by UCT, playing moves on the scratch board, and expands the first node
+         * reached that has no children yet.
+         *
+         * @return node to run the playout from.
+         */
+        private int select() {
+            int node = 0;
+
+            while (terminal[node] == 0) {
+                if (firstChild[node] < 0) {
+                    //expand if the pool has room, then descend into one child
+                    if (!expand(node))
+                        return node;
+                    int child = firstChild[node] + randomInt(childCount[node]);
+                    board.play(move[child], mover[child]);
+                    return child;
+                }
+
+                node = bestChild(node);
+                board.play(move[node], mover[node]);
+            }
+            return node;
+        }
+
+        /** Creates a child for every legal move of a node, recording which children end the game.
+         *
+         * @param node node to expand; the scratch board holds its position.
+         * @return false if the pool did not have room.
+         */
+        private boolean expand(int node) {
+            if (nodeCount + Connect4BitBoard.COLUMNS > parent.length)
+                return false;
+
+            int player = 1 - mover[node];
+            int first = nodeCount;
+            for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+                if (!board.canPlay(column))
+                    continue;
+
+                int child = nodeCount++;
+                parent[child] = node;
+                firstChild[child] = -1;
+                childCount[child] = 0;
+                move[child] = (byte) column;
+                mover[child] = (byte) player;
+                visits[child] = 0;
+                wins[child] = 0;
+
+                int row = board.play(column, player);
+                if (board.isWinAt(player, column, row))
+                    terminal[child] = 1;
+                else if (board.isFull())
+                    terminal[child] = 2;
+                else
+                    terminal[child] = 0;
+                board.undo(column);
+            }
+
+            firstChild[node] = first;
+            childCount[node] = (byte) (nodeCount - first);
+            return true;
+        }
+
+        /** Picks the child with the highest UCT value. Unvisited children are picked first.
+         *
+         * @param node expanded node.
+         * @return child node.
+         */
+        private int bestChild(int node) {
+            double logVisits = Math.log(visits[node]);
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            int first = firstChild[node];
+            for (int child = first; child < first + childCount[node]; child++) {
+                if (visits[child] == 0)
+                    return child;
+
+                double value = wins[child] / visits[child] + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /** Plays random moves from a node's position until the game ends.
+         *
+         * @param node node whose position is on the scratch board.
+         * @return winning player, or -1 for a draw.
+         */
+        private int simulate(int node) {
+            if (terminal[node] == 1)
+                return mover[node];
+            if (terminal[node] == 2)
+                return -1;
+
+            int player = 1 - mover[node];
+            while (true) {
+                int column = randomInt(Connect4BitBoard.COLUMNS);
+                while (!board.canPlay(column))
+                    column = randomInt(Connect4BitBoard.COLUMNS);
+
+                int row = board.play(column, player);
+                if (board.isWinAt(player, column, row))
+                    return player;
+                if (board.isFull())
+                    return -1;
+                player = 1 - player;
+            }
+        }
+
+        /** Adds a playout result to every node from the playout node up to the root.
+         *
+         * @param node node the playout started from.
+         * @param winner winning player, or -1 for a draw.
+         */
+        private void backPropagate(int node, int winner) {
+            while (node >= 0) {
+                visits[node]++;
+                if (winner < 0)
+                    wins[node] += 0.5;
+                else if (winner == mover[node])
+                    wins[node] += 1.0;
+                node = parent[node];
+            }
+        }
+
+        /** Adds the visits and wins of the root's children to per-column totals.
+         *
+         * @param columnVisits visits per column.
+         * @param columnWins wins per column.
+         */
+        void addRootStatistics(long[] columnVisits, double[] columnWins) {
+            int first = firstChild[0];
+            if (first < 0)
+                return;
+            for (int child = first; child < first + childCount[0]; child++) {
+                columnVisits[move[child]] += visits[child];
+                columnWins[move[child]] += wins[child];
+            }
+        }
+
+        /** Follows the most visited child from the root down.
+         *
+         * @return columns of the most visited line.
+         */
+        int[] principalVariation() {
+            int[] line = new int[principalVariationLength()];
+            int node = 0;
+            for (int i = 0; i < line.length; i++) {
+                node = mostVisitedChild(node);
+                line[i] = move[node];
+            }
+            return line;
+        }
+
+        /** Counts the length of the most visited line from the root.
+         *
+         * @return number of moves in the line.
+         */
+        int principalVariationLength() {
+            int length = 0;
+            int node = 0;
+            while (firstChild[node] >= 0 && visits[node] > 0) {
+                int child = mostVisitedChild(node);
+                if (visits[child] == 0)
+                    break;
+                node = child;
+                length++;
+            }
+            return length;
+        }
+
+        /** Finds the child of a node with the most visits.
+         *
+         * @param node expanded node.
+         * @return child node.
+         */
+        private int mostVisitedChild(int node) {
+            int first = firstChild[node];
+            int best = first;
+            for (int child = first + 1; child < first + childCount[node]; child++) {
+                if (visits[child] > visits[best])
+                    best = child;
+            }
+            return best;
+        }
+
+        /** Returns a random integer from 0 (inclusive) to bound (exclusive) using xorshift64*.
+         *
+         * @param bound upper bound, 1-127.
+         * @return random integer.
+         */
+        private int randomInt(int bound) {
+            rngState ^= rngState >>> 12;
+            rngState ^= rngState << 25;
+            rngState ^= rngState >>> 27;
+            long random = rngState * 0x2545F4914F6CDD1DL;
+            return (int) (((random >>> 32) * bound) >>> 32);
+        }
+    }
+}
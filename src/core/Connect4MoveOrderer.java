@@ -0,0 +1,226 @@
+/** Description: Move ordering for Connect4Search. Alpha-beta pruning cuts off the most when the best move of a
+ * position is searched first, so every position's moves are scored before searching and tried best score
+ * first. From highest to lowest priority:
+ * <pre>
+ *  1. the transposition table's (or at the root, the previous depth's) best move
+ *  2. moves that make new threats: empty cells that would then complete four for the mover
+ *  3. killer moves: the two columns that last caused a cutoff at the same ply elsewhere in the tree
+ *  4. the history table: how often, weighted by depth, the same puck on the same cell caused a cutoff
+ *  5. centre first, as central pucks belong to more four-in-a-rows
+ * </pre>
+ * A move that fills the cell directly below one of the opponent's winning cells lets the opponent win there
+ * next, so it is searched last whatever else it scores.
+ *
+ * Immediate wins and forced blocks are not ordered here: Connect4Search handles them before generating moves.
+ * All state lives in arrays allocated once, so ordering allocates nothing during a search.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.Arrays;
+
+/** Class which features the per-ply move lists, killer moves and history table of one Connect4Search. Like
+ * the search, an object must only be used by one thread at a time.
+ */
+final class Connect4MoveOrderer {
+
+    //------ Constants ------
+    /** Score of the transposition table move; above any other move. */
+    private static final int TABLE_MOVE_SCORE = 1 << 30;
+
+    /** Score of each new threat a move makes. */
+    private static final int THREAT_SCORE = 1 << 24;
+
+    /** Score of the most recent killer move of a ply. */
+    private static final int FIRST_KILLER_SCORE = 1 << 22;
+
+    /** Score of the older killer move of a ply. */
+    private static final int SECOND_KILLER_SCORE = 1 << 21;
+
+    /** History scores are halved once any reaches this value, so they stay below the killer scores. */
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    /** Penalty of a move that gives the opponent a winning cell to play in; below any other move. */
+    private static final int UNSAFE_PENALTY = 1 << 29;
+
+    /** Bonus of each column for being central. */
+    private static final int[] CENTRE_BONUS = {0, 1, 2, 3, 2, 1, 0};
+
+    //------ Variables ------
+    /** Columns of each ply's moves, in the order they were generated until next() sorts them. */
+    private final int[][] moves = new int[Connect4Search.MAX_DEPTH + 1][Connect4BitBoard.COLUMNS];
+
+    /** Score of each entry of moves. */
+    private final int[][] scores = new int[Connect4Search.MAX_DEPTH + 1][Connect4BitBoard.COLUMNS];
+
+    /** Two most recent columns that caused a cutoff at each ply, most recent first, or -1. */
+    private final int[][] killers = new int[Connect4Search.MAX_DEPTH + 1][2];
+
+    /** Cutoff history of each player's puck on each bitboard cell. */
+    private final int[][] history = new int[2][Connect4BitBoard.COLUMNS * Connect4BitBoard.COLUMN_HEIGHT];
+
+    /** Centre bonus of each column, rotated by setOffset(). */
+    private final int[] columnBonus = CENTRE_BONUS.clone();
+
+    /** Column the unordered move order starts from; see setOffset(). */
+    private int offset;
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. */
+    Connect4MoveOrderer() {
+        for (int[] plyKillers : killers)
+            Arrays.fill(plyKillers, -1);
+    }
+
+    //------ Methods ------
+
+    /** Void method called at the start of every search, forgetting the killer moves and history of the last
+     * one, so that a search's move choice among equal scores does not depend on what was searched before.
+     * Iterative deepening keeps them from one depth to the next.
+     */
+    void newSearch() {
+        for (int[] plyKillers : killers)
+            Arrays.fill(plyKillers, -1);
+        for (int[] playerHistory : history)
+            Arrays.fill(playerHistory, 0);
+    }
+
+    /** Void method used to vary the move order between the threads of a Connect4ParallelSearch: the centre
+     * bonus is rotated by offset columns, and unordered moves start from column offset.
+     *
+     * @param offset column 0-6.
+     */
+    void setOffset(int offset) {
+        this.offset = offset;
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++)
+            columnBonus[(column + offset) % Connect4BitBoard.COLUMNS] = CENTRE_BONUS[column];
+    }
+
+    /** Scores the moves of a position into the ply's move list.
+     *
+     * @param board position to move in.
+     * @param player player to move.
+     * @param ply distance from the root, selecting the move list.
+     * @param tableMove column to search first, or -1 for none.
+     * @param candidates playable cells that may be moved to.
+     * @param opponentWins empty cells that would complete four for the opponent.
+     * @return number of moves generated.
+     */
+    int generate(Connect4BitBoard board, int player, int ply, int tableMove, long candidates, long opponentWins) {
+        int[] plyMoves = moves[ply];
+        int[] plyScores = scores[ply];
+        int[] plyKillers = killers[ply];
+        int[] playerHistory = history[player];
+        long ownMask = board.getPlayerMask(player);
+        long occupied = board.getOccupied();
+        long ownWins = Connect4BitBoard.winningCells(ownMask) & ~occupied;
+
+        int count = 0;
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            long cell = candidates & Connect4BitBoard.columnMask(column);
+            if (cell == 0)
+                continue;
+
+            int score;
+            if (column == tableMove)
+                score = TABLE_MOVE_SCORE;
+            else {
+                long newWins = Connect4BitBoard.winningCells(ownMask | cell) & ~(occupied | cell) & ~ownWins;
+                score = THREAT_SCORE * Long.bitCount(newWins)
+                        + playerHistory[Long.numberOfTrailingZeros(cell)] + columnBonus[column];
+                if (column == plyKillers[0])
+                    score += FIRST_KILLER_SCORE;
+                else if (column == plyKillers[1])
+                    score += SECOND_KILLER_SCORE;
+                if (((cell << 1) & opponentWins) != 0)
+                    score -= UNSAFE_PENALTY;
+            }
+            plyMoves[count] = column;
+            plyScores[count] = score;
+            count++;
+        }
+        return count;
+    }
+
+    /** Lists the moves of a position in a fixed order, without scoring them: the table move first, then left
+     * to right starting at the offset column. Used when move ordering is turned off.
+     *
+     * @param board position to move in.
+     * @param ply distance from the root, selecting the move list.
+     * @param tableMove column to search first, or -1 for none.
+     * @return number of moves generated.
+     */
+    int generateUnordered(Connect4BitBoard board, int ply, int tableMove) {
+        int[] plyMoves = moves[ply];
+        int[] plyScores = scores[ply];
+        int count = 0;
+        if (tableMove >= 0 && board.canPlay(tableMove)) {
+            plyMoves[count] = tableMove;
+            plyScores[count] = Connect4BitBoard.COLUMNS;
+            count++;
+        }
+        for (int index = 0; index < Connect4BitBoard.COLUMNS; index++) {
+            int column = index + offset;
+            if (column >= Connect4BitBoard.COLUMNS)
+                column -= Connect4BitBoard.COLUMNS;
+            if (column == tableMove || !board.canPlay(column))
+                continue;
+            //decreasing scores keep next() from reordering the list
+            plyMoves[count] = column;
+            plyScores[count] = Connect4BitBoard.COLUMNS - 1 - index;
+            count++;
+        }
+        return count;
+    }
+
+    /** Picks the best-scored move not yet returned. Sorting lazily, one selection step per move, costs
+     * nothing for the moves never reached after a cutoff.
+     *
+     * @param ply distance from the root, selecting the move list.
+     * @param index number of moves already returned for this list.
+     * @param count number of moves generated.
+     * @return column of the next move.
+     */
+    int next(int ply, int index, int count) {
+        int[] plyMoves = moves[ply];
+        int[] plyScores = scores[ply];
+        int best = index;
+        for (int i = index + 1; i < count; i++) {
+            if (plyScores[i] > plyScores[best])
+                best = i;
+        }
+
+        int column = plyMoves[best];
+        plyMoves[best] = plyMoves[index];
+        plyScores[best] = plyScores[index];
+        plyMoves[index] = column;
+        return column;
+    }
+
+    /** Void method which records a move that caused a beta cutoff, as a killer of its ply and in the history.
+     *
+     * @param player player who made the move.
+     * @param ply distance from the root.
+     * @param column column of the move.
+     * @param row row the puck landed in.
+     * @param depth plies that were left to search; deeper cutoffs count for more.
+     */
+    void recordCutoff(int player, int ply, int column, int row, int depth) {
+        int[] plyKillers = killers[ply];
+        if (plyKillers[0] != column) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = column;
+        }
+
+        int[] playerHistory = history[player];
+        int cell = Connect4BitBoard.cellIndex(column, row);
+        playerHistory[cell] += depth * depth;
+        if (playerHistory[cell] >= HISTORY_LIMIT) {
+            for (int i = 0; i < playerHistory.length; i++)
+                playerHistory[i] >>= 1;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/** Description: Read-only opening book of searched early-game positions, written by
+ * Connect4OpeningBookGenerator. The book file is memory-mapped with FileChannel.map and binary-searched in
+ * place, so a lookup reads a few entries straight from the mapped pages and copies nothing onto the heap.
+ * Books opened through open() are cached per file and shared by every game in the process; lookups only use
+ * absolute reads of the mapped buffer and are safe from any number of threads.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *  header, 16 bytes:  int MAGIC, int VERSION, int maxPly, int entryCount
+ *  entries, 12 bytes each, sorted by key:  long key, short score, byte move, byte depth
+ * </pre>
+ * The key is Connect4BitBoard.canonicalKey() of the position, so a position and its mirror image share one
+ * entry and the book holds about half as many entries as there are positions. The score is from the point of
+ * view of the player to move (see Connect4Search), the move is the best column 0-6 of the canonical side (the
+ * position whose key() is the canonical key) and the depth is how many plies were searched. find() accepts
+ * either side's key, and getMove(index, key) and findMove() mirror the move back when needed.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Class which features lookups of positions in a memory-mapped opening book file. */
+public class Connect4OpeningBook {
+
+    //------ Constants ------
+    /** First int of every book file ("C4OB"). */
+    public static final int MAGIC = 0x43344F42;
+    /** Version of the file layout. Version 1 books, keyed by Connect4BitBoard.key(), are no longer read. */
+    public static final int VERSION = 2;
+    /** Size of the file header in bytes. */
+    public static final int HEADER_BYTES = 16;
+    /** Size of one entry in bytes. */
+    public static final int ENTRY_BYTES = 12;
+
+    //------ Shared Books ------
+    /** Books already opened in this process, keyed by absolute file path. */
+    private static final Map<Path, Connect4OpeningBook> openBooks = new HashMap<>();
+
+    //------ Variables ------
+    /** Mapped contents of the book file. Only absolute reads are used, so the position is never changed. */
+    private final MappedByteBuffer buffer;
+
+    /** Deepest ply (number of pucks on the board) stored in the book. */
+    private final int maxPly;
+
+    /** Number of entries in the book. */
+    private final int entryCount;
+
+    //------ Constructor ------
+
+    /** Constructor which maps a book file and checks its header. Use open() to share books between games.
+     *
+     * @param path book file written by Connect4OpeningBookGenerator.
+     * @throws IOException if the file cannot be read or is not a valid book.
+     */
+    public Connect4OpeningBook(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE)
+                throw new IOException("Not an opening book: " + path);
+
+            //the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            throw new IOException("Not an opening book, or an unsupported version: " + path);
+
+        maxPly = buffer.getInt(8);
+        entryCount = buffer.getInt(12);
+        if (HEADER_BYTES + (long) entryCount * ENTRY_BYTES != buffer.capacity())
+            throw new IOException("Opening book is truncated: " + path);
+    }
+
+    //------ Static Helpers ------
+
+    /** Opens a book file, or returns the book already opened for that file in this process.
+     *
+     * @param path book file written by Connect4OpeningBookGenerator.
+     * @return shared book.
+     * @throws IOException if the file cannot be read or is not a valid book.
+     */
+    public static synchronized Connect4OpeningBook open(Path path) throws IOException {
+        Path absolutePath = path.toAbsolutePath().normalize();
+        Connect4OpeningBook book = openBooks.get(absolutePath);
+        if (book == null) {
+            book = new Connect4OpeningBook(absolutePath);
+            openBooks.put(absolutePath, book);
+        }
+        return book;
+    }
+
+    //------ Methods ------
+
+    /** Binary-searches the book for a position or its mirror image.
+     *
+     * @param key position key from Connect4BitBoard.key() or canonicalKey().
+     * @return entry index to pass to getMove()/getScore()/getDepth(), or -1 if the position is not in the book.
+     */
+    public int find(long key) {
+        key = Connect4BitBoard.canonicalKey(key);
+        int low = 0;
+        int high = entryCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleKey = buffer.getLong(HEADER_BYTES + middle * ENTRY_BYTES);
+
+            if (middleKey < key)
+                low = middle + 1;
+            else if (middleKey > key)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    /** Looks up the best move of a position.
+     *
+     * @param board position to look up.
+     * @return column 0-6, or -1 if the position is not in the book.
+     */
+    public int findMove(Connect4BitBoard board) {
+        if (board.getMoveCount() > maxPly)
+            return -1;
+
+        long key = board.key();
+        int index = find(key);
+        return (index < 0) ? -1 : getMove(index, key);
+    }
+
+    /** Method used to retrieve the best move of an entry, for the canonical side of the position.
+     *
+     * @param index entry index returned by find().
+     * @return column 0-6.
+     */
+    public int getMove(int index) {
+        return buffer.get(HEADER_BYTES + index * ENTRY_BYTES + 10);
+    }
+
+    /** Method used to retrieve the best move of an entry for the side of the position that was looked up.
+     *
+     * @param index entry index returned by find(key).
+     * @param key position key passed to find().
+     * @return column 0-6, mirrored if key is the mirror image of the stored position.
+     */
+    public int getMove(int index, long key) {
+        int move = getMove(index);
+        return (Connect4BitBoard.canonicalKey(key) == key) ? move : Connect4BitBoard.mirrorColumn(move);
+    }
+
+    /** Method used to retrieve the score of an entry.
+     *
+     * @param index entry index returned by find().
+     * @return score for the player to move.
+     */
+    public int getScore(int index) {
+        return buffer.getShort(HEADER_BYTES + index * ENTRY_BYTES + 8);
+    }
+
+    /** Method used to retrieve the search depth of an entry.
+     *
+     * @param index entry index returned by find().
+     * @return plies searched when the entry was generated.
+     */
+    public int getDepth(int index) {
+        return buffer.get(HEADER_BYTES + index * ENTRY_BYTES + 11) & 0xFF;
+    }
+
+    /** Method used to retrieve maxPly value.
+     *
+     * @return deepest number of pucks on the board of any stored position.
+     */
+    public int getMaxPly() {
+        return maxPly;
+    }
+
+    /** Method used to retrieve entryCount value.
+     *
+     * @return number of positions in the book.
+     */
+    public int size() {
+        return entryCount;
+    }
+}
@@ -0,0 +1,212 @@
+/** Description: Offline tool which writes an opening book for Connect4OpeningBook. Enumerates every position
+ * reachable in up to maxPly pucks, searches each one with Connect4Search on a pool of worker threads, and writes
+ * the results sorted by position key so the book can be binary-searched. A position and its mirror image are
+ * searched and stored once, under the canonical key. Positions in which the game is already over are left out,
+ * as there is no move to look up.
+ *
+ * The enumeration keeps a Connect4PositionSet of canonical keys per ply and only expands a position the first time
+ * it is reached, so its work and memory grow with the number of distinct positions (about 3.4 million canonical
+ * keys up to ply 11) rather than with the number of move sequences (over 10^9 by ply 11).
+ *
+ * Usage: java core.Connect4OpeningBookGenerator output-file [maxPly] [searchDepth] [threads]
+ * A searchDepth of 42 solves every position exactly but can take a very long time for small maxPly values.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/** Class which features the enumeration, search and file writing steps of building an opening book. */
+public class Connect4OpeningBookGenerator {
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. */
+    public Connect4OpeningBookGenerator() {
+    }
+
+    //------ Methods ------
+
+    /** Main method which generates a book file from command line arguments.
+     *
+     * @param args output file, then optional maxPly (default 8), searchDepth (default 12) and threads
+     *             (default: number of processors).
+     * @throws Exception if the book cannot be generated or written.
+     */
+    public static void main(String args[]) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: java core.Connect4OpeningBookGenerator output-file [maxPly] [searchDepth] [threads]");
+            return;
+        }
+
+        Path output = Paths.get(args[0]);
+        int maxPly = (args.length > 1) ? Integer.parseInt(args[1]) : 8;
+        int searchDepth = (args.length > 2) ? Integer.parseInt(args[2]) : 12;
+        int threads = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        long startTime = System.nanoTime();
+        int entries = new Connect4OpeningBookGenerator().generate(output, maxPly, searchDepth, threads);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        System.out.println("Wrote " + entries + " positions up to ply " + maxPly + " searched to depth "
+                + searchDepth + " in " + elapsedMillis + " ms to " + output);
+    }
+
+    /** Enumerates, searches and writes every position reachable in up to maxPly pucks.
+     *
+     * @param output file to write.
+     * @param maxPly deepest number of pucks on the board to include, 0-41.
+     * @param searchDepth plies searched for each position, 1-255.
+     * @param threads number of worker threads, 1 or more.
+     * @return number of positions written.
+     * @throws IOException if the file cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     * @throws IllegalArgumentException if an argument is out of range.
+     */
+    public int generate(Path output, int maxPly, int searchDepth, int threads)
+            throws IOException, InterruptedException, IllegalArgumentException {
+        if (maxPly < 0 || maxPly >= Connect4BitBoard.CELLS)
+            throw new IllegalArgumentException("maxPly must be 0-41.");
+        if (searchDepth < 1 || searchDepth > 255)
+            throw new IllegalArgumentException("searchDepth must be 1-255.");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1.");
+
+        long[] sortedKeys = positions(maxPly);
+        int uniqueCount = sortedKeys.length;
+
+        short[] scores = new short[uniqueCount];
+        byte[] moves = new byte[uniqueCount];
+        searchPositions(sortedKeys, uniqueCount, searchDepth, threads, scores, moves);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            out.writeInt(Connect4OpeningBook.MAGIC);
+            out.writeInt(Connect4OpeningBook.VERSION);
+            out.writeInt(maxPly);
+            out.writeInt(uniqueCount);
+            for (int i = 0; i < uniqueCount; i++) {
+                out.writeLong(sortedKeys[i]);
+                out.writeShort(scores[i]);
+                out.writeByte(moves[i]);
+                out.writeByte(searchDepth);
+            }
+        }
+
+        return uniqueCount;
+    }
+
+    /** Collects the canonical key of every position reachable in up to maxPly pucks where the game is not over,
+     * once each however many move orders or mirror images reach it.
+     *
+     * @param maxPly deepest number of pucks on the board to include, 0-41.
+     * @return the keys in ascending order.
+     * @throws IllegalArgumentException if maxPly is out of range.
+     */
+    public long[] positions(int maxPly) throws IllegalArgumentException {
+        if (maxPly < 0 || maxPly >= Connect4BitBoard.CELLS)
+            throw new IllegalArgumentException("maxPly must be 0-41.");
+
+        Connect4BitBoard board = new Connect4BitBoard();
+        Connect4PositionSet[] seen = new Connect4PositionSet[maxPly + 1];
+        for (int ply = 0; ply <= maxPly; ply++)
+            seen[ply] = new Connect4PositionSet(0);
+        seen[0].add(board.canonicalKey());
+        collectPositions(board, 0, maxPly, seen);
+
+        //a position's ply is its puck count, so the sets never share a key
+        long total = 0;
+        for (Connect4PositionSet set : seen)
+            total += set.size();
+        if (total > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Too many positions up to ply " + maxPly + ": " + total);
+        long[] sortedKeys = new long[(int) total];
+        int count = 0;
+        for (int ply = 0; ply <= maxPly; ply++) {
+            count = seen[ply].copyTo(sortedKeys, count);
+            seen[ply] = null;
+        }
+        Arrays.sort(sortedKeys);
+        return sortedKeys;
+    }
+
+    /** Recursively adds the canonical keys of the positions below a position that is not over to the sets of their
+     * plies, expanding only the positions not seen before and skipping those where the game is over.
+     *
+     * @param board position to start from; restored before returning.
+     * @param ply number of pucks on the board.
+     * @param maxPly deepest number of pucks on the board to include.
+     * @param seen canonical keys reached at each ply.
+     */
+    private void collectPositions(Connect4BitBoard board, int ply, int maxPly, Connect4PositionSet[] seen) {
+        if (ply == maxPly)
+            return;
+
+        int player = board.getPlayerToMove();
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            if (!board.canPlay(column))
+                continue;
+
+            int row = board.play(column, player);
+            if (!board.isWinAt(player, column, row) && seen[ply + 1].add(board.canonicalKey()))
+                collectPositions(board, ply + 1, maxPly, seen);
+            board.undo(column);
+        }
+    }
+
+    /** Searches every position in parallel, each worker taking an interleaved share of the keys with its
+     * own Connect4Search and transposition table.
+     *
+     * @param sortedKeys position keys to search.
+     * @param count number of keys used.
+     * @param searchDepth plies searched for each position.
+     * @param threads number of worker threads.
+     * @param scores filled with the score of each position.
+     * @param moves filled with the best move of each position.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     */
+    private void searchPositions(long[] sortedKeys, int count, int searchDepth, int threads,
+                                 short[] scores, byte[] moves) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int firstIndex = t;
+                workers.add(pool.submit(() -> {
+                    Connect4Search search = new Connect4Search(new Connect4TranspositionTable(16,
+                            Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+                    Connect4BitBoard board = new Connect4BitBoard();
+
+                    for (int i = firstIndex; i < count; i += threads) {
+                        board.setFromKey(sortedKeys[i]);
+                        Connect4SearchResult result = search.search(board, board.getPlayerToMove(), searchDepth);
+                        scores[i] = (short) result.getScore();
+                        moves[i] = (byte) result.getBestMove();
+                    }
+                }));
+            }
+
+            for (Future<?> worker : workers)
+                worker.get();
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Opening book search failed.", e.getCause());
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/** Description: Multi-threaded Connect4Search in the "Lazy SMP" style. A main search and a number of helper
+ * searches all search the same root position by iterative deepening, each on its own thread, and communicate
+ * only through one shared, lock-free Connect4TranspositionTable: whatever one thread has stored, the others
+ * find, so a position searched by one thread is rarely searched in full again by another. The helpers start
+ * their move order at a different column each, so that they fill different parts of the tree first rather
+ * than repeating the main search in lockstep. Helpers keep deepening until the main search is done, whose
+ * result is the one returned, unless a helper got deeper.
+ *
+ * There are no locks anywhere on the search path; the threads only meet when a search starts and ends.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/** Class which features a main search and helper searches sharing one transposition table. Like
+ * Connect4Search, an object must only be used by one thread at a time; stop() and getCurrentResult() may be
+ * called from any thread.
+ */
+public class Connect4ParallelSearch {
+
+    //------ Variables ------
+    /** Transposition table shared by every thread. */
+    private final Connect4TranspositionTable table;
+
+    /** Search run on the calling thread; its result is returned. */
+    private final Connect4Search mainSearch;
+
+    /** Searches run on the helper threads. */
+    private final Connect4Search[] helperSearches;
+
+    /** Threads running the helper searches, or null with no helpers. */
+    private final ExecutorService helperPool;
+
+    /** Total positions visited by every thread during the last search. */
+    private long nodes;
+
+    //------ Constructor ------
+
+    /** Constructor which creates the shared table and starts the helper threads.
+     *
+     * @param threads total number of searching threads, counting the caller's, 1 or more.
+     * @param hashSizeMb size of the shared transposition table in megabytes.
+     * @throws IllegalArgumentException if threads or hashSizeMb is less than 1.
+     */
+    public Connect4ParallelSearch(int threads, int hashSizeMb) throws IllegalArgumentException {
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1.");
+
+        table = new Connect4TranspositionTable(hashSizeMb, Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED,
+                true);
+        mainSearch = new Connect4Search(table);
+        helperSearches = new Connect4Search[threads - 1];
+        for (int i = 0; i < helperSearches.length; i++) {
+            helperSearches[i] = new Connect4Search(table);
+            helperSearches[i].setMoveOrderOffset(i + 1);
+        }
+        helperPool = (threads == 1) ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "connect4-search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    //------ Methods ------
+
+    /** Searches a position to a fixed depth with every thread, by iterative deepening so that stop() ends it with
+     * the deepest depth completed.
+     *
+     * @param position board to search; not modified, and must not be modified until the search returns.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O, whichever is to move.
+     * @param depth number of plies to search, 1 or more.
+     * @return result of the search, with nodes counted over every thread.
+     * @throws IllegalArgumentException if depth is less than 1.
+     */
+    public Connect4SearchResult search(Connect4BitBoard position, int player, int depth)
+            throws IllegalArgumentException {
+        return searchIterative(position, player, depth, 0);
+    }
+
+    /** Searches a position by iterative deepening with every thread, until the main search reaches maxDepth,
+     * the time budget runs out or stop() is called. See Connect4Search.searchIterative().
+     *
+     * @param position board to search; not modified, and must not be modified until the search returns.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O, whichever is to move.
+     * @param maxDepth deepest number of plies to search, 1 or more.
+     * @param timeLimitMillis time budget in milliseconds, or 0 for no limit.
+     * @return result of the deepest depth completed by any thread, with nodes counted over every thread.
+     * @throws IllegalArgumentException if maxDepth is less than 1 or timeLimitMillis is negative.
+     */
+    public Connect4SearchResult searchIterative(Connect4BitBoard position, int player, int maxDepth,
+                                                long timeLimitMillis) throws IllegalArgumentException {
+        if (maxDepth < 1)
+            throw new IllegalArgumentException("Search depth must be at least 1.");
+        if (timeLimitMillis < 0)
+            throw new IllegalArgumentException("Time limit must not be negative.");
+
+        long startTime = System.nanoTime();
+        table.newSearch();
+        //the helpers were stopped by the last search; a stop() of this one ends the main search, then them
+        List<Future<Connect4SearchResult>> helpers = new ArrayList<>();
+        for (Connect4Search helper : helperSearches) {
+            helper.clearStop();
+            helpers.add(helperPool.submit(() -> helper.searchIterative(position, player, maxDepth,
+                    timeLimitMillis)));
+        }
+
+        Connect4SearchResult best = null;
+        try {
+            best = mainSearch.searchIterative(position, player, maxDepth, timeLimitMillis);
+        }
+        finally {
+            //helpers never finish a depth the main search needs, so stop them as soon as it is done
+            for (Connect4Search helper : helperSearches)
+                helper.stop();
+            nodes = mainSearch.getNodes();
+            for (int i = 0; i < helpers.size(); i++) {
+                Connect4SearchResult helperResult = awaitHelper(helpers.get(i));
+                nodes += helperSearches[i].getNodes();
+                if (best != null && helperResult != null && helperResult.getDepth() > best.getDepth())
+                    best = helperResult;
+            }
+        }
+
+        return new Connect4SearchResult(best.getBestMove(), best.getScore(), best.getDepth(), nodes,
+                System.nanoTime() - startTime, best.getPrincipalVariation());
+    }
+
+    /** Waits for a helper search to return.
+     *
+     * @param helper helper's task.
+     * @return helper's deepest completed result.
+     */
+    private static Connect4SearchResult awaitHelper(Future<Connect4SearchResult> helper) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return helper.get();
+                }
+                catch (InterruptedException e) {
+                    //the helper has been told to stop and will return shortly
+                    interrupted = true;
+                }
+            }
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Helper search failed.", e.getCause());
+        }
+        finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Void method used to set how every thread scores positions at the depth limit. Must not be called while
+     * a search runs.
+     *
+     * @param evaluator evaluator of positions at the depth limit, or null to score them 0.
+     */
+    public void setEvaluator(Connect4Evaluator evaluator) {
+        mainSearch.setEvaluator(evaluator);
+        for (Connect4Search helper : helperSearches)
+            helper.setEvaluator(evaluator);
+    }
+
+    /** Asks a running search to return as soon as possible with its deepest completed depth. Also cuts short
+     * every later search until clearStop() is called. May be called from any thread.
+     */
+    public void stop() {
+        mainSearch.stop();
+        for (Connect4Search helper : helperSearches)
+            helper.stop();
+    }
+
+    /** Void method which forgets any earlier stop(); see Connect4Search.clearStop(). */
+    public void clearStop() {
+        mainSearch.clearStop();
+        for (Connect4Search helper : helperSearches)
+            helper.clearStop();
+    }
+
+    /** Method used to poll the best result found so far by the main search. Safe to call from any thread.
+     *
+     * @return result of the deepest depth the main search has completed, or null if none yet.
+     */
+    public Connect4SearchResult getCurrentResult() {
+        return mainSearch.getCurrentResult();
+    }
+
+    /** Method used to retrieve the number of searching threads.
+     *
+     * @return threads, counting the caller's.
+     */
+    public int getThreads() {
+        return helperSearches.length + 1;
+    }
+
+    /** Method used to retrieve the shared transposition table.
+     *
+     * @return table shared by every thread.
+     */
+    public Connect4TranspositionTable getTable() {
+        return table;
+    }
+
+    /** Method used to retrieve the number of positions visited by the last search.
+     *
+     * @return nodes visited by every thread together.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /** Void method which stops the helper threads. The object must not be used afterwards. */
+    public void shutdown() {
+        if (helperPool != null)
+            helperPool.shutdown();
+    }
+}
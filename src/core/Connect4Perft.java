@@ -0,0 +1,307 @@
+/** Description: Perft ("performance test") enumeration of the game tree. Counts every legal move sequence from the
+ * empty board to a depth, ply by ply, where a game stops at a win or a full board. The counts on the standard board
+ * are known (1, 7, 49, 343, 2401, 16807, 117649, 823536, ...), so a mismatch means the board generates or detects
+ * moves wrongly, and the nodes per second of a run measure the raw speed of the board representation.
+ *
+ * Three modes:
+ * <pre>
+ *  perft(depth)              move sequences, single-threaded
+ *  perftParallel(depth, T)   move sequences on a fork-join pool of T threads, split at the root and at ply 1
+ *  distinct(depth)           distinct positions: every position reached is added to a Connect4PositionSet of
+ *                            its ply, and a position already in the set is not expanded again
+ * </pre>
+ * On the standard board the distinct counts are 1, 7, 49, 238, 1120, 4263, 16422, 54859, 184275, ... Distinct
+ * counting needs a position key, so it only works on geometries whose board fits in a long.
+ *
+ * The enumeration plays and undoes moves on a Connect4Board of the geometry, the same board Connect4Logic plays
+ * on, rather than through Connect4Logic itself, which cannot take a move back.
+ *
+ * Usage: java core.Connect4Perft [-depth N] [-parallel [T]] [-distinct] [GEOMETRY]
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/** Class which features the serial, parallel and distinct enumerations and the command line. */
+public class Connect4Perft {
+
+    //------ Constants ------
+    /** Number of plies the parallel mode splits into separate tasks: the root's moves, then each of their replies. */
+    public static final int SPLIT_PLIES = 2;
+
+    //------ Variables ------
+    /** Board dimensions and win length. */
+    private final Connect4Geometry geometry;
+
+    /** Board the serial enumerations play on. */
+    private final Connect4Board board;
+
+    //------ Parallel Task ------
+    /** Fork-join task counting the subtree below a sequence of moves. Above SPLIT_PLIES it forks one task per
+     * legal move; at SPLIT_PLIES it counts its subtree serially on a board of its own.
+     */
+    private final class PerftTask extends RecursiveTask<long[]> {
+        /** Version of the serialized form, which tasks never use but RecursiveTask requires. */
+        private static final long serialVersionUID = 1L;
+        /** Columns played from the empty board to the task's position. */
+        private final int[] moves;
+        /** Deepest ply counted. */
+        private final int depth;
+
+        /** Constructor which creates the task of a position.
+         *
+         * @param moves columns played from the empty board.
+         * @param depth deepest ply counted.
+         */
+        PerftTask(int[] moves, int depth) {
+            this.moves = moves;
+            this.depth = depth;
+        }
+
+        /** Replays the moves on a new board and counts the subtree below them.
+         *
+         * @return number of move sequences at each ply 0..depth.
+         */
+        @Override
+        protected long[] compute() {
+            Connect4Board taskBoard = Connect4Board.create(geometry);
+            boolean won = false;
+            for (int column : moves) {
+                int player = taskBoard.getPlayerToMove();
+                won = taskBoard.isWinAt(player, column, taskBoard.play(column, player));
+            }
+
+            long[] counts = new long[depth + 1];
+            int ply = moves.length;
+            if (won || ply == depth) {
+                counts[ply]++;
+                return counts;
+            }
+            if (ply >= SPLIT_PLIES) {
+                count(taskBoard, ply, depth, counts);
+                return counts;
+            }
+
+            counts[ply]++;
+            List<PerftTask> children = new ArrayList<>();
+            for (int column = 0; column < geometry.getColumns(); column++) {
+                if (taskBoard.canPlay(column)) {
+                    int[] childMoves = Arrays.copyOf(moves, ply + 1);
+                    childMoves[ply] = column;
+                    children.add(new PerftTask(childMoves, depth));
+                }
+            }
+            for (PerftTask child : invokeAll(children)) {
+                long[] childCounts = child.join();
+                for (int i = 0; i <= depth; i++)
+                    counts[i] += childCounts[i];
+            }
+            return counts;
+        }
+    }
+
+    //------ Constructor ------
+
+    /** Constructor which creates a perft tool for a board geometry.
+     *
+     * @param geometry board dimensions and win length.
+     */
+    public Connect4Perft(Connect4Geometry geometry) {
+        this.geometry = geometry;
+        this.board = Connect4Board.create(geometry);
+    }
+
+    //------ Methods ------
+
+    /** Checks that a depth can be reached on the board.
+     *
+     * @param depth deepest ply counted.
+     * @throws IllegalArgumentException if the depth is negative or beyond a full board.
+     */
+    private void checkDepth(int depth) throws IllegalArgumentException {
+        if (depth < 0 || depth > geometry.getCells())
+            throw new IllegalArgumentException("Depth must be 0-" + geometry.getCells() + ": " + depth);
+    }
+
+    /** Counts every legal move sequence up to a depth.
+     *
+     * @param depth deepest ply counted, 0 to the number of cells.
+     * @return number of move sequences ending at each ply 0..depth, i.e. nodes of the game tree at that ply.
+     * @throws IllegalArgumentException if the depth is out of range.
+     */
+    public long[] perft(int depth) throws IllegalArgumentException {
+        checkDepth(depth);
+        board.reset();
+        long[] counts = new long[depth + 1];
+        count(board, 0, depth, counts);
+        return counts;
+    }
+
+    /** Counts every legal move sequence up to a depth on a fork-join pool. Gives the same counts as perft().
+     *
+     * @param depth deepest ply counted, 0 to the number of cells.
+     * @param threads number of worker threads, 1 or more.
+     * @return number of move sequences ending at each ply 0..depth.
+     * @throws IllegalArgumentException if the depth is out of range or threads is below 1.
+     */
+    public long[] perftParallel(int depth, int threads) throws IllegalArgumentException {
+        checkDepth(depth);
+        if (threads < 1)
+            throw new IllegalArgumentException("Threads must be 1 or more: " + threads);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new PerftTask(new int[0], depth));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /** Counts the distinct positions reached at each ply up to a depth.
+     *
+     * @param depth deepest ply counted, 0 to the number of cells.
+     * @return number of distinct positions at each ply 0..depth.
+     * @throws IllegalArgumentException if the depth is out of range or the board does not fit in a long.
+     */
+    public long[] distinct(int depth) throws IllegalArgumentException {
+        checkDepth(depth);
+        if (!geometry.fitsInLong())
+            throw new IllegalArgumentException("Distinct positions need a board that fits in a long: " + geometry);
+        board.reset();
+        Connect4PositionSet[] seen = new Connect4PositionSet[depth + 1];
+        for (int ply = 0; ply <= depth; ply++)
+            seen[ply] = new Connect4PositionSet(0);
+        seen[0].add(key(board));
+        countDistinct(0, depth, seen);
+
+        long[] counts = new long[depth + 1];
+        for (int ply = 0; ply <= depth; ply++)
+            counts[ply] = seen[ply].size();
+        return counts;
+    }
+
+    /** Counts the move sequences below a position that is not won. At the last ply but one, the legal moves
+     * are counted without being played.
+     *
+     * @param position board holding the position; left as it was.
+     * @param ply number of pucks on the board.
+     * @param depth deepest ply counted.
+     * @param counts number of sequences at each ply, added to.
+     */
+    private void count(Connect4Board position, int ply, int depth, long[] counts) {
+        counts[ply]++;
+        if (ply == depth)
+            return;
+
+        int columns = geometry.getColumns();
+        if (ply + 1 == depth) {
+            for (int column = 0; column < columns; column++) {
+                if (position.canPlay(column))
+                    counts[depth]++;
+            }
+            return;
+        }
+
+        int player = position.getPlayerToMove();
+        for (int column = 0; column < columns; column++) {
+            if (!position.canPlay(column))
+                continue;
+            int row = position.play(column, player);
+            if (position.isWinAt(player, column, row))
+                counts[ply + 1]++;
+            else
+                count(position, ply + 1, depth, counts);
+            position.undo(column);
+        }
+    }
+
+    /** Adds the positions below a position that is not won to the sets of their plies, expanding only the
+     * ones not seen before.
+     *
+     * @param ply number of pucks on the board.
+     * @param depth deepest ply counted.
+     * @param seen positions reached at each ply.
+     */
+    private void countDistinct(int ply, int depth, Connect4PositionSet[] seen) {
+        if (ply == depth)
+            return;
+
+        int player = board.getPlayerToMove();
+        for (int column = 0; column < geometry.getColumns(); column++) {
+            if (!board.canPlay(column))
+                continue;
+            int row = board.play(column, player);
+            if (seen[ply + 1].add(key(board)) && !board.isWinAt(player, column, row))
+                countDistinct(ply + 1, depth, seen);
+            board.undo(column);
+        }
+    }
+
+    /** Key of a position on a board that fits in a long.
+     *
+     * @param position Connect4BitBoard or Connect4LongBoard.
+     * @return position key, never 0.
+     */
+    private static long key(Connect4Board position) {
+        if (position instanceof Connect4BitBoard)
+            return ((Connect4BitBoard) position).key();
+        return ((Connect4LongBoard) position).key();
+    }
+
+    //------ Main ------
+
+    /** Runs an enumeration and prints the count of each ply and the nodes per second.
+     *
+     * @param args [-depth N] [-parallel [T]] [-distinct] [GEOMETRY], e.g. "-depth 9 -parallel 8x7x4".
+     */
+    public static void main(String args[]) {
+        int depth = 8;
+        int threads = 0;
+        boolean distinct = false;
+        Connect4Geometry geometry = Connect4Geometry.STANDARD;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-depth": depth = Integer.parseInt(args[++i]); break;
+                    case "-parallel":
+                        threads = Runtime.getRuntime().availableProcessors();
+                        if (i + 1 < args.length && args[i + 1].matches("\\d+"))
+                            threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "-distinct": distinct = true; break;
+                    default: geometry = Connect4Geometry.parse(args[i]); break;
+                }
+            }
+            if (distinct && threads > 0)
+                throw new IllegalArgumentException("-distinct is single-threaded and cannot be used with -parallel");
+
+            Connect4Perft perft = new Connect4Perft(geometry);
+            long start = System.nanoTime();
+            long[] counts = distinct ? perft.distinct(depth)
+                    : (threads > 0) ? perft.perftParallel(depth, threads) : perft.perft(depth);
+            long elapsed = System.nanoTime() - start;
+
+            long nodes = 0;
+            System.out.println(String.format("%4s %16s", "ply", distinct ? "positions" : "sequences"));
+            for (int ply = 0; ply < counts.length; ply++) {
+                System.out.println(String.format("%4d %16d", ply, counts[ply]));
+                nodes += counts[ply];
+            }
+            System.out.println(String.format("%s %s to depth %d%s: %d nodes in %.3f s, %.0f nodes/s", geometry,
+                    distinct ? "distinct" : "perft", depth, (threads > 0) ? " on " + threads + " threads" : "",
+                    nodes, elapsed / 1e9, nodes / (elapsed / 1e9)));
+        }
+        catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.out.println(e.getMessage());
+            System.out.println("Usage: java core.Connect4Perft [-depth N] [-parallel [T]] [-distinct] [GEOMETRY]");
+        }
+    }
+}
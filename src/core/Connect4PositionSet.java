@@ -0,0 +1,155 @@
+/** Description: Set of position keys held in one long[] with open addressing and linear probing, so adding a key
+ * allocates nothing and a million keys take 16 MB at most instead of the ~70 MB a HashSet of Long would. Keys are
+ * placed by the high bits of the key times a Fibonacci constant, like Connect4TranspositionTable slots, and the
+ * array doubles whenever it becomes half full.
+ *
+ * 0 marks an empty slot, which is safe for Connect4BitBoard.key() and Connect4LongBoard.key() as neither is ever 0.
+ * Not thread-safe.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.Arrays;
+
+/** Class which features adding keys to and counting the keys of a primitive hash set. */
+final class Connect4PositionSet {
+
+    //------ Constants ------
+    /** Smallest number of slots. */
+    private static final int MIN_CAPACITY = 1 << 10;
+
+    /** Most slots; the array may not grow past the largest power of two an int index can reach. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    //------ Variables ------
+    /** Slots, 0 for empty. The length is a power of two. */
+    private long[] keys;
+
+    /** Number of keys held. */
+    private int size;
+
+    /** Number of bits taken from the hash to index the slots: log2(keys.length). */
+    private int indexBits;
+
+    //------ Constructor ------
+
+    /** Constructor which creates an empty set sized for a number of keys without growing.
+     *
+     * @param expectedKeys number of keys expected; the set grows past it if needed.
+     */
+    Connect4PositionSet(int expectedKeys) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity / 2 < expectedKeys)
+            capacity <<= 1;
+        allocate(capacity);
+    }
+
+    //------ Methods ------
+
+    /** Replaces the slots with an empty array of a given size.
+     *
+     * @param capacity number of slots, a power of two.
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        indexBits = Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /** Slot a key is looked for first.
+     *
+     * @param key position key.
+     * @return slot index.
+     */
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - indexBits));
+    }
+
+    /** Adds a key unless it is already held.
+     *
+     * @param key position key, not 0.
+     * @return true if the key was added, false if it was already in the set.
+     * @throws IllegalStateException if the set is full at its largest size.
+     */
+    boolean add(long key) throws IllegalStateException {
+        int mask = keys.length - 1;
+        int index = slot(key);
+        long held;
+        while ((held = keys[index]) != 0) {
+            if (held == key)
+                return false;
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        size++;
+        if (size * 2 > keys.length)
+            grow();
+        return true;
+    }
+
+    /** Checks whether a key is held.
+     *
+     * @param key position key, not 0.
+     * @return true if the key is in the set.
+     */
+    boolean contains(long key) {
+        int mask = keys.length - 1;
+        int index = slot(key);
+        long held;
+        while ((held = keys[index]) != 0) {
+            if (held == key)
+                return true;
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /** Doubles the number of slots and re-adds every key.
+     *
+     * @throws IllegalStateException if the set is already at its largest size.
+     */
+    private void grow() throws IllegalStateException {
+        if (keys.length >= MAX_CAPACITY)
+            throw new IllegalStateException("Position set is full at " + size + " keys.");
+        long[] old = keys;
+        allocate(old.length * 2);
+        int mask = keys.length - 1;
+        for (long key : old) {
+            if (key == 0)
+                continue;
+            int index = slot(key);
+            while (keys[index] != 0)
+                index = (index + 1) & mask;
+            keys[index] = key;
+        }
+    }
+
+    /** Method used to retrieve size value.
+     *
+     * @return number of keys held.
+     */
+    int size() {
+        return size;
+    }
+
+    /** Copies every key held into an array, in slot order.
+     *
+     * @param target array receiving the keys.
+     * @param offset index of target the first key is copied to.
+     * @return index after the last key copied.
+     */
+    int copyTo(long[] target, int offset) {
+        for (long key : keys) {
+            if (key != 0)
+                target[offset++] = key;
+        }
+        return offset;
+    }
+
+    /** Void method which removes every key, keeping the slots allocated. */
+    void clear() {
+        Arrays.fill(keys, 0L);
+        size = 0;
+    }
+}
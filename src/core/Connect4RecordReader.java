@@ -0,0 +1,268 @@
+/** Description: Reads the game records of a file written by Connect4RecordWriter, one after another, into a
+ * reused Connect4GameRecord. The file is read through one direct buffer, refilled from the file channel as it
+ * empties, so scanning allocates nothing per record. See Connect4RecordWriter for the file layout.
+ *
+ * A file whose writer stopped part-way through a record (for example in a crash) ends in a partial record;
+ * next() reports the end of the file there, and getPosition() and hasTrailingBytes() tell where the complete
+ * records end.
+ *
+ * Usage: java core.Connect4RecordReader record-file   (scans the file, replays every game and prints a summary)
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/** Class which features buffered sequential reading of game records from a file. Not thread-safe. */
+public class Connect4RecordReader implements Closeable {
+
+    //------ Constants ------
+    /** Size of the input buffer in bytes. */
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    /** Returned by readVarint() when the varint runs past the end of the bytes available. */
+    private static final long VARINT_PARTIAL = -1;
+
+    /** Returned by readVarint() when the varint cannot be decoded. */
+    private static final long VARINT_CORRUPT = -2;
+
+    //------ Variables ------
+    /** File being read. */
+    private final FileChannel channel;
+
+    /** Bytes read from the file but not yet decoded. */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /** Whether the channel has been read to its end. */
+    private boolean endOfFile;
+
+    /** File offset of the next record to decode. */
+    private long position;
+
+    //------ Constructor ------
+
+    /** Constructor which opens a record file and checks its header.
+     *
+     * @param path file to read.
+     * @throws IOException if the file cannot be opened or is not a game record file.
+     */
+    public Connect4RecordReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            Connect4RecordWriter.checkHeader(channel, path);
+            seek(Connect4RecordWriter.HEADER_BYTES);
+        }
+        catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    //------ Main ------
+
+    /** Main method which scans a record file, replays every game and prints how many games each side won.
+     *
+     * @param args record file.
+     * @throws IOException if the file cannot be read.
+     */
+    public static void main(String args[]) throws IOException {
+        if (args.length != 1) {
+            System.out.println("Usage: java core.Connect4RecordReader record-file");
+            return;
+        }
+
+        long[] results = new long[4];
+        long moves = 0;
+        long startTime = System.nanoTime();
+        Connect4GameRecord record = new Connect4GameRecord();
+        Connect4Logic logic = new Connect4Logic();
+
+        try (Connect4RecordReader reader = new Connect4RecordReader(Paths.get(args[0]))) {
+            while (reader.next(record)) {
+                record.replay(logic);
+                results[record.getResult()]++;
+                moves += record.getMoveCount();
+            }
+
+            long games = results[0] + results[1] + results[2] + results[3];
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+            System.out.println(String.format("%d games, %d moves in %.2f s (%.0f games/s)", games, moves, seconds,
+                    games / seconds));
+            System.out.println("X wins " + results[Connect4GameRecord.RESULT_X_WINS] + ", O wins "
+                    + results[Connect4GameRecord.RESULT_O_WINS] + ", draws " + results[Connect4GameRecord.RESULT_DRAW]
+                    + ", unfinished " + results[Connect4GameRecord.RESULT_UNFINISHED]);
+            if (reader.hasTrailingBytes())
+                System.out.println("Partial record after offset " + reader.getPosition() + " ignored.");
+        }
+    }
+
+    //------ Methods ------
+
+    /** Reads the next record.
+     *
+     * @param record record to fill; its previous contents are replaced.
+     * @return true if a record was read, false at the end of the file or at a partial last record.
+     * @throws IOException if the file cannot be read or holds a record that cannot be decoded.
+     */
+    public boolean next(Connect4GameRecord record) throws IOException {
+        if (buffer.remaining() < Connect4RecordWriter.MAX_RECORD_BYTES && !endOfFile)
+            fill();
+        if (!buffer.hasRemaining())
+            return false;
+
+        int length = decode(buffer, buffer.position(), buffer.limit(), record, position);
+        if (length < 0)
+            return false;
+
+        buffer.position(buffer.position() + length);
+        position += length;
+        return true;
+    }
+
+    /** Decodes one record using absolute reads only, so that a buffer shared between threads (such as a mapped
+     * file) can be decoded from by any number of them at once.
+     *
+     * @param buffer bytes holding the record.
+     * @param offset buffer index of the record's first byte.
+     * @param limit buffer index just past the last byte that may be read.
+     * @param record record to fill; left unchanged when -1 is returned.
+     * @param fileOffset file offset of the record, for error messages.
+     * @return number of bytes the record takes, or -1 if it runs past limit.
+     * @throws IOException if the record cannot be decoded.
+     */
+    static int decode(ByteBuffer buffer, int offset, int limit, Connect4GameRecord record, long fileOffset)
+            throws IOException {
+        int index = offset;
+        if (index >= limit)
+            return -1;
+        int flags = buffer.get(index++) & 0xFF;
+        int moveCount = flags & 0x3F;
+        if (moveCount > Connect4GameRecord.MAX_MOVES)
+            throw corrupt(fileOffset, "move count " + moveCount);
+
+        long playerX = readVarint(buffer, index, limit);
+        long playerO = (playerX < 0) ? playerX : readVarint(buffer, (int) (playerX >>> 32), limit);
+        if (playerO == VARINT_CORRUPT)
+            throw corrupt(fileOffset, "player ID");
+        if (playerO == VARINT_PARTIAL)
+            return -1;
+        index = (int) (playerO >>> 32);
+
+        int moveBytes = (moveCount * 3 + 7) / 8;
+        if (limit - index < moveBytes)
+            return -1;
+
+        int bits = 0;
+        int pending = 0;
+        for (int i = 0; i < moveCount; i++) {
+            if (bits < 3) {
+                pending |= (buffer.get(index++) & 0xFF) << bits;
+                bits += 8;
+            }
+            int column = pending & 7;
+            if (column >= Connect4BitBoard.COLUMNS)
+                throw corrupt(fileOffset, "column " + column);
+            record.moves[i] = (byte) column;
+            pending >>>= 3;
+            bits -= 3;
+        }
+
+        record.result = flags >>> 6;
+        record.moveCount = moveCount;
+        record.playerXId = (int) playerX;
+        record.playerOId = (int) playerO;
+        return index - offset;
+    }
+
+    /** Reads a varint of up to 5 bytes written by Connect4RecordWriter, using absolute reads.
+     *
+     * @param buffer bytes holding the varint.
+     * @param index buffer index of its first byte.
+     * @param limit buffer index just past the last byte that may be read.
+     * @return buffer index just past the varint in the high 32 bits and its value in the low 32 bits,
+     *         VARINT_PARTIAL if it runs past limit, or VARINT_CORRUPT if it is too long or negative.
+     */
+    private static long readVarint(ByteBuffer buffer, int index, int limit) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (index >= limit)
+                return VARINT_PARTIAL;
+            int b = buffer.get(index++) & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return (value < 0) ? VARINT_CORRUPT : ((long) index << 32) | value;
+        }
+        return VARINT_CORRUPT;
+    }
+
+    /** Builds the exception thrown for an undecodable record.
+     *
+     * @param fileOffset file offset of the record.
+     * @param what part of the record found to be wrong.
+     * @return exception naming the record's offset.
+     */
+    private static IOException corrupt(long fileOffset, String what) {
+        return new IOException("Corrupt game record at offset " + fileOffset + ": bad " + what + ".");
+    }
+
+    /** Moves unread bytes to the front of the buffer and reads more from the file behind them.
+     *
+     * @throws IOException if the file cannot be read.
+     */
+    private void fill() throws IOException {
+        buffer.compact();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+                break;
+            }
+        }
+        buffer.flip();
+    }
+
+    /** Moves to a record offset, such as one returned by Connect4RecordWriter.append(); the next call to next()
+     * reads the record there.
+     *
+     * @param offset file offset of a record.
+     * @throws IOException if the file cannot be read.
+     */
+    public void seek(long offset) throws IOException {
+        channel.position(offset);
+        position = offset;
+        endOfFile = false;
+        buffer.clear().flip();
+    }
+
+    /** Method used to retrieve the offset of the next record.
+     *
+     * @return file offset just past the last record read.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /** Checks, once next() has returned false, whether the file ends in a partial record.
+     *
+     * @return true if bytes after the last complete record were left unread.
+     */
+    public boolean hasTrailingBytes() {
+        return buffer.hasRemaining();
+    }
+
+    /** Closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,216 @@
+/** Description: Appends Connect4GameRecord objects to a game record file in a compact binary format. Records are
+ * encoded into one direct buffer that is written to the file channel whenever it fills, so appending allocates
+ * nothing per record. Every record is replayed through Connect4Logic before it is written, so a file only ever
+ * holds games that follow the rules.
+ *
+ * File layout:
+ * <pre>
+ *  header, 8 bytes:  int MAGIC, int VERSION (big-endian)
+ *  records, one after another, 3-27 bytes each:
+ *    byte       result (bits 7-6) and move count 0-42 (bits 5-0)
+ *    varint     ID of the side playing X
+ *    varint     ID of the side playing O
+ *    moves      3 bits per column 0-6, first move in the lowest bits of the first byte, padded to a whole byte
+ * </pre>
+ * Varints hold 7 bits per byte, lowest first, with the top bit set on every byte but the last, so IDs below 128
+ * take one byte. A 21-move game with small IDs takes 11 bytes.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Class which features buffered appending of game records to a file. Not thread-safe. */
+public class Connect4RecordWriter implements Closeable {
+
+    //------ Constants ------
+    /** First int of every game record file ("C4GR"). */
+    public static final int MAGIC = 0x43344752;
+    /** Version of the file layout. */
+    public static final int VERSION = 1;
+    /** Size of the file header in bytes. */
+    public static final int HEADER_BYTES = 8;
+    /** Largest encoded record in bytes: flags, two 5-byte varints and 42 3-bit moves. */
+    public static final int MAX_RECORD_BYTES = 1 + 5 + 5 + (Connect4GameRecord.MAX_MOVES * 3 + 7) / 8;
+
+    /** Size of the output buffer in bytes. */
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    //------ Variables ------
+    /** File being appended to. */
+    private final FileChannel channel;
+
+    /** Encoded records not yet written to the channel. */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /** Board used to check each record before it is written. */
+    private final Connect4Logic logic = new Connect4Logic();
+
+    /** File offset the next record will be written at. */
+    private long position;
+
+    //------ Constructor ------
+
+    /** Constructor which opens a record file for appending, creating it with a header if it is new or empty.
+     *
+     * @param path file to append to.
+     * @throws IOException if the file cannot be opened or is not a game record file.
+     */
+    public Connect4RecordWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                buffer.putInt(MAGIC).putInt(VERSION);
+            }
+            else {
+                checkHeader(channel, path);
+            }
+            position = Math.max(channel.size(), HEADER_BYTES);
+            channel.position(channel.size());
+        }
+        catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    //------ Static Helpers ------
+
+    /** Checks the header of a game record file.
+     *
+     * @param channel open file.
+     * @param path name of the file, for the error message.
+     * @throws IOException if the header is missing, wrong or of an unsupported version.
+     */
+    static void checkHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+            //keep reading until the header is complete or the file ends
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+            throw new IOException("Not a game record file, or an unsupported version: " + path);
+    }
+
+    //------ Methods ------
+
+    /** Checks a record by replaying it and appends it to the buffer, writing the buffer out first if it is full.
+     *
+     * @param record record to append; not modified.
+     * @return file offset of the record, for use in indexes.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the record's moves are illegal or do not give its result; nothing is
+     *                                  written.
+     */
+    public long append(Connect4GameRecord record) throws IOException, IllegalArgumentException {
+        return append(record, null);
+    }
+
+    /** Appends a record like append(Connect4GameRecord) and also stores the key of the position after each move,
+     * found while the record is checked.
+     *
+     * @param record record to append; not modified.
+     * @param positionKeys filled with the key after move i at index i, or null; needs getMoveCount() entries.
+     * @return file offset of the record.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the record's moves are illegal or do not give its result; nothing is
+     *                                  written.
+     */
+    public long append(Connect4GameRecord record, long[] positionKeys) throws IOException, IllegalArgumentException {
+        record.replay(logic, positionKeys);
+
+        if (buffer.remaining() < MAX_RECORD_BYTES)
+            writeBuffer();
+
+        long recordPosition = position;
+        int start = buffer.position();
+        buffer.put((byte) ((record.result << 6) | record.moveCount));
+        putVarint(record.playerXId);
+        putVarint(record.playerOId);
+
+        int bits = 0;
+        int pending = 0;
+        for (int i = 0; i < record.moveCount; i++) {
+            pending |= record.moves[i] << bits;
+            bits += 3;
+            if (bits >= 8) {
+                buffer.put((byte) pending);
+                pending >>>= 8;
+                bits -= 8;
+            }
+        }
+        if (bits > 0)
+            buffer.put((byte) pending);
+
+        position += buffer.position() - start;
+        return recordPosition;
+    }
+
+    /** Writes a non-negative int as a varint.
+     *
+     * @param value value to write.
+     */
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /** Writes every buffered record to the file. Data may still be in operating system buffers; see force().
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public void flush() throws IOException {
+        writeBuffer();
+    }
+
+    /** Writes every buffered record and forces the file to storage, so the records survive a crash.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public void force() throws IOException {
+        writeBuffer();
+        channel.force(false);
+    }
+
+    /** Writes the buffer to the channel and empties it.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /** Method used to retrieve the offset the next record will be written at.
+     *
+     * @return file offset, counting records still in the buffer.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /** Writes every buffered record and closes the file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeBuffer();
+        }
+        finally {
+            channel.close();
+        }
+    }
+}
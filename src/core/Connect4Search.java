@@ -0,0 +1,623 @@
+/** Description: Depth-limited negamax search with alpha-beta pruning over Connect4BitBoard. Negamax scores
+ * every position from the point of view of the player to move, so one recursive method serves both players:
+ * a child's score is negated on the way back up. Alpha-beta pruning stops searching a position's remaining
+ * moves as soon as one move proves the opponent would never allow the position.
+ *
+ * Wins are scored as WIN_SCORE plus the number of cells still empty after the winning puck, so quicker wins
+ * score higher and slower losses score less badly. The score only depends on the position, not on how deep
+ * in the search it was reached. Positions at the depth limit that are not won or drawn score 0, or with a
+ * Connect4Evaluator set, their heuristic evaluation, which always stays below WIN_SCORE.
+ *
+ * When given a Connect4TranspositionTable, the search stores the score, bound and best move of every position
+ * it finishes, and on reaching a stored position again either uses the stored score directly or searches the
+ * stored best move first. Positions are stored under Connect4BitBoard.canonicalKey(), so a position and its
+ * mirror image share one entry, with the stored best move mirrored to and from the canonical side.
+ *
+ * Moves are ordered by Connect4MoveOrderer: the stored best move, then moves making new threats, killer moves,
+ * the history table and the centre. Before ordering, a position where the player to move can win at once
+ * scores that win without searching, and a position where the opponent threatens to win next ply only
+ * searches the block, or scores the loss straight away if there are two threats to block.
+ * setMoveOrdering(false) turns all of this off, searching the stored move first and then left to right, for
+ * measuring what ordering saves; scores are the same either way.
+ *
+ * searchIterative() runs the search to depth 1, 2, 3 and so on until a time budget runs out, searching the
+ * previous depth's best move first at the root. An iteration cut short by the deadline is thrown away, so the
+ * result is always that of the deepest completed depth. Every completed depth is published through
+ * getCurrentResult(), which another thread may poll while the search runs, and stop() ends the search early,
+ * as it does a fixed-depth search(). A stop() holds until clearStop() is called, so it is not lost when it comes
+ * before the search starts.
+ *
+ * searchMove() scores a single root move, for analysing every column of a position on its own thread. Threads
+ * scoring other columns of the same position share the best score found so far through an AtomicInteger,
+ * which each search reads between the moves of its subtree, so a column that cannot beat the best one found
+ * elsewhere is cut off as soon as that is proven.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Class which features the search used by Connect4ComputerPlayer when it is not choosing columns randomly.
+ * A Connect4Search object keeps scratch state between calls and must only be used by one thread at a time.
+ */
+public class Connect4Search {
+
+    //------ Constants ------
+    /** Base score of a won position. Any score at or above WIN_SCORE is a forced win. */
+    public static final int WIN_SCORE = 10_000;
+
+    /** Score larger than any reachable score, used as the initial search window. */
+    static final int INFINITY = WIN_SCORE * 2;
+
+    /** Deepest search possible: every empty cell of the board filled. */
+    public static final int MAX_DEPTH = Connect4BitBoard.CELLS;
+
+    /** The clock is read once every DEADLINE_CHECK_MASK + 1 nodes while a deadline is set. */
+    private static final long DEADLINE_CHECK_MASK = 4095;
+
+    //------ Variables ------
+    /** Scratch board the search plays moves on, so that the caller's board is never modified. */
+    private final Connect4BitBoard board = new Connect4BitBoard();
+
+    /** Number of positions visited during the current search. */
+    private long nodes;
+
+    /** Triangular principal variation table: pvTable[ply] holds the best line found from ply onwards. */
+    private final int[][] pvTable = new int[MAX_DEPTH + 1][MAX_DEPTH + 1];
+
+    /** Length of each line in pvTable, measured as the index one past its last move. */
+    private final int[] pvLength = new int[MAX_DEPTH + 1];
+
+    /** Transposition table shared by every search made with this object, or null to search without one. */
+    private final Connect4TranspositionTable table;
+
+    /** Column searched first at the root, or -1 for none. Set to the previous depth's best move. */
+    private int rootMove = -1;
+
+    /** System.nanoTime() at which the current iterative search must stop, or Long.MAX_VALUE for no limit. */
+    private long deadline = Long.MAX_VALUE;
+
+    /** Whether the current iteration may be cut short by the deadline or stop(). */
+    private boolean interruptible;
+
+    /** Set once the current iteration has run past the deadline or been stopped; unwinds the search. */
+    private boolean aborted;
+
+    /** Set by stop() from any thread to end the current search early. */
+    private volatile boolean stopRequested;
+
+    /** Result of the deepest depth completed by the current or last search, for polling from other threads. */
+    private volatile Connect4SearchResult currentResult;
+
+    /** Best score of the root position found by other threads, read by searchMove(), or null for none. */
+    private AtomicInteger sharedAlpha;
+
+    /** Highest value of sharedAlpha the current searchMove() has searched against. */
+    private int lastSharedAlpha;
+
+    /** Whether the score returned by the last searchMove() is exact. */
+    private boolean lastScoreExact;
+
+    /** Scores and sorts the moves of every ply, and keeps the killer moves and history table. */
+    private final Connect4MoveOrderer orderer = new Connect4MoveOrderer();
+
+    /** Whether moves are ordered by Connect4MoveOrderer and immediate wins and forced blocks are detected. */
+    private boolean moveOrdering = true;
+
+    /** Scores positions at the depth limit, or null to score them 0. */
+    private Connect4Evaluator evaluator;
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. Searches without a transposition table. */
+    public Connect4Search() {
+        this(null);
+    }
+
+    /** Constructor which makes every search use a transposition table.
+     *
+     * @param table transposition table to probe and store positions in, or null for none.
+     */
+    public Connect4Search(Connect4TranspositionTable table) {
+        this.table = table;
+    }
+
+    //------ Static Helpers ------
+
+    /** Checks whether a score is a forced win or loss rather than a draw or a heuristic score.
+     *
+     * @param score score returned by the search.
+     * @return true if the score is a forced win or loss.
+     */
+    public static boolean isWinScore(int score) {
+        return Math.abs(score) >= WIN_SCORE;
+    }
+
+    /** Converts a forced win/loss score into the number of plies until the game ends, counted from
+     * a position with the given number of pucks.
+     *
+     * @param score forced win or loss score.
+     * @param moveCount number of pucks on the board in the scored position.
+     * @return plies until the winning puck is placed.
+     */
+    public static int pliesToEnd(int score, int moveCount) {
+        int emptyAfterWin = Math.abs(score) - WIN_SCORE;
+        return Connect4BitBoard.CELLS - emptyAfterWin - moveCount;
+    }
+
+    /** Formats a score for display: "win@N"/"loss@N" give the total number of pucks on the board when
+     * the game is decided, anything else is shown as a plain number.
+     *
+     * @param score score returned by the search.
+     * @return readable score.
+     */
+    public static String scoreToString(int score) {
+        if (score >= WIN_SCORE)
+            return "win@" + (Connect4BitBoard.CELLS - (score - WIN_SCORE));
+        else if (score <= -WIN_SCORE)
+            return "loss@" + (Connect4BitBoard.CELLS - (-score - WIN_SCORE));
+        else
+            return Integer.toString(score);
+    }
+
+    //------ Methods ------
+
+    /** Searches a position to a fixed depth and returns the best move, its score and the principal variation.
+     * stop() cuts the search short, as it does an iterative one: the unfinished search is thrown away and a
+     * depth 1 search, which always completes, chooses the move instead, so a legal move is still returned.
+     * The position is copied; the caller's board is not modified.
+     *
+     * @param position board to search.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O, whichever is to move.
+     * @param depth number of plies to search, 1 or more.
+     * @return result of the search.
+     */
+    public Connect4SearchResult search(Connect4BitBoard position, int player, int depth) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Search depth must be at least 1.");
+
+        long startTime = System.nanoTime();
+        board.copyFrom(position);
+        nodes = 0;
+        rootMove = -1;
+        deadline = Long.MAX_VALUE;
+        aborted = false;
+        if (table != null && !table.isShared())
+            table.newSearch();
+        orderer.newSearch();
+
+        int searchDepth = Math.max(Math.min(depth, Connect4BitBoard.CELLS - board.getMoveCount()), 1);
+        interruptible = (searchDepth > 1);
+        int score = negamax(searchDepth, 0, -INFINITY, INFINITY, player);
+        int resultDepth = depth;
+        if (aborted) {
+            //stopped: the unfinished search is thrown away and depth 1, which always completes, chooses the move
+            interruptible = false;
+            aborted = false;
+            board.copyFrom(position);
+            searchDepth = 1;
+            resultDepth = 1;
+            score = negamax(searchDepth, 0, -INFINITY, INFINITY, player);
+        }
+        interruptible = false;
+
+        int[] pv = principalVariation(player, searchDepth);
+        int bestMove = (pv.length > 0) ? pv[0] : -1;
+
+        currentResult = new Connect4SearchResult(bestMove, score, resultDepth, nodes, System.nanoTime() - startTime,
+                pv);
+        return currentResult;
+    }
+
+    /** Searches a position by iterative deepening: depth 1, then 2, and so on up to maxDepth, until the time
+     * budget runs out or stop() is called. Each depth searches the previous depth's best move first. Depth 1
+     * always completes, so a legal move is returned even with a tiny budget. The search also ends early once a
+     * forced win or loss is found within the depth already searched, as searching deeper cannot change it.
+     * The position is copied; the caller's board is not modified.
+     *
+     * @param position board to search.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O, whichever is to move.
+     * @param maxDepth deepest number of plies to search, 1 or more.
+     * @param timeLimitMillis time budget in milliseconds, or 0 for no limit.
+     * @return result of the deepest completed depth, with nodes and time counted over every depth.
+     * @throws IllegalArgumentException if maxDepth is less than 1 or timeLimitMillis is negative.
+     */
+    public Connect4SearchResult searchIterative(Connect4BitBoard position, int player, int maxDepth,
+                                                long timeLimitMillis) throws IllegalArgumentException {
+        if (maxDepth < 1)
+            throw new IllegalArgumentException("Search depth must be at least 1.");
+        if (timeLimitMillis < 0)
+            throw new IllegalArgumentException("Time limit must not be negative.");
+
+        long startTime = System.nanoTime();
+        long totalNodes = 0;
+        nodes = 0;
+        rootMove = -1;
+        aborted = false;
+        currentResult = null;
+        deadline = (timeLimitMillis == 0) ? Long.MAX_VALUE : startTime + timeLimitMillis * 1_000_000;
+        if (table != null && !table.isShared())
+            table.newSearch();
+        orderer.newSearch();
+
+        int lastDepth = Math.max(Math.min(maxDepth, Connect4BitBoard.CELLS - position.getMoveCount()), 1);
+        Connect4SearchResult result = null;
+        for (int depth = 1; depth <= lastDepth; depth++) {
+            //depth 1 always runs to completion so that there is a move to return
+            interruptible = (depth > 1);
+            board.copyFrom(position);
+            nodes = 0;
+
+            int score = negamax(depth, 0, -INFINITY, INFINITY, player);
+            totalNodes += nodes;
+            if (aborted)
+                break;
+
+            int[] pv = principalVariation(player, depth);
+            int bestMove = (pv.length > 0) ? pv[0] : -1;
+            result = new Connect4SearchResult(bestMove, score, depth, totalNodes, System.nanoTime() - startTime, pv);
+            currentResult = result;
+            rootMove = bestMove;
+
+            if (stopRequested || System.nanoTime() >= deadline
+                    || (isWinScore(score) && pliesToEnd(score, position.getMoveCount()) <= depth))
+                break;
+        }
+
+        interruptible = false;
+        rootMove = -1;
+        nodes = totalNodes;
+        return new Connect4SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), totalNodes,
+                System.nanoTime() - startTime, result.getPrincipalVariation());
+    }
+
+    /** Scores one move of a position to a fixed depth, for analysing the columns of a position separately.
+     * With sharedAlpha, the score of the position is only needed when it beats sharedAlpha, which threads
+     * scoring the other columns raise as they finish; the search reads it between every move of the subtree
+     * and gives up on the move once it is proven no better. isLastScoreExact() tells the two cases apart.
+     * The position is copied; the caller's board is not modified.
+     *
+     * @param position board to search.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O, whichever is to move.
+     * @param column column 0-6 to play; must not be full.
+     * @param depth number of plies to search, counting the move itself, 1 or more.
+     * @param sharedAlpha best score of the position found so far for the player to move, or null to always
+     *                    find the exact score.
+     * @return score of the position after the move, for the player to move before it; exact, or an upper
+     *         bound no higher than sharedAlpha.
+     * @throws IllegalArgumentException if depth is less than 1 or the column is full.
+     */
+    public int searchMove(Connect4BitBoard position, int player, int column, int depth, AtomicInteger sharedAlpha)
+            throws IllegalArgumentException {
+        if (depth < 1)
+            throw new IllegalArgumentException("Search depth must be at least 1.");
+        if (!position.canPlay(column))
+            throw new IllegalArgumentException("Column " + (column + 1) + " is full.");
+
+        board.copyFrom(position);
+        nodes = 1;
+        rootMove = -1;
+        interruptible = false;
+        aborted = false;
+        if (table != null && !table.isShared())
+            table.newSearch();
+        orderer.newSearch();
+
+        lastScoreExact = true;
+        int row = board.play(column, player);
+        if (board.isWinAt(player, column, row))
+            return WIN_SCORE + Connect4BitBoard.CELLS - board.getMoveCount();
+
+        this.sharedAlpha = sharedAlpha;
+        lastSharedAlpha = (sharedAlpha == null) ? -INFINITY : sharedAlpha.get();
+        try {
+            int childDepth = Math.min(depth - 1, Connect4BitBoard.CELLS - board.getMoveCount());
+            int score = -negamax(childDepth, 1, -INFINITY, -lastSharedAlpha, 1 - player);
+
+            //the opponent's search only failed high, leaving a bound, if the score is no better than sharedAlpha
+            lastScoreExact = score > lastSharedAlpha;
+            return score;
+        }
+        finally {
+            this.sharedAlpha = null;
+        }
+    }
+
+    /** Checks whether the score of the last searchMove() is exact rather than an upper bound.
+     *
+     * @return true if the score is exact.
+     */
+    public boolean isLastScoreExact() {
+        return lastScoreExact;
+    }
+
+    /** Void method which forgets any earlier stop(). A stop() is kept until this is called, so that one made
+     * after a search is handed to another thread but before it starts still ends it; call this before handing
+     * the search over, once per search.
+     */
+    public void clearStop() {
+        stopRequested = false;
+    }
+
+    /** Void method used to vary the order moves are searched in, so that the threads of a
+     * Connect4ParallelSearch explore different parts of the tree first. The centre bonus of the move order is
+     * rotated by offset columns, and with ordering turned off, moves not taken from the transposition table
+     * are searched left to right starting at column offset instead of column 0.
+     *
+     * @param offset column 0-6 to start from.
+     */
+    void setMoveOrderOffset(int offset) {
+        orderer.setOffset(offset % Connect4BitBoard.COLUMNS);
+    }
+
+    /** Void method which turns move ordering on or off for later searches. Scores do not change, only how
+     * many positions are visited to find them.
+     *
+     * @param moveOrdering false to search the stored best move first and the rest left to right.
+     */
+    public void setMoveOrdering(boolean moveOrdering) {
+        this.moveOrdering = moveOrdering;
+    }
+
+    /** Method used to retrieve moveOrdering value.
+     *
+     * @return true if moves are ordered by Connect4MoveOrderer.
+     */
+    public boolean isMoveOrdering() {
+        return moveOrdering;
+    }
+
+    /** Void method used to set how positions at the depth limit are scored. A transposition table holding scores
+     * of searches with another evaluator should be cleared first, as its stored scores would be mixed with the
+     * new ones.
+     *
+     * @param evaluator evaluator of positions at the depth limit, or null to score them 0.
+     */
+    public void setEvaluator(Connect4Evaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /** Method used to retrieve evaluator value.
+     *
+     * @return evaluator of positions at the depth limit, or null if they score 0.
+     */
+    public Connect4Evaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /** Asks a running search to return as soon as possible: searchIterative() with its deepest completed
+     * depth, search() with the move of a depth 1 search. Also cuts short every later search until clearStop()
+     * is called. May be called from any thread.
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /** Method used to poll the best result found so far. Safe to call from any thread while a search runs.
+     *
+     * @return result of the deepest depth completed by the current or last search, or null if none has
+     *         completed yet.
+     */
+    public Connect4SearchResult getCurrentResult() {
+        return currentResult;
+    }
+
+    /** Builds the principal variation of the last search. Lines cut short by a transposition table hit
+     * are extended by following the best moves stored in the table.
+     *
+     * @param player player to move at the root.
+     * @param maxLength longest line to return.
+     * @return columns of the principal variation.
+     */
+    private int[] principalVariation(int player, int maxLength) {
+        int[] line = new int[Math.max(maxLength, pvLength[0])];
+        int length = pvLength[0];
+        System.arraycopy(pvTable[0], 0, line, 0, length);
+
+        if (table != null && length > 0) {
+            //replay the line, then follow stored best moves until the game ends or no move is stored
+            int moverAfterLine = player;
+            boolean gameOver = false;
+            for (int i = 0; i < length; i++) {
+                board.play(line[i], moverAfterLine);
+                gameOver = board.isWin(moverAfterLine);
+                moverAfterLine = 1 - moverAfterLine;
+            }
+
+            while (!gameOver && length < maxLength && !board.isFull()) {
+                long key = board.key();
+                long canonicalKey = Connect4BitBoard.canonicalKey(key);
+                int move = Connect4TranspositionTable.moveOf(table.probe(canonicalKey));
+                if (move >= 0 && canonicalKey != key)
+                    move = Connect4BitBoard.mirrorColumn(move);
+                if (move < 0 || !board.canPlay(move))
+                    break;
+                board.play(move, moverAfterLine);
+                gameOver = board.isWin(moverAfterLine);
+                moverAfterLine = 1 - moverAfterLine;
+                line[length++] = move;
+            }
+        }
+
+        int[] pv = new int[length];
+        System.arraycopy(line, 0, pv, 0, length);
+        return pv;
+    }
+
+    /** Recursive negamax search with alpha-beta pruning.
+     *
+     * @param depth plies left to search.
+     * @param ply distance from the root position.
+     * @param alpha score the player to move is already guaranteed elsewhere.
+     * @param beta score the opponent is already guaranteed elsewhere; anything at or above it is cut off.
+     * @param player player to move.
+     * @return score of the position for the player to move.
+     */
+    private int negamax(int depth, int ply, int alpha, int beta, int player) {
+        nodes++;
+        pvLength[ply] = ply;
+
+        //checking the clock is slow compared with a node, so only check it every few thousand nodes
+        if ((nodes & DEADLINE_CHECK_MASK) == 0 && interruptible
+                && (stopRequested || System.nanoTime() >= deadline))
+            aborted = true;
+        if (aborted)
+            return 0;
+
+        //no moves left: draw
+        if (board.isFull())
+            return 0;
+
+        if (depth == 0)
+            return (evaluator == null) ? 0 : evaluator.evaluate(board, player);
+
+        //look the position up; a deep enough stored score may settle it without searching. A position and its
+        //mirror image share the entry of the smaller key, whose move is mirrored when the key was the larger
+        int alphaOriginal = alpha;
+        long key = 0;
+        boolean mirrored = false;
+        int tableMove = -1;
+        if (table != null) {
+            key = board.key();
+            long mirrorKey = Connect4BitBoard.mirrorKey(key);
+            if (mirrorKey < key) {
+                key = mirrorKey;
+                mirrored = true;
+            }
+            long entry = table.probe(key);
+            if (entry != 0) {
+                tableMove = Connect4TranspositionTable.moveOf(entry);
+                if (mirrored && tableMove >= 0)
+                    tableMove = Connect4BitBoard.mirrorColumn(tableMove);
+                if (ply > 0 && Connect4TranspositionTable.depthOf(entry) >= depth) {
+                    int storedScore = Connect4TranspositionTable.scoreOf(entry);
+                    int bound = Connect4TranspositionTable.boundOf(entry);
+                    if (bound == Connect4TranspositionTable.EXACT)
+                        return storedScore;
+                    else if (bound == Connect4TranspositionTable.LOWER_BOUND)
+                        alpha = Math.max(alpha, storedScore);
+                    else
+                        beta = Math.min(beta, storedScore);
+                    if (alpha >= beta)
+                        return storedScore;
+                }
+            }
+        }
+        if (ply == 0 && rootMove >= 0)
+            tableMove = rootMove;
+
+        int moveCount;
+        if (moveOrdering) {
+            long playable = board.playableCells();
+            long ownWins = board.winningCells(player) & playable;
+            if (ownWins != 0) {
+                //a win this move is the best score there is, so no other move needs searching
+                pvTable[ply][ply] = Long.numberOfTrailingZeros(ownWins) / Connect4BitBoard.COLUMN_HEIGHT;
+                pvLength[ply] = ply + 1;
+                return WIN_SCORE + Connect4BitBoard.CELLS - board.getMoveCount() - 1;
+            }
+
+            //any move but a block loses next ply; with two threats the block loses too (not shortcut at the
+            //root, which must return a move)
+            long opponentWins = board.winningCells(1 - player);
+            long forced = opponentWins & playable;
+            if (forced != 0 && depth >= 2) {
+                if ((forced & (forced - 1)) != 0 && ply > 0) {
+                    pvTable[ply][ply] = Long.numberOfTrailingZeros(forced) / Connect4BitBoard.COLUMN_HEIGHT;
+                    pvTable[ply][ply + 1] = (63 - Long.numberOfLeadingZeros(forced)) / Connect4BitBoard.COLUMN_HEIGHT;
+                    pvLength[ply] = ply + 2;
+                    return -(WIN_SCORE + Connect4BitBoard.CELLS - board.getMoveCount() - 2);
+                }
+                if ((forced & (forced - 1)) == 0)
+                    playable = forced;
+            }
+            moveCount = orderer.generate(board, player, ply, tableMove, playable, opponentWins);
+        }
+        else
+            moveCount = orderer.generateUnordered(board, ply, tableMove);
+
+        int bestScore = -INFINITY;
+        int bestMove = -1;
+
+        //search the stored (or, at the root, the previous depth's) best move first, then the rest by score
+        for (int index = 0; index < moveCount; index++) {
+            int column = orderer.next(ply, index, moveCount);
+
+            //below a searchMove() root, other threads' results lower the score the opponent needs to refute it
+            if (ply == 1 && sharedAlpha != null) {
+                int shared = sharedAlpha.get();
+                if (shared > lastSharedAlpha) {
+                    lastSharedAlpha = shared;
+                    beta = Math.min(beta, -shared);
+                    if (bestScore >= beta)
+                        break;
+                }
+            }
+
+            int row = board.play(column, player);
+            boolean wonNow = board.isWinAt(player, column, row);
+            int score;
+            if (wonNow)
+                score = WIN_SCORE + Connect4BitBoard.CELLS - board.getMoveCount();
+            else
+                score = -negamax(depth - 1, ply + 1, -beta, -alpha, 1 - player);
+            board.undo(column);
+
+            //an unfinished score must not be used or stored
+            if (aborted)
+                return 0;
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = column;
+
+                //record this move followed by the child's line as the best line from this ply
+                pvTable[ply][ply] = column;
+                int childLength = wonNow ? ply + 1 : pvLength[ply + 1];
+                for (int i = ply + 1; i < childLength; i++)
+                    pvTable[ply][i] = pvTable[ply + 1][i];
+                pvLength[ply] = childLength;
+
+                if (score > alpha)
+                    alpha = score;
+                if (alpha >= beta) {
+                    if (moveOrdering)
+                        orderer.recordCutoff(player, ply, column, row, depth);
+                    break;
+                }
+            }
+        }
+
+        if (table != null) {
+            int bound;
+            if (bestScore <= alphaOriginal)
+                bound = Connect4TranspositionTable.UPPER_BOUND;
+            else if (bestScore >= beta)
+                bound = Connect4TranspositionTable.LOWER_BOUND;
+            else
+                bound = Connect4TranspositionTable.EXACT;
+            table.store(key, bestScore, bound, depth,
+                    (mirrored && bestMove >= 0) ? Connect4BitBoard.mirrorColumn(bestMove) : bestMove);
+        }
+
+        return bestScore;
+    }
+
+    /** Method used to retrieve the transposition table used by this search.
+     *
+     * @return transposition table, or null if searching without one.
+     */
+    public Connect4TranspositionTable getTable() {
+        return table;
+    }
+
+    /** Method used to retrieve the number of positions visited by the last search.
+     *
+     * @return nodes visited.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+}
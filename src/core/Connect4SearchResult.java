@@ -0,0 +1,126 @@
+/** Description: Result of one Connect4Search run: the move chosen, its score, the principal variation
+ * (the line of best play the search expects from both players) and node/timing statistics.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.Arrays;
+
+/** Class which holds the outcome of a search. Objects are immutable once created. */
+public class Connect4SearchResult {
+
+    //------ Variables ------
+    /** Column index 0-6 of the best move found, or -1 if there was no legal move. */
+    private final int bestMove;
+
+    /** Score of the position for the player to move. See Connect4Search.WIN_SCORE for how wins are scored. */
+    private final int score;
+
+    /** Depth in plies the search was run to. */
+    private final int depth;
+
+    /** Number of positions visited by the search. */
+    private final long nodes;
+
+    /** Time spent searching, in nanoseconds. */
+    private final long elapsedNanos;
+
+    /** Columns of the principal variation, starting with bestMove. */
+    private final int[] principalVariation;
+
+    //------ Constructor ------
+
+    /** Constructor which stores every field of the result.
+     *
+     * @param bestMove column index of the best move, or -1 if there was none.
+     * @param score score of the position for the player to move.
+     * @param depth depth in plies searched.
+     * @param nodes number of positions visited.
+     * @param elapsedNanos time spent searching in nanoseconds.
+     * @param principalVariation columns of the expected line of play; copied.
+     */
+    public Connect4SearchResult(int bestMove, int score, int depth, long nodes, long elapsedNanos, int[] principalVariation) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.principalVariation = principalVariation.clone();
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve bestMove value.
+     *
+     * @return column index 0-6, or -1 if there was no legal move.
+     */
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    /** Method used to retrieve score value.
+     *
+     * @return score for the player to move; positive is good for that player.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /** Method used to retrieve depth value.
+     *
+     * @return depth in plies searched.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /** Method used to retrieve nodes value.
+     *
+     * @return number of positions visited.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /** Method used to retrieve elapsedNanos value.
+     *
+     * @return time spent searching in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** Method used to retrieve a copy of the principal variation.
+     *
+     * @return columns of the expected line of play, starting with the best move.
+     */
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    /** Method which computes search speed from nodes and elapsedNanos.
+     *
+     * @return positions visited per second, or 0 if no time was measured.
+     */
+    public long getNodesPerSecond() {
+        if (elapsedNanos <= 0)
+            return 0;
+        return (long) (nodes * 1_000_000_000.0 / elapsedNanos);
+    }
+
+    /** Method which builds a one-line summary of the result, with columns shown as 1-7.
+     *
+     * @return summary String.
+     */
+    @Override
+    public String toString() {
+        int[] displayedPv = new int[principalVariation.length];
+        for (int i = 0; i < displayedPv.length; i++)
+            displayedPv[i] = principalVariation[i] + 1;
+
+        return "depth " + depth + " score " + Connect4Search.scoreToString(score) + " nodes " + nodes
+                + " nps " + getNodesPerSecond() + " pv " + Arrays.toString(displayedPv);
+    }
+}
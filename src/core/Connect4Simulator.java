@@ -0,0 +1,411 @@
+/** Description: Headless self-play simulator. Plays computer-vs-computer games between two engine settings on a
+ * pool of worker threads and reports aggregate results: wins of the first and second player, draws, wins of
+ * each engine, average game length and games per second. Nothing is printed while games are played; with
+ * -log FILE, every game's events are written to FILE by one shared Connect4LogListener.
+ *
+ * Each worker owns its own Connect4GameState, Connect4Logic and pair of Connect4ComputerPlayer objects, counts
+ * its results in plain fields and hands them back when done, so workers share nothing while playing. Every
+ * worker is seeded separately; with the same seeds, engines and number of games the results are identical
+ * from run to run, however the workers are scheduled, as long as both engines are reproducible (see
+ * isReproducible()): random, fixed-depth single-threaded search or single-threaded MCTS. A search with a time
+ * budget or with several threads chooses moves that depend on timing, and a warning is printed for it. The
+ * engines swap colours every game, so that each plays first in half of a worker's games.
+ *
+ * Engines are given as "random", "search:DEPTH", "search:DEPTH:MILLIS" (iterative deepening within MILLIS
+ * per move, up to DEPTH plies), "search:DEPTH:MILLIS:THREADS" (the same with a multi-threaded search),
+ * "search:DEPTH:MILLIS:THREADS:eval" (the same scoring the depth limit with Connect4Evaluator.DEFAULT, or with
+ * weights TWO,THREE,PARITY,CENTRE in place of "eval") or "mcts:PLAYOUTS".
+ *
+ * Usage: java core.Connect4Simulator [-games N] [-threads T] [-seed S | -seeds S1,S2,...] [-a ENGINE] [-b ENGINE]
+ *        [-log FILE]
+ * With -seeds, one worker is started per seed; with -seed, worker i is seeded from S and i.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/** Class which features the self-play worker loop, the merging of worker results and the command line. */
+public class Connect4Simulator {
+
+    //------ Results ------
+    /** Counts of a batch of games. Filled by one worker at a time, then merged with add(). */
+    public static class Results {
+        /** Number of games played. */
+        private long games;
+        /** Games won by the player who moved first (X). */
+        private long firstPlayerWins;
+        /** Games won by the player who moved second (O). */
+        private long secondPlayerWins;
+        /** Games won by engine A, whichever colour it played. */
+        private long engineAWins;
+        /** Games won by engine B, whichever colour it played. */
+        private long engineBWins;
+        /** Total pucks placed over every game. */
+        private long totalMoves;
+        /** Wall-clock time taken to play the games, in nanoseconds. */
+        private long elapsedNanos;
+
+        /** Adds the counts of another batch to this one. Elapsed time is not added, as batches run side by side.
+         *
+         * @param other counts to add.
+         */
+        void add(Results other) {
+            games += other.games;
+            firstPlayerWins += other.firstPlayerWins;
+            secondPlayerWins += other.secondPlayerWins;
+            engineAWins += other.engineAWins;
+            engineBWins += other.engineBWins;
+            totalMoves += other.totalMoves;
+        }
+
+        /** Method used to retrieve games value.
+         *
+         * @return number of games played.
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /** Method used to retrieve firstPlayerWins value.
+         *
+         * @return games won by the player who moved first.
+         */
+        public long getFirstPlayerWins() {
+            return firstPlayerWins;
+        }
+
+        /** Method used to retrieve secondPlayerWins value.
+         *
+         * @return games won by the player who moved second.
+         */
+        public long getSecondPlayerWins() {
+            return secondPlayerWins;
+        }
+
+        /** Method which computes the number of drawn games.
+         *
+         * @return games neither player won.
+         */
+        public long getDraws() {
+            return games - firstPlayerWins - secondPlayerWins;
+        }
+
+        /** Method used to retrieve engineAWins value.
+         *
+         * @return games won by engine A.
+         */
+        public long getEngineAWins() {
+            return engineAWins;
+        }
+
+        /** Method used to retrieve engineBWins value.
+         *
+         * @return games won by engine B.
+         */
+        public long getEngineBWins() {
+            return engineBWins;
+        }
+
+        /** Method used to retrieve totalMoves value.
+         *
+         * @return pucks placed over every game.
+         */
+        public long getTotalMoves() {
+            return totalMoves;
+        }
+
+        /** Method which computes the average game length.
+         *
+         * @return pucks placed per game, or 0 if no games were played.
+         */
+        public double getAverageGameLength() {
+            return (games == 0) ? 0 : (double) totalMoves / games;
+        }
+
+        /** Method used to retrieve elapsedNanos value.
+         *
+         * @return wall-clock time taken in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /** Method which computes simulation speed from games and elapsedNanos.
+         *
+         * @return games played per second, or 0 if no time was measured.
+         */
+        public double getGamesPerSecond() {
+            return (elapsedNanos <= 0) ? 0 : games * 1e9 / elapsedNanos;
+        }
+    }
+
+    //------ Variables ------
+    /** Settings of engine A, e.g. "search:8". */
+    private final String engineA;
+
+    /** Settings of engine B. */
+    private final String engineB;
+
+    /** Receiver of the events of every worker's games; must be thread-safe if there is more than one worker. */
+    private Connect4GameListener listener = Connect4GameListener.NONE;
+
+    //------ Constructor ------
+
+    /** Constructor which checks and stores the settings of both engines.
+     *
+     * @param engineA settings of engine A, see the class description.
+     * @param engineB settings of engine B.
+     * @throws IllegalArgumentException if either setting is not understood.
+     */
+    public Connect4Simulator(String engineA, String engineB) throws IllegalArgumentException {
+        //fail now rather than on every worker
+        newPlayer(new Connect4GameState(), engineA, 0);
+        newPlayer(new Connect4GameState(), engineB, 0);
+        this.engineA = engineA;
+        this.engineB = engineB;
+    }
+
+    //------ Main ------
+
+    /** Main method which parses options, runs the simulation and prints the aggregate results.
+     *
+     * @param args command line options, see the class description.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     * @throws IOException if the log file cannot be written.
+     */
+    public static void main(String args[]) throws InterruptedException, IOException {
+        long games = 1_000_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long baseSeed = System.nanoTime();
+        long[] seeds = null;
+        String engineA = "random";
+        String engineB = "random";
+        String logFile = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-games": games = Long.parseLong(args[++i]); break;
+                case "-threads": threads = Integer.parseInt(args[++i]); break;
+                case "-seed": baseSeed = Long.parseLong(args[++i]); break;
+                case "-seeds":
+                    String[] seedStrings = args[++i].split(",");
+                    seeds = new long[seedStrings.length];
+                    for (int j = 0; j < seeds.length; j++)
+                        seeds[j] = Long.parseLong(seedStrings[j].trim());
+                    break;
+                case "-a": engineA = args[++i]; break;
+                case "-b": engineB = args[++i]; break;
+                case "-log": logFile = args[++i]; break;
+                default:
+                    System.out.println("Usage: java core.Connect4Simulator [-games N] [-threads T] "
+                            + "[-seed S | -seeds S1,S2,...] [-a ENGINE] [-b ENGINE] [-log FILE]");
+                    return;
+            }
+        }
+        boolean seedsGiven = (seeds != null);
+        if (!seedsGiven)
+            seeds = workerSeeds(baseSeed, threads);
+
+        Connect4Simulator simulator = new Connect4Simulator(engineA, engineB);
+        for (String engine : new String[] {engineA, engineB}) {
+            if (!isReproducible(engine))
+                System.out.println("Warning: " + engine + " depends on timing, so the results may differ "
+                        + "between runs with the same seeds.");
+        }
+        Results results;
+        if (logFile != null) {
+            try (Connect4LogListener log = new Connect4LogListener(Paths.get(logFile))) {
+                simulator.setListener(log);
+                results = simulator.run(games, seeds);
+            }
+        }
+        else {
+            results = simulator.run(games, seeds);
+        }
+
+        System.out.println(String.format("%d games of %s (A) vs %s (B) on %d workers in %.1f s: %.0f games/s",
+                results.getGames(), engineA, engineB, seeds.length, results.getElapsedNanos() / 1e9,
+                results.getGamesPerSecond()));
+        System.out.println("First player wins:  " + countAndRate(results.getFirstPlayerWins(), results.getGames()));
+        System.out.println("Second player wins: " + countAndRate(results.getSecondPlayerWins(), results.getGames()));
+        System.out.println("Draws:              " + countAndRate(results.getDraws(), results.getGames()));
+        System.out.println("Engine A wins:      " + countAndRate(results.getEngineAWins(), results.getGames()));
+        System.out.println("Engine B wins:      " + countAndRate(results.getEngineBWins(), results.getGames()));
+        System.out.println(String.format("Average game length: %.2f pucks", results.getAverageGameLength()));
+        if (!seedsGiven)
+            System.out.println("Base seed: " + baseSeed + " (rerun with -seed " + baseSeed + " to reproduce)");
+    }
+
+    //------ Static Helpers ------
+
+    /** Derives one seed per worker from a base seed.
+     *
+     * @param baseSeed seed of the whole run.
+     * @param workers number of workers, 1 or more.
+     * @return seed of each worker.
+     */
+    public static long[] workerSeeds(long baseSeed, int workers) {
+        long[] seeds = new long[workers];
+        for (int i = 0; i < workers; i++)
+            seeds[i] = baseSeed + i * 0x9E3779B97F4A7C15L;
+        return seeds;
+    }
+
+    /** Checks whether an engine's moves depend only on the position and its seed, so that games between such
+     * engines replay exactly. A search with a time budget or with more than one thread is not reproducible.
+     *
+     * @param engine setting, see the class description.
+     * @return true if the same seed always gives the same moves.
+     * @throws IllegalArgumentException if the setting is not understood.
+     */
+    public static boolean isReproducible(String engine) throws IllegalArgumentException {
+        Connect4ComputerPlayer player = new Connect4ComputerPlayer();
+        player.configure(engine);
+        switch (player.getStrategy()) {
+            case SEARCH: return player.getMoveTime() == 0 && player.getSearchThreads() == 1;
+            case MCTS: return player.getMonteCarloThreads() == 1;
+            default: return true;
+        }
+    }
+
+    /** Formats a count with its share of the total.
+     *
+     * @param count part of the total.
+     * @param total total count.
+     * @return e.g. "5521 (55.21%)".
+     */
+    private static String countAndRate(long count, long total) {
+        return String.format("%d (%.2f%%)", count, (total == 0) ? 0.0 : count * 100.0 / total);
+    }
+
+    /** Creates a computer player for one engine setting.
+     *
+     * @param gameState state of the game the player moves in.
+     * @param engine setting, see the class description.
+     * @param seed seed of the player's random number generator.
+     * @return configured computer player.
+     * @throws IllegalArgumentException if the setting is not understood.
+     */
+    private static Connect4ComputerPlayer newPlayer(Connect4GameState gameState, String engine, long seed)
+            throws IllegalArgumentException {
+        Connect4ComputerPlayer player = new Connect4ComputerPlayer(gameState);
+        player.setSeed(seed);
+        player.configure(engine);
+        return player;
+    }
+
+    //------ Methods ------
+
+    /** Void method used to set the receiver of the events of the games played by run().
+     *
+     * @param listener receiver of the events, shared by every worker, or Connect4GameListener.NONE.
+     */
+    public void setListener(Connect4GameListener listener) {
+        this.listener = listener;
+    }
+
+    /** Plays a number of games spread evenly over one worker thread per seed.
+     *
+     * @param games total number of games, 0 or more.
+     * @param seeds seed of each worker; the number of seeds is the number of workers.
+     * @return merged results of every worker.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     * @throws IllegalArgumentException if games is negative or there are no seeds.
+     */
+    public Results run(long games, long[] seeds) throws InterruptedException, IllegalArgumentException {
+        if (games < 0)
+            throw new IllegalArgumentException("games must not be negative.");
+        if (seeds.length < 1)
+            throw new IllegalArgumentException("At least one worker seed is required.");
+
+        long startTime = System.nanoTime();
+        Results total = new Results();
+        ExecutorService pool = Executors.newFixedThreadPool(seeds.length);
+        try {
+            List<Future<Results>> workers = new ArrayList<>();
+            for (int i = 0; i < seeds.length; i++) {
+                long workerGames = games / seeds.length + ((i < games % seeds.length) ? 1 : 0);
+                long seed = seeds[i];
+                workers.add(pool.submit(() -> playGames(workerGames, seed)));
+            }
+
+            for (Future<Results> worker : workers)
+                total.add(worker.get());
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed.", e.getCause());
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        total.elapsedNanos = System.nanoTime() - startTime;
+        return total;
+    }
+
+    /** Worker loop: plays games between engine A and engine B on a game of its own, swapping colours every game.
+     *
+     * @param games number of games to play.
+     * @param seed seed of this worker; engine B is seeded from it as well.
+     * @return results of this worker's games.
+     */
+    private Results playGames(long games, long seed) {
+        Connect4GameState gameState = new Connect4GameState();
+        gameState.setListener(listener);
+        Connect4Logic logic = new Connect4Logic(gameState);
+        Connect4ComputerPlayer playerA = newPlayer(gameState, engineA, seed);
+        Connect4ComputerPlayer playerB = newPlayer(gameState, engineB, ~seed);
+        Results results = new Results();
+
+        //the players' search threads, if any, are released however the worker ends
+        try {
+            for (long game = 0; game < games; game++) {
+                boolean engineAFirst = (game & 1) == 0;
+                logic.resetBoard();
+
+                while (true) {
+                    int playerTurn = logic.getPlayerTurn();
+                    boolean firstPlayerToMove = (playerTurn % 2 != 0);
+                    Connect4ComputerPlayer mover = (firstPlayerToMove == engineAFirst) ? playerA : playerB;
+
+                    int column = mover.makeMove();
+                    logic.placePuck(column, playerTurn);
+                    results.totalMoves++;
+
+                    logic.checkPucks(column);
+                    if (logic.puckCount == 4) {
+                        if (firstPlayerToMove)
+                            results.firstPlayerWins++;
+                        else
+                            results.secondPlayerWins++;
+                        if (mover == playerA)
+                            results.engineAWins++;
+                        else
+                            results.engineBWins++;
+                        break;
+                    }
+                    if (logic.fullColumnCount() == Connect4BitBoard.COLUMNS)
+                        break;
+
+                    logic.nextTurn();
+                }
+                results.games++;
+            }
+        }
+        finally {
+            playerA.shutdown();
+            playerB.shutdown();
+        }
+        return results;
+    }
+}
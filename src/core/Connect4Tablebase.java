@@ -0,0 +1,428 @@
+/** Description: Read-only endgame tablebase written by Connect4TablebaseGenerator. Holds the exact result (win,
+ * loss or draw for the player to move, and the number of plies to the end of the game) of every position with at
+ * most maxEmpty empty cells that can be reached from one of a set of root positions, each of which has exactly
+ * maxEmpty empty cells. Every position reachable from the empty board is too many to store even for a handful of
+ * empty cells, so the roots are the late positions actually met, e.g. in archived games.
+ *
+ * Each root has a table of its own, indexed by a perfect hash of the positions that extend it: in a position key,
+ * the bits of a column above the root's pucks are the column's marker bit and the extra pucks of Player X, so
+ * the column takes one of 2^(free+1) - 1 codes, free being the number of empty cells the root leaves in it. The
+ * codes of the columns, read as digits of a mixed-radix number, give a distinct slot to every position that
+ * extends the root, with no keys stored. A table has a fixed number of slots (at most 2^(maxEmpty+7)) that depends
+ * only on the heights of the root's columns, so its size is known before it is solved. Slots of positions that
+ * cannot be reached from the root hold UNKNOWN, and so do full boards, whose result needs no lookup.
+ *
+ * File layout (big-endian):
+ * <pre>
+ *  header, 16 bytes:  int MAGIC, int VERSION, int maxEmpty, int tableCount
+ *  directory, 16 bytes per table, sorted by root key:  long root key, long file offset of the table
+ *  tables:  each entryBits() bits per slot, packed low bit first into longs
+ * </pre>
+ * An entry is the distance to the end of the game shifted left 2, plus the outcome in the low 2 bits. Roots are
+ * stored under their canonical key, so a position is looked up as itself and as its mirror image. Scores returned
+ * follow Connect4Search: WIN_SCORE plus the empty cells after the winning puck, negated for a loss.
+ *
+ * The file is memory-mapped through Connect4MappedFile and only read with absolute reads, so one object serves
+ * any number of threads; open() shares one object per file within the process.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/** Class which features exact lookups of late positions in a memory-mapped tablebase file. */
+public class Connect4Tablebase {
+
+    //------ Constants ------
+    /** First int of every tablebase file ("C4TB"). */
+    public static final int MAGIC = 0x43345442;
+    /** Version of the file layout. */
+    public static final int VERSION = 1;
+    /** Size of the file header in bytes. */
+    public static final int HEADER_BYTES = 16;
+    /** Size of one directory entry in bytes. */
+    public static final int DIRECTORY_ENTRY_BYTES = 16;
+    /** Most empty cells a tablebase can cover; keeps every table below 2^23 slots. */
+    public static final int MAX_EMPTY = 16;
+    /** Returned by probe() for a position that is not in the tablebase. */
+    public static final int NOT_FOUND = Integer.MIN_VALUE;
+
+    /** Outcome of a slot whose position cannot be reached from the root. */
+    static final int UNKNOWN = 0;
+    /** Outcome of a position lost by the player to move. */
+    static final int LOSS = 1;
+    /** Outcome of a drawn position. */
+    static final int DRAW = 2;
+    /** Outcome of a position won by the player to move. */
+    static final int WIN = 3;
+
+    //------ Shared Tablebases ------
+    /** Tablebases already opened in this process, keyed by absolute file path. */
+    private static final Map<Path, Connect4Tablebase> openTablebases = new HashMap<>();
+
+    //------ Variables ------
+    /** Mapped contents of the tablebase file. */
+    private final Connect4MappedFile file;
+
+    /** Number of empty cells of the roots, and most empty cells of any stored position. */
+    private final int maxEmpty;
+
+    /** Number of bits of one entry. */
+    private final int entryBits;
+
+    /** Number of root positions, each with a table. */
+    private final int tableCount;
+
+    //------ Constructor ------
+
+    /** Constructor which maps a tablebase file and checks its header. Use open() to share tablebases between games.
+     *
+     * @param path tablebase file written by Connect4TablebaseGenerator.
+     * @throws IOException if the file cannot be read or is not a valid tablebase.
+     */
+    public Connect4Tablebase(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size < HEADER_BYTES)
+            throw new IOException("Not a tablebase: " + path);
+        file = new Connect4MappedFile(path, size);
+
+        if (file.getInt(0) != MAGIC || file.getInt(4) != VERSION)
+            throw new IOException("Not a tablebase, or an unsupported version: " + path);
+        maxEmpty = file.getInt(8);
+        tableCount = file.getInt(12);
+        if (maxEmpty < 1 || maxEmpty > MAX_EMPTY || tableCount < 0)
+            throw new IOException("Tablebase header is corrupt: " + path);
+        entryBits = entryBits(maxEmpty);
+
+        long end = HEADER_BYTES + (long) tableCount * DIRECTORY_ENTRY_BYTES;
+        if (tableCount > 0)
+            end = getTableOffset(tableCount - 1) + tableBytes(getRootKey(tableCount - 1), entryBits);
+        if (end != size)
+            throw new IOException("Tablebase is truncated: " + path);
+    }
+
+    //------ Static Helpers ------
+
+    /** Opens a tablebase file, or returns the tablebase already opened for that file in this process.
+     *
+     * @param path tablebase file written by Connect4TablebaseGenerator.
+     * @return shared tablebase.
+     * @throws IOException if the file cannot be read or is not a valid tablebase.
+     */
+    public static synchronized Connect4Tablebase open(Path path) throws IOException {
+        Path absolutePath = path.toAbsolutePath().normalize();
+        Connect4Tablebase tablebase = openTablebases.get(absolutePath);
+        if (tablebase == null) {
+            tablebase = new Connect4Tablebase(absolutePath);
+            openTablebases.put(absolutePath, tablebase);
+        }
+        return tablebase;
+    }
+
+    /** Number of bits of one entry: 2 for the outcome and enough for a distance of up to maxEmpty plies.
+     *
+     * @param maxEmpty most empty cells of a stored position, 1 to MAX_EMPTY.
+     * @return bits per entry.
+     */
+    static int entryBits(int maxEmpty) {
+        return 2 + (Integer.SIZE - Integer.numberOfLeadingZeros(maxEmpty));
+    }
+
+    /** Number of slots of the table of a root: the product over the columns of 2^(free+1) - 1.
+     *
+     * @param rootKey Connect4BitBoard.key() of the root.
+     * @return number of slots.
+     */
+    static int slotCount(long rootKey) {
+        int slots = 1;
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            int free = Connect4BitBoard.ROWS - columnHeight(rootKey, column);
+            slots *= (2 << free) - 1;
+        }
+        return slots;
+    }
+
+    /** Number of bytes of the table of a root, a whole number of longs.
+     *
+     * @param rootKey Connect4BitBoard.key() of the root.
+     * @param entryBits bits per entry.
+     * @return table size in bytes.
+     */
+    static long tableBytes(long rootKey, int entryBits) {
+        return ((long) slotCount(rootKey) * entryBits + 63) / 64 * 8;
+    }
+
+    /** Slot of a position in the table of a root.
+     *
+     * @param rootKey Connect4BitBoard.key() of the root.
+     * @param key Connect4BitBoard.key() of a position extending the root.
+     * @return slot index, or -1 if the position does not extend the root.
+     */
+    static int slotIndex(long rootKey, long key) {
+        int index = 0;
+        int stride = 1;
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            int rootBits = columnBits(rootKey, column);
+            int bits = columnBits(key, column);
+            int height = 31 - Integer.numberOfLeadingZeros(rootBits);
+            int below = (1 << height) - 1;
+            int code = bits >>> height;
+            if (code == 0 || (bits & below) != (rootBits & below))
+                return -1;
+
+            index += (code - 1) * stride;
+            stride *= (2 << (Connect4BitBoard.ROWS - height)) - 1;
+        }
+        return index;
+    }
+
+    /** Key bits of one column: the marker bit above the top puck and Player X's pucks below it.
+     *
+     * @param key Connect4BitBoard.key() of a position.
+     * @param column column index 0-6.
+     * @return the column's 7 key bits.
+     */
+    private static int columnBits(long key, int column) {
+        return (int) (key >>> (column * Connect4BitBoard.COLUMN_HEIGHT)) & ((1 << Connect4BitBoard.COLUMN_HEIGHT) - 1);
+    }
+
+    /** Height of a column of a position key.
+     *
+     * @param key Connect4BitBoard.key() of a position.
+     * @param column column index 0-6.
+     * @return number of pucks in the column.
+     */
+    static int columnHeight(long key, int column) {
+        return 31 - Integer.numberOfLeadingZeros(columnBits(key, column));
+    }
+
+    /** Converts a Connect4Search score into an entry.
+     *
+     * @param score exact score for the player to move.
+     * @param moveCount number of pucks on the board.
+     * @return entry: distance to the end of the game shifted left 2, plus the outcome.
+     */
+    static int toEntry(int score, int moveCount) {
+        if (score == 0)
+            return DRAW;
+        int distance = Connect4Search.pliesToEnd(score, moveCount);
+        return (distance << 2) | ((score > 0) ? WIN : LOSS);
+    }
+
+    /** Converts an entry into a Connect4Search score.
+     *
+     * @param entry entry of a known position.
+     * @param moveCount number of pucks on the board.
+     * @return exact score for the player to move.
+     */
+    static int toScore(int entry, int moveCount) {
+        int outcome = entry & 3;
+        if (outcome == DRAW)
+            return 0;
+        int score = Connect4Search.WIN_SCORE + Connect4BitBoard.CELLS - moveCount - (entry >>> 2);
+        return (outcome == WIN) ? score : -score;
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve the root key of a table.
+     *
+     * @param table directory index.
+     * @return canonical key of the root.
+     */
+    private long getRootKey(int table) {
+        return file.getLong(HEADER_BYTES + (long) table * DIRECTORY_ENTRY_BYTES);
+    }
+
+    /** Method used to retrieve the file offset of a table.
+     *
+     * @param table directory index.
+     * @return offset of the table's first long.
+     */
+    private long getTableOffset(int table) {
+        return file.getLong(HEADER_BYTES + (long) table * DIRECTORY_ENTRY_BYTES + 8);
+    }
+
+    /** Binary-searches the directory for a root.
+     *
+     * @param rootKey canonical key of the root.
+     * @return directory index, or -1 if there is no table for the root.
+     */
+    private int findTable(long rootKey) {
+        int low = 0;
+        int high = tableCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleKey = getRootKey(middle);
+
+            if (middleKey < rootKey)
+                low = middle + 1;
+            else if (middleKey > rootKey)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    /** Reads the entry of a position from a table.
+     *
+     * @param table directory index.
+     * @param key Connect4BitBoard.key() of a position extending the table's root.
+     * @return entry, UNKNOWN (0) if the position cannot be reached from the root.
+     */
+    private int getEntry(int table, long key) {
+        int index = slotIndex(getRootKey(table), key);
+        if (index < 0)
+            return UNKNOWN;
+
+        long bit = (long) index * entryBits;
+        long offset = getTableOffset(table) + (bit >>> 6) * 8;
+        int shift = (int) (bit & 63);
+        long value = file.getLong(offset) >>> shift;
+        if (shift + entryBits > 64)
+            value |= file.getLong(offset + 8) << (64 - shift);
+        return (int) (value & ((1 << entryBits) - 1));
+    }
+
+    /** Finds a table holding a position, trying every root the position could have been reached from: the
+     * positions with maxEmpty empty cells left by taking pucks off the tops of its columns.
+     *
+     * @param key Connect4BitBoard.key() of the position.
+     * @param moveCount number of pucks on the board.
+     * @return directory index of a table holding the position, or -1 if none does.
+     */
+    private int locate(long key, int moveCount) {
+        int remove = moveCount - (Connect4BitBoard.CELLS - maxEmpty);
+        return (remove < 0) ? -1 : locate(key, 0, remove, 0L);
+    }
+
+    /** Recursive step of locate(key, moveCount), choosing how many pucks to take off each column in turn.
+     *
+     * @param key Connect4BitBoard.key() of the position.
+     * @param column next column to choose for.
+     * @param remove number of pucks still to take off.
+     * @param rootKey key bits of the root chosen for the columns before this one.
+     * @return directory index of a table holding the position, or -1 if none does.
+     */
+    private int locate(long key, int column, int remove, long rootKey) {
+        if (column == Connect4BitBoard.COLUMNS) {
+            if (remove != 0 || Connect4BitBoard.canonicalKey(rootKey) != rootKey)
+                return -1;
+            int table = findTable(rootKey);
+            return (table >= 0 && getEntry(table, key) != UNKNOWN) ? table : -1;
+        }
+
+        int bits = columnBits(key, column);
+        int height = columnHeight(key, column);
+        for (int taken = 0; taken <= Math.min(remove, height); taken++) {
+            int rootHeight = height - taken;
+            long rootBits = (bits & ((1 << rootHeight) - 1)) | (1 << rootHeight);
+            int table = locate(key, column + 1, remove - taken,
+                    rootKey | (rootBits << (column * Connect4BitBoard.COLUMN_HEIGHT)));
+            if (table >= 0)
+                return table;
+        }
+        return -1;
+    }
+
+    /** Looks up the exact score of a position.
+     *
+     * @param board position to look up, Player X having moved first.
+     * @return score for the player to move, or NOT_FOUND if the position is not in the tablebase.
+     */
+    public int probe(Connect4BitBoard board) {
+        int moveCount = board.getMoveCount();
+        long key = board.key();
+        for (int side = 0; side < 2; side++) {
+            int table = locate(key, moveCount);
+            if (table >= 0)
+                return toScore(getEntry(table, key), moveCount);
+            key = Connect4BitBoard.mirrorKey(key);
+        }
+        return NOT_FOUND;
+    }
+
+    /** Looks up a best move of a position: a move keeping the exact score of probe(), winning as quickly or
+     * losing as slowly as possible.
+     *
+     * @param board position to look up, Player X having moved first.
+     * @return column 0-6, or -1 if the position is not in the tablebase or the game is over.
+     */
+    public int findMove(Connect4BitBoard board) {
+        int moveCount = board.getMoveCount();
+        if (board.isFull() || Connect4BitBoard.CELLS - moveCount > maxEmpty)
+            return -1;
+
+        long key = board.key();
+        for (int side = 0; side < 2; side++) {
+            int table = locate(key, moveCount);
+            if (table >= 0) {
+                int move = findMove(table, key);
+                return (side == 0 || move < 0) ? move : Connect4BitBoard.mirrorColumn(move);
+            }
+            key = Connect4BitBoard.mirrorKey(key);
+        }
+        return -1;
+    }
+
+    /** Scores every move of a position held by a table and returns the best one.
+     *
+     * @param table directory index of a table holding the position.
+     * @param key Connect4BitBoard.key() of the position.
+     * @return column 0-6, or -1 if the position is already won.
+     */
+    private int findMove(int table, long key) {
+        Connect4BitBoard position = new Connect4BitBoard();
+        position.setFromKey(key);
+        int player = position.getPlayerToMove();
+        int childMoveCount = position.getMoveCount() + 1;
+        if (position.isWin(1 - player))
+            return -1;
+
+        int bestMove = -1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            if (!position.canPlay(column))
+                continue;
+            int row = position.play(column, player);
+            int score;
+            if (position.isWinAt(player, column, row))
+                score = Connect4Search.WIN_SCORE + Connect4BitBoard.CELLS - childMoveCount;
+            else if (position.isFull())
+                score = 0;
+            else
+                score = -toScore(getEntry(table, position.key()), childMoveCount);
+            position.undo(column);
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = column;
+            }
+        }
+        return bestMove;
+    }
+
+    /** Method used to retrieve maxEmpty value.
+     *
+     * @return most empty cells of any stored position.
+     */
+    public int getMaxEmpty() {
+        return maxEmpty;
+    }
+
+    /** Method used to retrieve tableCount value.
+     *
+     * @return number of root positions in the tablebase.
+     */
+    public int size() {
+        return tableCount;
+    }
+}
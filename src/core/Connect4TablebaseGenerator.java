@@ -0,0 +1,401 @@
+/** Description: Offline tool which writes an endgame tablebase for Connect4Tablebase. Takes a set of root
+ * positions with exactly maxEmpty empty cells, from the games of a game archive or from random games, and solves
+ * every position reachable from each root by retrograde analysis: a forward pass collects the reachable positions
+ * ply by ply, marking the slots of the root's table and scoring won and full positions straight away, then a
+ * backward pass from the last ply to the root scores each remaining position from its already scored children.
+ * No position is searched twice and nothing is searched deeper than needed.
+ *
+ * A position and its mirror image are solved and stored once, under the canonical root key. The size of every
+ * table follows from its root alone, so the directory and table offsets are written first and each worker thread
+ * writes the tables it solves straight to their place in the file, holding one table in memory at a time.
+ *
+ * Usage: java core.Connect4TablebaseGenerator output-file [-empty K] [-archive DIR] [-games N] [-seed S]
+ *        [-threads T]
+ * With -archive, the roots are the positions with K empty cells of every archived game that lasted that long;
+ * otherwise they are taken from N random games (default 1000).
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Class which features root collection, the retrograde solver and the file writing steps of building a tablebase. */
+public class Connect4TablebaseGenerator {
+
+    //------ Constants ------
+    /** Slot value of a position reached by the forward pass but not yet scored; never written to a file. */
+    private static final byte PENDING = (byte) 0xFF;
+
+    //------ Constructor ------
+
+    /** Default constructor for class object. */
+    public Connect4TablebaseGenerator() {
+    }
+
+    //------ Methods ------
+
+    /** Main method which generates a tablebase file from command line arguments.
+     *
+     * @param args output file, then optional -empty K (default 10), -archive DIR, -games N (default 1000),
+     *             -seed S and -threads T (default: number of processors).
+     * @throws Exception if the tablebase cannot be generated or written.
+     */
+    public static void main(String args[]) throws Exception {
+        String usage = "Usage: java core.Connect4TablebaseGenerator output-file [-empty K] [-archive DIR] [-games N] "
+                + "[-seed S] [-threads T]";
+        if (args.length < 1 || args[0].startsWith("-")) {
+            System.out.println(usage);
+            return;
+        }
+
+        Path output = Paths.get(args[0]);
+        int maxEmpty = 10;
+        String archive = null;
+        int games = 1000;
+        long seed = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "-empty": maxEmpty = Integer.parseInt(args[++i]); break;
+                case "-archive": archive = args[++i]; break;
+                case "-games": games = Integer.parseInt(args[++i]); break;
+                case "-seed": seed = Long.parseLong(args[++i]); break;
+                case "-threads": threads = Integer.parseInt(args[++i]); break;
+                default:
+                    System.out.println(usage);
+                    return;
+            }
+        }
+
+        long startTime = System.nanoTime();
+        long[] roots = (archive != null) ? archiveRoots(new Connect4GameArchive(Paths.get(archive)), maxEmpty)
+                : randomRoots(maxEmpty, games, seed);
+        Connect4TablebaseGenerator generator = new Connect4TablebaseGenerator();
+        long positions = generator.generate(output, maxEmpty, roots, threads);
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        System.out.println("Wrote " + positions + " positions from " + Connect4Tablebase.open(output).size()
+                + " roots with " + maxEmpty + " empty cells in " + elapsedMillis + " ms to " + output);
+    }
+
+    /** Collects roots from random games: the position each game reaches with maxEmpty empty cells, unless the
+     * game is won before.
+     *
+     * @param maxEmpty number of empty cells of the roots.
+     * @param games number of random games to play.
+     * @param seed seed of the random moves.
+     * @return Connect4BitBoard.key() of each root, possibly with duplicates.
+     */
+    public static long[] randomRoots(int maxEmpty, int games, long seed) {
+        Random rand = new Random(seed);
+        Connect4BitBoard board = new Connect4BitBoard();
+        long[] roots = new long[games];
+        int rootCount = 0;
+
+        for (int game = 0; game < games; game++) {
+            board.reset();
+            boolean won = false;
+            while (!won && board.getMoveCount() < Connect4BitBoard.CELLS - maxEmpty) {
+                int column = rand.nextInt(Connect4BitBoard.COLUMNS);
+                if (!board.canPlay(column))
+                    continue;
+                int player = board.getPlayerToMove();
+                won = board.isWinAt(player, column, board.play(column, player));
+            }
+            if (!won)
+                roots[rootCount++] = board.key();
+        }
+        return Arrays.copyOf(roots, rootCount);
+    }
+
+    /** Collects roots from a game archive: the position each archived game reached with maxEmpty empty cells,
+     * unless the game was won before.
+     *
+     * @param archive archive to read.
+     * @param maxEmpty number of empty cells of the roots.
+     * @return Connect4BitBoard.key() of each root, possibly with duplicates.
+     * @throws IOException if a game cannot be read.
+     */
+    public static long[] archiveRoots(Connect4GameArchive archive, int maxEmpty) throws IOException {
+        Connect4GameRecord record = new Connect4GameRecord();
+        Connect4BitBoard board = new Connect4BitBoard();
+        long[] roots = new long[1024];
+        int rootCount = 0;
+
+        for (int gameId = 0; gameId < archive.getGameCount(); gameId++) {
+            archive.readGame(gameId, record);
+            if (record.getMoveCount() < Connect4BitBoard.CELLS - maxEmpty)
+                continue;
+
+            board.reset();
+            boolean won = false;
+            for (int i = 0; !won && i < Connect4BitBoard.CELLS - maxEmpty; i++) {
+                int column = record.getMove(i);
+                int player = board.getPlayerToMove();
+                won = board.isWinAt(player, column, board.play(column, player));
+            }
+            if (won)
+                continue;
+
+            if (rootCount == roots.length)
+                roots = Arrays.copyOf(roots, roots.length * 2);
+            roots[rootCount++] = board.key();
+        }
+        return Arrays.copyOf(roots, rootCount);
+    }
+
+    /** Solves every position reachable from the roots and writes the tablebase.
+     *
+     * @param output file to write.
+     * @param maxEmpty number of empty cells of the roots, 1 to Connect4Tablebase.MAX_EMPTY.
+     * @param rootKeys Connect4BitBoard.key() of each root, in any order and possibly with duplicates or mirror
+     *                 images.
+     * @param threads number of worker threads, 1 or more.
+     * @return number of positions solved and stored.
+     * @throws IOException if the file cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     * @throws IllegalArgumentException if an argument is out of range or a root does not have maxEmpty empty cells
+     *                                  or is already won.
+     */
+    public long generate(Path output, int maxEmpty, long[] rootKeys, int threads)
+            throws IOException, InterruptedException, IllegalArgumentException {
+        if (maxEmpty < 1 || maxEmpty > Connect4Tablebase.MAX_EMPTY)
+            throw new IllegalArgumentException("maxEmpty must be 1-" + Connect4Tablebase.MAX_EMPTY + ".");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads must be at least 1.");
+
+        //canonical roots, sorted and without duplicates from different games or mirror images
+        Connect4BitBoard board = new Connect4BitBoard();
+        long[] roots = new long[rootKeys.length];
+        for (int i = 0; i < rootKeys.length; i++) {
+            board.setFromKey(rootKeys[i]);
+            if (board.getMoveCount() != Connect4BitBoard.CELLS - maxEmpty)
+                throw new IllegalArgumentException("Root does not have " + maxEmpty + " empty cells: " + rootKeys[i]);
+            if (board.isWin(Connect4BitBoard.PLAYER_X) || board.isWin(Connect4BitBoard.PLAYER_O))
+                throw new IllegalArgumentException("Root is already won: " + rootKeys[i]);
+            roots[i] = board.canonicalKey();
+        }
+        Arrays.sort(roots);
+        int rootCount = 0;
+        for (int i = 0; i < roots.length; i++) {
+            if (i == 0 || roots[i] != roots[i - 1])
+                roots[rootCount++] = roots[i];
+        }
+
+        int entryBits = Connect4Tablebase.entryBits(maxEmpty);
+        long[] offsets = new long[rootCount];
+        long offset = Connect4Tablebase.HEADER_BYTES + (long) rootCount * Connect4Tablebase.DIRECTORY_ENTRY_BYTES;
+        for (int i = 0; i < rootCount; i++) {
+            offsets[i] = offset;
+            offset += Connect4Tablebase.tableBytes(roots[i], entryBits);
+        }
+
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(Connect4Tablebase.HEADER_BYTES
+                    + rootCount * Connect4Tablebase.DIRECTORY_ENTRY_BYTES);
+            header.putInt(Connect4Tablebase.MAGIC);
+            header.putInt(Connect4Tablebase.VERSION);
+            header.putInt(maxEmpty);
+            header.putInt(rootCount);
+            for (int i = 0; i < rootCount; i++) {
+                header.putLong(roots[i]);
+                header.putLong(offsets[i]);
+            }
+            header.flip();
+            writeFully(channel, header, 0);
+
+            return solveRoots(channel, roots, offsets, rootCount, maxEmpty, threads);
+        }
+    }
+
+    /** Solves the roots in parallel, each worker taking an interleaved share of them, and writes each table.
+     *
+     * @param channel file being written.
+     * @param roots sorted canonical root keys.
+     * @param offsets file offset of each root's table.
+     * @param rootCount number of roots used.
+     * @param maxEmpty number of empty cells of the roots.
+     * @param threads number of worker threads.
+     * @return number of positions solved.
+     * @throws IOException if a table cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     */
+    private long solveRoots(FileChannel channel, long[] roots, long[] offsets, int rootCount, int maxEmpty,
+                            int threads) throws IOException, InterruptedException {
+        AtomicLong positions = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int firstIndex = t;
+                workers.add(pool.submit(() -> {
+                    for (int i = firstIndex; i < rootCount; i += threads) {
+                        byte[] values = solve(roots[i], maxEmpty);
+                        positions.addAndGet(writeTable(channel, offsets[i], values, maxEmpty));
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> worker : workers)
+                worker.get();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException("Tablebase generation failed.", e.getCause());
+        }
+        finally {
+            pool.shutdown();
+        }
+        return positions.get();
+    }
+
+    /** Solves every position reachable from a root by retrograde analysis.
+     *
+     * @param rootKey canonical key of the root.
+     * @param maxEmpty number of empty cells of the root.
+     * @return entry of each slot of the root's table, Connect4Tablebase.UNKNOWN for unreachable positions.
+     */
+    static byte[] solve(long rootKey, int maxEmpty) {
+        byte[] values = new byte[Connect4Tablebase.slotCount(rootKey)];
+        Connect4BitBoard board = new Connect4BitBoard();
+
+        //forward pass: positions still to score at each ply after the root; won and full positions are scored
+        long[][] layers = new long[maxEmpty][];
+        int[] layerSizes = new int[maxEmpty];
+        layers[0] = new long[] {rootKey};
+        layerSizes[0] = 1;
+        values[Connect4Tablebase.slotIndex(rootKey, rootKey)] = PENDING;
+        for (int ply = 0; ply + 1 < maxEmpty; ply++) {
+            layers[ply + 1] = new long[16];
+            for (int i = 0; i < layerSizes[ply]; i++) {
+                board.setFromKey(layers[ply][i]);
+                int player = board.getPlayerToMove();
+                for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+                    if (!board.canPlay(column))
+                        continue;
+                    int row = board.play(column, player);
+                    long childKey = board.key();
+                    int slot = Connect4Tablebase.slotIndex(rootKey, childKey);
+                    if (values[slot] == Connect4Tablebase.UNKNOWN) {
+                        if (board.isWinAt(player, column, row)) {
+                            values[slot] = Connect4Tablebase.LOSS;
+                        }
+                        else {
+                            values[slot] = PENDING;
+                            if (layerSizes[ply + 1] == layers[ply + 1].length)
+                                layers[ply + 1] = Arrays.copyOf(layers[ply + 1], layers[ply + 1].length * 2);
+                            layers[ply + 1][layerSizes[ply + 1]++] = childKey;
+                        }
+                    }
+                    board.undo(column);
+                }
+            }
+        }
+
+        //backward pass: score each position from its children, from the last ply before a full board to the root
+        for (int ply = maxEmpty - 1; ply >= 0; ply--) {
+            for (int i = 0; i < layerSizes[ply]; i++) {
+                board.setFromKey(layers[ply][i]);
+                values[Connect4Tablebase.slotIndex(rootKey, layers[ply][i])] = (byte) solvePosition(rootKey, board,
+                        values);
+            }
+        }
+        return values;
+    }
+
+    /** Scores a position that is not won from the entries of its children. A child that fills the board
+     * without a win is a draw; every other child is already scored.
+     *
+     * @param rootKey canonical key of the root.
+     * @param board position to score; left as it was.
+     * @param values entries of the root's table.
+     * @return entry of the position.
+     */
+    private static int solvePosition(long rootKey, Connect4BitBoard board, byte[] values) {
+        int player = board.getPlayerToMove();
+        int childMoveCount = board.getMoveCount() + 1;
+        int bestScore = Integer.MIN_VALUE;
+        for (int column = 0; column < Connect4BitBoard.COLUMNS; column++) {
+            if (!board.canPlay(column))
+                continue;
+            int row = board.play(column, player);
+            int score;
+            if (board.isWinAt(player, column, row)) {
+                score = Connect4Search.WIN_SCORE + Connect4BitBoard.CELLS - childMoveCount;
+            }
+            else if (board.isFull()) {
+                score = 0;
+            }
+            else {
+                int entry = values[Connect4Tablebase.slotIndex(rootKey, board.key())] & 0xFF;
+                score = -Connect4Tablebase.toScore(entry, childMoveCount);
+            }
+            board.undo(column);
+            bestScore = Math.max(bestScore, score);
+        }
+        return Connect4Tablebase.toEntry(bestScore, childMoveCount - 1);
+    }
+
+    /** Packs the entries of a table and writes them at the table's offset.
+     *
+     * @param channel file being written.
+     * @param offset file offset of the table.
+     * @param values entry of each slot.
+     * @param maxEmpty number of empty cells of the root.
+     * @return number of positions in the table.
+     * @throws IOException if the table cannot be written.
+     */
+    private static long writeTable(FileChannel channel, long offset, byte[] values, int maxEmpty) throws IOException {
+        int entryBits = Connect4Tablebase.entryBits(maxEmpty);
+        long[] words = new long[(int) (((long) values.length * entryBits + 63) / 64)];
+        long positions = 0;
+        for (int slot = 0; slot < values.length; slot++) {
+            long entry = values[slot] & 0xFF;
+            if (entry == Connect4Tablebase.UNKNOWN)
+                continue;
+            positions++;
+            long bit = (long) slot * entryBits;
+            int word = (int) (bit >>> 6);
+            int shift = (int) (bit & 63);
+            words[word] |= entry << shift;
+            if (shift + entryBits > 64)
+                words[word + 1] |= entry >>> (64 - shift);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * 8);
+        buffer.asLongBuffer().put(words);
+        writeFully(channel, buffer, offset);
+        return positions;
+    }
+
+    /** Writes the remaining bytes of a buffer at a file offset. Safe to call from several threads at once.
+     *
+     * @param channel file being written.
+     * @param buffer bytes to write.
+     * @param offset file offset of the first byte.
+     * @throws IOException if the bytes cannot be written.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        while (buffer.hasRemaining())
+            offset += channel.write(buffer, offset);
+    }
+}
@@ -0,0 +1,340 @@
+/** Description: Fixed-size transposition table used by Connect4Search to remember positions it has already
+ * searched. The same position is often reached through different move orders (playing column 1 then 2 gives
+ * the same board as 2 then 1), and looking it up is far cheaper than searching it again. Connect4Search
+ * stores positions under their canonical key (see Connect4BitBoard.canonicalKey()), so a position and its
+ * mirror image take one slot between them.
+ *
+ * Entries are stored in one flat long[] with no per-entry objects: two longs per entry, a check word followed
+ * by a packed data word. The data word holds, from the low bits up:
+ * <pre>
+ *  bits  0-31  score (signed int)
+ *  bits 32-33  bound: EXACT, LOWER_BOUND or UPPER_BOUND
+ *  bits 34-41  depth searched (0-255)
+ *  bits 42-45  best move + 1 (0 means no move)
+ *  bits 46-53  generation (search number the entry was stored in)
+ * </pre>
+ * The check word is the position key XOR-ed with the data word, and a probe only reports a hit when the two
+ * words it read XOR back to the key it asked for. Every word is read and written whole (VarHandle opaque
+ * access), so several threads can probe and store at once without locks: a slot written by two threads at the
+ * same moment may end up holding one thread's check word and the other's data word, but then the words no
+ * longer match any key and the slot simply reads as a miss. An empty slot holds two zero words and never
+ * matches, as neither Connect4BitBoard.key() nor a data word is ever 0.
+ *
+ * A table shared between threads (see the shared constructor) keeps no hit/miss/collision/store counters,
+ * as updating them on every probe would make the threads fight over the counters' cache line, and its
+ * newSearch() is left to whoever runs the threads' searches, e.g. Connect4ParallelSearch.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/** Class which features lock-free probe and store methods over a power-of-two number of slots, a choice of
+ * replacement policy, and hit/miss/collision counters for tables used by one thread.
+ */
+public class Connect4TranspositionTable {
+
+    //------ Replacement Policies ------
+    /** Rules for deciding whether a store may overwrite a slot holding a different position. */
+    public enum ReplacementPolicy {
+        /** Keep the entry searched deeper, unless it was stored by an earlier search. */
+        DEPTH_PREFERRED,
+        /** Always overwrite with the newest entry. */
+        ALWAYS_REPLACE
+    }
+
+    //------ Constants ------
+    /** Bound type of a score that is exact. */
+    public static final int EXACT = 1;
+    /** Bound type of a score that is a lower bound (the search failed high). */
+    public static final int LOWER_BOUND = 2;
+    /** Bound type of a score that is an upper bound (the search failed low). */
+    public static final int UPPER_BOUND = 3;
+
+    /** Number of bytes taken by one entry: key and data word. */
+    public static final int ENTRY_BYTES = 16;
+
+    /** Largest table size in megabytes: 2^29 slots, whose 2^30 words are the most one long[] can hold. */
+    public static final int MAX_SIZE_MB = 8192;
+
+    /** Bit position of the bound field in a data word. */
+    private static final int BOUND_SHIFT = 32;
+    /** Bit position of the depth field in a data word. */
+    private static final int DEPTH_SHIFT = 34;
+    /** Bit position of the move field in a data word. */
+    private static final int MOVE_SHIFT = 42;
+    /** Bit position of the generation field in a data word. */
+    private static final int GENERATION_SHIFT = 46;
+
+    /** Whole-word access to the elements of the table array. */
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    //------ Variables ------
+    /** Flat entry storage: table[2 * i] is the check word (key XOR data) of slot i, table[2 * i + 1] its data. */
+    private final long[] table;
+
+    /** Number of slots minus one; slots are a power of two so an index is key bits AND-ed with this. */
+    private final int indexMask;
+
+    /** Policy used when a store lands on a slot holding a different position. */
+    private final ReplacementPolicy policy;
+
+    /** Whether several threads probe and store at once; if so no counters are kept. */
+    private final boolean shared;
+
+    /** Integer variable holding the current search number, stored in every entry for aging. Volatile so that
+     * the threads searching a shared table see a new search's number.
+     */
+    private volatile int generation;
+
+    /** Number of probes that found the position. */
+    private long hits;
+    /** Number of probes that did not find the position. */
+    private long misses;
+    /** Number of probes whose slot held a different position. */
+    private long collisions;
+    /** Number of entries written. */
+    private long stores;
+
+    //------ Constructor ------
+
+    /** Constructor which allocates the largest power-of-two number of slots that fits in sizeMb megabytes.
+     *
+     * @param sizeMb table size in megabytes, 1 to MAX_SIZE_MB.
+     * @param policy replacement policy used on stores.
+     * @throws IllegalArgumentException if sizeMb is less than 1 or more than MAX_SIZE_MB.
+     */
+    public Connect4TranspositionTable(int sizeMb, ReplacementPolicy policy) throws IllegalArgumentException {
+        this(sizeMb, policy, false);
+    }
+
+    /** Constructor which allocates a table that may be shared between threads.
+     *
+     * @param sizeMb table size in megabytes, 1 to MAX_SIZE_MB.
+     * @param policy replacement policy used on stores.
+     * @param shared true if several threads will probe and store at once; no counters are kept then.
+     * @throws IllegalArgumentException if sizeMb is less than 1 or more than MAX_SIZE_MB.
+     */
+    public Connect4TranspositionTable(int sizeMb, ReplacementPolicy policy, boolean shared)
+            throws IllegalArgumentException {
+        if (sizeMb < 1 || sizeMb > MAX_SIZE_MB)
+            throw new IllegalArgumentException("Transposition table size must be 1-" + MAX_SIZE_MB + " MB.");
+
+        long slots = Long.highestOneBit(sizeMb * 1024L * 1024L / ENTRY_BYTES);
+        this.table = new long[(int) (slots * 2)];
+        this.indexMask = (int) (slots - 1);
+        this.policy = policy;
+        this.shared = shared;
+    }
+
+    //------ Static Helpers ------
+
+    /** Packs the fields of an entry into one data word.
+     *
+     * @param score score of the position.
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND.
+     * @param depth depth searched, 0-255.
+     * @param move best move 0-6, or -1 for none.
+     * @param generation search number, only the low 8 bits are kept.
+     * @return packed data word.
+     */
+    static long pack(int score, int bound, int depth, int move, int generation) {
+        return (score & 0xFFFFFFFFL)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) Math.min(depth, 255) << DEPTH_SHIFT)
+                | ((long) (move + 1) << MOVE_SHIFT)
+                | ((long) (generation & 0xFF) << GENERATION_SHIFT);
+    }
+
+    /** Unpacks the score of a data word returned by probe().
+     *
+     * @param data data word.
+     * @return score.
+     */
+    public static int scoreOf(long data) {
+        return (int) data;
+    }
+
+    /** Unpacks the bound type of a data word returned by probe().
+     *
+     * @param data data word.
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND.
+     */
+    public static int boundOf(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /** Unpacks the depth of a data word returned by probe().
+     *
+     * @param data data word.
+     * @return depth searched.
+     */
+    public static int depthOf(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /** Unpacks the best move of a data word returned by probe().
+     *
+     * @param data data word.
+     * @return column 0-6, or -1 if no move was stored.
+     */
+    public static int moveOf(long data) {
+        return ((int) (data >>> MOVE_SHIFT) & 0xF) - 1;
+    }
+
+    /** Unpacks the generation of a data word.
+     *
+     * @param data data word.
+     * @return low 8 bits of the search number the entry was stored in.
+     */
+    static int generationOf(long data) {
+        return (int) (data >>> GENERATION_SHIFT) & 0xFF;
+    }
+
+    //------ Methods ------
+
+    /** Computes the slot of a key. Multiplying by a large odd constant spreads the structured bits of
+     * a bitboard key over the high bits, which are then used as the index.
+     *
+     * @param key position key.
+     * @return slot index.
+     */
+    private int slotOf(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & indexMask;
+    }
+
+    /** Looks up a position.
+     *
+     * @param key position key from Connect4BitBoard.key() or canonicalKey().
+     * @return packed data word, or 0 if the position is not in the table.
+     */
+    public long probe(long key) {
+        int slot = slotOf(key) << 1;
+        long check = (long) SLOTS.getOpaque(table, slot);
+        long data = (long) SLOTS.getOpaque(table, slot + 1);
+
+        if ((check ^ data) == key) {
+            if (!shared)
+                hits++;
+            return data;
+        }
+
+        if (!shared) {
+            misses++;
+            if (data != 0)
+                collisions++;
+        }
+        return 0L;
+    }
+
+    /** Stores a position, subject to the replacement policy. An entry for the same position is always
+     * overwritten.
+     *
+     * @param key position key from Connect4BitBoard.key() or canonicalKey().
+     * @param score score of the position.
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND.
+     * @param depth depth searched.
+     * @param move best move 0-6, or -1 for none.
+     */
+    public void store(long key, int score, int bound, int depth, int move) {
+        int slot = slotOf(key) << 1;
+        int currentGeneration = generation;
+
+        if (policy == ReplacementPolicy.DEPTH_PREFERRED) {
+            long storedData = (long) SLOTS.getOpaque(table, slot + 1);
+            long storedKey = (long) SLOTS.getOpaque(table, slot) ^ storedData;
+            if (storedData != 0 && storedKey != key && generationOf(storedData) == (currentGeneration & 0xFF)
+                    && depthOf(storedData) > depth)
+                return;
+        }
+
+        long data = pack(score, bound, depth, move, currentGeneration);
+        SLOTS.setOpaque(table, slot, key ^ data);
+        SLOTS.setOpaque(table, slot + 1, data);
+        if (!shared)
+            stores++;
+    }
+
+    /** Void method called at the start of every search so that depth-preferred replacement stops
+     * protecting entries left over from earlier searches. On a shared table, called once by whoever starts
+     * the threads' searches rather than by each search.
+     */
+    public void newSearch() {
+        generation++;
+    }
+
+    /** Void method which empties every slot and zeroes the counters. Must not run while a search uses the table. */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        generation = 0;
+        resetCounters();
+    }
+
+    /** Void method which zeroes the hit, miss, collision and store counters. */
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+        collisions = 0;
+        stores = 0;
+    }
+
+    /** Method used to retrieve the number of slots.
+     *
+     * @return number of entries the table can hold.
+     */
+    public int getCapacity() {
+        return indexMask + 1;
+    }
+
+    /** Method used to retrieve shared value.
+     *
+     * @return true if the table may be used by several threads at once and keeps no counters.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /** Method used to retrieve the replacement policy.
+     *
+     * @return policy used on stores.
+     */
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    /** Method used to retrieve hits value.
+     *
+     * @return number of probes that found the position; always 0 for a shared table.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /** Method used to retrieve misses value.
+     *
+     * @return number of probes that did not find the position.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Method used to retrieve collisions value.
+     *
+     * @return number of probes whose slot held a different position.
+     */
+    public long getCollisions() {
+        return collisions;
+    }
+
+    /** Method used to retrieve stores value.
+     *
+     * @return number of entries written.
+     */
+    public long getStores() {
+        return stores;
+    }
+}
@@ -0,0 +1,245 @@
+/** Description: Board for geometries too large for one long per player, e.g. 9x7 or 12x10. Each column of each
+ * player is one long, bit r being row r, so boards are limited only by Connect4Geometry.MAX_ROWS and
+ * MAX_COLUMNS. Column heights are kept in an array, so placing and removing a puck is one array update and
+ * one OR or AND-NOT.
+ *
+ * The win checks work a whole column of rows at a time, generated from the geometry like those of
+ * Connect4LongBoard: a vertical line is a column word ANDed with itself shifted by 1 to connect - 1 rows, and
+ * a horizontal or diagonal line starting in column c is the AND of the words of columns c to c + connect - 1,
+ * each shifted by 0, i or -i rows for its distance i from column c. isWinAt() only counts the pucks next to
+ * the cell in each direction.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package core;
+
+import java.util.Arrays;
+
+/** Class holding one long per column per player and the methods used to place, remove and check pucks. */
+public final class Connect4WideBoard implements Connect4Board {
+
+    //------ Variables ------
+    /** Dimensions and win length. */
+    private final Connect4Geometry geometry;
+
+    /** Number of columns. */
+    private final int columns;
+
+    /** Number of rows. */
+    private final int rows;
+
+    /** Number of pucks in a row needed to win. */
+    private final int connect;
+
+    /** Puck words indexed [player][column]; bit r is row r. */
+    private final long[][] columnWords;
+
+    /** Number of pucks in each column. */
+    private final int[] heights;
+
+    /** Number of pucks on the board. */
+    private int moveCount;
+
+    /** Number of full columns. */
+    private int fullColumns;
+
+    //------ Constructor ------
+
+    /** Constructor which creates an empty board of a geometry.
+     *
+     * @param geometry board dimensions and win length.
+     */
+    public Connect4WideBoard(Connect4Geometry geometry) {
+        this.geometry = geometry;
+        this.columns = geometry.getColumns();
+        this.rows = geometry.getRows();
+        this.connect = geometry.getConnect();
+        this.columnWords = new long[2][columns];
+        this.heights = new int[columns];
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve the geometry of the board.
+     *
+     * @return board dimensions and win length.
+     */
+    @Override
+    public Connect4Geometry getGeometry() {
+        return geometry;
+    }
+
+    @Override
+    public boolean canPlay(int column) {
+        return heights[column] < rows;
+    }
+
+    @Override
+    public int play(int column, int player) {
+        int row = heights[column];
+        if (row == rows)
+            return -1;
+
+        columnWords[player][column] |= 1L << row;
+        heights[column] = row + 1;
+        moveCount++;
+        if (row + 1 == rows)
+            fullColumns++;
+        return row;
+    }
+
+    @Override
+    public void undo(int column) {
+        int row = heights[column] - 1;
+        if (row + 1 == rows)
+            fullColumns--;
+        columnWords[Connect4BitBoard.PLAYER_X][column] &= ~(1L << row);
+        columnWords[Connect4BitBoard.PLAYER_O][column] &= ~(1L << row);
+        heights[column] = row;
+        moveCount--;
+    }
+
+    @Override
+    public int height(int column) {
+        return heights[column];
+    }
+
+    @Override
+    public int getCell(int column, int row) {
+        if (row >= heights[column])
+            return Connect4BitBoard.EMPTY;
+        return ((columnWords[Connect4BitBoard.PLAYER_X][column] >>> row & 1L) != 0)
+                ? Connect4BitBoard.PLAYER_X : Connect4BitBoard.PLAYER_O;
+    }
+
+    /** Checks whether one of a player's pucks is at a cell, treating cells off the board as empty.
+     *
+     * @param words player's column words.
+     * @param column column index, may be off the board.
+     * @param row row index, may be off the board.
+     * @return true if the player has a puck there.
+     */
+    private boolean hasPuck(long[] words, int column, int row) {
+        return column >= 0 && column < columns && row >= 0 && row < rows && (words[column] >>> row & 1L) != 0;
+    }
+
+    @Override
+    public boolean isWinAt(int player, int column, int row) {
+        long[] words = columnWords[player];
+        //column and row steps of the four directions: vertical, horizontal, up-right, down-right
+        for (int direction = 0; direction < 4; direction++) {
+            int columnStep = (direction == 0) ? 0 : 1;
+            int rowStep = (direction == 1) ? 0 : (direction == 3) ? -1 : 1;
+
+            int count = 1;
+            for (int i = 1; count < connect && hasPuck(words, column + columnStep * i, row + rowStep * i); i++)
+                count++;
+            for (int i = 1; count < connect && hasPuck(words, column - columnStep * i, row - rowStep * i); i++)
+                count++;
+            if (count >= connect)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isWin(int player) {
+        long[] words = columnWords[player];
+
+        //vertical
+        for (int column = 0; column < columns; column++) {
+            long run = words[column];
+            for (int i = 1; i < connect && run != 0; i++)
+                run &= words[column] >>> i;
+            if (run != 0)
+                return true;
+        }
+
+        //horizontal, up-right and down-right from each starting column
+        for (int column = 0; column + connect <= columns; column++) {
+            long horizontal = words[column];
+            long upRight = words[column];
+            long downRight = words[column];
+            for (int i = 1; i < connect; i++) {
+                long word = words[column + i];
+                horizontal &= word;
+                upRight &= word >>> i;
+                downRight &= word << i;
+            }
+            if ((horizontal | upRight | downRight) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int fullColumnCount() {
+        return fullColumns;
+    }
+
+    @Override
+    public boolean isFull() {
+        return fullColumns == columns;
+    }
+
+    @Override
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    @Override
+    public int getPlayerToMove() {
+        return moveCount & 1;
+    }
+
+    /** Returns the puck word of one column of one player.
+     *
+     * @param player PLAYER_X or PLAYER_O.
+     * @param column column index.
+     * @return word with bit r set if the player has a puck in row r.
+     */
+    public long getColumnWord(int player, int column) {
+        return columnWords[player][column];
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(columnWords[Connect4BitBoard.PLAYER_X], 0L);
+        Arrays.fill(columnWords[Connect4BitBoard.PLAYER_O], 0L);
+        Arrays.fill(heights, 0);
+        moveCount = 0;
+        fullColumns = 0;
+    }
+
+    /** Copies another board of the same geometry into this one without allocating.
+     *
+     * @param other board to copy from.
+     * @throws IllegalArgumentException if the other board has a different geometry.
+     */
+    public void copyFrom(Connect4WideBoard other) throws IllegalArgumentException {
+        if (!other.geometry.equals(geometry))
+            throw new IllegalArgumentException("Cannot copy a " + other.geometry + " board to a " + geometry
+                    + " board.");
+        for (int player = 0; player < 2; player++)
+            System.arraycopy(other.columnWords[player], 0, columnWords[player], 0, columns);
+        System.arraycopy(other.heights, 0, heights, 0, columns);
+        moveCount = other.moveCount;
+        fullColumns = other.fullColumns;
+    }
+
+    @Override
+    public void fillColumnArray(String[][] columnArray) {
+        for (int i = 0; i < columns; i++) {
+            for (int j = 0; j < rows; j++) {
+                int owner = getCell(i, j);
+                if (owner == Connect4BitBoard.PLAYER_X)
+                    columnArray[i][j] = "X";
+                else if (owner == Connect4BitBoard.PLAYER_O)
+                    columnArray[i][j] = "O";
+                else
+                    columnArray[i][j] = " ";
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ module connect4 {
     requires javafx.controls;
     requires javafx.fxml;
     requires junit;
+    requires jdk.management;
 
     exports Test to junit;
 
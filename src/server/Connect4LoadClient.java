@@ -0,0 +1,366 @@
+/** Description: Load generator for Connect4Server. Opens many connections from one thread with an NIO Selector,
+ * plays PvC games on each of them with random legal moves, and measures move-ack latency: the time from writing
+ * a MOVE line to reading the server's OK for it. Games are restarted with NEW as soon as they end, so every
+ * connection keeps playing until enough moves have been measured.
+ *
+ * A think time between moves makes most sessions idle at any moment, which is the usual load on a game server;
+ * with no think time every connection moves as soon as it may. The first moves are a warmup and are not measured.
+ * Latencies include the time spent in this client's own selector loop, so run it on spare cores.
+ *
+ * Usage: java server.Connect4LoadClient [-host H] [-port N] [-connections N] [-moves N] [-warmup N] [-think MILLIS]
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package server;
+
+import core.Connect4BitBoard;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/** Class which features the client connections, the move scheduling and the latency report. */
+public class Connect4LoadClient {
+
+    //------ Client Connections ------
+    /** One simulated player. */
+    private static final class Client {
+        /** Socket to the server. */
+        final SocketChannel channel;
+        /** Registration of the socket with the selector. */
+        SelectionKey key;
+        /** Bytes read but not yet split into lines. */
+        final ByteBuffer input = ByteBuffer.allocate(512);
+        /** Copy of the board of the current game, used to choose legal moves. */
+        final Connect4BitBoard board = new Connect4BitBoard();
+        /** Side played in the current game. */
+        int player = Connect4BitBoard.PLAYER_X;
+        /** Set between START and the end of a game. */
+        boolean playing;
+        /** System.nanoTime() at which the last MOVE was written, or 0 when no move is waiting for its OK. */
+        long moveSentAt;
+        /** System.nanoTime() at which the next move is due. */
+        long moveDueAt;
+
+        /** Constructor which stores the socket.
+         *
+         * @param channel socket to the server.
+         */
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    //------ Variables ------
+    /** Selector serving every client socket. */
+    private final Selector selector;
+
+    /** Clients whose next move is due, earliest first. */
+    private final PriorityQueue<Client> dueMoves = new PriorityQueue<>((a, b) -> Long.compare(a.moveDueAt, b.moveDueAt));
+
+    /** Random number generator choosing moves and think times. */
+    private final Random rand = new Random();
+
+    /** Mean pause before each move in nanoseconds. */
+    private final long thinkNanos;
+
+    /** Moves acknowledged before measuring starts. */
+    private final int warmupMoves;
+
+    /** Measured move-ack latencies in nanoseconds; the first measuredCount are used. */
+    private final long[] latencies;
+
+    /** Number of latencies measured. */
+    private int measuredCount;
+
+    /** Number of moves acknowledged during the warmup. */
+    private int warmupCount;
+
+    /** Games played to the end. */
+    private long gamesFinished;
+
+    /** Shared buffer each line is encoded into before writing. */
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(Connect4Server.MAX_LINE_BYTES + 1);
+
+    //------ Constructor ------
+
+    /** Constructor which sets up the measurement.
+     *
+     * @param moves number of move-ack latencies to measure, 1 or more.
+     * @param warmupMoves number of moves to play before measuring.
+     * @param thinkMillis mean pause before each move, or 0 to move at once.
+     * @throws IOException if the selector cannot be opened.
+     */
+    public Connect4LoadClient(int moves, int warmupMoves, long thinkMillis) throws IOException {
+        if (moves < 1)
+            throw new IllegalArgumentException("moves must be at least 1.");
+        this.selector = Selector.open();
+        this.latencies = new long[moves];
+        this.warmupMoves = warmupMoves;
+        this.thinkNanos = thinkMillis * 1_000_000;
+    }
+
+    //------ Main ------
+
+    /** Main method which runs a load test from command line options and prints the latency report.
+     *
+     * @param args command line options, see the class description.
+     * @throws IOException if the server cannot be reached.
+     */
+    public static void main(String args[]) throws IOException {
+        String host = "localhost";
+        int port = Connect4Server.DEFAULT_PORT;
+        int connections = 1000;
+        int moves = 100_000;
+        int warmup = -1;
+        long think = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-host": host = args[++i]; break;
+                case "-port": port = Integer.parseInt(args[++i]); break;
+                case "-connections": connections = Integer.parseInt(args[++i]); break;
+                case "-moves": moves = Integer.parseInt(args[++i]); break;
+                case "-warmup": warmup = Integer.parseInt(args[++i]); break;
+                case "-think": think = Long.parseLong(args[++i]); break;
+                default:
+                    System.out.println("Usage: java server.Connect4LoadClient [-host H] [-port N] [-connections N] "
+                            + "[-moves N] [-warmup N] [-think MILLIS]");
+                    return;
+            }
+        }
+        if (warmup < 0)
+            warmup = moves / 10;
+
+        Connect4LoadClient client = new Connect4LoadClient(moves, warmup, think);
+        long elapsedNanos = client.run(new InetSocketAddress(host, port), connections);
+        System.out.println(client.report(connections, elapsedNanos));
+    }
+
+    //------ Methods ------
+
+    /** Connects every client, plays until the requested number of moves has been measured, then disconnects.
+     *
+     * @param server address of the server.
+     * @param connections number of simultaneous clients, 1 or more.
+     * @return nanoseconds spent measuring, from the end of the warmup to the last measured move.
+     * @throws IOException if a connection fails.
+     */
+    public long run(InetSocketAddress server, int connections) throws IOException {
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Client client = new Client(channel);
+            client.key = channel.register(selector, channel.connect(server) ? SelectionKey.OP_READ
+                    : SelectionKey.OP_CONNECT, client);
+            if (channel.isConnected())
+                send(client, "NEW PVC");
+        }
+
+        long measureStart = 0;
+        try {
+            while (measuredCount < latencies.length) {
+                Client due = dueMoves.peek();
+                long now = System.nanoTime();
+                if (due == null)
+                    selector.select();
+                else if (due.moveDueAt > now)
+                    selector.select(Math.max(1, (due.moveDueAt - now) / 1_000_000));
+                else
+                    selector.selectNow();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Client client = (Client) key.attachment();
+
+                    if (key.isConnectable()) {
+                        client.channel.finishConnect();
+                        key.interestOps(SelectionKey.OP_READ);
+                        send(client, "NEW PVC");
+                    }
+                    else if (key.isReadable()) {
+                        read(client);
+                    }
+                }
+
+                now = System.nanoTime();
+                while (!dueMoves.isEmpty() && dueMoves.peek().moveDueAt <= now)
+                    sendMove(dueMoves.poll());
+
+                if (measureStart == 0 && warmupCount >= warmupMoves)
+                    measureStart = System.nanoTime();
+            }
+            return System.nanoTime() - measureStart;
+        }
+        finally {
+            for (SelectionKey key : selector.keys())
+                key.channel().close();
+            selector.close();
+        }
+    }
+
+    /** Reads what the server has sent a client and handles every complete line.
+     *
+     * @param client client to read for.
+     * @throws IOException if the connection fails or is closed by the server.
+     */
+    private void read(Client client) throws IOException {
+        if (client.channel.read(client.input) < 0)
+            throw new IOException("Server closed a connection.");
+        client.input.flip();
+
+        int lineStart = client.input.position();
+        for (int i = lineStart; i < client.input.limit(); i++) {
+            if (client.input.get(i) == '\n') {
+                byte[] line = new byte[i - lineStart];
+                client.input.get(lineStart, line);
+                handleLine(client, new String(line, StandardCharsets.US_ASCII));
+                lineStart = i + 1;
+            }
+        }
+        client.input.position(lineStart);
+        client.input.compact();
+    }
+
+    /** Reacts to one line from the server.
+     *
+     * @param client client the line was sent to.
+     * @param line line without its newline.
+     * @throws IOException if the connection fails.
+     */
+    private void handleLine(Client client, String line) throws IOException {
+        String[] words = line.split(" ");
+        switch (words[0]) {
+            case "SESSION":
+                client.board.reset();
+                client.player = words[2].equals("X") ? Connect4BitBoard.PLAYER_X : Connect4BitBoard.PLAYER_O;
+                break;
+            case "START":
+                client.playing = true;
+                if (client.player == Connect4BitBoard.PLAYER_X)
+                    scheduleMove(client);
+                break;
+            case "OK":
+                long latency = System.nanoTime() - client.moveSentAt;
+                client.moveSentAt = 0;
+                if (warmupCount < warmupMoves)
+                    warmupCount++;
+                else if (measuredCount < latencies.length)
+                    latencies[measuredCount++] = latency;
+                client.board.play(Integer.parseInt(words[1]) - 1, client.player);
+                break;
+            case "MOVE":
+                //a move that ends the game is followed by WIN or DRAW, which may not have arrived yet
+                int column = Integer.parseInt(words[1]) - 1;
+                int row = client.board.play(column, 1 - client.player);
+                if (!client.board.isWinAt(1 - client.player, column, row) && !client.board.isFull())
+                    scheduleMove(client);
+                break;
+            case "WIN":
+            case "DRAW":
+                gamesFinished++;
+                client.playing = false;
+                send(client, "NEW PVC");
+                break;
+            case "ERROR":
+                throw new IOException("Server error: " + line);
+            default:
+                break;
+        }
+    }
+
+    /** Schedules a client's next move after a random think time averaging thinkNanos.
+     *
+     * @param client client to move.
+     */
+    private void scheduleMove(Client client) {
+        client.moveDueAt = System.nanoTime() + ((thinkNanos == 0) ? 0 : (long) (rand.nextDouble() * 2 * thinkNanos));
+        dueMoves.add(client);
+    }
+
+    /** Sends a random legal move for a client and starts its latency clock. Moves scheduled in a game that has
+     * since ended, or already made, are skipped.
+     *
+     * @param client client to move.
+     * @throws IOException if the connection fails.
+     */
+    private void sendMove(Client client) throws IOException {
+        if (!client.playing || client.moveSentAt != 0 || client.board.getPlayerToMove() != client.player)
+            return;
+
+        int column = rand.nextInt(Connect4BitBoard.COLUMNS);
+        while (!client.board.canPlay(column))
+            column = rand.nextInt(Connect4BitBoard.COLUMNS);
+
+        client.moveSentAt = System.nanoTime();
+        send(client, "MOVE " + (column + 1));
+    }
+
+    /** Writes one line to the server. Lines are short enough to always fit the socket buffer of a client that
+     * waits for each reply.
+     *
+     * @param client client to write for.
+     * @param line line without its newline.
+     * @throws IOException if the connection fails.
+     */
+    private void send(Client client, String line) throws IOException {
+        writeBuffer.clear();
+        for (int i = 0; i < line.length(); i++)
+            writeBuffer.put((byte) line.charAt(i));
+        writeBuffer.put((byte) '\n');
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining())
+            client.channel.write(writeBuffer);
+    }
+
+    /** Builds the latency report of the measured moves.
+     *
+     * @param connections number of simultaneous clients.
+     * @param elapsedNanos time spent measuring.
+     * @return report text.
+     */
+    public String report(int connections, long elapsedNanos) {
+        long[] sorted = Arrays.copyOf(latencies, measuredCount);
+        Arrays.sort(sorted);
+
+        return String.format("%d connections, %d moves measured in %.1f s (%.0f moves/s), %d games finished%n"
+                        + "move-ack latency us: p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f",
+                connections, measuredCount, elapsedNanos / 1e9, measuredCount * 1e9 / Math.max(elapsedNanos, 1),
+                gamesFinished, percentile(sorted, 50) / 1e3, percentile(sorted, 90) / 1e3,
+                percentile(sorted, 99) / 1e3, percentile(sorted, 99.9) / 1e3, percentile(sorted, 100) / 1e3);
+    }
+
+    /** Finds a percentile of sorted values by the nearest-rank method.
+     *
+     * @param sorted values in ascending order.
+     * @param percent percentile 0-100.
+     * @return value at the percentile, or 0 if there are no values.
+     */
+    static long percentile(long[] sorted, double percent) {
+        if (sorted.length == 0)
+            return 0;
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.min(Math.max(rank, 1), sorted.length) - 1];
+    }
+
+    /** Method used to retrieve the measured latencies.
+     *
+     * @return copy of the move-ack latencies measured so far, in nanoseconds.
+     */
+    public long[] getLatencies() {
+        return Arrays.copyOf(latencies, measuredCount);
+    }
+}
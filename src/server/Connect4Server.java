@@ -0,0 +1,758 @@
+/** Description: TCP game server hosting any number of simultaneous Connect4 sessions, player vs player (PvP) or
+ * player vs computer (PvC), over a line protocol. Rules are applied by a Connect4Logic per session and the computer
+ * side is a Connect4ComputerPlayer per PvC session.
+ *
+ * All sockets are non-blocking and served by one thread with an NIO Selector, so an idle session costs a few small
+ * objects and no thread or stack. Input is read into one shared buffer and only the unfinished part of a line, if
+ * any, is kept per connection; output is written straight from a shared buffer and only copied per connection when
+ * the socket cannot take it all. Random computer moves are made on the selector thread; searching computer moves
+ * run on a small pool of worker threads, each with its own Connect4Search, and their results are handed back to
+ * the selector thread through a queue, so the selector thread alone ever changes a session.
+ *
+ * Protocol, one command per line (ASCII, columns numbered 1-7):
+ * <pre>
+ *  client                server
+ *  NEW PVC [X|O]         SESSION id X|O, START        play the computer, moving first as X by default
+ *  NEW PVP               SESSION id X, WAITING        open a session for another client to join
+ *  JOIN id               SESSION id O, START (to both)
+ *  MOVE column           OK column (to the mover), MOVE column (to the opponent)
+ *                        WIN X|O or DRAW (to both) when the game ends
+ *  PING                  PONG
+ *  QUIT                  BYE, then the connection is closed
+ *                        LEFT (to the opponent) when a player quits or disconnects mid-game
+ *                        ERROR message for anything not allowed
+ * </pre>
+ * NEW may be sent again at any time to leave the current session and start another.
+ *
+ * Usage: java server.Connect4Server [-port N] [-cpu ENGINE] [-threads N]
+ * ENGINE is "random" (default) or "search:DEPTH[:MILLIS[:1[:WEIGHTS]]]", see Connect4ComputerPlayer.configure().
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package server;
+
+import core.Connect4BitBoard;
+import core.Connect4ComputerPlayer;
+import core.Connect4Evaluator;
+import core.Connect4GameState;
+import core.Connect4Logic;
+import core.Connect4Search;
+import core.Connect4TranspositionTable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** Class which features the selector loop, the session rules and the command line of the game server. */
+public class Connect4Server {
+
+    //------ Constants ------
+    /** Port used when none is given. */
+    public static final int DEFAULT_PORT = 4444;
+
+    /** Longest command line accepted, in bytes. */
+    static final int MAX_LINE_BYTES = 64;
+
+    /** Size of the shared read and write buffers. */
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    /** Pending connections queued by the operating system before they are accepted. */
+    private static final int BACKLOG = 4096;
+
+    //------ Connections and Sessions ------
+    /** State of one client connection. Only used by the selector thread. */
+    private static final class Connection {
+        /** Socket of the client. */
+        final SocketChannel channel;
+        /** Registration of the socket with the selector. */
+        SelectionKey key;
+        /** Bytes of a line not yet ended by a newline, or null. */
+        byte[] partialLine;
+        /** Output the socket could not take yet, ready to be written, or null. */
+        ByteBuffer pendingOutput;
+        /** Session the client is in, or null. */
+        Session session;
+        /** Connect4BitBoard.PLAYER_X or PLAYER_O, whichever the client plays in its session. */
+        int player;
+        /** Set to close the connection once its pending output has been written. */
+        boolean closeWhenFlushed;
+        /** Set once the connection is closed. */
+        boolean closed;
+
+        /** Constructor which stores the client socket.
+         *
+         * @param channel socket of the client.
+         */
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /** One game and the clients playing it. Only changed by the selector thread. */
+    private static final class Session {
+        /** Number used by JOIN. */
+        final long id;
+        /** Rules and board of the game. */
+        final Connect4Logic logic = new Connect4Logic(new Connect4GameState());
+        /** Client playing each side, indexed by player, or null for the computer or an empty seat. */
+        final Connection[] players = new Connection[2];
+        /** Computer player of a PvC session, or null. */
+        Connect4ComputerPlayer computer;
+        /** Side played by the computer, or Connect4BitBoard.EMPTY in a PvP session. */
+        int computerPlayer = Connect4BitBoard.EMPTY;
+        /** Set once both sides are seated. */
+        boolean started;
+        /** Set once the game is won, drawn or abandoned. */
+        boolean over;
+
+        /** Constructor which stores the session number.
+         *
+         * @param id session number.
+         */
+        Session(long id) {
+            this.id = id;
+        }
+    }
+
+    /** Computer move worked out by a worker thread, waiting to be played by the selector thread. */
+    private static final class ComputerMove {
+        /** Session the move is for. */
+        final Session session;
+        /** Column 0-6 chosen. */
+        final int column;
+
+        /** Constructor which stores the session and column.
+         *
+         * @param session session the move is for.
+         * @param column column chosen.
+         */
+        ComputerMove(Session session, int column) {
+            this.session = session;
+            this.column = column;
+        }
+    }
+
+    //------ Variables ------
+    /** Selector serving every socket. */
+    private final Selector selector;
+
+    /** Listening socket. */
+    private final ServerSocketChannel serverChannel;
+
+    /** Settings of the computer player of every PvC session. */
+    private final String computerEngine;
+
+    /** Whether computer moves search, and so run on the worker pool. */
+    private final boolean computerSearches;
+
+    /** Workers choosing searching computer moves, or null when the computer plays randomly. */
+    private final ExecutorService computerPool;
+
+    /** Search engine of each worker thread, shared by every session the worker moves for. Each scores the
+     * positions at its depth limit with the evaluator computerEngine configures, if any.
+     */
+    private final ThreadLocal<Connect4Search> workerSearch;
+
+    /** Computer moves handed back by the workers. */
+    private final ConcurrentLinkedQueue<ComputerMove> computerMoves = new ConcurrentLinkedQueue<>();
+
+    /** PvP sessions waiting for a second client, by session number. */
+    private final Map<Long, Session> waitingSessions = new HashMap<>();
+
+    /** Connections found broken while writing, closed at the end of the current selector round. */
+    private final List<Connection> brokenConnections = new ArrayList<>();
+
+    /** Shared buffer every socket is read into. */
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /** Shared buffer every line is encoded into before writing. */
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /** Shared buffer a command line is assembled in. */
+    private final byte[] lineBytes = new byte[MAX_LINE_BYTES];
+
+    /** Number of the next session created. */
+    private long nextSessionId = 1;
+
+    /** Number of open client connections. */
+    private int connectionCount;
+
+    /** Cleared by stop() to end run(). */
+    private volatile boolean running = true;
+
+    //------ Constructor ------
+
+    /** Constructor which opens the listening socket. Call run() to start serving.
+     *
+     * @param port TCP port to listen on, or 0 for any free port.
+     * @param computerEngine settings of the computer player, "random" or "search:DEPTH[:MILLIS[:1[:WEIGHTS]]]".
+     * @param computerThreads number of worker threads for searching computer moves, 1 or more.
+     * @throws IOException if the socket cannot be opened.
+     * @throws IllegalArgumentException if the computer settings are not understood.
+     */
+    public Connect4Server(int port, String computerEngine, int computerThreads)
+            throws IOException, IllegalArgumentException {
+        if (computerThreads < 1)
+            throw new IllegalArgumentException("computerThreads must be at least 1.");
+
+        Connect4ComputerPlayer check = new Connect4ComputerPlayer();
+        check.configure(computerEngine);
+        if (check.getStrategy() == Connect4ComputerPlayer.Strategy.MCTS)
+            throw new IllegalArgumentException("The server supports random and search computer players only.");
+        if (check.getSearchThreads() > 1)
+            throw new IllegalArgumentException("The server searches with one thread per move; use -threads instead.");
+        this.computerEngine = computerEngine;
+        this.computerSearches = (check.getStrategy() == Connect4ComputerPlayer.Strategy.SEARCH);
+        Connect4Evaluator evaluator = check.getEvaluator();
+        this.workerSearch = ThreadLocal.withInitial(() -> {
+            Connect4Search search = new Connect4Search(
+                    new Connect4TranspositionTable(16, Connect4TranspositionTable.ReplacementPolicy.DEPTH_PREFERRED));
+            search.setEvaluator(evaluator);
+            return search;
+        });
+        this.computerPool = computerSearches ? Executors.newFixedThreadPool(computerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "connect4-computer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    //------ Main ------
+
+    /** Main method which starts a server from command line options and serves until the process is stopped.
+     *
+     * @param args command line options, see the class description.
+     * @throws IOException if the socket cannot be opened.
+     */
+    public static void main(String args[]) throws IOException {
+        int port = DEFAULT_PORT;
+        String engine = "random";
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-port": port = Integer.parseInt(args[++i]); break;
+                case "-cpu": engine = args[++i]; break;
+                case "-threads": threads = Integer.parseInt(args[++i]); break;
+                default:
+                    System.out.println("Usage: java server.Connect4Server [-port N] [-cpu ENGINE] [-threads N]");
+                    return;
+            }
+        }
+
+        Connect4Server server = new Connect4Server(port, engine, threads);
+        System.out.println("Connect4 server listening on port " + server.getPort() + ", computer plays " + engine);
+        server.run();
+    }
+
+    //------ Selector Loop ------
+
+    /** Serves clients on the calling thread until stop() is called, then closes every socket.
+     *
+     * @throws IOException if the selector fails.
+     */
+    public void run() throws IOException {
+        try {
+            while (running) {
+                selector.select();
+
+                ComputerMove computerMove;
+                while ((computerMove = computerMoves.poll()) != null)
+                    playComputerMove(computerMove);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+
+                    if (key.isAcceptable()) {
+                        try {
+                            accept();
+                        }
+                        catch (IOException e) {
+                            //e.g. out of file descriptors; existing sessions carry on and accepting is retried
+                        }
+                        continue;
+                    }
+
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable())
+                            read(connection);
+                        if (!connection.closed && key.isWritable())
+                            flush(connection);
+                    }
+                    catch (IOException e) {
+                        close(connection);
+                    }
+                }
+
+                for (Connection connection : brokenConnections)
+                    close(connection);
+                brokenConnections.clear();
+            }
+        }
+        finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection)
+                    ((Connection) key.attachment()).channel.close();
+            }
+            serverChannel.close();
+            selector.close();
+            if (computerPool != null)
+                computerPool.shutdownNow();
+        }
+    }
+
+    /** Asks run() to close every socket and return. May be called from any thread. */
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /** Method used to retrieve the port the server listens on.
+     *
+     * @return TCP port.
+     * @throws IOException if the socket has been closed.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /** Method used to retrieve the number of open client connections. Only accurate on the selector thread.
+     *
+     * @return number of connections.
+     */
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    /** Accepts every connection waiting on the listening socket. A connection that cannot be set up is closed.
+     *
+     * @throws IOException if the listening socket fails.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection connection = new Connection(channel);
+                connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                connectionCount++;
+            }
+            catch (IOException e) {
+                channel.close();
+            }
+        }
+    }
+
+    /** Reads what a client has sent and handles every complete line. An unfinished line is kept for the next read.
+     *
+     * @param connection client to read from.
+     * @throws IOException if the socket fails.
+     */
+    private void read(Connection connection) throws IOException {
+        readBuffer.clear();
+        if (connection.channel.read(readBuffer) < 0) {
+            close(connection);
+            return;
+        }
+        readBuffer.flip();
+
+        int lineLength = 0;
+        if (connection.partialLine != null) {
+            lineLength = connection.partialLine.length;
+            System.arraycopy(connection.partialLine, 0, lineBytes, 0, lineLength);
+            connection.partialLine = null;
+        }
+
+        while (readBuffer.hasRemaining()) {
+            byte b = readBuffer.get();
+            if (b == '\n') {
+                handleLine(connection, new String(lineBytes, 0, lineLength, StandardCharsets.US_ASCII).trim());
+                lineLength = 0;
+                if (connection.closed || connection.closeWhenFlushed)
+                    return;
+            }
+            else if (lineLength == MAX_LINE_BYTES) {
+                send(connection, "ERROR line too long");
+                closeWhenFlushed(connection);
+                return;
+            }
+            else {
+                lineBytes[lineLength++] = b;
+            }
+        }
+
+        if (lineLength > 0) {
+            connection.partialLine = new byte[lineLength];
+            System.arraycopy(lineBytes, 0, connection.partialLine, 0, lineLength);
+        }
+    }
+
+    /** Sends one line to a client. The line is written straight away if the socket can take it, and otherwise
+     * kept and written when the socket is ready again.
+     *
+     * @param connection client to send to.
+     * @param line line without its newline, ASCII only.
+     */
+    private void send(Connection connection, String line) {
+        if (connection.closed)
+            return;
+
+        writeBuffer.clear();
+        for (int i = 0; i < line.length(); i++)
+            writeBuffer.put((byte) line.charAt(i));
+        writeBuffer.put((byte) '\n');
+        writeBuffer.flip();
+
+        try {
+            //keep lines in order behind output still waiting
+            if (connection.pendingOutput == null)
+                connection.channel.write(writeBuffer);
+            if (writeBuffer.hasRemaining()) {
+                ByteBuffer pending = connection.pendingOutput;
+                if (pending == null) {
+                    pending = ByteBuffer.allocate(Math.max(256, writeBuffer.remaining()));
+                    pending.flip();
+                }
+                else if (pending.capacity() - pending.limit() < writeBuffer.remaining()) {
+                    ByteBuffer larger = ByteBuffer.allocate((pending.remaining() + writeBuffer.remaining()) * 2);
+                    larger.put(pending).flip();
+                    pending = larger;
+                }
+                //append after the bytes still to be written
+                int position = pending.position();
+                pending.position(pending.limit()).limit(pending.capacity());
+                pending.put(writeBuffer).flip().position(position);
+                connection.pendingOutput = pending;
+                connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+            }
+        }
+        catch (IOException e) {
+            brokenConnections.add(connection);
+        }
+    }
+
+    /** Writes output a client's socket could not take earlier.
+     *
+     * @param connection client to write to.
+     * @throws IOException if the socket fails.
+     */
+    private void flush(Connection connection) throws IOException {
+        ByteBuffer pending = connection.pendingOutput;
+        if (pending != null)
+            connection.channel.write(pending);
+        if (pending == null || !pending.hasRemaining()) {
+            connection.pendingOutput = null;
+            connection.key.interestOps(SelectionKey.OP_READ);
+            if (connection.closeWhenFlushed)
+                close(connection);
+        }
+    }
+
+    /** Closes a connection as soon as its pending output has been written.
+     *
+     * @param connection client to close.
+     */
+    private void closeWhenFlushed(Connection connection) {
+        connection.closeWhenFlushed = true;
+        if (connection.pendingOutput == null)
+            close(connection);
+    }
+
+    /** Removes a client from its session and closes its socket.
+     *
+     * @param connection client to close.
+     */
+    private void close(Connection connection) {
+        if (connection.closed)
+            return;
+        connection.closed = true;
+        leaveSession(connection);
+        connection.key.cancel();
+        try {
+            connection.channel.close();
+        }
+        catch (IOException e) {
+            //already closed as far as the client is concerned
+        }
+        connectionCount--;
+    }
+
+    //------ Protocol ------
+
+    /** Carries out one command line.
+     *
+     * @param connection client that sent the line.
+     * @param line command without its newline.
+     */
+    private void handleLine(Connection connection, String line) {
+        String[] words = line.split("\\s+");
+        String command = words[0].toUpperCase();
+
+        switch (command) {
+            case "NEW":
+                if (words.length >= 2 && words[1].equalsIgnoreCase("PVC"))
+                    newComputerSession(connection, (words.length >= 3) ? words[2] : "X");
+                else if (words.length == 2 && words[1].equalsIgnoreCase("PVP"))
+                    newPlayerSession(connection);
+                else
+                    send(connection, "ERROR usage: NEW PVC [X|O] or NEW PVP");
+                break;
+            case "JOIN":
+                joinSession(connection, (words.length == 2) ? words[1] : "");
+                break;
+            case "MOVE":
+                playerMove(connection, (words.length == 2) ? words[1] : "");
+                break;
+            case "PING":
+                send(connection, "PONG");
+                break;
+            case "QUIT":
+                send(connection, "BYE");
+                closeWhenFlushed(connection);
+                break;
+            case "":
+                break;
+            default:
+                send(connection, "ERROR unknown command " + command);
+        }
+    }
+
+    /** Starts a PvC session for a client.
+     *
+     * @param connection client starting the session.
+     * @param side "X" to move first or "O" to let the computer move first.
+     */
+    private void newComputerSession(Connection connection, String side) {
+        int player;
+        if (side.equalsIgnoreCase("X"))
+            player = Connect4BitBoard.PLAYER_X;
+        else if (side.equalsIgnoreCase("O"))
+            player = Connect4BitBoard.PLAYER_O;
+        else {
+            send(connection, "ERROR side must be X or O");
+            return;
+        }
+
+        leaveSession(connection);
+        Session session = new Session(nextSessionId++);
+        session.computerPlayer = 1 - player;
+        session.computer = new Connect4ComputerPlayer(session.logic.getGameState());
+        session.computer.configure(computerEngine);
+        seat(connection, session, player);
+        session.started = true;
+
+        send(connection, "SESSION " + session.id + " " + sideName(player));
+        send(connection, "START");
+        if (player == Connect4BitBoard.PLAYER_O)
+            startComputerMove(session);
+    }
+
+    /** Opens a PvP session for a client, to be joined by another.
+     *
+     * @param connection client opening the session.
+     */
+    private void newPlayerSession(Connection connection) {
+        leaveSession(connection);
+        Session session = new Session(nextSessionId++);
+        seat(connection, session, Connect4BitBoard.PLAYER_X);
+        waitingSessions.put(session.id, session);
+
+        send(connection, "SESSION " + session.id + " X");
+        send(connection, "WAITING");
+    }
+
+    /** Seats a client as the second player of a waiting PvP session and starts the game.
+     *
+     * @param connection client joining.
+     * @param sessionId session number as sent by the client.
+     */
+    private void joinSession(Connection connection, String sessionId) {
+        Session session;
+        try {
+            session = waitingSessions.get(Long.parseLong(sessionId));
+        }
+        catch (NumberFormatException e) {
+            session = null;
+        }
+        if (session == null || session.players[Connect4BitBoard.PLAYER_X] == connection) {
+            send(connection, "ERROR no session waiting with id " + sessionId);
+            return;
+        }
+
+        leaveSession(connection);
+        waitingSessions.remove(session.id);
+        seat(connection, session, Connect4BitBoard.PLAYER_O);
+        session.started = true;
+
+        send(connection, "SESSION " + session.id + " O");
+        send(session.players[Connect4BitBoard.PLAYER_X], "START");
+        send(connection, "START");
+    }
+
+    /** Places a client in a seat of a session.
+     *
+     * @param connection client to seat.
+     * @param session session to join.
+     * @param player side the client plays.
+     */
+    private static void seat(Connection connection, Session session, int player) {
+        connection.session = session;
+        connection.player = player;
+        session.players[player] = connection;
+    }
+
+    /** Removes a client from its session, if any. A game in progress is abandoned and the opponent told.
+     *
+     * @param connection client leaving.
+     */
+    private void leaveSession(Connection connection) {
+        Session session = connection.session;
+        if (session == null)
+            return;
+
+        connection.session = null;
+        session.players[connection.player] = null;
+        waitingSessions.remove(session.id);
+
+        if (session.started && !session.over) {
+            Connection opponent = session.players[1 - connection.player];
+            if (opponent != null)
+                send(opponent, "LEFT");
+        }
+        session.over = true;
+    }
+
+    /** Checks and plays a move sent by a client.
+     *
+     * @param connection client moving.
+     * @param columnText column 1-7 as sent by the client.
+     */
+    private void playerMove(Connection connection, String columnText) {
+        Session session = connection.session;
+        if (session == null || !session.started || session.over) {
+            send(connection, "ERROR no game in progress");
+            return;
+        }
+        if (Connect4BitBoard.playerIndex(session.logic.getPlayerTurn()) != connection.player) {
+            send(connection, "ERROR not your turn");
+            return;
+        }
+
+        int column;
+        try {
+            column = Integer.parseInt(columnText) - 1;
+        }
+        catch (NumberFormatException e) {
+            column = -1;
+        }
+        if (column < 0 || column >= Connect4BitBoard.COLUMNS || session.logic.isColumnFull(column)) {
+            send(connection, "ERROR column must be 1-7 and not full");
+            return;
+        }
+
+        playMove(session, column, connection);
+    }
+
+    /** Plays a move in a session, tells both sides, and ends the game or hands the turn over.
+     *
+     * @param session session to play in.
+     * @param column column 0-6, known to be legal.
+     * @param mover client moving, or null for the computer.
+     */
+    private void playMove(Session session, int column, Connection mover) {
+        Connect4Logic logic = session.logic;
+        int playerTurn = logic.getPlayerTurn();
+        logic.placePuck(column, playerTurn);
+        logic.checkPucks(column);
+
+        for (Connection player : session.players) {
+            if (player != null)
+                send(player, ((player == mover) ? "OK " : "MOVE ") + (column + 1));
+        }
+
+        String result = null;
+        if (logic.puckCount == 4)
+            result = "WIN " + sideName(Connect4BitBoard.playerIndex(playerTurn));
+        else if (logic.fullColumnCount() == Connect4BitBoard.COLUMNS)
+            result = "DRAW";
+
+        if (result != null) {
+            session.over = true;
+            for (Connection player : session.players) {
+                if (player != null)
+                    send(player, result);
+            }
+            return;
+        }
+
+        logic.nextTurn();
+        if (Connect4BitBoard.playerIndex(logic.getPlayerTurn()) == session.computerPlayer)
+            startComputerMove(session);
+    }
+
+    /** Chooses the computer's move in a PvC session: straight away when it plays randomly, otherwise on a
+     * worker thread whose result is played when the selector thread next wakes up.
+     *
+     * @param session session in which the computer is to move.
+     */
+    private void startComputerMove(Session session) {
+        if (!computerSearches) {
+            playMove(session, session.computer.makeMove(), null);
+            return;
+        }
+
+        computerPool.execute(() -> {
+            //the board is not changed while the computer is to move, so it can be read from this thread
+            session.computer.setSearch(workerSearch.get());
+            int column = session.computer.makeMove();
+            session.computer.setSearch(null);
+            computerMoves.add(new ComputerMove(session, column));
+            selector.wakeup();
+        });
+    }
+
+    /** Plays a computer move handed back by a worker, unless the session has ended meanwhile.
+     *
+     * @param computerMove move to play.
+     */
+    private void playComputerMove(ComputerMove computerMove) {
+        if (!computerMove.session.over)
+            playMove(computerMove.session, computerMove.column, null);
+    }
+
+    /** Converts a player index into the name used by the protocol.
+     *
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O.
+     * @return "X" or "O".
+     */
+    private static String sideName(int player) {
+        return (player == Connect4BitBoard.PLAYER_X) ? "X" : "O";
+    }
+}
@@ -0,0 +1,305 @@
+/** Description: Board display of Connect4GUI drawn on one Canvas instead of a grid of TextField controls, so the
+ * whole board is a single node in the scene graph. The canvas keeps its own copy of the cell owners and only
+ * ever repaints the cells that change: placing a puck animates it falling down its column, and each animation
+ * frame repaints just the one or two cells the falling puck covered in the last frame and covers now. The full
+ * board is only painted when the canvas is created or cleared for a new game.
+ *
+ * Frame-time instrumentation is kept for the drop animations: the number of frames drawn, the time spent
+ * painting them and the longest interval between two frames, which is what shows as stutter on slow hardware.
+ * frameStatsToString() reports them; Connect4GUI prints them after every drop when the connect4.frameStats
+ * system property is true.
+ *
+ * @author Stephen Arel
+ * @version 1.0 10/18/2026
+ */
+package ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+import core.Connect4BitBoard;
+
+/** Class which extends Canvas to paint the board and animate pucks dropping into it. */
+public class Connect4BoardCanvas extends Canvas {
+
+    //------ Constants ------
+    /** Largest cell size in pixels. */
+    public static final double MAX_CELL_SIZE = 60;
+
+    /** Cell sizes are reduced so that the board is no wider than this many pixels. */
+    public static final double MAX_BOARD_WIDTH = 720;
+
+    /** Acceleration of a falling puck in cell sizes per second squared. */
+    private static final double GRAVITY_CELLS = 60;
+
+    /** Colour of the board around the holes. */
+    private static final Color BOARD_COLOR = Color.rgb(30, 80, 200);
+
+    /** Colour of an empty hole. */
+    private static final Color EMPTY_COLOR = Color.WHITE;
+
+    /** Colour of each player's pucks, indexed by PLAYER_X / PLAYER_O. */
+    private static final Color[] PUCK_COLORS = {Color.rgb(220, 40, 40), Color.rgb(240, 210, 40)};
+
+    //------ Variables ------
+    /** Number of columns. */
+    private final int columns;
+
+    /** Number of rows. */
+    private final int rows;
+
+    /** Width and height of a cell in pixels. */
+    private final double cellSize;
+
+    /** Owner of each cell as painted, indexed [column][row]: PLAYER_X, PLAYER_O or EMPTY. */
+    private final int[][] cells;
+
+    /** Drawing context of the canvas. */
+    private final GraphicsContext graphics;
+
+    /** Timer running the drop animation in progress, or null when no puck is falling. */
+    private DropAnimation drop;
+
+    /** Number of animation frames drawn. */
+    private long frames;
+
+    /** Nanoseconds spent painting animation frames. */
+    private long paintNanos;
+
+    /** Longest painting time of one frame in nanoseconds. */
+    private long maxPaintNanos;
+
+    /** Longest interval between two frames of one animation in nanoseconds. */
+    private long maxFrameIntervalNanos;
+
+    /** Called whenever a falling puck lands, or null. */
+    private Runnable onDropLanded;
+
+    //------ Drop Animation ------
+    /** Animation timer moving one puck from above the board down to its cell. */
+    private final class DropAnimation extends AnimationTimer {
+        /** Column the puck falls down. */
+        final int column;
+        /** Row the puck lands in. */
+        final int row;
+        /** Player whose puck it is. */
+        final int player;
+        /** Y coordinate at which the puck comes to rest. */
+        final double targetY;
+        /** Y coordinate of the top of the puck as last painted. */
+        double y;
+        /** Frame timestamp the animation started at, or 0 before the first frame. */
+        long startTime;
+        /** Timestamp of the last frame, or 0 before the first frame. */
+        long lastFrame;
+
+        /** Constructor which starts a puck one cell above the board.
+         *
+         * @param column column the puck falls down.
+         * @param row row the puck lands in.
+         * @param player player whose puck it is.
+         */
+        DropAnimation(int column, int row, int player) {
+            this.column = column;
+            this.row = row;
+            this.player = player;
+            this.targetY = cellY(row);
+            this.y = -cellSize;
+        }
+
+        /** Void method called by JavaFX once per frame, which moves the puck down by the time elapsed.
+         *
+         * @param now timestamp of the frame in nanoseconds.
+         */
+        @Override
+        public void handle(long now) {
+            long paintStart = System.nanoTime();
+            if (startTime == 0)
+                startTime = now;
+            else
+                maxFrameIntervalNanos = Math.max(maxFrameIntervalNanos, now - lastFrame);
+            lastFrame = now;
+
+            double seconds = (now - startTime) / 1e9;
+            double newY = Math.min(targetY, -cellSize + 0.5 * GRAVITY_CELLS * cellSize * seconds * seconds);
+            if (newY >= targetY)
+                land();
+            else
+                movePuck(newY);
+
+            long paintTime = System.nanoTime() - paintStart;
+            frames++;
+            paintNanos += paintTime;
+            maxPaintNanos = Math.max(maxPaintNanos, paintTime);
+        }
+
+        /** Repaints the cells the puck covered and draws it at a new height.
+         *
+         * @param newY new y coordinate of the top of the puck.
+         */
+        void movePuck(double newY) {
+            repaintCellsUnder(column, y);
+            y = newY;
+            paintPuck(column, y, player);
+        }
+
+        /** Stops the animation and paints the puck in its cell. */
+        void land() {
+            stop();
+            drop = null;
+            repaintCellsUnder(column, y);
+            cells[column][row] = player;
+            paintCell(column, row);
+            if (onDropLanded != null)
+                onDropLanded.run();
+        }
+    }
+
+    //------ Constructor ------
+
+    /** Constructor which creates a canvas sized for a board and paints it empty.
+     *
+     * @param columns number of columns.
+     * @param rows number of rows.
+     */
+    public Connect4BoardCanvas(int columns, int rows) {
+        this(columns, rows, Math.min(MAX_CELL_SIZE, Math.floor(MAX_BOARD_WIDTH / columns)));
+    }
+
+    /** Constructor which creates a canvas with a given cell size and paints it empty.
+     *
+     * @param columns number of columns.
+     * @param rows number of rows.
+     * @param cellSize width and height of a cell in pixels.
+     */
+    public Connect4BoardCanvas(int columns, int rows, double cellSize) {
+        super(columns * cellSize, rows * cellSize);
+        this.columns = columns;
+        this.rows = rows;
+        this.cellSize = cellSize;
+        this.cells = new int[columns][rows];
+        this.graphics = getGraphicsContext2D();
+        clear();
+    }
+
+    //------ Methods ------
+
+    /** Method used to retrieve cellSize value.
+     *
+     * @return width and height of a cell in pixels.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /** Y coordinate of the top of a row; row 0 is at the bottom.
+     *
+     * @param row row index.
+     * @return y coordinate in pixels.
+     */
+    private double cellY(int row) {
+        return (rows - 1 - row) * cellSize;
+    }
+
+    /** Paints one cell: the board square and the hole, empty or holding its owner's puck.
+     *
+     * @param column column index.
+     * @param row row index.
+     */
+    private void paintCell(int column, int row) {
+        double x = column * cellSize;
+        double y = cellY(row);
+        graphics.setFill(BOARD_COLOR);
+        graphics.fillRect(x, y, cellSize, cellSize);
+
+        int owner = cells[column][row];
+        graphics.setFill((owner == Connect4BitBoard.EMPTY) ? EMPTY_COLOR : PUCK_COLORS[owner]);
+        double margin = cellSize * 0.1;
+        graphics.fillOval(x + margin, y + margin, cellSize - 2 * margin, cellSize - 2 * margin);
+    }
+
+    /** Paints a falling puck at any height of a column.
+     *
+     * @param column column index.
+     * @param y y coordinate of the top of the puck.
+     * @param player player whose puck it is.
+     */
+    private void paintPuck(int column, double y, int player) {
+        double margin = cellSize * 0.1;
+        graphics.setFill(PUCK_COLORS[player]);
+        graphics.fillOval(column * cellSize + margin, y + margin, cellSize - 2 * margin, cellSize - 2 * margin);
+    }
+
+    /** Repaints the cells of a column that a puck with its top at y covers: one cell, or two when it is
+     * between cells.
+     *
+     * @param column column index.
+     * @param y y coordinate of the top of the puck.
+     */
+    private void repaintCellsUnder(int column, double y) {
+        int topIndex = (int) Math.floor(y / cellSize);
+        int bottomIndex = (int) Math.ceil(y / cellSize + 1) - 1;
+        for (int index = Math.max(0, topIndex); index <= Math.min(rows - 1, bottomIndex); index++)
+            paintCell(column, rows - 1 - index);
+    }
+
+    /** Void method which shows a puck placed in a cell, letting it fall down its column. A drop still in
+     * progress is finished at once first.
+     *
+     * @param column column index.
+     * @param row row the puck landed in.
+     * @param player Connect4BitBoard.PLAYER_X or PLAYER_O.
+     */
+    public void dropPuck(int column, int row, int player) {
+        finishDrop();
+        drop = new DropAnimation(column, row, player);
+        drop.start();
+    }
+
+    /** Void method which lands the puck of a drop in progress, if any, without animating it further. */
+    public void finishDrop() {
+        if (drop != null)
+            drop.land();
+    }
+
+    /** Void method used to set an action run whenever a falling puck lands, e.g. to report frame times.
+     *
+     * @param onDropLanded action to run, or null for none.
+     */
+    public void setOnDropLanded(Runnable onDropLanded) {
+        this.onDropLanded = onDropLanded;
+    }
+
+    /** Method used to check whether a puck is falling.
+     *
+     * @return true while a drop animation runs.
+     */
+    public boolean isAnimating() {
+        return drop != null;
+    }
+
+    /** Void method which stops any drop in progress and paints the whole board empty. */
+    public void clear() {
+        if (drop != null) {
+            drop.stop();
+            drop = null;
+        }
+        for (int column = 0; column < columns; column++) {
+            for (int row = 0; row < rows; row++) {
+                cells[column][row] = Connect4BitBoard.EMPTY;
+                paintCell(column, row);
+            }
+        }
+    }
+
+    /** Method which summarizes the frame-time instrumentation of every drop so far.
+     *
+     * @return e.g. "frames 25, paint avg 0.021 ms, max 0.090 ms, worst frame interval 16.9 ms".
+     */
+    public String frameStatsToString() {
+        return String.format("frames %d, paint avg %.3f ms, max %.3f ms, worst frame interval %.1f ms", frames,
+                (frames == 0) ? 0.0 : paintNanos / 1e6 / frames, maxPaintNanos / 1e6, maxFrameIntervalNanos / 1e6);
+    }
+}
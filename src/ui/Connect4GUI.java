@@ -2,8 +2,16 @@
  * Application class and utilizes core.Connect4Logic and core.Connect4ComputerPlayer
  * classes to provide backend logic of game operation and an automated player.
  * Uses JavaFX to provide GUI layout featuring buttons to select PvE/PvP, columns during play,
- * and TextFields to display player turns or the board contents itself.
- * Also includes methods used to get/set object values and states.
+ * a TextField to display player turns and a Connect4BoardCanvas to display the board contents itself.
+ * Also includes methods used to get/set object values and states. Computer moves and results are printed by a
+ * Connect4ConsoleListener set on the game state, with board printing turned off.
+ *
+ * Computer moves are chosen by a javafx.concurrent.Task on a daemon thread of its own, never on the JavaFX
+ * Application Thread, so the window keeps drawing and responding however long the engine thinks. While the
+ * computer thinks, a progress indicator is shown and the column buttons are locked; the chosen column is applied
+ * back on the JavaFX Application Thread with Platform.runLater(). Starting a new game or closing the window
+ * cancels the move: the task is cancelled, the search is asked to stop, and a late result is ignored because
+ * it belongs to a task that is no longer the current one.
  *
  * @author Stephen Arel
  * @version 1.0 4/7/2024
@@ -12,6 +20,8 @@
 package ui;
 
 import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Insets;
@@ -19,6 +29,7 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.BorderPane;
@@ -30,8 +41,12 @@ import javafx.scene.text.FontWeight;
 import javafx.stage.Screen;
 import javafx.stage.Stage;
 
+import core.Connect4BitBoard;
+import core.Connect4ConsoleListener;
 import core.Connect4Logic;
 import core.Connect4ComputerPlayer;
+import core.Connect4GameState;
+import core.Connect4Geometry;
 
 /** Class which extends Application to provide functionality as JavaFX app.
  *  Uses various methods to get/set object values and states, inner classes to
@@ -40,6 +55,14 @@ import core.Connect4ComputerPlayer;
  *
  */
 public class Connect4GUI extends Application {
+    /** Board dimensions and win length of the next window opened; the standard 7x6 board unless set before
+     * launching, by setGeometry() or a command line argument such as "8x7x5".
+     */
+    static Connect4Geometry geometry = Connect4Geometry.STANDARD;
+    /** Settings of the computer player of the next window opened, in Connect4ComputerPlayer.configure() form;
+     * "random" unless set before launching, by setEngine() or a command line argument such as "search:12:1000".
+     */
+    static String engine = "random";
     /** Boolean variable equal to true if the session is a PvE game, false if PvP. */
     boolean computerPlayer;
     /** Boolean variable to hold state of whether or not either PvE or PvP has been selected. */
@@ -51,33 +74,45 @@ public class Connect4GUI extends Application {
      */
     int columnNum = 0;
 
+    /** State of the game shown in this window: board, playerTurn and last move. Shared by board and CPU. */
+    Connect4GameState gameState = new Connect4GameState(geometry);
     /** Declaration of Connect4Logic object to allow access to class methods and variables. */
-    Connect4Logic board = new Connect4Logic();
+    Connect4Logic board = new Connect4Logic(gameState);
     /** Declaration of Connect4ComputerPlayer object to allow access to class method makeMove(). */
-    Connect4ComputerPlayer CPU = new Connect4ComputerPlayer();
+    Connect4ComputerPlayer CPU = new Connect4ComputerPlayer(gameState);
+    /** Listener printing the computer's moves and the result of the game. */
+    Connect4ConsoleListener console = new Connect4ConsoleListener();
 
     /** Array containing buttons used to select columns. */
-    Button[] buttonArray = new Button[7];
-    /** TextField array used to deep copy of values from board.columnArray.
-     *  Simulates 7x6 grid pattern of board.
-     */
-    TextField[][] boardDisplay = new TextField[7][6];
+    Button[] buttonArray = new Button[geometry.getColumns()];
+    /** Canvas displaying the board, 7x6 (or the grid of the geometry); pucks are drawn as they are placed. */
+    Connect4BoardCanvas boardCanvas = new Connect4BoardCanvas(geometry.getColumns(), geometry.getRows());
     /** TextField object which displays which player's turn it is. */
     TextField playerTurnLog = new TextField();
     /** Button which, when clicked, makes game session a PvP game. */
     Button playerButton = new Button("Play Against Player");
     /** Button which, when clicked, makes game session a PvE game. */
     Button cpuButton = new Button("Play Against CPU");
+    /** Button which, when clicked, abandons the game (and any computer move in progress) and starts a new one. */
+    Button newGameButton = new Button("New Game");
+    /** Indicator shown while the computer is thinking. */
+    ProgressIndicator thinkingIndicator = new ProgressIndicator();
+    /** Task choosing the computer's move, or null when the computer is not thinking. Only read and written on
+     * the JavaFX Application Thread.
+     */
+    Task<Integer> computerTask;
 
     /** Start method which starts Stage object. Initializes different Pane/Button/TextField objects
      * and modifies their properties to provide layout of game. This includes PvE/PvP selection buttons,
-     * boardDisplay to display board contents provided in Connect4Logic, and a log at the bottom
+     * boardCanvas to display board contents provided in Connect4Logic, and a log at the bottom
      * to display which player's turn it is.
      *
      * @param primaryStage primary stage for the application on which scenes (then panes) are placed.
      */
     public void start(Stage primaryStage) {
-
+        console.setShowBoard(false);
+        gameState.setListener(console);
+        CPU.configure(engine);
 
         //Create a root pane and place it in a scene
         BorderPane rootPane = new BorderPane();
@@ -89,7 +124,7 @@ public class Connect4GUI extends Application {
         GridPane boardPane = new GridPane();
         boardPane.setPadding(new Insets(20, 20, 20, 20));
         boardPane.setAlignment(Pos.CENTER);
-        boardPane.setHgap(5);
+        boardPane.setHgap(0);
         boardPane.setVgap(5);
 
         HBox buttonBox = new HBox();
@@ -105,20 +140,24 @@ public class Connect4GUI extends Application {
         rootPane.setBottom(logBox);
 
         //------ Player Turn Log ------
-        logBox.getChildren().add(playerTurnLog);
+        logBox.getChildren().addAll(playerTurnLog, thinkingIndicator);
         playerTurnLog.setAlignment(Pos.CENTER);
         playerTurnLog.setFont(new Font("Helvetica", 25));
+        thinkingIndicator.setPrefSize(30, 30);
+        thinkingIndicator.setVisible(false);
 
         //------ Buttons ------
         //Button for choosing between PvP or PvE
-        buttonBox.getChildren().addAll(cpuButton, playerButton);
+        buttonBox.getChildren().addAll(cpuButton, playerButton, newGameButton);
         //Setting button properties
         playerButton.setPrefWidth(134);
         cpuButton.setPrefWidth(134);
+        newGameButton.setPrefWidth(134);
 
         //Set event handlers
         cpuButton.setOnAction(new playerSelectHandler());
         playerButton.setOnAction(new playerSelectHandler());
+        newGameButton.setOnAction(actionEvent -> newGame());
 
 
         //Create buttons for selecting columns
@@ -129,6 +168,7 @@ public class Connect4GUI extends Application {
         //Put buttons on board
         for (int i = 0; i < buttonArray.length; i++) {
             boardPane.add(buttonArray[i], i, 0);
+            buttonArray[i].setPrefWidth(boardCanvas.getCellSize());
             buttonArray[i].setOnAction(new columnSetHandler());
 
             //Disable buttons until PvP or PvE is selected
@@ -137,22 +177,11 @@ public class Connect4GUI extends Application {
 
 
         //------ Column Display ------
-        int flippedJiter;
-        //Add Textfields
-        for (int i = 0; i < boardDisplay.length; i++)
-        {
-            for (int j = 0; j < boardDisplay[i].length; j++) {
-                boardDisplay[i][j] = new TextField(" ");
-
-                //TextField properties
-                boardDisplay[i][j].setEditable(false);
-                boardDisplay[i][j].setPrefSize(10, 10);
-
-                //Place on display in correct order relative to JavaFX coorindate system
-                flippedJiter = Math.abs(j - 5) + 1;
-                boardPane.add(boardDisplay[i][j], i, flippedJiter);
-            }
-        }
+        //one canvas under the column buttons, spanning every column
+        boardPane.add(boardCanvas, 0, 1, buttonArray.length, 1);
+        if (Boolean.getBoolean("connect4.frameStats"))
+            boardCanvas.setOnDropLanded(() ->
+                    System.out.println("Board canvas: " + boardCanvas.frameStatsToString()));
 
 
         //Place scene in stage
@@ -166,19 +195,14 @@ public class Connect4GUI extends Application {
 
     //------ Helper Methods for Event Handling ------
 
-    /** Void method routinely called to deep copy board.columnArray contents
-     *  to boardDisplay in GUI.
-     *
-     * @param boardDisplay array on which contents of columnArray will be deep copied.
+    /** Void method routinely called after a puck is placed to show it on boardCanvas. Only the new puck is
+     *  drawn, falling down its column; the rest of the board is left as it is.
      */
-    public void refreshBoardDisplay(TextField[][] boardDisplay) {
-        //iterate through boardDisplay and copy contents from board object array to display
-        for (int i = 0; i < boardDisplay.length; i++) {
-            for (int j = 0; j < boardDisplay[i].length; j++) {
-                //set each TextField text to board contents
-                boardDisplay[i][j].setText(board.columnArray[i][j]);
-            }
-        }
+    public void refreshBoardDisplay() {
+        int column = gameState.getLastColumn();
+        int row = gameState.getLastRow();
+        if (column >= 0)
+            boardCanvas.dropPuck(column, row, gameState.getBoard().getCell(column, row));
     }
 
     /** Void method which disables functionality of column buttons.
@@ -189,6 +213,135 @@ public class Connect4GUI extends Application {
             buttonArray[i].setDisable(false);
     }
 
+    /** Void method which locks the column buttons, e.g. while the computer is thinking. */
+    public void disableColumnButtons() {
+        for (int i = 0; i < this.buttonArray.length; i++)
+            buttonArray[i].setDisable(true);
+    }
+
+    /** Void method which starts choosing the computer's move on a background thread and returns at once.
+     * The column buttons are locked and the thinking indicator shown until applyComputerMove() runs.
+     */
+    public void startComputerMove() {
+        disableColumnButtons();
+        thinkingIndicator.setVisible(true);
+        getPlayerTurnLog().setText("The computer is thinking...");
+
+        //the task keeps the player it was started for, in case a new game replaces CPU meanwhile; clearing the
+        //stop here, before the task is queued, lets a cancel made before the search starts still stop it
+        Connect4ComputerPlayer computer = CPU;
+        computer.clearStop();
+        Task<Integer> task = new Task<Integer>() {
+            @Override
+            protected Integer call() {
+                try {
+                    int column = computer.makeMove();
+                    Platform.runLater(() -> applyComputerMove(this, column));
+                    return column;
+                }
+                finally {
+                    //a cancelled move's player is being discarded: release any search threads it created
+                    if (isCancelled())
+                        computer.shutdown();
+                }
+            }
+        };
+        task.setOnFailed(workerStateEvent -> {
+            if (computerTask == task) {
+                computerTask = null;
+                thinkingIndicator.setVisible(false);
+                getPlayerTurnLog().setText("The computer could not move: " + task.getException());
+            }
+        });
+        computerTask = task;
+
+        Thread thread = new Thread(task, "connect4-gui-computer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Void method, run on the JavaFX Application Thread, which plays the column chosen by a computer move
+     * task, unless the task has been cancelled or replaced since it started.
+     *
+     * @param task task that chose the column.
+     * @param column chosen column.
+     */
+    void applyComputerMove(Task<Integer> task, int column) {
+        if (task != computerTask || task.isCancelled())
+            return;
+        computerTask = null;
+        thinkingIndicator.setVisible(false);
+
+        board.placePuck(column, board.getPlayerTurn());
+
+        //Refresh board display
+        refreshBoardDisplay();
+
+        board.checkPucks(column);
+
+        //check if the computer has won
+        if (board.hasWinner()) {
+            gameWon = true;
+            getPlayerTurnLog().setText("The computer won.");
+            return;
+        }
+        else if (getBoardFullStatus() == true) {
+            getPlayerTurnLog().setText("Draw.");
+            return;
+        }
+
+        board.nextTurn();
+        getPlayerTurnLog().setText("Your turn.");
+        enableColumnButtons();
+    }
+
+    /** Void method which cancels the computer move in progress, if any. The search is stopped, so its thread
+     * ends within moments whatever the engine settings, and its result is ignored.
+     */
+    public void cancelComputerMove() {
+        if (computerTask == null)
+            return;
+        computerTask.cancel(true);
+        CPU.stopSearch();
+        computerTask = null;
+        thinkingIndicator.setVisible(false);
+    }
+
+    /** Void method which abandons the current game, cancelling any computer move in progress and releasing the
+     * search threads of the computer player, and sets up a new one: a new game state, board and computer
+     * player, an empty board display and the PvP/PvE choice.
+     */
+    public void newGame() {
+        cancelComputerMove();
+        CPU.shutdown();
+
+        gameState = new Connect4GameState(geometry);
+        gameState.setListener(console);
+        board = new Connect4Logic(gameState);
+        CPU = new Connect4ComputerPlayer(gameState);
+        CPU.configure(engine);
+        console.setPlayerName(Connect4BitBoard.PLAYER_X, "Player X");
+        console.setPlayerName(Connect4BitBoard.PLAYER_O, "Player O");
+
+        gameWon = false;
+        setSelectionMade(false);
+        boardCanvas.clear();
+        disableColumnButtons();
+        for (Button button : new Button[] {playerButton, cpuButton}) {
+            button.setDisable(false);
+            button.setVisible(true);
+        }
+        getPlayerTurnLog().setText("");
+    }
+
+    /** Stop method called when the window is closed, which cancels any computer move in progress and releases
+     * the search threads of the computer player. */
+    @Override
+    public void stop() {
+        cancelComputerMove();
+        CPU.shutdown();
+    }
+
     /** Method used to retrieve playTurnLog object.
      *
      * @return playerTurnLog for the purpose of modification.
@@ -245,21 +398,16 @@ public class Connect4GUI extends Application {
         this.selectionMade = parity;
     }
 
-    /** Method which iterates through board.columnArray elements and checks top space
+    /** Method which checks the top space of each board column
      *  to see if it is "empty".
      *
      * @return true if each column is full, false if at least one column has space.
      */
     public boolean getBoardFullStatus() {
-        int fullColumns = 0;
+        int fullColumns = board.fullColumnCount();
 
-        for (int i = 0; i < board.columnArray.length; i++) {
-            //if a column does not have an empty space on the top
-            if (!board.columnArray[i][5].equals(" "))
-                fullColumns++;
-        }
         //if all columns are full, return true
-        if (fullColumns == 7)
+        if (fullColumns == buttonArray.length)
             return true;
         //if some are not full, return false
         else
@@ -273,7 +421,7 @@ public class Connect4GUI extends Application {
      */
     public boolean getColumnFullStatus(int targetColumn) {
         //if the target column is not full
-        if (board.columnArray[targetColumn][5].equals(" "))
+        if (!board.isColumnFull(targetColumn))
             return false;
         //if the target column is full
         else
@@ -318,6 +466,8 @@ public class Connect4GUI extends Application {
                     getPVPbutton().setDisable(true);
                     getPVPbutton().setVisible(false);
                     setComputerPlayerStatus(true);
+                    console.setPlayerName(Connect4BitBoard.PLAYER_X, "The player");
+                    console.setPlayerName(Connect4BitBoard.PLAYER_O, "The computer");
 
                     ((Button)(actionEvent.getSource())).setDisable(true);
 
@@ -337,17 +487,15 @@ public class Connect4GUI extends Application {
 
         /** Void method which handles gameplay loop functionality on click of button.
          * Gets column number based on which button was pressed (0-6), checks if the game
-         * has already been won/drawn and sends a message for a draw game and ceasing functionality
-         * thereafter.
+         * has already been won/drawn and ceases functionality thereafter.
          * If neither condition is true, then checks for PvP/PvE game. For PvP, it checks for a full
          * column at the column number specified, places the puck (if not full), checks for
          * four in a row, then refreshes the board display before iterating to the next player's turn.
          * Finally, the playerTurnLog is updated to reflect which player's turn it is.
-         * For PvE, it functions similarly, except after the player's turn is handled, another
-         * turn based on the CPU.makeMove() method is made. Four in a row is checked again,
-         * and if the computer wins, the console outputs such a message and buttons
-         * cease functionality. If a player wins, it is specified in the console as well and buttons
-         * are disabled again.
+         * For PvE, it functions similarly, except after the player's turn is handled, the computer's
+         * turn is started with startComputerMove(), which chooses the column on a background thread and
+         * plays it with applyComputerMove(). Wins and draws are announced in the
+         * console by the game state's listener (checkPucks() reports them).
          *
          * @param actionEvent event which has occured (button is clicked)
          */
@@ -356,15 +504,13 @@ public class Connect4GUI extends Application {
             //Get column num from source button's text
             int columnNum = Integer.parseInt(((Button) (actionEvent.getSource())).getText()) - 1;
 
-            //if game is already won
-            if (gameWon == true)
+            //if game is already won, or the computer is still thinking
+            if (gameWon == true || computerTask != null)
                 return;
 
-            //if the board is full
-            else if (getBoardFullStatus() == true) {
-                System.out.println("The board is full and nobody wins. Draw!");
+            //if the board is full (the draw has already been announced)
+            else if (getBoardFullStatus() == true)
                 return;
-            }
 
             //if game is not won yet
             else {
@@ -378,40 +524,30 @@ public class Connect4GUI extends Application {
                     }
                     //if the column has room, place puck for player respective to playerTurn
                     else
-                        board.placePuck(columnNum, board.playerTurn);
+                        board.placePuck(columnNum, board.getPlayerTurn());
 
                     //check the board for 4 in a row
                     board.checkPucks(columnNum);
 
                     //Refresh board display
-                    refreshBoardDisplay(boardDisplay);
-
-                    //if a player won
-                    if (board.puckCount == 4) {
-                        //if player X won
-                        if (board.playerTurn % 2 != 0)
-                            System.out.println("Player X won the game.");
-
-                        //if player O won
-                        else
-                            System.out.println("Player O won the game.");
+                    refreshBoardDisplay();
 
+                    //if a player won (announced by the listener)
+                    if (board.hasWinner()) {
                         //set gameWon condition to true (so buttons don't do anything afterwards)
                         gameWon = true;
                         return;
                     }
 
-                    else if (getBoardFullStatus() == true) {
-                        System.out.println("The board is full and nobody wins. Draw!");
+                    else if (getBoardFullStatus() == true)
                         return;
-                    }
 
                     //if nobody won yet, switch player turns and move on
                     else
-                        board.playerTurn++;
+                        board.nextTurn();
 
                     //if it is player x's turn
-                    if (board.playerTurn % 2 != 0)
+                    if (board.getPlayerTurn() % 2 != 0)
                         getPlayerTurnLog().setText("Player X's turn.");
                     else
                         getPlayerTurnLog().setText("Player O's turn.");
@@ -428,47 +564,27 @@ public class Connect4GUI extends Application {
                     }
                     //if the column has room, place puck for player respective to playerTurn
                     else
-                        board.placePuck(columnNum, board.playerTurn);
+                        board.placePuck(columnNum, board.getPlayerTurn());
 
                     //Refresh board display
-                    refreshBoardDisplay(boardDisplay);
+                    refreshBoardDisplay();
 
                     //check the board for 4 in a row
                     board.checkPucks(columnNum);
 
                     //check if the player has won
-                    if (board.puckCount == 4) {
-                        System.out.println("The player has won the game.");
+                    if (board.hasWinner()) {
                         gameWon = true;
                         return;
                     }
 
-                    else if (getBoardFullStatus() == true) {
-                        System.out.println("The board is full and nobody wins. Draw!");
+                    else if (getBoardFullStatus() == true)
                         return;
-                    }
 
-                    //if nobody has won yet and the board has room
+                    //if nobody has won yet and the board has room, let the computer think off this thread
                     else {
-                        board.playerTurn++;
-
-                        columnNum = CPU.makeMove();
-                        board.placePuck(columnNum, board.playerTurn);
-
-                        //Refresh board display
-                        refreshBoardDisplay(boardDisplay);
-
-                        board.checkPucks(columnNum);
-
-                        //check if the computer has won
-                        if (board.puckCount == 4) {
-                            System.out.println("The computer has won the game.");
-                            gameWon = true;
-                            return;
-                        }
-
-                        else
-                            board.playerTurn++;
+                        board.nextTurn();
+                        startComputerMove();
                     }
                 }
 
@@ -477,11 +593,35 @@ public class Connect4GUI extends Application {
 
     } //end event handler inner class
 
-    /** Main method which uses Application class to launch JavaFX application.
+    /** Void method used to set the board of windows opened from now on. Must be called before launching.
+     *
+     * @param geometry board dimensions and win length.
+     */
+    public static void setGeometry(Connect4Geometry geometry) {
+        Connect4GUI.geometry = geometry;
+    }
+
+    /** Void method used to set the computer player settings of windows opened from now on. Must be called
+     * before launching.
+     *
+     * @param engine settings in Connect4ComputerPlayer.configure() form, e.g. "search:12:1000".
+     */
+    public static void setEngine(String engine) {
+        Connect4GUI.engine = engine;
+    }
+
+    /** Main method which uses Application class to launch JavaFX application. Optional arguments pick the
+     * board, e.g. "8x7" or "9x7x5", and the computer player, e.g. "search:12:1000", in either order.
      *
      * @param args Command line arguments.
      */
     public static void main(String args[]) {
+        for (String arg : args) {
+            if (arg.matches("\\d+[xX]\\d+([xX]\\d+)?"))
+                setGeometry(Connect4Geometry.parse(arg));
+            else
+                setEngine(arg);
+        }
         launch(args);
     }
 }
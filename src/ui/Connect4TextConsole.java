@@ -3,17 +3,35 @@
  * "contents", receive user input to forward into logic, and a method to implement the other
  * UI methods as well as perform gameplay loop between players.
  *
+ * With -batch, nothing is asked: games are read one per line from a file (or standard input), replayed
+ * through Connect4Logic and one result line per game is written to standard output (see runBatch()).
+ *
+ * Usage: java ui.Connect4TextConsole [COLUMNSxROWS[xCONNECT]] [-batch [FILE]]
+ *
  * @author Stephen Arel
  * @version 2.5 4/7/2024
 */
 
 package ui;
 
+import core.Connect4BitBoard;
+import core.Connect4ConsoleListener;
 import core.Connect4Logic;
 import core.Connect4ComputerPlayer;
+import core.Connect4GameState;
+import core.Connect4Geometry;
 import ui.Connect4GUI;
 import javafx.application.Application;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Scanner;
 
@@ -22,13 +40,21 @@ import java.util.Scanner;
  */
 public class Connect4TextConsole extends Connect4Logic {
 
+    //------ Game State Object ------
+    /** State of the console game: board, playerTurn and last move. Shared by board and CPU. */
+    static Connect4GameState gameState = new Connect4GameState();
+
     //------ Board Object ------
     /** Declaration of Connect4Logic object to allow access to class methods and variables. */
-    static Connect4Logic board = new Connect4Logic();
+    static Connect4Logic board = new Connect4Logic(gameState);
 
     //------ Computer Player Object ------
     /** Declaration of Connect4ComputerPlayer object to allow access to class method makeMove(). */
-    static Connect4ComputerPlayer CPU = new Connect4ComputerPlayer();
+    static Connect4ComputerPlayer CPU = new Connect4ComputerPlayer(gameState);
+
+    //------ Game Listener Object ------
+    /** Listener printing the board after every puck, the computer's moves and the result of console games. */
+    static Connect4ConsoleListener console = new Connect4ConsoleListener();
 
     //------ Variables ------
     /** Integer variable used to store data from user input to send as parameter for
@@ -44,11 +70,167 @@ public class Connect4TextConsole extends Connect4Logic {
 
 
     /** Main method which uses gameLoop() method to bring core/UI functionality to console.
+     * An optional first argument picks the board, e.g. "8x7" or "9x7x5" (see Connect4Geometry.parse());
+     * the standard 7x6 board is used otherwise. Only random computer moves are available on other boards.
+     * With -batch, games are read from FILE (or standard input if FILE is missing or "-") and checked by
+     * runBatch() instead of being played interactively.
      *
      * @param args Command line arguments.
+     * @throws IOException if the batch input cannot be read or the results cannot be written.
+     */
+    public static void main(String args[]) throws IOException {
+        boolean batch = false;
+        String batchFile = "-";
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-batch")) {
+                batch = true;
+                if (i + 1 < args.length)
+                    batchFile = args[++i];
+            }
+            else
+                setGeometry(Connect4Geometry.parse(args[i]));
+        }
+
+        if (!batch) {
+            gameLoop();
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        BufferedReader in = batchFile.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedReader(Paths.get(batchFile), StandardCharsets.UTF_8);
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        long games;
+        try {
+            games = runBatch(in, out, board.getGeometry());
+        }
+        finally {
+            in.close();
+            out.flush();
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        System.err.println(String.format("%d games in %.2f s (%.0f games/s)", games, seconds, games / seconds));
+    }
+
+    /** Method which replays games read one per line through a Connect4Logic and writes one result line per game.
+     * Nothing is read from or printed to the console, and the board is never printed.
+     *
+     * A game is a sequence of columns numbered from 1, either as digits with nothing between them
+     * ("4453", boards of up to 9 columns) or separated by spaces or commas ("4 4 5 3", "10,11,10"). Blank lines
+     * and lines starting with '#' are skipped. For each game the line number, the result and the number of
+     * moves played are written:
+     * <pre>
+     *  12 X 7             Player X won on move 7
+     *  13 O 12            Player O won on move 12
+     *  14 draw 42         the board was filled without a winner
+     *  15 open 10         the moves ended before the game did
+     *  16 invalid 3 column 4 is full
+     * </pre>
+     * An invalid game reports the number of valid moves before the bad one, and why it is invalid: a column
+     * that is not on the board or is full, a character that is not a column, or a move after the game ended.
+     *
+     * @param in games, one per line.
+     * @param out result lines are written here; the caller flushes it.
+     * @param geometry board the games are played on.
+     * @return number of games read.
+     * @throws IOException if reading or writing fails.
+     */
+    public static long runBatch(BufferedReader in, Writer out, Connect4Geometry geometry) throws IOException {
+        Connect4Logic logic = new Connect4Logic(new Connect4GameState(geometry));
+        int columns = geometry.getColumns();
+        StringBuilder result = new StringBuilder();
+        long lineNumber = 0;
+        long games = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.charAt(0) == '#')
+                continue;
+            games++;
+            logic.resetBoard();
+
+            boolean separated = false;
+            for (int i = 0; i < line.length() && !separated; i++)
+                separated = isSeparator(line.charAt(i));
+
+            String error = null;
+            String outcome = null;
+            int moves = 0;
+            int position = 0;
+            while (error == null) {
+                //read the next column, 1-based
+                while (separated && position < line.length() && isSeparator(line.charAt(position)))
+                    position++;
+                if (position == line.length())
+                    break;
+                int column = 0;
+                int digits = 0;
+                while (position < line.length() && !isSeparator(line.charAt(position)) && (digits == 0 || separated)) {
+                    char c = line.charAt(position);
+                    if (c < '0' || c > '9') {
+                        error = "'" + c + "' is not a column";
+                        break;
+                    }
+                    column = column * 10 + (c - '0');
+                    digits++;
+                    position++;
+                }
+                if (error != null)
+                    break;
+
+                column--;
+                if (outcome != null)
+                    error = "move after the game ended";
+                else if (column < 0 || column >= columns)
+                    error = "column " + (column + 1) + " is not on the board";
+                else if (logic.isColumnFull(column))
+                    error = "column " + (column + 1) + " is full";
+                else {
+                    logic.placePuck(column, logic.getPlayerTurn());
+                    logic.checkPucks(column);
+                    moves++;
+                    if (logic.hasWinner())
+                        outcome = (logic.getPlayerTurn() % 2 != 0) ? "X" : "O";
+                    else if (logic.fullColumnCount() == columns)
+                        outcome = "draw";
+                    else
+                        logic.nextTurn();
+                }
+            }
+
+            result.setLength(0);
+            result.append(lineNumber).append(' ');
+            if (error != null)
+                result.append("invalid ").append(moves).append(' ').append(error);
+            else
+                result.append((outcome == null) ? "open" : outcome).append(' ').append(moves);
+            result.append('\n');
+            out.append(result);
+        }
+        return games;
+    }
+
+    /** Checks whether a character separates the columns of a batch game.
+     *
+     * @param c character of a game line.
+     * @return true for spaces, tabs and commas.
+     */
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == ',' || c == '\t';
+    }
+
+    /** Void method used to start a new game on a board of the given geometry, replacing the game state, board
+     * and computer player. The GUI uses the same geometry if it is picked.
+     *
+     * @param geometry board dimensions and win length.
      */
-    public static void main(String args[]) {
-        gameLoop();
+    public static void setGeometry(Connect4Geometry geometry) {
+        gameState = new Connect4GameState(geometry);
+        board = new Connect4Logic(gameState);
+        CPU.shutdown();
+        CPU = new Connect4ComputerPlayer(gameState);
+        Connect4GUI.setGeometry(geometry);
     }
 
 
@@ -60,17 +242,7 @@ public class Connect4TextConsole extends Connect4Logic {
      * as "placed" by user.
      */
     public static void displayContents() {
-        int printingRow = 5;
-
-        while (printingRow >= 0) {
-            System.out.print("|");
-
-            for (int i = 0; i < board.columnArray.length; i++)
-                System.out.print(" " + columnArray[i][printingRow] + " |");
-            System.out.print("\n");
-
-            printingRow--;
-        }
+        console.printBoard(board.getColumnArray());
     }
 
     /** Void method which prompts user for console input to decide whether to play against
@@ -91,6 +263,10 @@ public class Connect4TextConsole extends Connect4Logic {
             System.out.println("Computer player: " + computerPlayer);
             computerPlayer = input.nextLine();
         }
+
+        //the listener announces the winner; against the computer, Player O is the computer
+        console.setPlayerName(Connect4BitBoard.PLAYER_O,
+                computerPlayer.equalsIgnoreCase("C") ? "Computer" : "Player O");
     }
 
     /** Void method which dictates player's turn using playerTurn variable. Prompts user to play against computer or another player.
@@ -117,34 +293,29 @@ public class Connect4TextConsole extends Connect4Logic {
             else
                 playerName = "PlayerO";
 
-            System.out.println(playerName + "-your turn. Choose a column from 1-7.");
+            int columns = board.getGeometry().getColumns();
+            System.out.println(playerName + "-your turn. Choose a column from 1-" + columns + ".");
             //subtracting 1 to match array structure of 0-6
             columnNum = input.nextInt() - 1;
-            while ((columnNum) < 0 || columnNum > 6) {
-                System.out.println("Input must be an integer 1-7. Please reenter.");
+            while ((columnNum) < 0 || columnNum > columns - 1) {
+                System.out.println("Input must be an integer 1-" + columns + ". Please reenter.");
                 columnNum = input.nextInt() - 1;
             }
 
-            while (columnArray[columnNum][5] == "X" || columnArray[columnNum][5] == "O") {
-                System.out.println("This column is full. Please choose another column 1-7.");
+            while (board.isColumnFull(columnNum)) {
+                System.out.println("This column is full. Please choose another column 1-" + columns + ".");
                 columnNum = input.nextInt() - 1;
             }
     }
 
-    /** Method that iterates through board.columnArray to return
+    /** Method that checks the top row of the board to return
      * how many columns are full. Used to check for a draw (board is full, nobody wins).
      *
      * @return nonEmptyColumns integer number of columns that are full have have no space left.
      */
     public static int gameDraw() {
         //integer variable dictating how many columns are full.
-        int nonEmptyColumns = 0;
-
-        for (int i = 0; i < columnArray.length; i++) {
-            //if the currently iterated column is full, increment nonEmptyColumns
-            if (columnArray[i][5] != " ")
-                nonEmptyColumns++;
-        }
+        int nonEmptyColumns = board.fullColumnCount();
 
         return nonEmptyColumns;
     }
@@ -176,14 +347,16 @@ public class Connect4TextConsole extends Connect4Logic {
      * guiSelect() to choose between GUI or console interface for user.
      * Then runs gamemodeSelection() to decide if it is a user is playing against a player
      * or computer. Features a loop which increments playerTurn variable (to vary between odd and even)
-     * and stops loop when win condition is found (puckCount == 4). At beginning of turn (loop),
+     * and stops loop when win condition is found (hasWinner(), puckCount == 4 on the standard board). At beginning of turn (loop),
      * conditions dictate if it is a player vs player game (and requires input regardless), or PvC game,
      * which requires input if it is the player's turn or the computer makes a move if it is not the
-     * player's turn.
+     * player's turn. The board after every puck, the computer's moves and the result are printed by the
+     * game state's Connect4ConsoleListener.
      *
      */
     public static void gameLoop() {
         int endDraw = 0;
+        int columns = board.getGeometry().getColumns();
         if (guiSelect() == true) {
             System.out.println("\nSwitching to GUI interface.\n");
             Application.launch(Connect4GUI.class);
@@ -191,40 +364,27 @@ public class Connect4TextConsole extends Connect4Logic {
             return;
         }
 
+        gameState.setListener(console);
         gamemodeSelection();
 
         //while win/draw conditions are not met
-        while (board.puckCount != 4 && endDraw != 7) {
+        while (!board.hasWinner() && endDraw != columns) {
 
             //if it is a PvP game, or it is against the computer and it is the player's turn.
-            if (computerPlayer.equalsIgnoreCase("P") || playerTurn % 2 != 0)
-                getPlayerInput(board.playerTurn);
+            if (computerPlayer.equalsIgnoreCase("P") || board.getPlayerTurn() % 2 != 0)
+                getPlayerInput(board.getPlayerTurn());
             //if it is not a PvP game and it is not the player's turn
             else
                 columnNum = CPU.makeMove();
             System.out.println("");
-            board.placePuck(columnNum, board.playerTurn);
-            displayContents();
+            board.placePuck(columnNum, board.getPlayerTurn());
             board.checkPucks(columnNum);
-            if (board.puckCount != 4)
-                board.playerTurn++;
+            if (!board.hasWinner())
+                board.nextTurn();
 
             //check for draw
             endDraw = gameDraw();
         }
-
-        if (endDraw == 7)
-            System.out.println("Draw/tie game. Nobody wins.");
-        else if (board.playerTurn % 2 != 0 && computerPlayer.equalsIgnoreCase("P"))
-            System.out.println("Player X won the game.");
-        else if (computerPlayer.equalsIgnoreCase("P"))
-            System.out.println("Player O won the game.");
-        else if (computerPlayer.equalsIgnoreCase("C")) {
-            if (board.playerTurn % 2 != 0)
-                System.out.println("Player X won the game.");
-            else
-                System.out.println("Computer won the game.");
-        }
     }
 
 } //End class
\ No newline at end of file